@@ -0,0 +1,20 @@
+-- object: notification_outbox | type: TABLE --
+-- Notifications accepted for asynchronous delivery (resident.notification.async.enabled=true).
+-- A row is removed once the notification is sent; rows in FAILED status are kept for follow up.
+-- sms_sent and email_sent record the channels already sent, a retry only sends the others.
+-- request holds the notification request encrypted with resident.notification.async.encryption.key.
+CREATE TABLE notification_outbox(
+	id character varying(36) NOT NULL,
+	request character varying(8192) NOT NULL,
+	status character varying(16) NOT NULL,
+	attempt_count integer NOT NULL DEFAULT 0,
+	sms_sent boolean NOT NULL DEFAULT false,
+	email_sent boolean NOT NULL DEFAULT false,
+	next_attempt_dtimes timestamp NOT NULL,
+	last_error character varying(512),
+	cr_dtimes timestamp NOT NULL,
+	upd_dtimes timestamp,
+	CONSTRAINT pk_notification_outbox_id PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status ON notification_outbox USING btree (status, next_attempt_dtimes);
@@ -0,0 +1,58 @@
+package io.mosip.resident.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import io.mosip.resident.dto.IdRepoResponseDto;
+import io.mosip.resident.dto.IdentityMapping;
+import io.mosip.resident.util.IdentityMappingProvider;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * Test data shared by the benchmarks. The identity and the identity mapping
+ * are the ones of the resident-service unit tests.
+ */
+final class BenchmarkData {
+
+	static final String UIN = "3527812406";
+	static final String VID = "5628965106742572";
+	static final String RID = "10008200070004420191203104356";
+	static final String PRIMARY_LANGUAGE = "eng";
+	static final String SECONDARY_LANGUAGE = "ara";
+
+	private BenchmarkData() {
+	}
+
+	static String resource(String name) throws IOException {
+		try (InputStream is = BenchmarkData.class.getClassLoader().getResourceAsStream(name)) {
+			if (is == null)
+				throw new IOException("missing resource " + name);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) != -1)
+				out.write(buffer, 0, read);
+			return new String(out.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	static String idJson() throws IOException {
+		return resource("ID.json");
+	}
+
+	static IdentityMapping identityMapping() throws IOException {
+		return IdentityMappingProvider.parse(resource("IdentityMapping.json"));
+	}
+
+	/**
+	 * @return the ID repo response body of the test identity
+	 */
+	static IdRepoResponseDto idRepoResponse() throws IOException {
+		IdRepoResponseDto idRepoResponseDto = new IdRepoResponseDto();
+		idRepoResponseDto.setStatus("ACTIVATED");
+		idRepoResponseDto.setIdentity(JsonUtil.readTree(idJson()).get("identity"));
+		return idRepoResponseDto;
+	}
+}
@@ -0,0 +1,149 @@
+package io.mosip.resident.benchmark;
+
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.util.DownstreamGuard;
+import io.mosip.resident.util.DownstreamMetrics;
+import io.mosip.resident.util.DownstreamRetry;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.VirtualThreads;
+
+/**
+ * A burst of concurrent requests, each making one blocking downstream call
+ * through {@link ResidentServiceRestClient}, run on the platform thread pool of
+ * the api executor and on virtual threads. The downstream service is stubbed
+ * with a fixed latency, so the score shows how long the burst waits for
+ * threads. The virtual mode needs Java 21.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+	private static final URI RID_STATUS_URI = URI
+			.create("http://localhost/registrationprocessor/v1/registrationstatus/search");
+
+	/** Size of the platform pool, the default of resident.api.executor.threads. */
+	private static final int PLATFORM_THREADS = 200;
+
+	@Param({ "platform", "virtual" })
+	private String threads;
+
+	@Param({ "2000" })
+	private int concurrentRequests;
+
+	@Param({ "20" })
+	private long downstreamLatencyMillis;
+
+	private ExecutorService executor;
+
+	private ResidentServiceRestClient restClient;
+
+	@Setup
+	public void setUp() {
+		if ("virtual".equals(threads)) {
+			executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+			if (executor == null)
+				throw new IllegalStateException("Virtual threads need Java 21");
+		} else {
+			executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+		}
+
+		// the bulkhead lets the whole burst through, the benchmark measures the threads
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("resident.downstream.bulkhead.max-concurrent-calls",
+				String.valueOf(concurrentRequests));
+		DownstreamMetrics downstreamMetrics = new DownstreamMetrics(new SimpleMeterRegistry());
+		DownstreamGuard downstreamGuard = new DownstreamGuard(environment);
+		downstreamGuard.reset();
+		restClient = new ResidentServiceRestClient();
+		ReflectionTestUtils.setField(restClient, "restTemplate", new StubbedRestTemplate(downstreamLatencyMillis));
+		ReflectionTestUtils.setField(restClient, "downstreamMetrics", downstreamMetrics);
+		ReflectionTestUtils.setField(restClient, "downstreamGuard", downstreamGuard);
+		DownstreamRetry downstreamRetry = new DownstreamRetry(environment, executor);
+		downstreamRetry.reset();
+		ReflectionTestUtils.setField(restClient, "downstreamRetry", downstreamRetry);
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public int requestBurst() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(concurrentRequests);
+		AtomicInteger failed = new AtomicInteger();
+		for (int i = 0; i < concurrentRequests; i++) {
+			executor.execute(() -> {
+				try {
+					restClient.getApi(ApiName.REGISTRATIONSTATUSSEARCH, RID_STATUS_URI, String.class, "token");
+				} catch (Exception e) {
+					failed.incrementAndGet();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		done.await();
+		if (failed.get() > 0)
+			throw new IllegalStateException(failed.get() + " stubbed calls failed");
+		return concurrentRequests;
+	}
+
+	/**
+	 * Answers every call after the latency, blocking the calling thread as the
+	 * pooled http client does while it waits for the response.
+	 */
+	private static final class StubbedRestTemplate extends RestTemplate {
+
+		private final long latencyMillis;
+
+		StubbedRestTemplate(long latencyMillis) {
+			this.latencyMillis = latencyMillis;
+		}
+
+		@Override
+		public <T> ResponseEntity<T> exchange(URI url, HttpMethod method, HttpEntity<?> requestEntity,
+				Class<T> responseType) {
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ResourceAccessException("interrupted");
+			}
+			return new ResponseEntity<>(responseType.cast("{}"), HttpStatus.OK);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package io.mosip.resident.benchmark;
+
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.crypto.spi.CryptoCoreSpec;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.kernel.keygenerator.bouncycastle.KeyGenerator;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.dto.AuthResponseDTO;
+import io.mosip.resident.dto.IdAuthResponseDto;
+import io.mosip.resident.dto.PublicKeyResponseDto;
+import io.mosip.resident.service.impl.IdAuthServiceImpl;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.TokenGenerator;
+
+/**
+ * Building and encrypting the internal OTP auth request of
+ * {@link IdAuthServiceImpl#internelOtpAuth}. Key manager and IDA are stubbed;
+ * the session key encryption uses AES-GCM and RSA-OAEP from the JDK in place of
+ * the kernel crypto implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdAuthServiceBenchmark {
+
+	private static final int GCM_IV_LENGTH = 12;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	private IdAuthServiceImpl idAuthService;
+
+	private Map<?, ?> publicKeys;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() throws Exception {
+		idAuthService = new IdAuthServiceImpl();
+		ReflectionTestUtils.setField(idAuthService, "internalAuthId", "mosip.identity.auth.internal");
+		ReflectionTestUtils.setField(idAuthService, "internalAuthVersion", "1.0");
+		ReflectionTestUtils.setField(idAuthService, "publicKeyTtlSeconds", 86400L);
+		ReflectionTestUtils.setField(idAuthService, "publicKeyRefreshAheadSeconds", 3600L);
+		ReflectionTestUtils.setField(idAuthService, "mapper", new ObjectMapper());
+
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		PublicKey publicKey = keyPairGenerator.generateKeyPair().getPublic();
+		PublicKeyResponseDto publicKeyResponseDto = new PublicKeyResponseDto(
+				Base64.getUrlEncoder().encodeToString(publicKey.getEncoded()),
+				LocalDateTime.now(ZoneOffset.UTC).toString(),
+				LocalDateTime.now(ZoneOffset.UTC).plusYears(1).toString());
+		ResponseWrapper<PublicKeyResponseDto> publicKeyResponse = new ResponseWrapper<>();
+		publicKeyResponse.setResponse(publicKeyResponseDto);
+
+		IdAuthResponseDto idAuthResponseDto = new IdAuthResponseDto();
+		idAuthResponseDto.setAuthStatus(true);
+		AuthResponseDTO authResponse = new AuthResponseDTO();
+		authResponse.setResponse(idAuthResponseDto);
+
+		ResidentServiceRestClient restClient = Mockito.mock(ResidentServiceRestClient.class);
+		Mockito.doReturn(publicKeyResponse).when(restClient).getApi(Mockito.any(), Mockito.any(URI.class),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+		Mockito.doReturn(authResponse).when(restClient).postApi(Mockito.any(), Mockito.any(), Mockito.any(MediaType.class),
+				Mockito.any(), Mockito.any(Class.class), Mockito.any());
+		ReflectionTestUtils.setField(idAuthService, "restClient", restClient);
+
+		TokenGenerator tokenGenerator = Mockito.mock(TokenGenerator.class);
+		Mockito.when(tokenGenerator.getToken()).thenReturn("token");
+		ReflectionTestUtils.setField(idAuthService, "tokenGenerator", tokenGenerator);
+
+		Environment environment = Mockito.mock(Environment.class);
+		Mockito.when(environment.getProperty(ApiName.KERNELENCRYPTIONSERVICE.name()))
+				.thenReturn("http://localhost/v1/keymanager/publickey");
+		Mockito.when(environment.getProperty(ApiName.INTERNALAUTH.name()))
+				.thenReturn("http://localhost/idauthentication/v1/internal/auth");
+		ReflectionTestUtils.setField(idAuthService, "environment", environment);
+
+		javax.crypto.KeyGenerator aesKeyGenerator = javax.crypto.KeyGenerator.getInstance("AES");
+		aesKeyGenerator.init(256, secureRandom);
+		KeyGenerator keyGenerator = Mockito.mock(KeyGenerator.class);
+		Mockito.when(keyGenerator.getSymmetricKey()).thenAnswer(invocation -> aesKeyGenerator.generateKey());
+		ReflectionTestUtils.setField(idAuthService, "keyGenerator", keyGenerator);
+
+		CryptoCoreSpec<byte[], byte[], SecretKey, PublicKey, PrivateKey, String> encryptor = Mockito
+				.mock(CryptoCoreSpec.class);
+		Mockito.when(encryptor.symmetricEncrypt(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(
+				invocation -> symmetricEncrypt(invocation.getArgument(0), invocation.getArgument(1)));
+		Mockito.when(encryptor.asymmetricEncrypt(Mockito.any(), Mockito.any())).thenAnswer(
+				invocation -> asymmetricEncrypt(invocation.getArgument(0), invocation.getArgument(1)));
+		ReflectionTestUtils.setField(idAuthService, "encryptor", encryptor);
+
+		publicKeys = (Map<?, ?>) ReflectionTestUtils.getField(idAuthService, "publicKeys");
+	}
+
+	/**
+	 * Steady state, the IDA public key is cached.
+	 */
+	@Benchmark
+	public AuthResponseDTO otpAuthRequest() throws Exception {
+		return idAuthService.internelOtpAuth("1234567890", BenchmarkData.UIN, IdType.UIN.name(), "111111");
+	}
+
+	/**
+	 * The IDA public key is fetched and decoded for the request, as after a key
+	 * rotation.
+	 */
+	@Benchmark
+	public AuthResponseDTO otpAuthRequestKeyNotCached() throws Exception {
+		publicKeys.clear();
+		return idAuthService.internelOtpAuth("1234567890", BenchmarkData.UIN, IdType.UIN.name(), "111111");
+	}
+
+	private byte[] symmetricEncrypt(SecretKey key, byte[] data) throws GeneralSecurityException {
+		byte[] iv = new byte[GCM_IV_LENGTH];
+		secureRandom.nextBytes(iv);
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+		byte[] encrypted = cipher.doFinal(data);
+		byte[] output = new byte[encrypted.length + GCM_IV_LENGTH];
+		System.arraycopy(encrypted, 0, output, 0, encrypted.length);
+		System.arraycopy(iv, 0, output, encrypted.length, GCM_IV_LENGTH);
+		return output;
+	}
+
+	private byte[] asymmetricEncrypt(PublicKey key, byte[] data) throws GeneralSecurityException {
+		Cipher cipher = Cipher.getInstance("RSA/ECB/OAEPWithSHA-256AndMGF1Padding");
+		cipher.init(Cipher.ENCRYPT_MODE, key, secureRandom);
+		return cipher.doFinal(data);
+	}
+}
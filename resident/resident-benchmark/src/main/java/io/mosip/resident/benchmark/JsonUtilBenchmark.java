@@ -0,0 +1,87 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.dto.ResidentDocuments;
+import io.mosip.resident.dto.ResidentUpdateRequestDto;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * Read and write round trips of {@link JsonUtil}, which every ID repo,
+ * notification and update request goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilBenchmark {
+
+	private String idJson;
+
+	private JSONObject identity;
+
+	private ResidentUpdateRequestDto updateRequest;
+
+	@Setup
+	public void setUp() throws IOException {
+		idJson = BenchmarkData.idJson();
+		identity = JsonUtil.readValue(idJson, JSONObject.class);
+		updateRequest = new ResidentUpdateRequestDto();
+		updateRequest.setTransactionID("1234567890");
+		updateRequest.setIndividualId(BenchmarkData.UIN);
+		updateRequest.setIndividualIdType(IdType.UIN);
+		updateRequest.setOtp("111111");
+		updateRequest
+				.setIdentityJson(Base64.getUrlEncoder().encodeToString(idJson.getBytes(StandardCharsets.UTF_8)));
+		List<ResidentDocuments> documents = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			ResidentDocuments document = new ResidentDocuments();
+			document.setName("document" + i);
+			document.setValue(updateRequest.getIdentityJson());
+			documents.add(document);
+		}
+		updateRequest.setDocuments(documents);
+	}
+
+	@Benchmark
+	public JSONObject readIdentity() throws IOException {
+		return JsonUtil.readValue(idJson, JSONObject.class);
+	}
+
+	@Benchmark
+	public JsonNode readIdentityTree() throws IOException {
+		return JsonUtil.readTree(idJson);
+	}
+
+	@Benchmark
+	public String writeIdentity() throws IOException {
+		return JsonUtil.writeValueAsString(identity);
+	}
+
+	@Benchmark
+	public ResidentUpdateRequestDto updateRequestRoundTrip() throws IOException {
+		return JsonUtil.readValue(JsonUtil.writeValueAsString(updateRequest), ResidentUpdateRequestDto.class);
+	}
+}
@@ -0,0 +1,88 @@
+package io.mosip.resident.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.dto.IdRepoResponseDto;
+import io.mosip.resident.util.IdentityCache;
+import io.mosip.resident.util.IdentityMappingProvider;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.TokenGenerator;
+import io.mosip.resident.util.Utilitiy;
+
+/**
+ * Extraction of the notification attributes from the ID repo identity in
+ * {@link Utilitiy#getMailingAttributes}, with ID repo stubbed. Without the
+ * identity cache every call maps the full ID repo response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailingAttributesBenchmark {
+
+	@Param({ "true", "false" })
+	private boolean identityCached;
+
+	private Utilitiy utility;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() throws Exception {
+		utility = new Utilitiy();
+		ReflectionTestUtils.setField(utility, "primaryLang", BenchmarkData.PRIMARY_LANGUAGE);
+		ReflectionTestUtils.setField(utility, "secondaryLang", BenchmarkData.SECONDARY_LANGUAGE);
+		ReflectionTestUtils.setField(utility, "languageType", "BOTH");
+
+		ResponseWrapper<IdRepoResponseDto> idRepoResponse = new ResponseWrapper<>();
+		idRepoResponse.setResponse(BenchmarkData.idRepoResponse());
+		ResidentServiceRestClient restClient = Mockito.mock(ResidentServiceRestClient.class);
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(idRepoResponse);
+		ReflectionTestUtils.setField(utility, "residentServiceRestClient", restClient);
+
+		TokenGenerator tokenGenerator = Mockito.mock(TokenGenerator.class);
+		Mockito.when(tokenGenerator.getToken()).thenReturn("token");
+		ReflectionTestUtils.setField(utility, "tokenGenerator", tokenGenerator);
+
+		IdentityMappingProvider identityMappingProvider = Mockito.mock(IdentityMappingProvider.class);
+		Mockito.when(identityMappingProvider.getIdentityMapping()).thenReturn(BenchmarkData.identityMapping());
+		ReflectionTestUtils.setField(utility, "identityMappingProvider", identityMappingProvider);
+
+		IdentityCache identityCache;
+		if (identityCached) {
+			identityCache = new IdentityCache();
+			ReflectionTestUtils.setField(identityCache, "ttlSeconds", 3600L);
+			ReflectionTestUtils.setField(identityCache, "maxSize", 1000);
+			identityCache.init();
+		} else {
+			identityCache = Mockito.mock(IdentityCache.class);
+		}
+		ReflectionTestUtils.setField(utility, "identityCache", identityCache);
+	}
+
+	@Benchmark
+	public Map<String, Object> mailingAttributes() throws Exception {
+		return utility.getMailingAttributes(BenchmarkData.UIN, IdType.UIN);
+	}
+}
@@ -0,0 +1,113 @@
+package io.mosip.resident.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.config.Config;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.dto.TemplateDto;
+import io.mosip.resident.dto.TemplateResponseDto;
+import io.mosip.resident.util.NotificationTemplateStore;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.TokenGenerator;
+
+/**
+ * Merging the notification attributes into a template as
+ * {@link io.mosip.resident.service.NotificationService} does, with the master
+ * data template service stubbed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationTemplateBenchmark {
+
+	private static final String TEMPLATE_TYPE_CODE = "RS_UIN_RPR_SUCCESS_EMAIL";
+
+	private static final String TEMPLATE = "Dear $fullName_eng,<br/>Your request for UIN $UIN has been placed on "
+			+ "$date at $time. Your RID is $RID.<br/>#if($email)We will write to $email#{else}We will send an SMS "
+			+ "to $phone#end once the card is printed.<br/>Thank you";
+
+	private NotificationTemplateStore templateStore;
+
+	private Map<String, Object> attributes;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() throws Exception {
+		templateStore = new NotificationTemplateStore();
+		ReflectionTestUtils.setField(templateStore, "velocityEngine", new Config().velocityEngine());
+		ReflectionTestUtils.setField(templateStore, "primaryLang", BenchmarkData.PRIMARY_LANGUAGE);
+		ReflectionTestUtils.setField(templateStore, "secondaryLang", BenchmarkData.SECONDARY_LANGUAGE);
+		ReflectionTestUtils.setField(templateStore, "languageType", "BOTH");
+		ReflectionTestUtils.setField(templateStore, "ttlSeconds", 3600L);
+		ReflectionTestUtils.setField(templateStore, "maxSize", 500);
+		templateStore.init();
+
+		TemplateDto templateDto = new TemplateDto();
+		templateDto.setTemplateTypeCode(TEMPLATE_TYPE_CODE);
+		templateDto.setLangCode(BenchmarkData.PRIMARY_LANGUAGE);
+		templateDto.setFileText(TEMPLATE);
+		List<TemplateDto> templates = new ArrayList<>();
+		templates.add(templateDto);
+		TemplateResponseDto templateResponseDto = new TemplateResponseDto();
+		templateResponseDto.setTemplates(templates);
+		ResponseWrapper<TemplateResponseDto> templateResponse = new ResponseWrapper<>();
+		templateResponse.setResponse(templateResponseDto);
+
+		ResidentServiceRestClient restClient = Mockito.mock(ResidentServiceRestClient.class);
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(templateResponse);
+		ReflectionTestUtils.setField(templateStore, "restClient", restClient);
+
+		TokenGenerator tokenGenerator = Mockito.mock(TokenGenerator.class);
+		Mockito.when(tokenGenerator.getToken()).thenReturn("token");
+		ReflectionTestUtils.setField(templateStore, "tokenGenerator", tokenGenerator);
+
+		attributes = new HashMap<>();
+		attributes.put("fullName_eng", "Manoj");
+		attributes.put("UIN", BenchmarkData.UIN);
+		attributes.put("RID", BenchmarkData.RID);
+		attributes.put("date", "2020-01-01");
+		attributes.put("time", "10:00:00");
+		attributes.put("email", "resident@mosip.io");
+		attributes.put("phone", "9876543210");
+	}
+
+	/**
+	 * The parsed template is cached.
+	 */
+	@Benchmark
+	public String merge() throws Exception {
+		return templateStore.merge(BenchmarkData.PRIMARY_LANGUAGE, TEMPLATE_TYPE_CODE, new HashMap<>(attributes));
+	}
+
+	/**
+	 * The template is fetched and parsed for the merge.
+	 */
+	@Benchmark
+	public String mergeNotCached() throws Exception {
+		templateStore.invalidateAll();
+		return templateStore.merge(BenchmarkData.PRIMARY_LANGUAGE, TEMPLATE_TYPE_CODE, new HashMap<>(attributes));
+	}
+}
@@ -0,0 +1,112 @@
+package io.mosip.resident.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.kernel.core.idvalidator.spi.UinValidator;
+import io.mosip.kernel.core.idvalidator.spi.VidValidator;
+import io.mosip.resident.constant.AuthTypeStatus;
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
+import io.mosip.resident.dto.RequestWrapper;
+import io.mosip.resident.dto.ResidentVidRequestDto;
+import io.mosip.resident.dto.VidRequestDto;
+import io.mosip.resident.validator.RequestValidator;
+
+/**
+ * Validation of valid requests by {@link RequestValidator}. The kernel id
+ * validators are stubbed, so the numbers cover the validator's own checks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestValidatorBenchmark {
+
+	private static final String VERSION = "v1";
+
+	private RequestValidator requestValidator;
+
+	private RequestWrapper<AuthLockOrUnLockRequestDto> authLockRequest;
+
+	private ResidentVidRequestDto vidRequest;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		requestValidator = new RequestValidator();
+		UinValidator<String> uinValidator = Mockito.mock(UinValidator.class);
+		Mockito.when(uinValidator.validateId(Mockito.anyString())).thenReturn(true);
+		VidValidator<String> vidValidator = Mockito.mock(VidValidator.class);
+		Mockito.when(vidValidator.validateId(Mockito.anyString())).thenReturn(true);
+		ReflectionTestUtils.setField(requestValidator, "uinValidator", uinValidator);
+		ReflectionTestUtils.setField(requestValidator, "vidValidator", vidValidator);
+		ReflectionTestUtils.setField(requestValidator, "ridValidator", Mockito.mock(RidValidator.class));
+		ReflectionTestUtils.setField(requestValidator, "id", "mosip.resident.vid");
+		ReflectionTestUtils.setField(requestValidator, "version", VERSION);
+		ReflectionTestUtils.setField(requestValidator, "authTypes", "otp,bio-FIR,bio-IIR,bio-FACE");
+		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		ReflectionTestUtils.setField(requestValidator, "emailRegex",
+				"^[\\w-\\+]+(\\.[\\w]+)*@[\\w-]+(\\.[\\w]+)*(\\.[a-zA-Z]{2,})$");
+		requestValidator.setAuthLockId("mosip.resident.authlock");
+		requestValidator.setMap();
+
+		AuthLockOrUnLockRequestDto authLockRequestDto = new AuthLockOrUnLockRequestDto();
+		authLockRequestDto.setTransactionID("1234567890");
+		authLockRequestDto.setIndividualId(BenchmarkData.UIN);
+		authLockRequestDto.setIndividualIdType(IdType.UIN);
+		authLockRequestDto.setOtp("111111");
+		List<String> authTypes = new ArrayList<>();
+		authTypes.add("bio-FIR");
+		authTypes.add("bio-IIR");
+		authLockRequestDto.setAuthType(authTypes);
+		authLockRequest = new RequestWrapper<>();
+		authLockRequest.setId("mosip.resident.authlock");
+		authLockRequest.setVersion(VERSION);
+		authLockRequest.setRequest(authLockRequestDto);
+
+		VidRequestDto vidRequestDto = new VidRequestDto();
+		vidRequestDto.setTransactionID("1234567890");
+		vidRequestDto.setIndividualId(BenchmarkData.UIN);
+		vidRequestDto.setIndividualIdType(IdType.UIN.name());
+		vidRequestDto.setOtp("111111");
+		vidRequestDto.setVidType("Perpetual");
+		vidRequest = new ResidentVidRequestDto();
+		vidRequest.setId("mosip.resident.vid");
+		vidRequest.setVersion(VERSION);
+		vidRequest.setRequest(vidRequestDto);
+	}
+
+	@Benchmark
+	public void validateAuthLockRequest() {
+		requestValidator.validateAuthLockOrUnlockRequest(authLockRequest, AuthTypeStatus.LOCK);
+	}
+
+	@Benchmark
+	public void validateVidCreateRequest() {
+		requestValidator.validateVidCreateRequest(vidRequest);
+	}
+
+	@Benchmark
+	public boolean validateContactDetails() {
+		return requestValidator.emailValidator("resident.name@mosip.io")
+				& requestValidator.phoneValidator("9876543210");
+	}
+}
@@ -0,0 +1,161 @@
+package io.mosip.resident.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.dto.NotificationResponseDTO;
+import io.mosip.resident.dto.RegProcCommonResponseDto;
+import io.mosip.resident.dto.ResidentDocuments;
+import io.mosip.resident.dto.ResidentUpdateRequestDto;
+import io.mosip.resident.dto.ResidentUpdateResponseDTO;
+import io.mosip.resident.dto.ResponseWrapper;
+import io.mosip.resident.service.IdAuthService;
+import io.mosip.resident.service.NotificationService;
+import io.mosip.resident.service.impl.ResidentServiceImpl;
+import io.mosip.resident.util.IdentityMappingProvider;
+import io.mosip.resident.util.JsonUtil;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.TokenGenerator;
+import io.mosip.resident.util.Utilitiy;
+
+/**
+ * {@link ResidentServiceImpl#reqUinUpdate} with OTP validation, registration
+ * processor and notifications stubbed, which leaves decoding the identity json
+ * and matching the proof documents against the uploaded documents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UinUpdateBenchmark {
+
+	private static final String[] PROOFS = { "proofOfAddress", "proofOfIdentity", "proofOfRelationship",
+			"proofOfDateOfBirth" };
+
+	/** Number of uploaded documents, the proofs are the last ones. */
+	@Param({ "4", "32" })
+	private int documentCount;
+
+	/** Size of each document before base64 encoding. */
+	@Param({ "1024", "262144" })
+	private int documentSize;
+
+	private ResidentServiceImpl residentService;
+
+	private ResidentUpdateRequestDto request;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() throws Exception {
+		residentService = new ResidentServiceImpl();
+		ReflectionTestUtils.setField(residentService, "centerId", "10008");
+		ReflectionTestUtils.setField(residentService, "machineId", "10008");
+
+		IdAuthService idAuthService = Mockito.mock(IdAuthService.class);
+		Mockito.when(idAuthService.validateOtp(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(true);
+		ReflectionTestUtils.setField(residentService, "idAuthService", idAuthService);
+
+		IdentityMappingProvider identityMappingProvider = Mockito.mock(IdentityMappingProvider.class);
+		Mockito.when(identityMappingProvider.getIdentityMapping()).thenReturn(BenchmarkData.identityMapping());
+		ReflectionTestUtils.setField(residentService, "identityMappingProvider", identityMappingProvider);
+
+		RegProcCommonResponseDto regProcResponse = new RegProcCommonResponseDto();
+		regProcResponse.setRegistrationId(BenchmarkData.RID);
+		regProcResponse.setStatus("success");
+		regProcResponse.setMessage("packet received");
+		ResponseWrapper<RegProcCommonResponseDto> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(regProcResponse);
+		ResidentServiceRestClient restClient = Mockito.mock(ResidentServiceRestClient.class);
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(responseWrapper);
+		ReflectionTestUtils.setField(residentService, "residentServiceRestClient", restClient);
+
+		NotificationResponseDTO notificationResponse = new NotificationResponseDTO();
+		notificationResponse.setStatus("success");
+		notificationResponse.setMessage("Notification sent");
+		NotificationService notificationService = Mockito.mock(NotificationService.class);
+		Mockito.when(notificationService.sendNotification(Mockito.any())).thenReturn(notificationResponse);
+		ReflectionTestUtils.setField(residentService, "notificationService", notificationService);
+
+		TokenGenerator tokenGenerator = Mockito.mock(TokenGenerator.class);
+		Mockito.when(tokenGenerator.getToken()).thenReturn("token");
+		ReflectionTestUtils.setField(residentService, "tokenGenerator", tokenGenerator);
+		ReflectionTestUtils.setField(residentService, "env", Mockito.mock(Environment.class));
+		ReflectionTestUtils.setField(residentService, "utility", Mockito.mock(Utilitiy.class));
+
+		request = new ResidentUpdateRequestDto();
+		request.setTransactionID("1234567890");
+		request.setIndividualId(BenchmarkData.UIN);
+		request.setIndividualIdType(IdType.UIN);
+		request.setOtp("111111");
+		request.setIdentityJson(identityJson());
+		request.setDocuments(documents());
+	}
+
+	@Benchmark
+	public ResidentUpdateResponseDTO uinUpdate() throws Exception {
+		return residentService.reqUinUpdate(request);
+	}
+
+	private String identityJson() throws Exception {
+		Map<String, Object> identity = new LinkedHashMap<>();
+		identity.put("IDSchemaVersion", 1.0);
+		identity.put("UIN", Long.valueOf(BenchmarkData.UIN));
+		identity.put("email", "resident@mosip.io");
+		identity.put("phone", "9876543210");
+		for (String proof : PROOFS) {
+			Map<String, Object> document = new LinkedHashMap<>();
+			document.put("value", proof + "_document");
+			document.put("type", "DOC");
+			document.put("format", "pdf");
+			identity.put(proof, document);
+		}
+		Map<String, Object> identityJson = new LinkedHashMap<>();
+		identityJson.put("identity", identity);
+		return Base64.getUrlEncoder()
+				.encodeToString(JsonUtil.writeValueAsString(identityJson).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private List<ResidentDocuments> documents() {
+		byte[] content = new byte[documentSize];
+		String value = Base64.getUrlEncoder().encodeToString(content);
+		List<ResidentDocuments> documents = new ArrayList<>();
+		for (int i = 0; i < documentCount - PROOFS.length; i++)
+			documents.add(document("other_document_" + i, value));
+		for (String proof : PROOFS)
+			documents.add(document(proof + "_document", value));
+		return documents;
+	}
+
+	private static ResidentDocuments document(String name, String value) {
+		ResidentDocuments document = new ResidentDocuments();
+		document.setName(name);
+		document.setValue(value);
+		return document;
+	}
+}
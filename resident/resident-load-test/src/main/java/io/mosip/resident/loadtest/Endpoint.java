@@ -0,0 +1,40 @@
+package io.mosip.resident.loadtest;
+
+/**
+ * The resident service endpoints driven by the load test, one test phase each.
+ */
+enum Endpoint {
+
+	RID_CHECK_STATUS("POST", "/rid/check-status"),
+	RID_CHECK_STATUS_BATCH("POST", "/rid/check-status/batch"),
+	EUIN("POST", "/req/euin"),
+	PRINT_UIN("POST", "/req/print-uin"),
+	AUTH_LOCK("POST", "/req/auth-lock"),
+	AUTH_UNLOCK("POST", "/req/auth-unlock"),
+	AUTH_HISTORY("POST", "/req/auth-history"),
+	UPDATE_UIN("POST", "/req/update-uin"),
+	GENERATE_VID("POST", "/vid"),
+	REVOKE_VID("PATCH", "/vid/{vid}");
+
+	private final String method;
+
+	private final String path;
+
+	Endpoint(String method, String path) {
+		this.method = method;
+		this.path = path;
+	}
+
+	String getMethod() {
+		return method;
+	}
+
+	String getPath() {
+		return path;
+	}
+
+	@Override
+	public String toString() {
+		return method + " " + path;
+	}
+}
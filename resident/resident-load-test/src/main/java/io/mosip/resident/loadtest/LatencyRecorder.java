@@ -0,0 +1,92 @@
+package io.mosip.resident.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies and outcomes of the requests of one test phase. Latencies are
+ * measured from the time a request was scheduled to start, so a service that
+ * falls behind the target rate shows it in the percentiles instead of slowing
+ * down the load.
+ */
+final class LatencyRecorder {
+
+	private static final int MAX_FAILURE_LENGTH = 300;
+
+	private long[] latencies = new long[1024];
+
+	private int count;
+
+	private long failures;
+
+	private long dropped;
+
+	private long elapsedNanos;
+
+	private String firstFailure;
+
+	synchronized void success(long latencyNanos) {
+		add(latencyNanos);
+	}
+
+	synchronized void failure(long latencyNanos, String description) {
+		add(latencyNanos);
+		failures++;
+		if (firstFailure == null)
+			firstFailure = description.length() > MAX_FAILURE_LENGTH
+					? description.substring(0, MAX_FAILURE_LENGTH) + "..."
+					: description;
+	}
+
+	/**
+	 * A request that was not sent because the concurrency limit was reached.
+	 */
+	synchronized void drop() {
+		dropped++;
+	}
+
+	synchronized void finish(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+		Arrays.sort(latencies, 0, count);
+	}
+
+	synchronized long count() {
+		return count;
+	}
+
+	synchronized long failures() {
+		return failures;
+	}
+
+	synchronized long dropped() {
+		return dropped;
+	}
+
+	synchronized String firstFailure() {
+		return firstFailure;
+	}
+
+	/**
+	 * @return completed requests per second
+	 */
+	synchronized double throughput() {
+		return elapsedNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * @param percentile 0 to 100, only valid after {@link #finish(long)}
+	 * @return the latency in milliseconds
+	 */
+	synchronized double percentileMillis(double percentile) {
+		if (count == 0)
+			return 0;
+		int index = (int) Math.ceil(percentile / 100 * count) - 1;
+		return latencies[Math.max(0, Math.min(count - 1, index))] / 1_000_000d;
+	}
+
+	private void add(long latencyNanos) {
+		if (count == latencies.length)
+			latencies = Arrays.copyOf(latencies, count * 2);
+		latencies[count++] = latencyNanos;
+	}
+}
@@ -0,0 +1,148 @@
+package io.mosip.resident.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sends requests at a fixed rate (open model): request n of a phase is
+ * scheduled n / rps seconds after the start whether or not earlier requests
+ * have completed. At most {@link LoadTestSettings#maxConcurrency} requests are
+ * in flight, requests beyond that are dropped and counted.
+ */
+final class LoadGenerator implements Closeable {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final LoadTestSettings settings;
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+
+	private final CloseableHttpClient httpClient;
+
+	private final ExecutorService workers;
+
+	private final Semaphore inFlight;
+
+	LoadGenerator(LoadTestSettings settings) {
+		this.settings = settings;
+		connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(settings.maxConcurrency);
+		connectionManager.setDefaultMaxPerRoute(settings.maxConcurrency);
+		RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(settings.timeoutMillis)
+				.setConnectionRequestTimeout(settings.timeoutMillis).setSocketTimeout(settings.timeoutMillis).build();
+		httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig).build();
+		AtomicInteger threadCount = new AtomicInteger();
+		workers = Executors.newFixedThreadPool(settings.maxConcurrency, runnable -> {
+			Thread thread = new Thread(runnable, "load-generator-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		inFlight = new Semaphore(settings.maxConcurrency);
+	}
+
+	/**
+	 * Sends the request at the configured rate for the given time and waits for
+	 * the outstanding responses.
+	 */
+	LatencyRecorder run(Endpoint endpoint, String url, byte[] body, int seconds) throws InterruptedException {
+		LatencyRecorder recorder = new LatencyRecorder();
+		long interval = TimeUnit.SECONDS.toNanos(1) / settings.rps;
+		long total = (long) settings.rps * seconds;
+		long start = System.nanoTime();
+		for (long i = 0; i < total; i++) {
+			long scheduled = start + i * interval;
+			long wait = scheduled - System.nanoTime();
+			if (wait > 0)
+				LockSupport.parkNanos(wait);
+			if (!inFlight.tryAcquire()) {
+				recorder.drop();
+				continue;
+			}
+			try {
+				workers.execute(() -> {
+					try {
+						send(endpoint, url, body, scheduled, recorder);
+					} finally {
+						inFlight.release();
+					}
+				});
+			} catch (RuntimeException e) {
+				inFlight.release();
+				throw e;
+			}
+		}
+		inFlight.acquire(settings.maxConcurrency);
+		inFlight.release(settings.maxConcurrency);
+		recorder.finish(System.nanoTime() - start);
+		return recorder;
+	}
+
+	private void send(Endpoint endpoint, String url, byte[] body, long scheduled, LatencyRecorder recorder) {
+		HttpUriRequest request = RequestBuilder.create(endpoint.getMethod()).setUri(url)
+				.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON)).build();
+		try (CloseableHttpResponse response = httpClient.execute(request)) {
+			int status = response.getStatusLine().getStatusCode();
+			HttpEntity entity = response.getEntity();
+			byte[] content = entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+			long latency = System.nanoTime() - scheduled;
+			if (status / 100 != 2)
+				recorder.failure(latency, "HTTP " + status + " " + new String(content, StandardCharsets.UTF_8));
+			else if (isJson(entity) && hasErrors(content))
+				recorder.failure(latency, new String(content, StandardCharsets.UTF_8));
+			else
+				recorder.success(latency);
+		} catch (IOException e) {
+			recorder.failure(System.nanoTime() - scheduled, e.toString());
+		}
+	}
+
+	private static boolean isJson(HttpEntity entity) {
+		Header contentType = entity == null ? null : entity.getContentType();
+		return contentType != null && contentType.getValue().contains("json");
+	}
+
+	/**
+	 * The resident service reports most failures with HTTP 200 and an errors
+	 * list in the body.
+	 */
+	private boolean hasErrors(byte[] content) {
+		try {
+			JsonNode node = mapper.readTree(content);
+			JsonNode errors = node == null ? null : node.get("errors");
+			return errors != null && errors.size() > 0;
+		} catch (IOException e) {
+			return true;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		workers.shutdownNow();
+		httpClient.close();
+		connectionManager.close();
+	}
+}
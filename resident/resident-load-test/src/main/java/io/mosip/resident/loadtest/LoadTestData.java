@@ -0,0 +1,216 @@
+package io.mosip.resident.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.dto.AuthHistoryRequestDTO;
+import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
+import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchRequestDTO;
+import io.mosip.resident.dto.RequestDTO;
+import io.mosip.resident.dto.RequestWrapper;
+import io.mosip.resident.dto.ResidentDocuments;
+import io.mosip.resident.dto.ResidentReprintRequestDto;
+import io.mosip.resident.dto.ResidentUpdateRequestDto;
+import io.mosip.resident.dto.ResidentVidRequestDto;
+import io.mosip.resident.dto.VidRequestDto;
+import io.mosip.resident.dto.VidRevokeRequestDTO;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * The resident the load test requests are made for and the request bodies. The
+ * default ids are the ones of the resident-service unit tests, they can be
+ * replaced with -Dloadtest.uin, -Dloadtest.vid and -Dloadtest.rid. A batch
+ * status check has -Dloadtest.rid.batch.size RIDs, the RID with its sequence
+ * number counted up.
+ */
+final class LoadTestData {
+
+	private static final String TRANSACTION_ID = "1234567890";
+
+	private static final String OTP = "111111";
+
+	private static final String[] PROOFS = { "proofOfAddress", "proofOfIdentity", "proofOfRelationship",
+			"proofOfDateOfBirth" };
+
+	private static final int DOCUMENT_SIZE = 8 * 1024;
+
+	final String uin;
+
+	final String vid;
+
+	final String rid;
+
+	final int ridBatchSize;
+
+	private LoadTestData() {
+		uin = System.getProperty("loadtest.uin", "3527812406");
+		vid = System.getProperty("loadtest.vid", "5628965106742572");
+		rid = System.getProperty("loadtest.rid", "10008200070004420191203104356");
+		ridBatchSize = Integer.getInteger("loadtest.rid.batch.size", 20);
+	}
+
+	static LoadTestData fromSystemProperties() {
+		return new LoadTestData();
+	}
+
+	static String resource(String name) throws IOException {
+		try (InputStream is = LoadTestData.class.getClassLoader().getResourceAsStream(name)) {
+			if (is == null)
+				throw new IOException("missing resource " + name);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) != -1)
+				out.write(buffer, 0, read);
+			return new String(out.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	String path(Endpoint endpoint) {
+		return endpoint.getPath().replace("{vid}", vid);
+	}
+
+	/**
+	 * @return the request body of the endpoint, with the request ids and version
+	 *         the service is configured with
+	 */
+	byte[] requestBody(Endpoint endpoint, Environment env) throws IOException {
+		String version = env.getProperty("resident.vid.version");
+		Object body;
+		switch (endpoint) {
+		case RID_CHECK_STATUS:
+			RequestDTO ridRequest = new RequestDTO();
+			ridRequest.setIndividualId(rid);
+			ridRequest.setIndividualIdType(IdType.RID.name());
+			body = wrap(env.getProperty("resident.checkstatus.id"), version, ridRequest);
+			break;
+		case RID_CHECK_STATUS_BATCH:
+			RegStatusCheckBatchRequestDTO ridBatchRequest = new RegStatusCheckBatchRequestDTO();
+			ridBatchRequest.setIndividualIds(ridBatch());
+			body = wrap(env.getProperty("resident.checkstatus.id"), version, ridBatchRequest);
+			break;
+		case EUIN:
+			body = wrap(env.getProperty("resident.euin.id"), version,
+					new EuinRequestDTO(TRANSACTION_ID, uin, IdType.UIN, "MASKED_UIN", OTP));
+			break;
+		case PRINT_UIN:
+			body = wrap(env.getProperty("resident.printuin.id"), version,
+					new ResidentReprintRequestDto(TRANSACTION_ID, uin, IdType.UIN, OTP));
+			break;
+		case AUTH_LOCK:
+			body = wrap(env.getProperty("resident.authlock.id"), version, authLockRequest());
+			break;
+		case AUTH_UNLOCK:
+			body = wrap(env.getProperty("resident.authunlock.id"), version, authLockRequest());
+			break;
+		case AUTH_HISTORY:
+			body = wrap(env.getProperty("resident.authhistory.id"), version,
+					new AuthHistoryRequestDTO(TRANSACTION_ID, uin, IdType.UIN, OTP, 1, 10));
+			break;
+		case UPDATE_UIN:
+			body = wrap(env.getProperty("resident.updateuin.id"), version,
+					new ResidentUpdateRequestDto(TRANSACTION_ID, uin, IdType.UIN, OTP, identityJson(), documents()));
+			break;
+		case GENERATE_VID:
+			VidRequestDto vidRequest = new VidRequestDto();
+			vidRequest.setTransactionID(TRANSACTION_ID);
+			vidRequest.setIndividualId(uin);
+			vidRequest.setIndividualIdType(IdType.UIN.name());
+			vidRequest.setOtp(OTP);
+			vidRequest.setVidType("Perpetual");
+			ResidentVidRequestDto residentVidRequest = new ResidentVidRequestDto();
+			residentVidRequest.setId(env.getProperty("resident.vid.id"));
+			residentVidRequest.setVersion(version);
+			residentVidRequest.setRequest(vidRequest);
+			body = residentVidRequest;
+			break;
+		case REVOKE_VID:
+			VidRevokeRequestDTO revokeRequest = new VidRevokeRequestDTO();
+			revokeRequest.setTransactionID(TRANSACTION_ID);
+			revokeRequest.setIndividualId(vid);
+			revokeRequest.setIndividualIdType(IdType.VID.name());
+			revokeRequest.setOtp(OTP);
+			revokeRequest.setVidStatus("REVOKED");
+			body = wrap(env.getProperty("resident.revokevid.id"), version, revokeRequest);
+			break;
+		default:
+			throw new IllegalArgumentException("no request for " + endpoint);
+		}
+		return JsonUtil.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return the RID and the RIDs following it, center id, machine id and
+	 *         timestamp kept
+	 */
+	private List<String> ridBatch() {
+		List<String> rids = new ArrayList<>();
+		int sequence = Integer.parseInt(rid.substring(10, 15));
+		for (int i = 0; i < ridBatchSize; i++)
+			rids.add(rid.substring(0, 10) + String.format("%05d", (sequence + i) % 100000) + rid.substring(15));
+		return rids;
+	}
+
+	private AuthLockOrUnLockRequestDto authLockRequest() {
+		AuthLockOrUnLockRequestDto request = new AuthLockOrUnLockRequestDto();
+		request.setTransactionID(TRANSACTION_ID);
+		request.setIndividualId(uin);
+		request.setIndividualIdType(IdType.UIN);
+		request.setOtp(OTP);
+		List<String> authTypes = new ArrayList<>();
+		authTypes.add("bio-FIR");
+		authTypes.add("bio-IIR");
+		request.setAuthType(authTypes);
+		return request;
+	}
+
+	private String identityJson() throws IOException {
+		Map<String, Object> identity = new LinkedHashMap<>();
+		identity.put("IDSchemaVersion", 1.0);
+		identity.put("UIN", Long.valueOf(uin));
+		identity.put("email", "resident@mosip.io");
+		identity.put("phone", "9876543210");
+		for (String proof : PROOFS) {
+			Map<String, Object> document = new LinkedHashMap<>();
+			document.put("value", proof + "_document");
+			document.put("type", "DOC");
+			document.put("format", "pdf");
+			identity.put(proof, document);
+		}
+		Map<String, Object> identityJson = new LinkedHashMap<>();
+		identityJson.put("identity", identity);
+		return Base64.getUrlEncoder()
+				.encodeToString(JsonUtil.writeValueAsString(identityJson).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<ResidentDocuments> documents() {
+		String value = Base64.getUrlEncoder().encodeToString(new byte[DOCUMENT_SIZE]);
+		List<ResidentDocuments> documents = new ArrayList<>();
+		for (String proof : PROOFS) {
+			ResidentDocuments document = new ResidentDocuments();
+			document.setName(proof + "_document");
+			document.setValue(value);
+			documents.add(document);
+		}
+		return documents;
+	}
+
+	private static <T> RequestWrapper<T> wrap(String id, String version, T request) {
+		RequestWrapper<T> requestWrapper = new RequestWrapper<>();
+		requestWrapper.setId(id);
+		requestWrapper.setVersion(version);
+		requestWrapper.setRequest(request);
+		return requestWrapper;
+	}
+}
@@ -0,0 +1,88 @@
+package io.mosip.resident.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.mosip.resident.constant.ApiName;
+
+/**
+ * Latency percentiles, throughput and downstream calls per request of each
+ * endpoint.
+ */
+final class LoadTestReport {
+
+	private static final String ROW = "%-40s %8s %8s %8s %10s %9s %9s %9s %10s%n";
+
+	private final LoadTestSettings settings;
+
+	private final List<Phase> phases = new ArrayList<>();
+
+	LoadTestReport(LoadTestSettings settings) {
+		this.settings = settings;
+	}
+
+	void add(Endpoint endpoint, LatencyRecorder recorder, Map<ApiName, Long> calls) {
+		phases.add(new Phase(endpoint, recorder, calls));
+	}
+
+	void print(PrintStream out) {
+		out.println();
+		out.println("Resident service load test: " + settings);
+		out.printf(Locale.ROOT, ROW, "endpoint", "requests", "failed", "dropped", "req/s", "p50 ms", "p95 ms",
+				"p99 ms", "calls/req");
+		for (Phase phase : phases) {
+			LatencyRecorder recorder = phase.recorder;
+			out.printf(Locale.ROOT, ROW, phase.endpoint, recorder.count(), recorder.failures(), recorder.dropped(),
+					format(recorder.throughput()), format(recorder.percentileMillis(50)),
+					format(recorder.percentileMillis(95)), format(recorder.percentileMillis(99)),
+					format(callsPerRequest(phase, totalCalls(phase))));
+		}
+		out.println();
+		out.println("Downstream calls per request");
+		for (Phase phase : phases) {
+			StringBuilder calls = new StringBuilder();
+			phase.calls.forEach((apiName, count) -> calls.append(calls.length() == 0 ? "" : ", ").append(apiName)
+					.append('=').append(format(callsPerRequest(phase, count))));
+			out.printf(Locale.ROOT, "%-40s %s%n", phase.endpoint, calls.length() == 0 ? "-" : calls);
+		}
+		for (Phase phase : phases) {
+			if (phase.recorder.firstFailure() != null) {
+				out.println();
+				out.println("First failure of " + phase.endpoint + ": " + phase.recorder.firstFailure());
+			}
+		}
+	}
+
+	private static long totalCalls(Phase phase) {
+		long total = 0;
+		for (Long count : phase.calls.values())
+			total += count;
+		return total;
+	}
+
+	private static double callsPerRequest(Phase phase, long calls) {
+		return phase.recorder.count() == 0 ? 0 : (double) calls / phase.recorder.count();
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.2f", value);
+	}
+
+	private static final class Phase {
+
+		private final Endpoint endpoint;
+
+		private final LatencyRecorder recorder;
+
+		private final Map<ApiName, Long> calls;
+
+		private Phase(Endpoint endpoint, LatencyRecorder recorder, Map<ApiName, Long> calls) {
+			this.endpoint = endpoint;
+			this.recorder = recorder;
+			this.calls = calls;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package io.mosip.resident.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import io.mosip.kernel.core.idvalidator.exception.InvalidIDException;
+import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.kernel.core.idvalidator.spi.UinValidator;
+import io.mosip.kernel.core.idvalidator.spi.VidValidator;
+import io.mosip.resident.ResidentBootApplication;
+
+/**
+ * Boots the resident service against {@link StubDownstream} and drives each
+ * endpoint in turn at the target rate: a warmup that is not recorded, then the
+ * measured run. Downstream calls are counted per phase, so the calls per
+ * request of an endpoint include token and key fetches only as far as the
+ * caches let them through.
+ * <p>
+ * Settings are read from system properties, see {@link LoadTestSettings};
+ * program arguments are passed on to the service (e.g.
+ * --resident.notification.async.enabled=true).
+ */
+public class LoadTestRunner {
+
+	private static final String SERVICE_PROPERTIES = "load-test.properties";
+
+	public static void main(String[] args) throws Exception {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+		LoadTestData data = LoadTestData.fromSystemProperties();
+		StubDownstream stub = new StubDownstream(settings, data);
+		stub.start();
+		ConfigurableApplicationContext context = null;
+		try {
+			context = new SpringApplicationBuilder(ResidentBootApplication.class)
+					.run(serviceArguments(stub.properties(), args));
+			verifyIds(context, data);
+			Environment env = context.getEnvironment();
+			String baseUrl = "http://localhost:" + env.getProperty("local.server.port")
+					+ env.getProperty("server.servlet.path", "");
+
+			LoadTestReport report = new LoadTestReport(settings);
+			try (LoadGenerator generator = new LoadGenerator(settings)) {
+				for (Endpoint endpoint : settings.endpoints) {
+					String url = baseUrl + data.path(endpoint);
+					byte[] body = data.requestBody(endpoint, env);
+					System.out.println("Running " + endpoint);
+					generator.run(endpoint, url, body, settings.warmupSeconds);
+					stub.resetCalls();
+					LatencyRecorder recorder = generator.run(endpoint, url, body, settings.durationSeconds);
+					report.add(endpoint, recorder, stub.calls());
+				}
+			}
+			report.print(System.out);
+		} finally {
+			if (context != null)
+				context.close();
+			stub.stop();
+		}
+	}
+
+	/**
+	 * The service configuration replaces the config server, so it is passed as
+	 * command line arguments, which the bootstrap context sees as well.
+	 */
+	private static String[] serviceArguments(Map<String, String> stubProperties, String[] args) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream is = LoadTestRunner.class.getClassLoader().getResourceAsStream(SERVICE_PROPERTIES)) {
+			if (is == null)
+				throw new IOException("missing resource " + SERVICE_PROPERTIES);
+			properties.load(is);
+		}
+		properties.putAll(stubProperties);
+		List<String> arguments = new ArrayList<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			// a repeated option would be read as a list, so overrides replace the default
+			if (arg.startsWith("--") && separator > 2)
+				properties.setProperty(arg.substring(2, separator), arg.substring(separator + 1));
+			else
+				arguments.add(arg);
+		}
+		for (String name : properties.stringPropertyNames())
+			arguments.add("--" + name + "=" + properties.getProperty(name));
+		return arguments.toArray(new String[0]);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void verifyIds(ConfigurableApplicationContext context, LoadTestData data) {
+		try {
+			context.getBean(UinValidator.class).validateId(data.uin);
+			context.getBean(VidValidator.class).validateId(data.vid);
+			context.getBean(RidValidator.class).validateId(data.rid);
+		} catch (InvalidIDException e) {
+			throw new IllegalStateException("loadtest.uin, loadtest.vid and loadtest.rid must be valid ids: "
+					+ e.getMessage(), e);
+		}
+	}
+}
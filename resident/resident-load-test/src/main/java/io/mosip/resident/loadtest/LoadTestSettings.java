@@ -0,0 +1,102 @@
+package io.mosip.resident.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+import io.mosip.resident.constant.ApiName;
+
+/**
+ * Load test settings, read from system properties (-Dloadtest.rps=100 etc.).
+ * Latency and error rate of the stubbed downstream services can be set for all
+ * of them or per {@link ApiName}, e.g. -Dloadtest.stub.INTERNALAUTH.latency.millis=200.
+ */
+final class LoadTestSettings {
+
+	private static final String PREFIX = "loadtest.";
+
+	private static final String STUB_PREFIX = PREFIX + "stub.";
+
+	/** Requests started per second, independent of the response times. */
+	final int rps;
+
+	final int warmupSeconds;
+
+	final int durationSeconds;
+
+	/** Upper bound of concurrent requests, requests beyond it are counted as dropped. */
+	final int maxConcurrency;
+
+	final int timeoutMillis;
+
+	final List<Endpoint> endpoints;
+
+	final int cardSizeBytes;
+
+	private final long latencyMillis;
+
+	private final long latencyJitterMillis;
+
+	private final double errorRate;
+
+	private LoadTestSettings() {
+		rps = Integer.getInteger(PREFIX + "rps", 50);
+		warmupSeconds = Integer.getInteger(PREFIX + "warmup.seconds", 10);
+		durationSeconds = Integer.getInteger(PREFIX + "duration.seconds", 30);
+		maxConcurrency = Integer.getInteger(PREFIX + "max.concurrency", 500);
+		timeoutMillis = Integer.getInteger(PREFIX + "timeout.millis", 30000);
+		endpoints = endpoints(System.getProperty(PREFIX + "endpoints"));
+		cardSizeBytes = Integer.getInteger(STUB_PREFIX + "card.size.bytes", 64 * 1024);
+		latencyMillis = Long.getLong(STUB_PREFIX + "latency.millis", 20);
+		latencyJitterMillis = Long.getLong(STUB_PREFIX + "latency.jitter.millis", 10);
+		errorRate = Double.parseDouble(System.getProperty(STUB_PREFIX + "error.rate", "0"));
+		if (rps <= 0 || durationSeconds <= 0 || maxConcurrency <= 0)
+			throw new IllegalArgumentException("loadtest.rps, loadtest.duration.seconds and "
+					+ "loadtest.max.concurrency must be positive");
+	}
+
+	static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings();
+	}
+
+	/**
+	 * @return the fixed latency added to every call of the api
+	 */
+	long latencyMillis(ApiName apiName) {
+		return Long.getLong(STUB_PREFIX + apiName.name() + ".latency.millis", latencyMillis);
+	}
+
+	/**
+	 * @return the upper bound of the random latency added on top of
+	 *         {@link #latencyMillis(ApiName)}
+	 */
+	long latencyJitterMillis(ApiName apiName) {
+		return Long.getLong(STUB_PREFIX + apiName.name() + ".latency.jitter.millis", latencyJitterMillis);
+	}
+
+	/**
+	 * @return the share of calls of the api answered with HTTP 500, 0 to 1
+	 */
+	double errorRate(ApiName apiName) {
+		String value = System.getProperty(STUB_PREFIX + apiName.name() + ".error.rate");
+		return value == null ? errorRate : Double.parseDouble(value);
+	}
+
+	private static List<Endpoint> endpoints(String value) {
+		if (value == null || value.trim().isEmpty())
+			return Collections.unmodifiableList(new ArrayList<>(EnumSet.allOf(Endpoint.class)));
+		List<Endpoint> endpoints = new ArrayList<>();
+		for (String name : value.split(","))
+			endpoints.add(Endpoint.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_')));
+		return Collections.unmodifiableList(endpoints);
+	}
+
+	@Override
+	public String toString() {
+		return "rps=" + rps + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s, maxConcurrency="
+				+ maxConcurrency + ", stub latency=" + latencyMillis + "+0.." + latencyJitterMillis
+				+ "ms, stub error rate=" + errorRate;
+	}
+}
@@ -0,0 +1,336 @@
+package io.mosip.resident.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.resident.constant.ApiName;
+
+/**
+ * Local HTTP stub of every downstream service in {@link ApiName}, plus the
+ * config server file the identity mapping is read from. Each api is served
+ * under /&lt;ApiName&gt;, so path segments and query parameters the service
+ * appends are accepted as they are. Calls are counted per api and answered
+ * after the configured latency; the configured share of calls fails with HTTP
+ * 500.
+ */
+final class StubDownstream {
+
+	private static final String CONFIG_PATH = "config";
+
+	private static final String IDENTITY_MAPPING_FILE = "IdentityMapping.json";
+
+	private static final String IDENTITY_MAPPING_ETAG = "\"1\"";
+
+	private static final String APPLICATION_JSON = "application/json";
+
+	private static final byte[] ERROR_BODY = ("{\"errors\":[{\"errorCode\":\"STUB-500\","
+			+ "\"message\":\"Error injected by the load test stub\"}]}").getBytes(StandardCharsets.UTF_8);
+
+	private static final String TEMPLATE = "Dear $name_eng, your request for $eventType was processed on $date "
+			+ "at $time.#if($RID) Your RID is $RID.#end";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final LoadTestSettings settings;
+
+	private final LoadTestData data;
+
+	private final Map<ApiName, AtomicLong> calls = new EnumMap<>(ApiName.class);
+
+	private final Map<ApiName, byte[]> responses = new EnumMap<>(ApiName.class);
+
+	private final byte[] identityMapping;
+
+	private final byte[] card;
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	StubDownstream(LoadTestSettings settings, LoadTestData data) throws IOException {
+		this.settings = settings;
+		this.data = data;
+		for (ApiName apiName : ApiName.values())
+			calls.put(apiName, new AtomicLong());
+		identityMapping = LoadTestData.resource(IDENTITY_MAPPING_FILE).getBytes(StandardCharsets.UTF_8);
+		card = new byte[settings.cardSizeBytes];
+		byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(header, 0, card, 0, Math.min(header.length, card.length));
+		for (ApiName apiName : ApiName.values())
+			responses.put(apiName, responseBody(apiName));
+	}
+
+	void start() throws IOException {
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "stub-downstream-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	void stop() {
+		if (server != null)
+			server.stop(0);
+		if (executor != null)
+			executor.shutdownNow();
+	}
+
+	String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * @return the service properties pointing every api and the config server at
+	 *         the stub
+	 */
+	Map<String, String> properties() {
+		Map<String, String> properties = new LinkedHashMap<>();
+		for (ApiName apiName : ApiName.values())
+			properties.put(apiName.name(), baseUrl() + "/" + apiName.name());
+		properties.put("mosip.base.url", baseUrl());
+		properties.put("config.server.file.storage.uri", baseUrl() + "/" + CONFIG_PATH + "/");
+		properties.put("registration.processor.identityjson", IDENTITY_MAPPING_FILE);
+		return properties;
+	}
+
+	/**
+	 * @return the calls per api since the last {@link #resetCalls()}
+	 */
+	Map<ApiName, Long> calls() {
+		Map<ApiName, Long> snapshot = new EnumMap<>(ApiName.class);
+		calls.forEach((apiName, count) -> {
+			if (count.get() > 0)
+				snapshot.put(apiName, count.get());
+		});
+		return snapshot;
+	}
+
+	void resetCalls() {
+		calls.values().forEach(count -> count.set(0));
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			byte[] request = read(exchange.getRequestBody());
+			String path = exchange.getRequestURI().getPath();
+			int end = path.indexOf('/', 1);
+			String name = end < 0 ? path.substring(1) : path.substring(1, end);
+			if (CONFIG_PATH.equals(name)) {
+				serveIdentityMapping(exchange);
+				return;
+			}
+			ApiName apiName = apiName(name);
+			if (apiName == null) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			calls.get(apiName).incrementAndGet();
+			delay(apiName);
+			if (ThreadLocalRandom.current().nextDouble() < settings.errorRate(apiName)) {
+				send(exchange, 500, APPLICATION_JSON, ERROR_BODY);
+				return;
+			}
+			switch (apiName) {
+			case KERNELAUTHMANAGER:
+				exchange.getResponseHeaders().add("Set-Cookie",
+						"Authorization=stub-" + System.nanoTime() + "; Max-Age=1800; Path=/");
+				send(exchange, 200, APPLICATION_JSON, responses.get(apiName));
+				break;
+			case REGPROCPRINT:
+				send(exchange, 200, "application/pdf", card);
+				break;
+			case REGISTRATIONSTATUSSEARCH:
+				send(exchange, 200, APPLICATION_JSON, registrationStatuses(request));
+				break;
+			default:
+				send(exchange, 200, APPLICATION_JSON, responses.get(apiName));
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void serveIdentityMapping(HttpExchange exchange) throws IOException {
+		exchange.getResponseHeaders().add("ETag", IDENTITY_MAPPING_ETAG);
+		if (IDENTITY_MAPPING_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+			exchange.sendResponseHeaders(304, -1);
+		else
+			send(exchange, 200, APPLICATION_JSON, identityMapping);
+	}
+
+	private void delay(ApiName apiName) {
+		long millis = settings.latencyMillis(apiName);
+		long jitter = settings.latencyJitterMillis(apiName);
+		if (jitter > 0)
+			millis += ThreadLocalRandom.current().nextLong(jitter + 1);
+		if (millis <= 0)
+			return;
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+			throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	private static byte[] read(InputStream is) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = is.read(buffer)) != -1)
+			out.write(buffer, 0, read);
+		return out.toByteArray();
+	}
+
+	/**
+	 * @return a status per RID searched, as registration processor answers a
+	 *         search for several RIDs, or the single status object for one RID
+	 */
+	private byte[] registrationStatuses(byte[] request) throws IOException {
+		JsonNode rids = mapper.readTree(request).path("request");
+		if (rids.size() <= 1)
+			return responses.get(ApiName.REGISTRATIONSTATUSSEARCH);
+		ObjectNode body = mapper.createObjectNode();
+		ArrayNode statuses = body.putArray("response");
+		for (JsonNode rid : rids) {
+			ObjectNode status = statuses.addObject();
+			status.put("registrationId", rid.path("registrationId").asText());
+			status.put("statusCode", "PROCESSED");
+		}
+		body.putArray("errors");
+		return mapper.writeValueAsBytes(body);
+	}
+
+	private static ApiName apiName(String name) {
+		for (ApiName apiName : ApiName.values())
+			if (apiName.name().equals(name))
+				return apiName;
+		return null;
+	}
+
+	/**
+	 * @return the successful response of the api, in the shape the service
+	 *         reads it
+	 */
+	private byte[] responseBody(ApiName apiName) throws IOException {
+		ObjectNode body = mapper.createObjectNode();
+		ObjectNode response = body.putObject("response");
+		switch (apiName) {
+		case KERNELAUTHMANAGER:
+			response.put("status", "success");
+			response.put("message", "Clientid and Secret key verified successfully");
+			break;
+		case KERNELENCRYPTIONSERVICE:
+			response.put("publicKey", publicKey());
+			response.put("issuedAt", LocalDateTime.now(ZoneOffset.UTC).toString());
+			response.put("expiryAt", LocalDateTime.now(ZoneOffset.UTC).plusYears(1).toString());
+			break;
+		case INTERNALAUTH:
+			response.put("authStatus", true);
+			break;
+		case INTERNALAUTHTRANSACTIONS:
+			ObjectNode transaction = response.putArray("authTransactions").addObject();
+			transaction.put("transactionID", "1234567890");
+			transaction.put("requestdatetime", "2020-01-01T10:00:00");
+			transaction.put("authtypeCode", "OTP-AUTH");
+			transaction.put("statusCode", "Y");
+			transaction.put("statusComment", "OTP Authentication Success");
+			transaction.put("referenceIdType", "UIN");
+			transaction.put("entityName", "ida_app_user");
+			break;
+		case IDREPOGETIDBYUIN:
+		case IDREPOGETIDBYRID:
+			ObjectNode identity = (ObjectNode) mapper.readTree(LoadTestData.resource("ID.json")).get("identity");
+			identity.put("UIN", Long.parseLong(data.uin));
+			response.put("status", "ACTIVATED");
+			response.set("identity", identity);
+			break;
+		case GETUINBYVID:
+			response.put("UIN", data.uin);
+			break;
+		case TEMPLATES:
+			ObjectNode template = response.putArray("templates").addObject();
+			template.put("langCode", "eng");
+			template.put("fileText", TEMPLATE);
+			break;
+		case SMSNOTIFIER:
+		case EMAILNOTIFIER:
+			response.put("status", "success");
+			response.put("message", "Notification sent");
+			break;
+		case IDAUTHCREATEVID:
+		case IDAUTHREVOKEVID:
+			response.put("VID", data.vid);
+			response.put("UIN", data.uin);
+			response.put("vidStatus", apiName == ApiName.IDAUTHCREATEVID ? "ACTIVE" : "REVOKED");
+			break;
+		case REGISTRATIONSTATUSSEARCH:
+			response.put("registrationId", data.rid);
+			response.put("statusCode", "PROCESSED");
+			break;
+		case REPRINTUIN:
+		case REGPROCRESUPDATE:
+			response.put("registrationId", data.rid);
+			response.put("status", "success");
+			response.put("message", "Packet received");
+			break;
+		case AUTHTYPESTATUSUPDATE:
+			body.remove("response");
+			break;
+		default:
+			break;
+		}
+		body.putArray("errors");
+		return mapper.writeValueAsBytes(body);
+	}
+
+	private static String publicKey() throws IOException {
+		try {
+			KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			keyPairGenerator.initialize(2048);
+			return Base64.getUrlEncoder()
+					.encodeToString(keyPairGenerator.generateKeyPair().getPublic().getEncoded());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -2,7 +2,12 @@ package io.mosip.resident.config;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.Filter;
 
 import org.apache.velocity.app.VelocityEngine;
@@ -10,9 +15,20 @@ import org.apache.velocity.runtime.RuntimeConstants;
 import org.apache.velocity.runtime.log.NullLogChute;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.apache.velocity.runtime.resource.loader.FileResourceLoader;
+import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import io.mosip.kernel.core.idvalidator.spi.RidValidator;
 import io.mosip.kernel.core.idvalidator.spi.UinValidator;
@@ -22,9 +38,11 @@ import io.mosip.kernel.idvalidator.rid.impl.RidValidatorImpl;
 import io.mosip.kernel.idvalidator.uin.impl.UinValidatorImpl;
 import io.mosip.kernel.idvalidator.vid.impl.VidValidatorImpl;
 import io.mosip.kernel.templatemanager.velocity.impl.TemplateManagerImpl;
+import io.mosip.resident.util.VirtualThreads;
 
 
 @Configuration
+@EnableScheduling
 public class Config {
 	private String defaultEncoding = StandardCharsets.UTF_8.name();
 	/** The resource loader. */
@@ -36,6 +54,30 @@ public class Config {
 	/** The cache. */
 	private boolean cache = Boolean.TRUE;
 
+	/** The string resource loader used for master data templates. */
+	private static final String STRING_RESOURCE_LOADER = "string";
+
+	/**
+	 * Switches request handling, notification sending and the downstream calls
+	 * to virtual threads. Off by default, the thread pools stay the tested
+	 * execution mode until virtual threads are measured in a deployment. Each
+	 * executor can override it with its own property.
+	 */
+	static final String VIRTUAL_THREADS_ENABLED = "resident.virtual-threads.enabled";
+
+	@Autowired
+	private Environment environment;
+
+	/**
+	 * {@link ResidentLogger} instances are created statically, so the payload
+	 * length is handed over here, again after a config refresh.
+	 */
+	@PostConstruct
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void configureResidentLogger() {
+		ResidentLogger.setPayloadMaxChars(environment.getProperty(ResidentLogger.PAYLOAD_MAX_CHARS_PROPERTY,
+				Integer.class, ResidentLogger.DEFAULT_PAYLOAD_MAX_CHARS));
+	}
 
 	@Bean
 	public FilterRegistrationBean<Filter> registerReqResFilter() {
@@ -49,6 +91,14 @@ public class Config {
 	public Filter getReqResFilter() {
 		return new ReqResFilter();
 	}
+
+	/**
+	 * Registered with the application's ObjectMapper once at startup.
+	 */
+	@Bean
+	public JavaTimeModule javaTimeModule() {
+		return new JavaTimeModule();
+	}
 	
 	@Bean
 	public VidValidator<String> vidValidator() {
@@ -66,19 +116,108 @@ public class Config {
 	}
 	
 	@Bean
-	public TemplateManager getTemplateManager() {
+	public TemplateManager getTemplateManager(VelocityEngine velocityEngine) {
+		return new TemplateManagerImpl(velocityEngine);
+	}
+
+	/**
+	 * Velocity engine shared by the template manager and the notification
+	 * template store. The string resource loader lets the store parse a template
+	 * fetched from master data once and reuse the parsed form.
+	 */
+	@Bean
+	public VelocityEngine velocityEngine() {
 		final Properties properties = new Properties();
 		properties.put(RuntimeConstants.INPUT_ENCODING, defaultEncoding);
 		properties.put(RuntimeConstants.OUTPUT_ENCODING, defaultEncoding);
 		properties.put(RuntimeConstants.ENCODING_DEFAULT, defaultEncoding);
-		properties.put(RuntimeConstants.RESOURCE_LOADER, resourceLoader);
+		properties.put(RuntimeConstants.RESOURCE_LOADER, resourceLoader + "," + STRING_RESOURCE_LOADER);
 		properties.put(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, templatePath);
 		properties.put(RuntimeConstants.FILE_RESOURCE_LOADER_CACHE, cache);
 		properties.put(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
 		properties.put("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
 		properties.put("file.resource.loader.class", FileResourceLoader.class.getName());
+		properties.put("string.resource.loader.class", StringResourceLoader.class.getName());
+		// parsed templates are cached by the notification template store
+		properties.put("string.resource.loader.cache", Boolean.FALSE);
 		VelocityEngine engine = new VelocityEngine(properties);
 		engine.init();
-		return new TemplateManagerImpl(engine);
+		return engine;
+	}
+
+	/**
+	 * Executor on which the notification channels and languages are merged and
+	 * sent concurrently. Uses a virtual thread per task when enabled and supported
+	 * by the runtime, a fixed pool otherwise.
+	 */
+	@Bean(name = "notificationExecutor", destroyMethod = "shutdown")
+	public ExecutorService notificationExecutor(
+			@Value("${resident.notification.executor.threads:16}") int threads,
+			@Value("${resident.notification.executor.virtual-threads:${" + VIRTUAL_THREADS_ENABLED
+					+ ":false}}") boolean virtualThreads) {
+		return newExecutor("resident-notification-task-", threads, virtualThreads);
+	}
+
+	/**
+	 * Time a controller future is given before the request is answered with a
+	 * timeout, see {@link io.mosip.resident.util.AsyncRequestExecutor}. Without it
+	 * the container default of 30 seconds applies, shorter than a single
+	 * downstream call may take with the rest client defaults of 5 seconds for a
+	 * pooled connection, 10 to connect and 60 to read. Raise it with the rest
+	 * client timeouts.
+	 */
+	@Bean
+	public WebMvcConfigurer asyncSupportConfigurer(
+			@Value("${resident.api.async.timeout.millis:120000}") long asyncTimeout) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+				configurer.setDefaultTimeout(asyncTimeout);
+			}
+		};
+	}
+
+	/**
+	 * Executor on which the controllers call the services, so that the servlet
+	 * request thread is released while the downstream calls are in flight.
+	 */
+	@Bean(name = "apiExecutor", destroyMethod = "shutdown")
+	public ExecutorService apiExecutor(@Value("${resident.api.executor.threads:200}") int threads,
+			@Value("${resident.api.executor.virtual-threads:${" + VIRTUAL_THREADS_ENABLED
+					+ ":false}}") boolean virtualThreads) {
+		return newExecutor("resident-api-task-", threads, virtualThreads);
+	}
+
+	/**
+	 * Executor on which hedged downstream GETs are sent. The calls are bounded by
+	 * the downstream bulkheads, so the fallback pool is not, and a hedged call
+	 * never waits for a thread behind the calls that wait for it.
+	 */
+	@Bean(name = "hedgeExecutor", destroyMethod = "shutdown")
+	public ExecutorService hedgeExecutor(@Value("${resident.hedge.executor.virtual-threads:${"
+			+ VIRTUAL_THREADS_ENABLED + ":false}}") boolean virtualThreads) {
+		ExecutorService executor = virtualThreads ? VirtualThreads.newVirtualThreadPerTaskExecutor() : null;
+		return executor != null ? executor
+				: Executors.newCachedThreadPool(daemonThreadFactory("resident-hedge-task-"));
+	}
+
+	/**
+	 * Uses a virtual thread per task when enabled and supported by the runtime, a
+	 * fixed pool of daemon threads otherwise.
+	 */
+	private static ExecutorService newExecutor(String threadNamePrefix, int threads, boolean virtualThreads) {
+		ExecutorService executor = virtualThreads ? VirtualThreads.newVirtualThreadPerTaskExecutor() : null;
+		if (executor != null)
+			return executor;
+		return Executors.newFixedThreadPool(threads, daemonThreadFactory(threadNamePrefix));
+	}
+
+	private static ThreadFactory daemonThreadFactory(String threadNamePrefix) {
+		AtomicInteger threadCount = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
 	}
 }
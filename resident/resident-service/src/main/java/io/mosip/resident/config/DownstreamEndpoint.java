@@ -0,0 +1,27 @@
+package io.mosip.resident.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import io.mosip.resident.util.DownstreamGuard;
+
+/**
+ * Actuator endpoint /actuator/downstream with the circuit breaker state and
+ * the free bulkhead slots of each downstream service.
+ */
+@Component
+@Endpoint(id = "downstream")
+public class DownstreamEndpoint {
+
+	@Autowired
+	private DownstreamGuard downstreamGuard;
+
+	@ReadOperation
+	public Map<String, Map<String, Object>> downstream() {
+		return downstreamGuard.getStates();
+	}
+}
@@ -0,0 +1,226 @@
+package io.mosip.resident.config;
+
+import java.net.URI;
+import java.security.KeyManagementException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.http.ssl.TrustStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.util.DownstreamRetry;
+import io.mosip.resident.util.ResidentServiceRestClient;
+
+/**
+ * Creates the single pooled HTTP client shared by every outbound call of the
+ * resident service, so that TLS handshakes and TCP connections are reused
+ * instead of being rebuilt per request.
+ */
+@Configuration
+public class HttpClientConfig {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(HttpClientConfig.class);
+
+	private static final String MAX_PER_ROUTE_PREFIX = "resident.rest.client.max.per.route.";
+
+	private static final String READ_TIMEOUT_PREFIX = "resident.rest.client.read.timeout.millis.";
+
+	@Autowired
+	private Environment environment;
+
+	/** Maximum connections kept in the pool across all downstream services. */
+	@Value("${resident.rest.client.max.total:200}")
+	private int maxTotal;
+
+	/** Default maximum connections per downstream host. */
+	@Value("${resident.rest.client.max.per.route:50}")
+	private int defaultMaxPerRoute;
+
+	@Value("${resident.rest.client.connect.timeout.millis:10000}")
+	private int connectTimeout;
+
+	@Value("${resident.rest.client.read.timeout.millis:60000}")
+	private int readTimeout;
+
+	@Value("${resident.rest.client.connection.request.timeout.millis:5000}")
+	private int connectionRequestTimeout;
+
+	@Value("${resident.rest.client.idle.eviction.seconds:30}")
+	private long idleEvictionSeconds;
+
+	/** Keep-alive used when the server does not send a Keep-Alive header. */
+	@Value("${resident.rest.client.keep.alive.seconds:60}")
+	private long keepAliveSeconds;
+
+	/**
+	 * The pool limits connections per route, i.e. per downstream host. A limit
+	 * set for one service, e.g. resident.rest.client.max.per.route.SMSNOTIFIER,
+	 * applies to the host of that service and so to every service on that host.
+	 * When services on one host are given different limits the largest is used,
+	 * and a warning is logged.
+	 */
+	@Bean
+	public PoolingHttpClientConnectionManager residentConnectionManager()
+			throws KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
+		TrustStrategy acceptingTrustStrategy = (X509Certificate[] chain, String authType) -> true;
+		SSLContext sslContext = SSLContexts.custom().loadTrustMaterial(null, acceptingTrustStrategy).build();
+
+		Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+				.register("https", new SSLConnectionSocketFactory(sslContext))
+				.register("http", PlainConnectionSocketFactory.getSocketFactory()).build();
+
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				socketFactoryRegistry);
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+		Map<HttpRoute, Integer> maxPerRoutes = new HashMap<>();
+		for (ApiName apiName : ApiName.values()) {
+			String maxPerRoute = environment.getProperty(MAX_PER_ROUTE_PREFIX + apiName.name());
+			HttpRoute route = getRoute(environment.getProperty(apiName.name()));
+			if (maxPerRoute != null && route != null) {
+				maxPerRoutes.merge(route, Integer.parseInt(maxPerRoute.trim()), (limit, apiLimit) -> {
+					if (!limit.equals(apiLimit))
+						logger.warn(LoggerFileConstant.SESSIONID.toString(),
+								LoggerFileConstant.APPLICATIONID.toString(),
+								LoggerFileConstant.APPLICATIONID.toString(),
+								"Services on " + route.getTargetHost() + " set different max per route limits, using "
+										+ Math.max(limit, apiLimit) + " for all of them");
+					return Math.max(limit, apiLimit);
+				});
+			}
+		}
+		maxPerRoutes.forEach(connectionManager::setMaxPerRoute);
+		return connectionManager;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient residentHttpClient(
+			@Qualifier("residentConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+		RequestConfig requestConfig = requestConfig(readTimeout);
+
+		logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(),
+				"Creating pooled http client for profiles " + Arrays.asList(environment.getActiveProfiles()));
+
+		return HttpClients.custom().setConnectionManager(connectionManager).setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(keepAliveStrategy())
+				.evictIdleConnections(idleEvictionSeconds, TimeUnit.SECONDS).evictExpiredConnections().build();
+	}
+
+	/**
+	 * Responses are read with the application's ObjectMapper, so typed responses
+	 * such as {@code ResponseWrapper<VidGeneratorResponseDto>} are bound in one
+	 * pass with the same settings as the rest of the service. A read timeout set
+	 * for one service, e.g. resident.rest.client.read.timeout.millis.SMSNOTIFIER,
+	 * applies to the calls made through {@link ResidentServiceRestClient} that
+	 * name that service.
+	 */
+	@Bean
+	public RestTemplate residentRestTemplate(@Qualifier("residentHttpClient") CloseableHttpClient httpClient,
+			ObjectMapper objectMapper) {
+		Map<ApiName, RequestConfig> requestConfigs = new EnumMap<>(ApiName.class);
+		for (ApiName apiName : ApiName.values()) {
+			String timeout = environment.getProperty(READ_TIMEOUT_PREFIX + apiName.name());
+			if (timeout != null) {
+				requestConfigs.put(apiName, requestConfig(Integer.parseInt(timeout.trim())));
+			}
+		}
+		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory() {
+			@Override
+			protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+				RequestConfig requestConfig = requestConfigs.get(ResidentServiceRestClient.getCurrentApiName());
+				if (requestConfig == null) {
+					return null;
+				}
+				HttpClientContext context = HttpClientContext.create();
+				context.setRequestConfig(requestConfig);
+				return context;
+			}
+
+			@Override
+			protected HttpUriRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+				HttpUriRequest request = super.createHttpUriRequest(httpMethod, uri);
+				// closes the connection of a hedged request that lost
+				DownstreamRetry.onAbort(request::abort);
+				return request;
+			}
+		};
+		requestFactory.setHttpClient(httpClient);
+		RestTemplate restTemplate = new RestTemplate(requestFactory);
+		restTemplate.getMessageConverters()
+				.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter
+						? new MappingJackson2HttpMessageConverter(objectMapper)
+						: converter);
+		return restTemplate;
+	}
+
+	private RequestConfig requestConfig(int socketTimeout) {
+		return RequestConfig.custom().setConnectTimeout(connectTimeout).setSocketTimeout(socketTimeout)
+				.setConnectionRequestTimeout(connectionRequestTimeout).build();
+	}
+
+	private ConnectionKeepAliveStrategy keepAliveStrategy() {
+		return (response, context) -> {
+			long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return keepAlive > 0 ? keepAlive : TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+		};
+	}
+
+	private HttpRoute getRoute(String url) {
+		if (url == null || url.isEmpty()) {
+			return null;
+		}
+		try {
+			URI uri = URI.create(url);
+			if (uri.getHost() == null) {
+				return null;
+			}
+			boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+			int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+			return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+		} catch (IllegalArgumentException e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "Ignoring malformed api url " + url);
+			return null;
+		}
+	}
+}
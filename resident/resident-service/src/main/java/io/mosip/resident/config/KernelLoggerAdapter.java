@@ -0,0 +1,59 @@
+package io.mosip.resident.config;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Kernel logger that writes through the SLF4J logger of the class, so that
+ * log lines go to the appenders configured in logback.xml and the level
+ * check happens before the message is formatted. The id and the description
+ * are masked with {@link ResidentLogger#mask(String)}, as callers pass
+ * individual ids and contact details in both.
+ */
+class KernelLoggerAdapter implements Logger {
+
+	/**
+	 * Message pattern of every line, the arguments are session id, id type, id
+	 * and description.
+	 */
+	static final String MESSAGE_PATTERN = "{} - {} - {} - {}";
+
+	private final org.slf4j.Logger logger;
+
+	KernelLoggerAdapter(org.slf4j.Logger logger) {
+		this.logger = logger;
+	}
+
+	@Override
+	public void debug(String sessionId, String idType, String id, String description) {
+		if (logger.isDebugEnabled())
+			logger.debug(MESSAGE_PATTERN, sessionId, idType, mask(id), mask(description));
+	}
+
+	@Override
+	public void warn(String sessionId, String idType, String id, String description) {
+		if (logger.isWarnEnabled())
+			logger.warn(MESSAGE_PATTERN, sessionId, idType, mask(id), mask(description));
+	}
+
+	@Override
+	public void error(String sessionId, String idType, String id, String description) {
+		if (logger.isErrorEnabled())
+			logger.error(MESSAGE_PATTERN, sessionId, idType, mask(id), mask(description));
+	}
+
+	@Override
+	public void info(String sessionId, String idType, String id, String description) {
+		if (logger.isInfoEnabled())
+			logger.info(MESSAGE_PATTERN, sessionId, idType, mask(id), mask(description));
+	}
+
+	@Override
+	public void trace(String sessionId, String idType, String id, String description) {
+		if (logger.isTraceEnabled())
+			logger.trace(MESSAGE_PATTERN, sessionId, idType, mask(id), mask(description));
+	}
+
+	private static String mask(String text) {
+		return text == null ? null : ResidentLogger.mask(text);
+	}
+}
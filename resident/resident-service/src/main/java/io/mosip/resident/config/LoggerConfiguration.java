@@ -1,8 +1,8 @@
 package io.mosip.resident.config;
 
+import org.slf4j.LoggerFactory;
+
 import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.logger.logback.appender.ConsoleAppender;
-import io.mosip.kernel.logger.logback.factory.Logfactory;
 
 
 public class LoggerConfiguration {
@@ -13,14 +13,14 @@ public class LoggerConfiguration {
 	}
 
 	/**
-	 * This method sets the logger target, and returns appender.
+	 * Returns the logger of the class. Lines are written by the appenders of
+	 * logback.xml, which hand them to a background thread instead of writing
+	 * to the console on the calling thread.
 	 * 
 	 * @param clazz the class.
-	 * @return the appender.
+	 * @return the logger.
 	 */
 	public static Logger logConfig(Class<?> clazz) {
-		ConsoleAppender appender = new ConsoleAppender();
-		appender.setTarget("System.err");
-		return Logfactory.getDefaultConsoleLogger(appender, clazz);
+		return new KernelLoggerAdapter(LoggerFactory.getLogger(clazz));
 	}
 }
@@ -0,0 +1,93 @@
+package io.mosip.resident.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Request that counts the bytes read from its body, so that error responses
+ * can tell whether a request body was sent. The body itself is not kept.
+ */
+public class ReadCountingRequestWrapper extends HttpServletRequestWrapper {
+
+	private long bytesRead;
+
+	private ServletInputStream inputStream;
+
+	private BufferedReader reader;
+
+	public ReadCountingRequestWrapper(HttpServletRequest request) {
+		super(request);
+	}
+
+	/**
+	 * @return true if any of the body was read
+	 */
+	public boolean hasBody() {
+		return bytesRead > 0;
+	}
+
+	@Override
+	public ServletInputStream getInputStream() throws IOException {
+		if (inputStream == null)
+			inputStream = new CountingInputStream(getRequest().getInputStream());
+		return inputStream;
+	}
+
+	@Override
+	public BufferedReader getReader() throws IOException {
+		if (reader == null) {
+			String encoding = getCharacterEncoding();
+			reader = new BufferedReader(new InputStreamReader(getInputStream(),
+					encoding != null ? encoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+		}
+		return reader;
+	}
+
+	private class CountingInputStream extends ServletInputStream {
+
+		private final ServletInputStream is;
+
+		private CountingInputStream(ServletInputStream is) {
+			this.is = is;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = is.read();
+			if (b != -1)
+				bytesRead++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = is.read(b, off, len);
+			if (read > 0)
+				bytesRead += read;
+			return read;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return is.isFinished();
+		}
+
+		@Override
+		public boolean isReady() {
+			return is.isReady();
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			is.setReadListener(readListener);
+		}
+	}
+}
@@ -9,11 +9,11 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
-
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
+/**
+ * Wraps the request to count the bytes read from its body, see
+ * {@link ReadCountingRequestWrapper}. Responses are written as they are.
+ */
 public class ReqResFilter implements Filter {
 
 	@Override
@@ -25,19 +25,13 @@ public class ReqResFilter implements Filter {
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
 		HttpServletRequest httpServletRequest = (HttpServletRequest) request;
-		HttpServletResponse httpServletResponse = (HttpServletResponse) response;
-		ContentCachingRequestWrapper requestWrapper = null;
-		ContentCachingResponseWrapper responseWrapper = null;
 	
 			// Default processing for url ends with .stream
 			if (httpServletRequest.getRequestURI().endsWith(".stream")) {
 				chain.doFilter(request, response);
 				return;
 			}
-			requestWrapper = new ContentCachingRequestWrapper(httpServletRequest);
-			responseWrapper = new ContentCachingResponseWrapper(httpServletResponse);
-			chain.doFilter(requestWrapper, responseWrapper);
-			responseWrapper.copyBodyToResponse();
+			chain.doFilter(new ReadCountingRequestWrapper(httpServletRequest), response);
 
 
 	}
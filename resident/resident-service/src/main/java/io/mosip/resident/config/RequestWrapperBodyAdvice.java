@@ -0,0 +1,44 @@
+package io.mosip.resident.config;
+
+import java.lang.reflect.Type;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import io.mosip.kernel.core.http.RequestWrapper;
+
+/**
+ * Keeps the {@link io.mosip.resident.dto.RequestWrapper} or kernel
+ * {@link RequestWrapper} read for the controller as a request attribute, so
+ * that {@link ResponseBodyAdviceConfig} can copy its id and version to the
+ * response without reading the request body again.
+ */
+@RestControllerAdvice
+public class RequestWrapperBodyAdvice extends RequestBodyAdviceAdapter {
+
+	/** Request attribute holding the request wrapper of the request. */
+	public static final String REQUEST_WRAPPER_ATTRIBUTE = RequestWrapperBodyAdvice.class.getName()
+			+ ".requestWrapper";
+
+	@Override
+	public boolean supports(MethodParameter methodParameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		Class<?> parameterType = methodParameter.getParameterType();
+		return io.mosip.resident.dto.RequestWrapper.class.isAssignableFrom(parameterType)
+				|| RequestWrapper.class.isAssignableFrom(parameterType);
+	}
+
+	@Override
+	public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+			Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null)
+			attributes.setAttribute(REQUEST_WRAPPER_ATTRIBUTE, body, RequestAttributes.SCOPE_REQUEST);
+		return body;
+	}
+}
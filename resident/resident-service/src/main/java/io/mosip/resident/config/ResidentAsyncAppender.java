@@ -0,0 +1,214 @@
+package io.mosip.resident.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Appender that queues log events in a bounded ring buffer and writes them to
+ * the attached appenders from one background thread, in batches of up to
+ * maxBatchSize events. The attached appenders are flushed once per batch, so
+ * they can be configured without immediateFlush.
+ * <p>
+ * When fewer than discardingThreshold slots are free, DEBUG and TRACE events
+ * are dropped and the number of dropped events is logged as a warning; events
+ * of other levels wait for a free slot.
+ */
+public class ResidentAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+		implements AppenderAttachable<ILoggingEvent> {
+
+	private static final int DEFAULT_QUEUE_SIZE = 8192;
+
+	private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+	private static final int DEFAULT_MAX_FLUSH_TIME_MILLIS = 1000;
+
+	private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+	private final AtomicLong discarded = new AtomicLong();
+
+	private int queueSize = DEFAULT_QUEUE_SIZE;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	/** Free slots below which DEBUG events are dropped, a fifth of the queue by default. */
+	private int discardingThreshold = -1;
+
+	private int maxFlushTimeMillis = DEFAULT_MAX_FLUSH_TIME_MILLIS;
+
+	private BlockingQueue<ILoggingEvent> queue;
+
+	private Thread worker;
+
+	@Override
+	public void start() {
+		if (isStarted())
+			return;
+		if (!appenders.iteratorForAppenders().hasNext()) {
+			addError("No appender attached to async appender " + getName());
+			return;
+		}
+		if (queueSize < 1 || maxBatchSize < 1) {
+			addError("queueSize and maxBatchSize of async appender " + getName() + " must be positive");
+			return;
+		}
+		queue = new ArrayBlockingQueue<>(queueSize);
+		if (discardingThreshold < 0)
+			discardingThreshold = queueSize / 5;
+		worker = new Thread(this::write, "resident-async-log-" + getName());
+		worker.setDaemon(true);
+		super.start();
+		worker.start();
+	}
+
+	/**
+	 * Writes the queued events, waiting at most maxFlushTimeMillis for them.
+	 */
+	@Override
+	public void stop() {
+		if (!isStarted())
+			return;
+		super.stop();
+		worker.interrupt();
+		try {
+			worker.join(maxFlushTimeMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (worker.isAlive())
+			addWarn(queue.size() + " log events of async appender " + getName() + " were not written within "
+					+ maxFlushTimeMillis + " ms");
+		appenders.detachAndStopAllAppenders();
+	}
+
+	@Override
+	protected void append(ILoggingEvent event) {
+		if (event.getLevel().toInt() <= Level.DEBUG_INT && queue.remainingCapacity() < discardingThreshold) {
+			discarded.incrementAndGet();
+			return;
+		}
+		// thread name and MDC are read on the calling thread
+		event.prepareForDeferredProcessing();
+		try {
+			queue.put(event);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void write() {
+		List<ILoggingEvent> batch = new ArrayList<>(maxBatchSize);
+		while (isStarted() || !queue.isEmpty()) {
+			try {
+				if (queue.drainTo(batch, maxBatchSize) == 0) {
+					if (!isStarted())
+						break;
+					batch.add(queue.take());
+					queue.drainTo(batch, maxBatchSize - 1);
+				}
+			} catch (InterruptedException e) {
+				// interrupted by stop(), the loop writes what is left in the queue
+				continue;
+			}
+			reportDiscarded();
+			for (ILoggingEvent event : batch)
+				appenders.appendLoopOnAppenders(event);
+			batch.clear();
+			flush();
+		}
+		reportDiscarded();
+		flush();
+	}
+
+	private void reportDiscarded() {
+		long count = discarded.getAndSet(0);
+		if (count == 0)
+			return;
+		LoggerContext loggerContext = (LoggerContext) getContext();
+		appenders.appendLoopOnAppenders(new LoggingEvent(ResidentAsyncAppender.class.getName(),
+				loggerContext.getLogger(ResidentAsyncAppender.class), Level.WARN,
+				count + " DEBUG log events dropped, the log queue was nearly full", null, null));
+	}
+
+	private void flush() {
+		Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+		while (iterator.hasNext()) {
+			Appender<ILoggingEvent> appender = iterator.next();
+			if (!(appender instanceof OutputStreamAppender))
+				continue;
+			OutputStream os = ((OutputStreamAppender<ILoggingEvent>) appender).getOutputStream();
+			try {
+				if (os != null)
+					os.flush();
+			} catch (IOException e) {
+				addError("Could not flush appender " + appender.getName(), e);
+			}
+		}
+	}
+
+	public void setQueueSize(int queueSize) {
+		this.queueSize = queueSize;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public void setDiscardingThreshold(int discardingThreshold) {
+		this.discardingThreshold = discardingThreshold;
+	}
+
+	public void setMaxFlushTimeMillis(int maxFlushTimeMillis) {
+		this.maxFlushTimeMillis = maxFlushTimeMillis;
+	}
+
+	@Override
+	public void addAppender(Appender<ILoggingEvent> newAppender) {
+		appenders.addAppender(newAppender);
+	}
+
+	@Override
+	public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+		return appenders.iteratorForAppenders();
+	}
+
+	@Override
+	public Appender<ILoggingEvent> getAppender(String name) {
+		return appenders.getAppender(name);
+	}
+
+	@Override
+	public boolean isAttached(Appender<ILoggingEvent> appender) {
+		return appenders.isAttached(appender);
+	}
+
+	@Override
+	public void detachAndStopAllAppenders() {
+		appenders.detachAndStopAllAppenders();
+	}
+
+	@Override
+	public boolean detachAppender(Appender<ILoggingEvent> appender) {
+		return appenders.detachAppender(appender);
+	}
+
+	@Override
+	public boolean detachAppender(String name) {
+		return appenders.detachAppender(name);
+	}
+}
@@ -0,0 +1,50 @@
+package io.mosip.resident.config;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+/**
+ * Writes each log event as one line of JSON. Session id, id type and id of
+ * the kernel logger lines are written as fields of their own, next to the
+ * description.
+ */
+public class ResidentJsonLayout extends LayoutBase<ILoggingEvent> {
+
+	@Override
+	public String doLayout(ILoggingEvent event) {
+		StringBuilder sb = new StringBuilder(256);
+		sb.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.getTimeStamp())).append('"');
+		field(sb, "level", event.getLevel().toString());
+		field(sb, "thread", event.getThreadName());
+		field(sb, "logger", event.getLoggerName());
+		Object[] arguments = event.getArgumentArray();
+		if (KernelLoggerAdapter.MESSAGE_PATTERN.equals(event.getMessage()) && arguments != null
+				&& arguments.length == 4) {
+			field(sb, "sessionId", arguments[0]);
+			field(sb, "idType", arguments[1]);
+			field(sb, "id", arguments[2]);
+			field(sb, "message", arguments[3]);
+		} else {
+			field(sb, "message", event.getFormattedMessage());
+		}
+		IThrowableProxy throwableProxy = event.getThrowableProxy();
+		if (throwableProxy != null)
+			field(sb, "exception", ThrowableProxyUtil.asString(throwableProxy));
+		return sb.append('}').append(CoreConstants.LINE_SEPARATOR).toString();
+	}
+
+	private static void field(StringBuilder sb, String name, Object value) {
+		sb.append(",\"").append(name).append("\":");
+		if (value == null)
+			sb.append("null");
+		else
+			sb.append('"').append(JsonStringEncoder.getInstance().quoteAsString(value.toString())).append('"');
+	}
+}
@@ -0,0 +1,155 @@
+package io.mosip.resident.config;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.LoggerFactory;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * Kernel logger of a class with lazily built messages. The kernel logger has no
+ * level checks, so the levels are read from the logback logger of the same
+ * class and a message supplier is only called when its line is written.
+ * Request and response payloads are logged through {@link #payload(Object)},
+ * which masks UINs, VIDs, phone numbers and email addresses and caps the
+ * length of the line.
+ */
+public class ResidentLogger {
+
+	static final String PAYLOAD_MAX_CHARS_PROPERTY = "resident.logging.payload.max.chars";
+
+	static final int DEFAULT_PAYLOAD_MAX_CHARS = 2000;
+
+	/**
+	 * Longest payload written to the log, set from
+	 * resident.logging.payload.max.chars by {@link Config}.
+	 */
+	private static volatile int payloadMaxChars = DEFAULT_PAYLOAD_MAX_CHARS;
+
+	private static final String MASK = "*****";
+
+	/** Runs of digits as long as a phone number, UIN, VID or RID. */
+	private static final Pattern NUMBER = Pattern.compile("(?<!\\d)\\d{6,}(?!\\d)");
+
+	private static final Pattern EMAIL = Pattern.compile("([A-Za-z0-9._%+-])[A-Za-z0-9._%+-]*@");
+
+	private static final int UNMASKED_DIGITS = 4;
+
+	private final Logger logger;
+
+	private final org.slf4j.Logger levels;
+
+	ResidentLogger(Logger logger, org.slf4j.Logger levels) {
+		this.logger = logger;
+		this.levels = levels;
+	}
+
+	/**
+	 * @param clazz the class.
+	 * @return the logger of the class.
+	 */
+	public static ResidentLogger getLogger(Class<?> clazz) {
+		return new ResidentLogger(LoggerConfiguration.logConfig(clazz), LoggerFactory.getLogger(clazz));
+	}
+
+	public boolean isDebugEnabled() {
+		return levels.isDebugEnabled();
+	}
+
+	public boolean isInfoEnabled() {
+		return levels.isInfoEnabled();
+	}
+
+	public void debug(String sessionId, String idType, String id, String description) {
+		logger.debug(sessionId, idType, id, description);
+	}
+
+	public void debug(String sessionId, String idType, String id, Supplier<String> description) {
+		if (levels.isDebugEnabled())
+			logger.debug(sessionId, idType, id, description.get());
+	}
+
+	public void info(String sessionId, String idType, String id, String description) {
+		logger.info(sessionId, idType, id, description);
+	}
+
+	public void info(String sessionId, String idType, String id, Supplier<String> description) {
+		if (levels.isInfoEnabled())
+			logger.info(sessionId, idType, id, description.get());
+	}
+
+	public void warn(String sessionId, String idType, String id, String description) {
+		logger.warn(sessionId, idType, id, description);
+	}
+
+	public void warn(String sessionId, String idType, String id, Supplier<String> description) {
+		if (levels.isWarnEnabled())
+			logger.warn(sessionId, idType, id, description.get());
+	}
+
+	public void error(String sessionId, String idType, String id, String description) {
+		logger.error(sessionId, idType, id, description);
+	}
+
+	public void error(String sessionId, String idType, String id, Supplier<String> description) {
+		if (levels.isErrorEnabled())
+			logger.error(sessionId, idType, id, description.get());
+	}
+
+	/**
+	 * Serializes a request or response for the log. Only call it from a message
+	 * supplier, so that the payload is not built for lines that are not written.
+	 *
+	 * @param payload the payload, strings are taken as they are.
+	 * @return the masked JSON of the payload, cut at the configured length.
+	 */
+	public static String payload(Object payload) {
+		String json;
+		if (payload == null || payload instanceof String) {
+			json = String.valueOf(payload);
+		} else {
+			try {
+				json = JsonUtil.writeValueAsString(payload);
+			} catch (IOException e) {
+				return payload.getClass().getSimpleName() + " (not serializable: " + e.getMessage() + ")";
+			}
+		}
+		String masked = mask(json);
+		int maxChars = payloadMaxChars;
+		return masked.length() > maxChars
+				? masked.substring(0, maxChars) + "...(" + (masked.length() - maxChars) + " chars cut)"
+				: masked;
+	}
+
+	static int getPayloadMaxChars() {
+		return payloadMaxChars;
+	}
+
+	static void setPayloadMaxChars(int maxChars) {
+		payloadMaxChars = maxChars > 0 ? maxChars : DEFAULT_PAYLOAD_MAX_CHARS;
+	}
+
+	/**
+	 * Masks the local part of email addresses and all but the last digits of
+	 * numbers long enough to be a phone number or an individual id.
+	 *
+	 * @param text the text.
+	 * @return the masked text.
+	 */
+	public static String mask(String text) {
+		Matcher number = NUMBER.matcher(text);
+		if (number.find()) {
+			StringBuffer sb = new StringBuffer(text.length());
+			do {
+				number.appendReplacement(sb, MASK + number.group().substring(number.group().length() - UNMASKED_DIGITS));
+			} while (number.find());
+			number.appendTail(sb);
+			text = sb.toString();
+		}
+		return EMAIL.matcher(text).replaceAll("$1" + MASK + "@");
+	}
+}
@@ -1,9 +1,7 @@
 package io.mosip.resident.config;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletRequestWrapper;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -12,24 +10,16 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseFilter;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.core.util.EmptyCheckUtils;
 
 
 @RestControllerAdvice
 public class ResponseBodyAdviceConfig implements ResponseBodyAdvice<ResponseWrapper<?>> {
 
-	@Autowired
-	private ObjectMapper objectMapper;
-
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -57,27 +47,17 @@ public class ResponseBodyAdviceConfig implements ResponseBodyAdvice<ResponseWrap
 			MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
 			ServerHttpRequest request, ServerHttpResponse response) {
 
-		RequestWrapper<?> requestWrapper = null;
-		String requestBody = null;
-
 		try {
 			HttpServletRequest httpServletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+			Object requestWrapper = httpServletRequest
+					.getAttribute(RequestWrapperBodyAdvice.REQUEST_WRAPPER_ATTRIBUTE);
 
-			if (httpServletRequest instanceof ContentCachingRequestWrapper) {
-				requestBody = new String(((ContentCachingRequestWrapper) httpServletRequest).getContentAsByteArray());
-			} else if (httpServletRequest instanceof HttpServletRequestWrapper
-					&& ((HttpServletRequestWrapper) httpServletRequest)
-							.getRequest() instanceof ContentCachingRequestWrapper) {
-				requestBody = new String(
-						((ContentCachingRequestWrapper) ((HttpServletRequestWrapper) httpServletRequest).getRequest())
-								.getContentAsByteArray());
-			}
-
-			objectMapper.registerModule(new JavaTimeModule());
-			if (!EmptyCheckUtils.isNullEmpty(requestBody)) {
-				requestWrapper = objectMapper.readValue(requestBody, RequestWrapper.class);
-				body.setId(requestWrapper.getId());
-				body.setVersion(requestWrapper.getVersion());
+			if (requestWrapper instanceof io.mosip.resident.dto.RequestWrapper) {
+				body.setId(((io.mosip.resident.dto.RequestWrapper<?>) requestWrapper).getId());
+				body.setVersion(((io.mosip.resident.dto.RequestWrapper<?>) requestWrapper).getVersion());
+			} else if (requestWrapper instanceof RequestWrapper) {
+				body.setId(((RequestWrapper<?>) requestWrapper).getId());
+				body.setVersion(((RequestWrapper<?>) requestWrapper).getVersion());
 			}
 			body.setErrors(null);
 			return body;
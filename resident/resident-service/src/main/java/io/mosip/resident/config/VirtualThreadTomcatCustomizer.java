@@ -0,0 +1,48 @@
+package io.mosip.resident.config;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.util.VirtualThreads;
+
+/**
+ * Makes Tomcat process each request on a virtual thread instead of its worker
+ * pool, when enabled and supported by the runtime. Concurrency is then bounded
+ * by the connector's max connections and by the downstream connection pool, not
+ * by server.tomcat.max-threads.
+ * <p>
+ * The executor is not shut down with the context: Tomcat stops after the beans
+ * are destroyed, and a virtual thread per task executor holds no idle threads.
+ */
+@Component
+public class VirtualThreadTomcatCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(VirtualThreadTomcatCustomizer.class);
+
+	@Value("${resident.tomcat.virtual-threads:${" + Config.VIRTUAL_THREADS_ENABLED + ":false}}")
+	private boolean virtualThreads;
+
+	@Override
+	public void customize(TomcatServletWebServerFactory factory) {
+		if (!virtualThreads)
+			return;
+		ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+		if (executor == null) {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Virtual threads are not supported by this runtime, Tomcat uses its worker pool");
+			return;
+		}
+		factory.addConnectorCustomizers(connector -> {
+			if (connector.getProtocolHandler() instanceof AbstractProtocol)
+				((AbstractProtocol<?>) connector.getProtocolHandler()).setExecutor(executor);
+		});
+	}
+}
@@ -0,0 +1,5 @@
+package io.mosip.resident.constant;
+
+public enum NotificationOutboxStatus {
+	QUEUED, IN_PROGRESS, FAILED;
+}
@@ -26,6 +26,8 @@ public enum ResidentErrorCode {
 	IN_VALID_API_RESPONSE("RES-SER-21","In valid APi response from - "),
 	UIN_UPDATE_FAILED("RES-SER-22","Resident UIN update failed"),
 	DOCUMENT_NOT_FOUND("RES-SER-23", "Could not find the submitted document"),
+	REQUEST_TIMED_OUT("RES-SER-24", "Request timed out before it was processed, please try again"),
+	REQUEST_STILL_PROCESSING("RES-SER-25", "Request timed out while it was processed, check its outcome before trying again"),
 	//system exceptions
 	RESIDENT_SYS_EXCEPTION("RES-SER-SYS-001","System exception occured"),
 	IO_EXCEPTION("RES-SER-SYS-002","IO Exception occured"),
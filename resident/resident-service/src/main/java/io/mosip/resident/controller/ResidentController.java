@@ -1,14 +1,14 @@
 package io.mosip.resident.controller;
 
-import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,6 +21,8 @@ import io.mosip.resident.dto.AuthHistoryRequestDTO;
 import io.mosip.resident.dto.AuthHistoryResponseDTO;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
 import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchResponseDTO;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
 import io.mosip.resident.dto.RequestDTO;
 import io.mosip.resident.dto.RequestWrapper;
@@ -29,9 +31,9 @@ import io.mosip.resident.dto.ResidentReprintResponseDto;
 import io.mosip.resident.dto.ResidentUpdateRequestDto;
 import io.mosip.resident.dto.ResidentUpdateResponseDTO;
 import io.mosip.resident.dto.ResponseDTO;
-import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.service.ResidentService;
+import io.mosip.resident.util.AsyncRequestExecutor;
 import io.mosip.resident.validator.RequestValidator;
 
 @RestController
@@ -43,80 +45,117 @@ public class ResidentController {
 	@Autowired
 	private RequestValidator validator;
 
+	@Autowired
+	private AsyncRequestExecutor asyncRequestExecutor;
+
 	@ResponseFilter
 	@PostMapping(value = "/rid/check-status")
-	public ResponseWrapper<RegStatusCheckResponseDTO> getRidStatus(
-			@Valid @RequestBody RequestWrapper<RequestDTO> requestDTO) throws ApisResourceAccessException {
-		ResponseWrapper<RegStatusCheckResponseDTO> response = new ResponseWrapper<>();
-		response.setResponse(residentService.getRidStatus(requestDTO.getRequest()));
-		return response;
+	public CompletableFuture<ResponseWrapper<RegStatusCheckResponseDTO>> getRidStatus(
+			@Valid @RequestBody RequestWrapper<RequestDTO> requestDTO) {
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<RegStatusCheckResponseDTO> response = new ResponseWrapper<>();
+			response.setResponse(residentService.getRidStatus(requestDTO.getRequest()));
+			return response;
+		});
+	}
+
+	/**
+	 * Checks the status of up to the configured batch size of RIDs, with a
+	 * registration status search per chunk of RIDs instead of one per RID.
+	 */
+	@ResponseFilter
+	@PostMapping(value = "/rid/check-status/batch")
+	public CompletableFuture<ResponseWrapper<RegStatusCheckBatchResponseDTO>> getRidStatuses(
+			@Valid @RequestBody RequestWrapper<RegStatusCheckBatchRequestDTO> requestDTO) {
+		validator.validateRidStatusBatchRequest(requestDTO);
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<RegStatusCheckBatchResponseDTO> response = new ResponseWrapper<>();
+			response.setResponse(residentService.getRidStatuses(requestDTO.getRequest().getIndividualIds()));
+			return response;
+		});
 	}
 
+	/**
+	 * Copies the card from the print service response to the servlet response,
+	 * chunked unless the print service sent its length. Runs on the request
+	 * thread, the card is written to the response while it is read. A failure
+	 * after the response was committed aborts the connection, see
+	 * {@link io.mosip.resident.exception.ApiExceptionHandler}.
+	 */
 	@PostMapping(value = "/req/euin")
-	public ResponseEntity<Object> reqEuin(@Valid @RequestBody RequestWrapper<EuinRequestDTO> requestDTO)
+	public void reqEuin(@Valid @RequestBody RequestWrapper<EuinRequestDTO> requestDTO, HttpServletResponse response)
 			throws ResidentServiceCheckedException {
 		validator.validateEuinRequest(requestDTO);
-		byte[] pdfbytes = residentService.reqEuin(requestDTO.getRequest());
-
-		InputStreamResource resource = new InputStreamResource(new ByteArrayInputStream(pdfbytes));
-
-		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/pdf"))
-				.header("Content-Disposition",
-						"attachment; filename=\"" + requestDTO.getRequest().getIndividualId() + ".pdf\"")
-				.body((Object) resource);
+		residentService.reqEuin(requestDTO.getRequest(), (card, contentLength) -> {
+			response.setContentType("application/pdf");
+			response.setHeader("Content-Disposition",
+					"attachment; filename=\"" + requestDTO.getRequest().getIndividualId() + ".pdf\"");
+			if (contentLength >= 0)
+				response.setContentLengthLong(contentLength);
+			StreamUtils.copy(card, response.getOutputStream());
+			response.flushBuffer();
+		});
 	}
 
 	@ResponseFilter
 	@PostMapping(value = "/req/print-uin")
-	public ResponseEntity<Object> reqPrintUin(@Valid @RequestBody RequestWrapper<ResidentReprintRequestDto> requestDTO)
-			throws ResidentServiceCheckedException {
+	public CompletableFuture<ResponseEntity<Object>> reqPrintUin(
+			@Valid @RequestBody RequestWrapper<ResidentReprintRequestDto> requestDTO) {
 		validator.validateRequest(requestDTO, RequestIdType.RE_PRINT_ID);
-		ResponseWrapper<ResidentReprintResponseDto> response = new ResponseWrapper<>();
-		response.setResponse(residentService.reqPrintUin(requestDTO.getRequest()));
-		return ResponseEntity.status(HttpStatus.OK).body(response);
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<ResidentReprintResponseDto> response = new ResponseWrapper<>();
+			response.setResponse(residentService.reqPrintUin(requestDTO.getRequest()));
+			return ResponseEntity.status(HttpStatus.OK).body(response);
+		});
 	}
 
 	@ResponseFilter
 	@PostMapping(value = "/req/auth-lock")
-	public ResponseWrapper<ResponseDTO> reqAauthLock(
-			@Valid @RequestBody RequestWrapper<AuthLockOrUnLockRequestDto> requestDTO)
-			throws ResidentServiceCheckedException {
+	public CompletableFuture<ResponseWrapper<ResponseDTO>> reqAauthLock(
+			@Valid @RequestBody RequestWrapper<AuthLockOrUnLockRequestDto> requestDTO) {
 		validator.validateAuthLockOrUnlockRequest(requestDTO, AuthTypeStatus.LOCK);
-		ResponseWrapper<ResponseDTO> response = new ResponseWrapper<>();
-		response.setResponse(residentService.reqAauthTypeStatusUpdate(requestDTO.getRequest(), AuthTypeStatus.LOCK));
-		return response;
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<ResponseDTO> response = new ResponseWrapper<>();
+			response.setResponse(
+					residentService.reqAauthTypeStatusUpdate(requestDTO.getRequest(), AuthTypeStatus.LOCK));
+			return response;
+		});
 	}
 
 	@ResponseFilter
 	@PostMapping(value = "/req/auth-unlock")
-	public ResponseWrapper<ResponseDTO> reqAuthUnlock(
-			@Valid @RequestBody RequestWrapper<AuthLockOrUnLockRequestDto> requestDTO)
-			throws ResidentServiceCheckedException {
+	public CompletableFuture<ResponseWrapper<ResponseDTO>> reqAuthUnlock(
+			@Valid @RequestBody RequestWrapper<AuthLockOrUnLockRequestDto> requestDTO) {
 		validator.validateAuthLockOrUnlockRequest(requestDTO, AuthTypeStatus.UNLOCK);
-		ResponseWrapper<ResponseDTO> response = new ResponseWrapper<>();
-		response.setResponse(residentService.reqAauthTypeStatusUpdate(requestDTO.getRequest(), AuthTypeStatus.UNLOCK));
-		return response;
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<ResponseDTO> response = new ResponseWrapper<>();
+			response.setResponse(
+					residentService.reqAauthTypeStatusUpdate(requestDTO.getRequest(), AuthTypeStatus.UNLOCK));
+			return response;
+		});
 	}
 
 	@ResponseFilter
 	@PostMapping(value = "/req/auth-history")
-	public ResponseWrapper<AuthHistoryResponseDTO> reqAuthHistory(
-			@Valid @RequestBody RequestWrapper<AuthHistoryRequestDTO> requestDTO)
-			throws ResidentServiceCheckedException {
+	public CompletableFuture<ResponseWrapper<AuthHistoryResponseDTO>> reqAuthHistory(
+			@Valid @RequestBody RequestWrapper<AuthHistoryRequestDTO> requestDTO) {
 		validator.validateAuthHistoryRequest(requestDTO);
-		ResponseWrapper<AuthHistoryResponseDTO> response = new ResponseWrapper<>();
-		response.setResponse(residentService.reqAuthHistory(requestDTO.getRequest()));
-		return response;
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<AuthHistoryResponseDTO> response = new ResponseWrapper<>();
+			response.setResponse(residentService.reqAuthHistory(requestDTO.getRequest()));
+			return response;
+		});
 	}
 
 	@ResponseFilter
 	@PostMapping(value = "/req/update-uin")
-	public ResponseWrapper<ResidentUpdateResponseDTO> updateUin(
-			@Valid @RequestBody RequestWrapper<ResidentUpdateRequestDto> requestDTO)
-			throws ResidentServiceCheckedException {
+	public CompletableFuture<ResponseWrapper<ResidentUpdateResponseDTO>> updateUin(
+			@Valid @RequestBody RequestWrapper<ResidentUpdateRequestDto> requestDTO) {
 		validator.validateRequest(requestDTO, RequestIdType.RES_UPDATE);
-		ResponseWrapper<ResidentUpdateResponseDTO> response = new ResponseWrapper<>();
-		response.setResponse(residentService.reqUinUpdate(requestDTO.getRequest()));
-		return response;
+		return asyncRequestExecutor.submit(() -> {
+			ResponseWrapper<ResidentUpdateResponseDTO> response = new ResponseWrapper<>();
+			response.setResponse(residentService.reqUinUpdate(requestDTO.getRequest()));
+			return response;
+		});
 	}
 }
\ No newline at end of file
@@ -8,9 +8,8 @@ import io.mosip.resident.dto.ResponseWrapper;
 import io.mosip.resident.dto.VidResponseDto;
 import io.mosip.resident.dto.VidRevokeRequestDTO;
 import io.mosip.resident.dto.VidRevokeResponseDTO;
-import io.mosip.resident.exception.OtpValidationFailedException;
-import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.service.ResidentVidService;
+import io.mosip.resident.util.AsyncRequestExecutor;
 import io.mosip.resident.validator.RequestValidator;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -26,6 +25,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Resident VID controller class.
  * @Author : Monobikash Das
@@ -43,23 +44,30 @@ public class ResidentVidController {
     @Autowired
     private RequestValidator validator;
 
+    @Autowired
+    private AsyncRequestExecutor asyncRequestExecutor;
+
     @PostMapping(path = "/vid", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Generate new VID", response = ResidentVidRequestDto.class)
     @ApiResponses(value = { @ApiResponse(code = 200, message = "VID successfully generated"),
             @ApiResponse(code = 400, message = "Unable to generate VID") })
-    public ResponseEntity<Object> generateVid(@RequestBody(required = true) ResidentVidRequestDto requestDto) throws OtpValidationFailedException, ResidentServiceCheckedException {
+    public CompletableFuture<ResponseEntity<Object>> generateVid(@RequestBody(required = true) ResidentVidRequestDto requestDto) {
         validator.validateVidCreateRequest(requestDto);
-        ResponseWrapper<VidResponseDto> vidResponseDto = residentVidService.generateVid(requestDto.getRequest());
-        return ResponseEntity.ok().body(vidResponseDto);
+        return asyncRequestExecutor.submit(() -> {
+            ResponseWrapper<VidResponseDto> vidResponseDto = residentVidService.generateVid(requestDto.getRequest());
+            return ResponseEntity.ok().body(vidResponseDto);
+        });
     }
     
     @PatchMapping(path = "/vid/{vid}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Revoke VID", response = ResponseWrapper.class)
     @ApiResponses(value = { @ApiResponse(code = 200, message = "VID successfully revoked"),
             @ApiResponse(code = 400, message = "Unable to revoke VID") })
-    public ResponseEntity<Object> revokeVid(@RequestBody(required = true) RequestWrapper<VidRevokeRequestDTO> requestDto, @PathVariable String vid) throws OtpValidationFailedException, ResidentServiceCheckedException {
+    public CompletableFuture<ResponseEntity<Object>> revokeVid(@RequestBody(required = true) RequestWrapper<VidRevokeRequestDTO> requestDto, @PathVariable String vid) {
         validator.validateVidRevokeRequest(requestDto);
-        ResponseWrapper<VidRevokeResponseDTO> vidResponseDto = residentVidService.revokeVid(requestDto.getRequest(),vid);
-        return ResponseEntity.ok().body(vidResponseDto);
+        return asyncRequestExecutor.submit(() -> {
+            ResponseWrapper<VidRevokeResponseDTO> vidResponseDto = residentVidService.revokeVid(requestDto.getRequest(),vid);
+            return ResponseEntity.ok().body(vidResponseDto);
+        });
     }
 }
@@ -3,6 +3,8 @@ package io.mosip.resident.dto;
 import java.io.Serializable;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.mosip.kernel.core.http.ResponseWrapper;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +16,7 @@ import lombok.NoArgsConstructor;
 public class IdRepoResponseDto implements Serializable {
 	private static final long serialVersionUID = 8965769421273362497L;
 
-	private Object identity;
+	private JsonNode identity;
 
 	private List<Documents> documents;
 
@@ -0,0 +1,69 @@
+package io.mosip.resident.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, parsed form of the registration processor identity mapping json.
+ * Each mapper key (e.g. "name", "poa") maps to the identity field names given
+ * in its comma separated "value".
+ */
+public final class IdentityMapping {
+
+	/** The raw mapping json as fetched from config server. */
+	private final String mappingJson;
+
+	/** Mapper key to the split identity field names, in mapping order. */
+	private final Map<String, List<String>> valueNames;
+
+	/** The mapper keys, in mapping order. */
+	private final List<String> mapperKeys;
+
+	/** All identity field names of all mapper keys, in mapping order. */
+	private final List<String> allValueNames;
+
+	public IdentityMapping(String mappingJson, Map<String, List<String>> valueNames) {
+		this.mappingJson = mappingJson;
+		Map<String, List<String>> names = new LinkedHashMap<>();
+		List<String> all = new ArrayList<>();
+		for (Map.Entry<String, List<String>> entry : valueNames.entrySet()) {
+			names.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+			all.addAll(entry.getValue());
+		}
+		this.valueNames = Collections.unmodifiableMap(names);
+		this.mapperKeys = Collections.unmodifiableList(new ArrayList<>(names.keySet()));
+		this.allValueNames = Collections.unmodifiableList(all);
+	}
+
+	public String getMappingJson() {
+		return mappingJson;
+	}
+
+	public List<String> getMapperKeys() {
+		return mapperKeys;
+	}
+
+	public List<String> getValueNames(String mapperKey) {
+		List<String> names = valueNames.get(mapperKey);
+		return names != null ? names : Collections.emptyList();
+	}
+
+	public List<String> getAllValueNames() {
+		return allValueNames;
+	}
+
+	/**
+	 * Returns the first identity field name of the mapper key, which is the field
+	 * itself for single valued keys such as the proof documents.
+	 *
+	 * @param mapperKey the mapper key
+	 * @return the identity field name or null if the key is not mapped
+	 */
+	public String getValueName(String mapperKey) {
+		List<String> names = valueNames.get(mapperKey);
+		return names == null || names.isEmpty() ? null : names.get(0);
+	}
+}
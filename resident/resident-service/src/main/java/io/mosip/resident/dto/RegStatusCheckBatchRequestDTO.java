@@ -0,0 +1,11 @@
+package io.mosip.resident.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class RegStatusCheckBatchRequestDTO {
+
+	private List<String> individualIds;
+}
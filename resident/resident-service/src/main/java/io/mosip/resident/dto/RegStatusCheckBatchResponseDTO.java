@@ -0,0 +1,12 @@
+package io.mosip.resident.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class RegStatusCheckBatchResponseDTO {
+
+	/** One entry per distinct RID, in the order of the request. */
+	private List<RidStatusDTO> ridStatuses;
+}
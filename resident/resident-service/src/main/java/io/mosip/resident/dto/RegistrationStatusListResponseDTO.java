@@ -0,0 +1,23 @@
+package io.mosip.resident.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Response of a registration status search for several RIDs, one status per
+ * RID found. A single status object, the shape
+ * {@link RegistrationStatusResponseDTO} reads, is read as a list of one.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RegistrationStatusListResponseDTO extends BaseResponseDTO implements Serializable {
+	private static final long serialVersionUID = -4326427930164328436L;
+	@JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+	private List<RegistrationStatusDTO> response;
+	private List<ErrorDTO> errors;
+}
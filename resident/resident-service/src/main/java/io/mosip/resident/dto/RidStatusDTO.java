@@ -0,0 +1,17 @@
+package io.mosip.resident.dto;
+
+import lombok.Data;
+
+/**
+ * Status of one RID of a batch status check: the status, or the error the
+ * check of this RID failed with.
+ */
+@Data
+public class RidStatusDTO {
+
+	private String individualId;
+
+	private String ridStatus;
+
+	private ErrorDTO error;
+}
@@ -0,0 +1,59 @@
+package io.mosip.resident.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import io.mosip.resident.constant.NotificationOutboxStatus;
+import lombok.Data;
+
+/**
+ * A notification accepted for asynchronous delivery. The row is written before
+ * the resident gets the "notification queued" response and is removed once the
+ * notification is sent, so pending notifications survive a restart.
+ */
+@Data
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutboxEntity {
+
+	@Id
+	@Column(name = "id", nullable = false, length = 36)
+	private String id;
+
+	/** The notification request as json, AES-GCM encrypted and base64 encoded. */
+	@Column(name = "request", nullable = false, length = 8192)
+	private String request;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 16)
+	private NotificationOutboxStatus status;
+
+	@Column(name = "attempt_count", nullable = false)
+	private int attemptCount;
+
+	@Column(name = "next_attempt_dtimes", nullable = false)
+	private LocalDateTime nextAttemptDtimes;
+
+	/** Set once the SMS went out, so a retry only sends the email. */
+	@Column(name = "sms_sent", nullable = false)
+	private boolean smsSent;
+
+	/** Set once the email went out, so a retry only sends the SMS. */
+	@Column(name = "email_sent", nullable = false)
+	private boolean emailSent;
+
+	@Column(name = "last_error", length = 512)
+	private String lastError;
+
+	@Column(name = "cr_dtimes", nullable = false)
+	private LocalDateTime crDtimes;
+
+	@Column(name = "upd_dtimes")
+	private LocalDateTime updDtimes;
+}
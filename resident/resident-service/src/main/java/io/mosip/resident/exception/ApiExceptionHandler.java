@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.controller.ResidentController;
@@ -20,23 +21,18 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.web.util.WebUtils;
 
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.BaseUncheckedException;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
-import io.mosip.kernel.core.util.EmptyCheckUtils;
+import io.mosip.resident.config.ReadCountingRequestWrapper;
+import io.mosip.resident.config.RequestWrapperBodyAdvice;
 
 @RestControllerAdvice(assignableTypes = ResidentController.class)
 public class ApiExceptionHandler {
-	@Autowired
-	private ObjectMapper objectMapper;
-
 	@Autowired
 	Environment env;
 
@@ -54,7 +50,9 @@ public class ApiExceptionHandler {
 
 	@ExceptionHandler(ResidentServiceException.class)
 	public ResponseEntity<ResponseWrapper<ServiceError>> controlDataServiceException(
-			HttpServletRequest httpServletRequest, final ResidentServiceException e) throws IOException {
+			HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse,
+			final ResidentServiceException e) throws IOException {
+		rethrowIfCommitted(httpServletResponse, e);
 		ExceptionUtils.logRootCause(e);
 		return getErrorResponseEntity(httpServletRequest, e, HttpStatus.INTERNAL_SERVER_ERROR);
 	}
@@ -140,7 +138,8 @@ public class ApiExceptionHandler {
 
 	@ExceptionHandler(value = { Exception.class, RuntimeException.class })
 	public ResponseEntity<ResponseWrapper<ServiceError>> defaultErrorHandler(HttpServletRequest httpServletRequest,
-			Exception exception) throws IOException {
+			HttpServletResponse httpServletResponse, Exception exception) throws Exception {
+		rethrowIfCommitted(httpServletResponse, exception);
 		ResponseWrapper<ServiceError> errorResponse = setErrors(httpServletRequest);
 		ServiceError error = new ServiceError(ResidentErrorCode.BAD_REQUEST.getErrorCode(), exception.getMessage());
 		errorResponse.getErrors().add(error);
@@ -148,17 +147,32 @@ public class ApiExceptionHandler {
 		return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 
+	/**
+	 * A failure after the response was committed, e.g. while the UIN card is
+	 * streamed, can not be reported in the body any more. Rethrowing it leaves it
+	 * to the container, which closes the connection without ending the response,
+	 * so the client sees a broken download instead of a truncated card with
+	 * status 200.
+	 */
+	private static <E extends Exception> void rethrowIfCommitted(HttpServletResponse httpServletResponse, E e)
+			throws E {
+		if (httpServletResponse.isCommitted()) {
+			ExceptionUtils.logRootCause(e);
+			throw e;
+		}
+	}
+
 	private ResponseWrapper<ServiceError> setErrors(HttpServletRequest httpServletRequest) throws IOException {
 		ResponseWrapper<ServiceError> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponsetime(LocalDateTime.now(ZoneId.of("UTC")));
-		String requestBody = null;
-		if (httpServletRequest instanceof ContentCachingRequestWrapper) {
-			requestBody = new String(((ContentCachingRequestWrapper) httpServletRequest).getContentAsByteArray());
-		}
-		if (EmptyCheckUtils.isNullEmpty(requestBody)) {
+		ReadCountingRequestWrapper requestWrapper = WebUtils.getNativeRequest(httpServletRequest,
+				ReadCountingRequestWrapper.class);
+		// on the async dispatch of a controller future the wrapper may not be in the chain
+		boolean bodyRead = requestWrapper != null ? requestWrapper.hasBody()
+				: httpServletRequest.getAttribute(RequestWrapperBodyAdvice.REQUEST_WRAPPER_ATTRIBUTE) != null;
+		if (!bodyRead) {
 			return responseWrapper;
 		}
-		objectMapper.registerModule(new JavaTimeModule());
 		responseWrapper.setId(setId(httpServletRequest.getRequestURI()));
 		responseWrapper.setVersion(env.getProperty(RESIDENT_VERSION));
 		return responseWrapper;
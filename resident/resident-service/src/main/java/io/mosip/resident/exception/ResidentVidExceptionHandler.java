@@ -73,6 +73,13 @@ public class ResidentVidExceptionHandler {
 		return buildRegStatusExceptionResponse((Exception) e);
 	}
 
+	@ExceptionHandler(ResidentServiceException.class)
+	public ResponseEntity<Object> residentServiceException(ResidentServiceException e) {
+		logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				e.getErrorCode(), e.getMessage());
+		return buildRegStatusExceptionResponse((Exception) e);
+	}
+
 	@ExceptionHandler(VidRevocationException.class)
 	public ResponseEntity<Object> vidRevocationFailed(VidRevocationException e) {
 		logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
@@ -0,0 +1,50 @@
+package io.mosip.resident.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.resident.constant.NotificationOutboxStatus;
+import io.mosip.resident.entity.NotificationOutboxEntity;
+
+/**
+ * Repository of the notifications waiting for asynchronous delivery.
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntity, String> {
+
+	List<NotificationOutboxEntity> findByStatusAndNextAttemptDtimesLessThanEqualOrderByNextAttemptDtimes(
+			NotificationOutboxStatus status, LocalDateTime dtimes, Pageable pageable);
+
+	/**
+	 * Moves the notification from one status to another, so that only one worker
+	 * claims it.
+	 *
+	 * @return the number of updated rows, 0 if the notification was not in the
+	 *         expected status
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE NotificationOutboxEntity n SET n.status = :to, n.updDtimes = :dtimes WHERE n.id = :id AND n.status = :from")
+	int updateStatus(@Param("id") String id, @Param("from") NotificationOutboxStatus from,
+			@Param("to") NotificationOutboxStatus to, @Param("dtimes") LocalDateTime dtimes);
+
+	/**
+	 * Puts back notifications claimed by a worker that did not finish, e.g.
+	 * because the instance was stopped.
+	 *
+	 * @return the number of released notifications
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE NotificationOutboxEntity n SET n.status = :to, n.updDtimes = :dtimes WHERE n.status = :from AND n.updDtimes < :before")
+	int releaseStale(@Param("from") NotificationOutboxStatus from, @Param("to") NotificationOutboxStatus to,
+			@Param("before") LocalDateTime before, @Param("dtimes") LocalDateTime dtimes);
+}
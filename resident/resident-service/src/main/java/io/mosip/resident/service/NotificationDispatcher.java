@@ -0,0 +1,379 @@
+package io.mosip.resident.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.NotificationOutboxStatus;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.NotificationRequestDto;
+import io.mosip.resident.dto.NotificationResponseDTO;
+import io.mosip.resident.entity.NotificationOutboxEntity;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.repository.NotificationOutboxRepository;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * Delivers notifications off the request thread. A notification is first
+ * stored in the outbox table and then handed to a bounded worker pool. Failed
+ * deliveries are retried with exponential backoff by a poller, which also picks
+ * up the notifications left over when the queue was full or the service was
+ * restarted.
+ * <p>
+ * The stored request holds the individual id and attributes such as a newly
+ * generated VID, so it is encrypted with AES-GCM under the key configured in
+ * resident.notification.async.encryption.key. The key has to be the same on
+ * all instances sharing the table and across restarts.
+ * <p>
+ * The notifications are sent by the {@link Delivery} registered by
+ * {@link NotificationService}; until one is registered nothing is sent. The
+ * SMS and the email are tracked separately on the row, so a retry only sends
+ * the channel that failed.
+ */
+@Component
+public class NotificationDispatcher {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(NotificationDispatcher.class);
+
+	private static final int MAX_ERROR_LENGTH = 512;
+	private static final String CIPHER = "AES/GCM/NoPadding";
+	private static final int IV_LENGTH = 12;
+	private static final int TAG_LENGTH = 128;
+
+	/**
+	 * Sends a notification taken from the outbox. The channels already marked as
+	 * sent are skipped, and each channel sent is marked, also when the other one
+	 * fails.
+	 */
+	@FunctionalInterface
+	public interface Delivery {
+		NotificationResponseDTO deliver(NotificationRequestDto dto, SentChannels sent)
+				throws ResidentServiceCheckedException;
+	}
+
+	/** The channels of a notification sent so far. */
+	public static final class SentChannels {
+
+		private volatile boolean sms;
+
+		private volatile boolean email;
+
+		public SentChannels() {
+		}
+
+		SentChannels(boolean sms, boolean email) {
+			this.sms = sms;
+			this.email = email;
+		}
+
+		public boolean isSms() {
+			return sms;
+		}
+
+		public void smsSent() {
+			sms = true;
+		}
+
+		public boolean isEmail() {
+			return email;
+		}
+
+		public void emailSent() {
+			email = true;
+		}
+	}
+
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+
+	@Value("${resident.notification.async.enabled:false}")
+	private boolean enabled;
+
+	@Value("${resident.notification.async.workers:4}")
+	private int workers;
+
+	@Value("${resident.notification.async.queue.capacity:1000}")
+	private int queueCapacity;
+
+	@Value("${resident.notification.async.max.attempts:5}")
+	private int maxAttempts;
+
+	@Value("${resident.notification.async.backoff.initial.seconds:30}")
+	private long initialBackoffSeconds;
+
+	@Value("${resident.notification.async.backoff.max.seconds:3600}")
+	private long maxBackoffSeconds;
+
+	@Value("${resident.notification.async.poll.batch.size:50}")
+	private int batchSize;
+
+	/** How long a claimed notification may stay in progress before it is retried. */
+	@Value("${resident.notification.async.lease.seconds:300}")
+	private long leaseSeconds;
+
+	/** Base64 encoded AES key (128, 192 or 256 bit) for the stored requests. */
+	@Value("${resident.notification.async.encryption.key:}")
+	private String encryptionKey;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	private SecretKey key;
+
+	private volatile Delivery delivery;
+
+	private ThreadPoolExecutor executor;
+
+	/** Ids handed to the executor and not yet finished, so the poller does not submit them twice. */
+	private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() {
+		if (!enabled)
+			return;
+		key = toKey(encryptionKey);
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "resident-notification-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		if (executor != null) {
+			executor.shutdown();
+			executor.awaitTermination(30, TimeUnit.SECONDS);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setDelivery(Delivery delivery) {
+		this.delivery = delivery;
+	}
+
+	/**
+	 * Stores the notification in the outbox and queues it for delivery.
+	 *
+	 * @param dto the notification request
+	 * @throws ResidentServiceCheckedException if the notification could not be
+	 *                                         stored
+	 */
+	public void enqueue(NotificationRequestDto dto) throws ResidentServiceCheckedException {
+		LocalDateTime now = now();
+		NotificationOutboxEntity entity = new NotificationOutboxEntity();
+		entity.setId(UUID.randomUUID().toString());
+		entity.setStatus(NotificationOutboxStatus.QUEUED);
+		entity.setAttemptCount(0);
+		entity.setNextAttemptDtimes(now);
+		entity.setCrDtimes(now);
+		entity.setUpdDtimes(now);
+		try {
+			entity.setRequest(encrypt(JsonUtil.writeValueAsString(dto)));
+			outboxRepository.save(entity);
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage(), e);
+		} catch (DataAccessException | GeneralSecurityException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage(), e);
+		}
+		logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), dto.getId(),
+				"NotificationDispatcher::enqueue()::queued::" + entity.getId());
+		submit(entity.getId());
+	}
+
+	/**
+	 * Submits the notifications that are due, including retries and the ones
+	 * that did not fit into the queue.
+	 */
+	@Scheduled(initialDelayString = "${resident.notification.async.poll.interval.millis:30000}", fixedDelayString = "${resident.notification.async.poll.interval.millis:30000}")
+	public void dispatchPending() {
+		if (!enabled)
+			return;
+		try {
+			LocalDateTime now = now();
+			int released = outboxRepository.releaseStale(NotificationOutboxStatus.IN_PROGRESS,
+					NotificationOutboxStatus.QUEUED, now.minusSeconds(leaseSeconds), now);
+			if (released > 0)
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(),
+						"NotificationDispatcher::dispatchPending()::released stale notifications::" + released);
+			int capacity = executor.getQueue().remainingCapacity();
+			if (capacity <= 0)
+				return;
+			List<NotificationOutboxEntity> due = outboxRepository
+					.findByStatusAndNextAttemptDtimesLessThanEqualOrderByNextAttemptDtimes(
+							NotificationOutboxStatus.QUEUED, now, PageRequest.of(0, Math.min(batchSize, capacity)));
+			for (NotificationOutboxEntity entity : due) {
+				if (!submit(entity.getId()))
+					break;
+			}
+		} catch (DataAccessException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"NotificationDispatcher::dispatchPending()::" + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
+	private boolean submit(String id) {
+		if (!scheduled.add(id))
+			return true;
+		try {
+			executor.execute(() -> {
+				try {
+					deliver(id);
+				} finally {
+					scheduled.remove(id);
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			scheduled.remove(id);
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), id,
+					"NotificationDispatcher::submit()::queue full, left for the poller");
+			return false;
+		}
+	}
+
+	void deliver(String id) {
+		Delivery delivery = this.delivery;
+		if (delivery == null)
+			return;
+		try {
+			if (outboxRepository.updateStatus(id, NotificationOutboxStatus.QUEUED,
+					NotificationOutboxStatus.IN_PROGRESS, now()) == 0)
+				return;
+			NotificationOutboxEntity entity = outboxRepository.findById(id).orElse(null);
+			if (entity == null)
+				return;
+			NotificationRequestDto dto;
+			try {
+				dto = JsonUtil.readValue(decrypt(entity.getRequest()), NotificationRequestDto.class);
+			} catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+				onFailure(entity, new SentChannels(entity.isSmsSent(), entity.isEmailSent()), e, false);
+				return;
+			}
+			SentChannels sent = new SentChannels(entity.isSmsSent(), entity.isEmailSent());
+			try {
+				delivery.deliver(dto, sent);
+				outboxRepository.deleteById(id);
+				logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), dto.getId(),
+						"NotificationDispatcher::deliver()::sent::" + id);
+			} catch (ResidentServiceCheckedException e) {
+				// downstream or token failure, worth another attempt
+				onFailure(entity, sent, e, true);
+			} catch (RuntimeException e) {
+				// no valid contact detail, invalid response and the like
+				onFailure(entity, sent, e, false);
+			}
+		} catch (DataAccessException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), id,
+					"NotificationDispatcher::deliver()::" + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
+	private void onFailure(NotificationOutboxEntity entity, SentChannels sent, Exception e, boolean retriable) {
+		LocalDateTime now = now();
+		int attempts = entity.getAttemptCount() + 1;
+		entity.setSmsSent(sent.isSms());
+		entity.setEmailSent(sent.isEmail());
+		entity.setAttemptCount(attempts);
+		entity.setLastError(truncate(e.getMessage()));
+		entity.setUpdDtimes(now);
+		if (retriable && attempts < maxAttempts) {
+			entity.setStatus(NotificationOutboxStatus.QUEUED);
+			entity.setNextAttemptDtimes(now.plusSeconds(backoffSeconds(attempts)));
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					entity.getId(), "NotificationDispatcher::deliver()::attempt " + attempts + " failed, retry at "
+							+ entity.getNextAttemptDtimes() + "::" + e.getMessage());
+		} else {
+			entity.setStatus(NotificationOutboxStatus.FAILED);
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					entity.getId(), "NotificationDispatcher::deliver()::notification failed after " + attempts
+							+ " attempt(s)::" + ExceptionUtils.getStackTrace(e));
+		}
+		outboxRepository.save(entity);
+	}
+
+	long backoffSeconds(int attempts) {
+		long backoff = initialBackoffSeconds << Math.min(attempts - 1, 20);
+		return Math.min(backoff, maxBackoffSeconds);
+	}
+
+	String encrypt(String value) throws GeneralSecurityException {
+		byte[] iv = new byte[IV_LENGTH];
+		secureRandom.nextBytes(iv);
+		Cipher cipher = Cipher.getInstance(CIPHER);
+		cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, iv));
+		byte[] encrypted = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
+		return Base64.getEncoder()
+				.encodeToString(ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array());
+	}
+
+	String decrypt(String value) throws GeneralSecurityException {
+		byte[] encrypted = Base64.getDecoder().decode(value);
+		if (encrypted.length <= IV_LENGTH)
+			throw new GeneralSecurityException("encrypted request too short");
+		Cipher cipher = Cipher.getInstance(CIPHER);
+		cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, encrypted, 0, IV_LENGTH));
+		return new String(cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH), StandardCharsets.UTF_8);
+	}
+
+	static SecretKey toKey(String encodedKey) {
+		if (encodedKey == null || encodedKey.trim().isEmpty())
+			throw new IllegalStateException(
+					"resident.notification.async.encryption.key is required when asynchronous notification is enabled");
+		byte[] keyBytes = Base64.getDecoder().decode(encodedKey.trim());
+		if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32)
+			throw new IllegalStateException("resident.notification.async.encryption.key must be a 128, 192 or 256 bit AES key");
+		return new SecretKeySpec(keyBytes, "AES");
+	}
+
+	private static String truncate(String message) {
+		if (message == null || message.length() <= MAX_ERROR_LENGTH)
+			return message;
+		return message.substring(0, MAX_ERROR_LENGTH);
+	}
+
+	private static LocalDateTime now() {
+		return LocalDateTime.now(ZoneOffset.UTC);
+	}
+}
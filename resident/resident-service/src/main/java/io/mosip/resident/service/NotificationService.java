@@ -1,18 +1,20 @@
 package io.mosip.resident.service;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PostConstruct;
+
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -24,9 +26,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
-import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
-import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.config.ResidentLogger;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.LoggerFileConstant;
 import io.mosip.resident.constant.NotificationTemplateCode;
@@ -34,12 +34,10 @@ import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.NotificationRequestDto;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.SMSRequestDTO;
-import io.mosip.resident.dto.TemplateDto;
-import io.mosip.resident.dto.TemplateResponseDto;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
-import io.mosip.resident.util.JsonUtil;
+import io.mosip.resident.util.NotificationTemplateStore;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.TokenGenerator;
 import io.mosip.resident.util.Utilitiy;
@@ -52,9 +50,9 @@ import io.mosip.resident.validator.RequestValidator;
  */
 @Component
 public class NotificationService {
-	private static final Logger logger = LoggerConfiguration.logConfig(NotificationService.class);
+	private static final ResidentLogger logger = ResidentLogger.getLogger(NotificationService.class);
 	@Autowired
-	private TemplateManager templateManager;
+	private NotificationTemplateStore templateStore;
 
 	@Value("${mosip.primary-language}")
 	private String primaryLang;
@@ -83,6 +81,13 @@ public class NotificationService {
 	@Autowired
 	private RequestValidator requestValidator;
 
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+
+	@Autowired
+	@Qualifier("notificationExecutor")
+	private ExecutorService notificationExecutor;
+
 	private static final String LINE_SEPARATOR = new  StringBuilder().append('\n').append('\n').append('\n').toString();
 	private static final String BOTH = "both";
 	private static final String EMAIL = "_EMAIL";
@@ -94,10 +99,65 @@ public class NotificationService {
 	private static final String SMS_EMAIL_FAILED = "Invalid phone number and email";
 	private static final String IS_SMS_NOTIFICATION_SUCCESS = "NotificationService::sendSMSNotification()::isSuccess?::";
 	private static final String IS_EMAIL_NOTIFICATION_SUCCESS = "NotificationService::sendEmailNotification()::isSuccess?::";
-	private static final String TEMPLATE_CODE = "Template Code";
 	private static final String SUCCESS = "success";
+	private static final String NOTIFICATION_QUEUED = "Notification has been queued for delivery to the provided contact detail(s)";
+	private static final String QUEUED = "queued";
+	private static final ParameterizedTypeReference<ResponseWrapper<NotificationResponseDTO>> NOTIFIER_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<NotificationResponseDTO>>() {
+	};
+
+	@PostConstruct
+	public void init() {
+		notificationDispatcher.setDelivery(this::deliverNotification);
+	}
 
+	/**
+	 * Sends the SMS and email notification. When asynchronous notification is
+	 * enabled the notification is only queued here and delivered by
+	 * {@link NotificationDispatcher}, so the caller does not wait for the
+	 * notification gateways.
+	 *
+	 * @param dto the notification request
+	 * @return the notification response
+	 * @throws ResidentServiceCheckedException
+	 */
 	public NotificationResponseDTO sendNotification(NotificationRequestDto dto) throws ResidentServiceCheckedException {
+		if (!notificationDispatcher.isEnabled())
+			return deliverNotification(dto);
+		notificationDispatcher.enqueue(dto);
+		NotificationResponseDTO notificationResponse = new NotificationResponseDTO();
+		notificationResponse.setMessage(NOTIFICATION_QUEUED);
+		notificationResponse.setStatus(QUEUED);
+		return notificationResponse;
+	}
+
+	/**
+	 * Sends the SMS and email notification and waits for both.
+	 *
+	 * @param dto the notification request
+	 * @return the notification response
+	 * @throws ResidentServiceCheckedException
+	 */
+	public NotificationResponseDTO deliverNotification(NotificationRequestDto dto)
+			throws ResidentServiceCheckedException {
+		return deliverNotification(dto, new NotificationDispatcher.SentChannels());
+	}
+
+	/**
+	 * Sends the SMS and email notification not sent yet and waits for both. The
+	 * templates of both channels and languages are merged concurrently on the
+	 * notification executor, and only when all of them merged are the SMS and the
+	 * email sent, again concurrently. A template error therefore sends nothing, as
+	 * before, while a gateway error on one channel no longer stops the other one.
+	 * Each channel sent is marked on sent, so a retry after a failure of the
+	 * other channel does not send it again.
+	 *
+	 * @param dto  the notification request
+	 * @param sent the channels already sent, updated with the ones sent now
+	 * @return the notification response
+	 * @throws ResidentServiceCheckedException
+	 */
+	public NotificationResponseDTO deliverNotification(NotificationRequestDto dto,
+			NotificationDispatcher.SentChannels sent) throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), dto.getId(),
 				"NotificationService::sendNotification()::entry");
 		boolean smsStatus;
@@ -106,8 +166,37 @@ public class NotificationService {
 		if (dto.getAdditionalAttributes() != null && dto.getAdditionalAttributes().size() > 0) {
 			notificationAttributes.putAll(dto.getAdditionalAttributes());
 		}
-		smsStatus = sendSMSNotification(notificationAttributes, dto.getTemplateTypeCode());
-		emailStatus = sendEmailNotification(notificationAttributes, dto.getTemplateTypeCode(), null);
+		NotificationTemplateCode templateTypeCode = dto.getTemplateTypeCode();
+		String phone = sent.isSms() ? null : getSMSRecipient(notificationAttributes);
+		String email = sent.isEmail() ? null : getEmailRecipient(notificationAttributes);
+		CompletableFuture<String> smsMessageFuture = phone == null ? CompletableFuture.completedFuture(null)
+				: mergeTemplates(templateTypeCode + SMS, notificationAttributes);
+		CompletableFuture<String> emailContentFuture = email == null ? CompletableFuture.completedFuture(null)
+				: mergeTemplates(templateTypeCode + EMAIL, notificationAttributes);
+		CompletableFuture<String> emailSubjectFuture = email == null ? CompletableFuture.completedFuture(null)
+				: supplyAsync(() -> getTemplate(primaryLang, templateTypeCode + EMAIL + SUBJECT));
+		await(smsMessageFuture, emailContentFuture, emailSubjectFuture);
+		String smsMessage = join(smsMessageFuture);
+		String emailContent = join(emailContentFuture);
+		String emailSubject = join(emailSubjectFuture);
+
+		CompletableFuture<Boolean> smsFuture = phone == null ? CompletableFuture.completedFuture(sent.isSms())
+				: supplyAsync(() -> {
+					boolean smsSent = postSMS(phone, smsMessage);
+					if (smsSent)
+						sent.smsSent();
+					return smsSent;
+				});
+		CompletableFuture<Boolean> emailFuture = email == null ? CompletableFuture.completedFuture(sent.isEmail())
+				: supplyAsync(() -> {
+					boolean emailSent = postEmail(notificationAttributes, emailSubject, emailContent, null);
+					if (emailSent)
+						sent.emailSent();
+					return emailSent;
+				});
+		await(smsFuture, emailFuture);
+		smsStatus = join(smsFuture);
+		emailStatus = join(emailFuture);
 		logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), dto.getId(),
 				IS_SMS_NOTIFICATION_SUCCESS + smsStatus);
 		logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), dto.getId(),
@@ -133,94 +222,90 @@ public class NotificationService {
 		return notificationResponse;
 	}
 
-	@SuppressWarnings("unchecked")
 	private String getTemplate(String langCode, String templatetypecode) throws ResidentServiceCheckedException {
-		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
-				"NotificationService::getTemplate()::entry");
-		List<String> pathSegments = new ArrayList<>();
-		pathSegments.add(langCode);
-		pathSegments.add(templatetypecode);
-		try {
-			ResponseWrapper<TemplateResponseDto> resp = (ResponseWrapper<TemplateResponseDto>) restClient.getApi(
-					ApiName.TEMPLATES, pathSegments, null, null, ResponseWrapper.class, tokenGenerator.getToken());
-			if (resp == null || resp.getErrors() != null && !resp.getErrors().isEmpty()) {
-				throw new ResidentServiceException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
-						ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage()
-								+ (resp != null ? resp.getErrors().get(0) : ""));
-			}
-			TemplateResponseDto templateResponse = JsonUtil.readValue(JsonUtil.writeValueAsString(resp.getResponse()),
-					TemplateResponseDto.class);
-			logger.info(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
-					"NotificationService::getTemplate()::getTemplateResponse::" + JsonUtil.writeValueAsString(resp));
-			List<TemplateDto> response = templateResponse.getTemplates();
-			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
-					"NotificationService::getTemplate()::exit");
-			return response.get(0).getFileText().replaceAll("^\"|\"$", "");
-		} catch (IOException e) {
-			throw new ResidentServiceCheckedException(ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorCode(),
-					ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorMessage(), e);
-		} catch (ApisResourceAccessException e) {
-			if (e.getCause() instanceof HttpClientErrorException) {
-				HttpClientErrorException httpClientException = (HttpClientErrorException) e.getCause();
-				throw new ResidentServiceCheckedException(
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
-						httpClientException.getResponseBodyAsString());
+		return templateStore.getTemplate(langCode, templatetypecode);
+	}
 
-			} else if (e.getCause() instanceof HttpServerErrorException) {
-				HttpServerErrorException httpServerException = (HttpServerErrorException) e.getCause();
-				throw new ResidentServiceCheckedException(
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
-						httpServerException.getResponseBodyAsString());
-			} else {
-				throw new ResidentServiceCheckedException(
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage() + e.getMessage(), e);
-			}
-		}
+	private String templateMerge(String langCode, String templatetypecode, Map<String, Object> mailingAttributes)
+			throws ResidentServiceCheckedException {
+		return templateStore.merge(langCode, templatetypecode, mailingAttributes);
+	}
 
+	/**
+	 * Merges the primary and secondary language templates concurrently.
+	 */
+	private CompletableFuture<String> mergeTemplates(String templatetypecode, Map<String, Object> mailingAttributes) {
+		CompletableFuture<String> primary = supplyAsync(
+				() -> templateMerge(primaryLang, templatetypecode, new HashMap<>(mailingAttributes)));
+		if (!languageType.equalsIgnoreCase(BOTH))
+			return primary;
+		CompletableFuture<String> secondary = supplyAsync(
+				() -> templateMerge(secondaryLang, templatetypecode, new HashMap<>(mailingAttributes)));
+		return primary.thenCombine(secondary,
+				(primaryTemplate, secondaryTemplate) -> primaryTemplate + LINE_SEPARATOR + secondaryTemplate);
 	}
 
-	private String templateMerge(String fileText, Map<String, Object> mailingAttributes)
-			throws ResidentServiceCheckedException {
-		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), "",
-				"NotificationService::templateMerge()::entry");
+	private <T> CompletableFuture<T> supplyAsync(NotificationTask<T> task) {
+		return CompletableFuture.supplyAsync(() -> unchecked(task), notificationExecutor);
+	}
+
+	private static <T> T unchecked(NotificationTask<T> task) {
 		try {
-			String mergeTemplate;
-			InputStream templateInputStream = new ByteArrayInputStream(fileText.getBytes(Charset.forName("UTF-8")));
+			return task.call();
+		} catch (ResidentServiceCheckedException e) {
+			throw new CompletionException(e);
+		}
+	}
 
-			InputStream resultedTemplate = templateManager.merge(templateInputStream, mailingAttributes);
+	/**
+	 * Waits for all futures, failed or not, so that the failures can be reported
+	 * in a fixed order, SMS first as before.
+	 */
+	private static void await(CompletableFuture<?>... futures) {
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException e) {
+			// reported by join
+		}
+	}
 
-			mergeTemplate = IOUtils.toString(resultedTemplate, StandardCharsets.UTF_8.name());
-			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), "",
-					"NotificationService::templateMerge()::exit");
-			return mergeTemplate;
-		} catch (IOException e) {
-			throw new ResidentServiceCheckedException(ResidentErrorCode.IO_EXCEPTION.getErrorCode(),
-					ResidentErrorCode.IO_EXCEPTION.getErrorMessage(), e);
+	private static <T> T join(CompletableFuture<T> future) throws ResidentServiceCheckedException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof ResidentServiceCheckedException)
+				throw (ResidentServiceCheckedException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw e;
 		}
 	}
 
-	private boolean sendSMSNotification(Map<String, Object> mailingAttributes,
-			NotificationTemplateCode notificationTemplate) throws ResidentServiceCheckedException {
+	@FunctionalInterface
+	private interface NotificationTask<T> {
+		T call() throws ResidentServiceCheckedException;
+	}
+
+	/**
+	 * @return the phone number, or null when there is no valid one
+	 */
+	private String getSMSRecipient(Map<String, Object> mailingAttributes) {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
 				"NotificationService::sendSMSNotification()::entry");
 		String phone = (String) mailingAttributes.get("phone");
 		if (nullValueCheck(phone) || !(requestValidator.phoneValidator(phone))) {
 			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
 					"NotificationService::sendSMSNotification()::phoneValidatio::" + "false :: invalid phone number");
-			return false;
-		}
-
-		String primaryLanguageMergeTemplate = templateMerge(getTemplate(primaryLang, notificationTemplate + SMS),
-				mailingAttributes);
-
-		if (languageType.equalsIgnoreCase(BOTH)) {
-			String secondaryLanguageMergeTemplate = templateMerge(
-					getTemplate(secondaryLang, notificationTemplate + SMS), mailingAttributes);
-			primaryLanguageMergeTemplate = primaryLanguageMergeTemplate + LINE_SEPARATOR
-					+ secondaryLanguageMergeTemplate;
+			return null;
 		}
+		return phone;
+	}
 
+	private boolean postSMS(String phone, String primaryLanguageMergeTemplate)
+			throws ResidentServiceCheckedException {
 		SMSRequestDTO smsRequestDTO = new SMSRequestDTO();
 		smsRequestDTO.setMessage(primaryLanguageMergeTemplate);
 		smsRequestDTO.setNumber(phone);
@@ -228,18 +313,18 @@ public class NotificationService {
 		req.setRequest(smsRequestDTO);
 		ResponseWrapper<NotificationResponseDTO> resp;
 		try {
-			resp = restClient.postApi(env.getProperty(ApiName.SMSNOTIFIER.name()), MediaType.APPLICATION_JSON, req,
-					ResponseWrapper.class, tokenGenerator.getToken());
+			resp = restClient.postApi(ApiName.SMSNOTIFIER, env.getProperty(ApiName.SMSNOTIFIER.name()),
+					MediaType.APPLICATION_JSON, req,
+					NOTIFIER_RESPONSE, tokenGenerator.getToken());
 			if (nullCheckForResponse(resp)) {
 				throw new ResidentServiceException(ResidentErrorCode.IN_VALID_API_RESPONSE.getErrorCode(),
 						ResidentErrorCode.IN_VALID_API_RESPONSE.getErrorMessage() + " SMSNOTIFIER API"
 								+ (resp != null ? resp.getErrors().get(0) : ""));
 			}
-			NotificationResponseDTO notifierResponse = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(resp.getResponse()), NotificationResponseDTO.class);
-			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
-					"NotificationService::sendSMSNotification()::response::"
-							+ JsonUtil.writeValueAsString(notifierResponse));
+			NotificationResponseDTO notifierResponse = resp.getResponse();
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
+					() -> "NotificationService::sendSMSNotification()::response::"
+							+ ResidentLogger.payload(notifierResponse));
 
 			if (SUCCESS.equalsIgnoreCase(notifierResponse.getStatus())) {
 				logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
@@ -265,7 +350,7 @@ public class NotificationService {
 						httpServerException.getResponseBodyAsString());
 			} else {
 				logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(), "",
-						e.getMessage() + ExceptionUtils.getStackTrace(e));
+						() -> e.getMessage() + ExceptionUtils.getStackTrace(e));
 				throw new ResidentServiceCheckedException(
 						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
 						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage() + e.getMessage(), e);
@@ -273,7 +358,7 @@ public class NotificationService {
 
 		} catch (IOException e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(), "",
-					e.getMessage() + ExceptionUtils.getStackTrace(e));
+					() -> e.getMessage() + ExceptionUtils.getStackTrace(e));
 			throw new ResidentServiceCheckedException(ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorCode(),
 					ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorMessage(), e);
 		}
@@ -284,26 +369,23 @@ public class NotificationService {
 
 	}
 
-	private boolean sendEmailNotification(Map<String, Object> mailingAttributes,
-			NotificationTemplateCode notificationTemplate, MultipartFile[] attachment)
-			throws ResidentServiceCheckedException {
+	/**
+	 * @return the email address, or null when there is no valid one
+	 */
+	private String getEmailRecipient(Map<String, Object> mailingAttributes) {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
 				"NotificationService::sendEmailNotification()::entry");
 		String email = String.valueOf(mailingAttributes.get("email"));
 		if (nullValueCheck(email) || !(requestValidator.emailValidator(email))) {
 			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
 					"NotificationService::sendEmailNotification()::emailValidation::" + "false :: invalid email");
-			return false;
-		}
-		String emailSubject = getTemplate(primaryLang, notificationTemplate + EMAIL + SUBJECT);
-		String primaryLanguageMergeTemplate = templateMerge(getTemplate(primaryLang, notificationTemplate + EMAIL),
-				mailingAttributes);
-		if (languageType.equalsIgnoreCase(BOTH)) {
-			String secondaryLanguageMergeTemplate = templateMerge(
-					getTemplate(secondaryLang, notificationTemplate + EMAIL), mailingAttributes);
-			primaryLanguageMergeTemplate = primaryLanguageMergeTemplate + LINE_SEPARATOR
-					+ secondaryLanguageMergeTemplate;
+			return null;
 		}
+		return email;
+	}
+
+	private boolean postEmail(Map<String, Object> mailingAttributes, String emailSubject,
+			String primaryLanguageMergeTemplate, MultipartFile[] attachment) throws ResidentServiceCheckedException {
 		LinkedMultiValueMap<String, Object> params = new LinkedMultiValueMap<>();
 		String[] mailTo = { mailingAttributes.get("email").toString() };
 		String[] mailCc = notificationEmails.split("\\|");
@@ -316,18 +398,18 @@ public class NotificationService {
 			params.add("attachments", attachment);
 			ResponseWrapper<NotificationResponseDTO> response;
 
-			response = restClient.postApi(builder.build().toUriString(), MediaType.MULTIPART_FORM_DATA, params,
-					ResponseWrapper.class, tokenGenerator.getToken());
+			response = restClient.postApi(ApiName.EMAILNOTIFIER, builder.build().toUriString(),
+					MediaType.MULTIPART_FORM_DATA, params,
+					NOTIFIER_RESPONSE, tokenGenerator.getToken());
 			if (nullCheckForResponse(response)) {
 				throw new ResidentServiceException(ResidentErrorCode.IN_VALID_API_RESPONSE.getErrorCode(),
 						ResidentErrorCode.IN_VALID_API_RESPONSE.getErrorMessage() + " EMAILNOTIFIER API"
 								+ (response != null ? response.getErrors().get(0) : ""));
 			}
-			NotificationResponseDTO notifierResponse = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(response.getResponse()), NotificationResponseDTO.class);
-			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
-					"NotificationService::sendEmailNotification()::response::"
-							+ JsonUtil.writeValueAsString(notifierResponse));
+			NotificationResponseDTO notifierResponse = response.getResponse();
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
+					() -> "NotificationService::sendEmailNotification()::response::"
+							+ ResidentLogger.payload(notifierResponse));
 
 			if ("success".equals(notifierResponse.getStatus())) {
 				logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
@@ -1,10 +1,13 @@
 package io.mosip.resident.service;
 
+import java.util.List;
+
 import io.mosip.resident.constant.AuthTypeStatus;
 import io.mosip.resident.dto.AuthHistoryRequestDTO;
 import io.mosip.resident.dto.AuthHistoryResponseDTO;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
 import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchResponseDTO;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
 import io.mosip.resident.dto.RequestDTO;
 import io.mosip.resident.dto.ResidentReprintRequestDto;
@@ -14,12 +17,25 @@ import io.mosip.resident.dto.ResidentUpdateResponseDTO;
 import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.util.UINCardDownloadService.UINCardWriter;
 
 public interface ResidentService {
 
 	public RegStatusCheckResponseDTO getRidStatus(RequestDTO dto) throws ApisResourceAccessException;
 
-	public byte[] reqEuin(EuinRequestDTO euinRequestDTO) throws ResidentServiceCheckedException;
+	/**
+	 * Checks the status of several RIDs, a few registration status searches for
+	 * all of them. A RID that is invalid, not found or whose search failed gets
+	 * an error instead of a status, the other RIDs are not affected.
+	 */
+	public RegStatusCheckBatchResponseDTO getRidStatuses(List<String> individualIds);
+
+	/**
+	 * Validates the OTP and streams the card to the writer. Once the card was
+	 * written a failed success notification is only logged, since the response
+	 * is already committed.
+	 */
+	public void reqEuin(EuinRequestDTO euinRequestDTO, UINCardWriter writer) throws ResidentServiceCheckedException;
 
 	public ResidentReprintResponseDto reqPrintUin(ResidentReprintRequestDto dto) throws ResidentServiceCheckedException;
 
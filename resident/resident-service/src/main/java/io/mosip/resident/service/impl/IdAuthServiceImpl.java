@@ -7,9 +7,19 @@ import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.crypto.SecretKey;
 
@@ -17,8 +27,10 @@ import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -27,14 +39,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.kernel.core.crypto.spi.CryptoCoreSpec;
 import io.mosip.kernel.core.http.ResponseWrapper;
-import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.CryptoUtil;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.util.HMACUtils;
-import io.mosip.kernel.core.util.JsonUtils;
 import io.mosip.kernel.core.util.exception.JsonProcessingException;
 import io.mosip.kernel.keygenerator.bouncycastle.KeyGenerator;
-import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.config.ResidentLogger;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.LoggerFileConstant;
 import io.mosip.resident.dto.AuthRequestDTO;
@@ -46,6 +56,7 @@ import io.mosip.resident.dto.AuthTypeStatusRequestDto;
 import io.mosip.resident.dto.AuthTypeStatusResponseDto;
 import io.mosip.resident.dto.AutnTxnDto;
 import io.mosip.resident.dto.AutnTxnResponseDto;
+import io.mosip.resident.dto.ErrorDTO;
 import io.mosip.resident.dto.OtpAuthRequestDTO;
 import io.mosip.resident.dto.PublicKeyResponseDto;
 import io.mosip.resident.exception.ApisResourceAccessException;
@@ -57,7 +68,15 @@ import io.mosip.resident.util.TokenGenerator;
 @Component
 public class IdAuthServiceImpl implements IdAuthService {
 
-	private static final Logger logger = LoggerConfiguration.logConfig(IdAuthServiceImpl.class);
+	private static final ResidentLogger logger = ResidentLogger.getLogger(IdAuthServiceImpl.class);
+
+	private static final String INTERNAL_REFERENCE_ID = "INTERNAL";
+
+
+	private static final long MIN_REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private static final ParameterizedTypeReference<ResponseWrapper<PublicKeyResponseDto>> PUBLIC_KEY_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<PublicKeyResponseDto>>() {
+	};
 
 	@Value("${auth.internal.id}")
 	private String internalAuthId;
@@ -68,6 +87,25 @@ public class IdAuthServiceImpl implements IdAuthService {
 	@Value("${auth.type.status.id}")
 	private String authTypeStatusId;
 
+	/** Longest time an IDA public key is used before it is fetched again. */
+	@Value("${resident.ida.publickey.cache.ttl.seconds:86400}")
+	private long publicKeyTtlSeconds;
+
+	/** How long before the key expiry it is fetched again. */
+	@Value("${resident.ida.publickey.refresh.ahead.seconds:3600}")
+	private long publicKeyRefreshAheadSeconds;
+
+	@Value("${resident.ida.publickey.prefetch.interval.millis:600000}")
+	private long prefetchIntervalMillis;
+
+	/**
+	 * IDA error codes that mean the request session key could not be decrypted.
+	 * Only these trigger the retry with a fresh key, as the retry resends the
+	 * same OTP and transaction id.
+	 */
+	@Value("#{'${resident.ida.publickey.refresh.error.codes:}'.split(',')}")
+	private List<String> decryptionErrorCodes;
+
 	@Autowired
 	ObjectMapper mapper;
 
@@ -86,16 +124,33 @@ public class IdAuthServiceImpl implements IdAuthService {
 	@Autowired
 	private CryptoCoreSpec<byte[], byte[], SecretKey, PublicKey, PrivateKey, String> encryptor;
 
+	/** Parsed IDA public keys by reference id. */
+	private final Map<String, CachedPublicKey> publicKeys = new ConcurrentHashMap<>();
+
+	/**
+	 * Serializes the key fetches. A lock rather than a monitor, so a virtual
+	 * thread waiting on key manager does not pin its carrier thread.
+	 */
+	private final Lock publicKeysLock = new ReentrantLock();
+
 	@Override
 	public boolean validateOtp(String transactionID, String individualId, String individualIdType, String otp)
 			throws OtpValidationFailedException {
 		AuthResponseDTO response = null;
 		try {
 			response = internelOtpAuth(transactionID, individualId, individualIdType, otp);
+			if (isDecryptionError(response)) {
+				// the cached key may have been rotated, retry once with a fresh key
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(),
+						individualId, "IdAuthServiceImpl::validateOtp():: IDA could not decrypt the request, "
+								+ "refreshing public key " + INTERNAL_REFERENCE_ID);
+				publicKeys.remove(INTERNAL_REFERENCE_ID);
+				response = internelOtpAuth(transactionID, individualId, individualIdType, otp);
+			}
 		} catch (ApisResourceAccessException | InvalidKeySpecException | NoSuchAlgorithmException | IOException
 				| JsonProcessingException e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), null,
-					"IdAuthServiceImpl::validateOtp():: validate otp method call" + ExceptionUtils.getStackTrace(e));
+					() -> "IdAuthServiceImpl::validateOtp():: validate otp method call" + ExceptionUtils.getStackTrace(e));
 			throw new OtpValidationFailedException(e.getMessage());
 		}
 		if (response.getErrors() != null && !response.getErrors().isEmpty()) {
@@ -141,7 +196,7 @@ public class IdAuthServiceImpl implements IdAuthService {
 		// rbase64 encoded for request
 		authRequestDTO.setRequest(Base64.encodeBase64URLSafeString(encryptedIdentityBlock));
 		// encrypted with MOSIP public key and encoded session key
-		byte[] encryptedSessionKeyByte = encryptRSA(secretKey.getEncoded(), "INTERNAL");
+		byte[] encryptedSessionKeyByte = encryptRSA(secretKey.getEncoded(), INTERNAL_REFERENCE_ID);
 		authRequestDTO.setRequestSessionKey(Base64.encodeBase64URLSafeString(encryptedSessionKeyByte));
 
 		// sha256 of the request block before encryption and the hash is encrypted
@@ -151,20 +206,21 @@ public class IdAuthServiceImpl implements IdAuthService {
 		authRequestDTO.setRequestHMAC(Base64.encodeBase64String(byteArray));
 
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
-				"internelOtpAuth()::INTERNALAUTH POST service call started with request data "
-						+ JsonUtils.javaObjectToJsonString(authRequestDTO));
+				() -> "internelOtpAuth()::INTERNALAUTH POST service call started with request data "
+						+ ResidentLogger.payload(authRequestDTO));
 
 		AuthResponseDTO response;
 		try {
-			response = (AuthResponseDTO) restClient.postApi(environment.getProperty(ApiName.INTERNALAUTH.name()),
-					MediaType.APPLICATION_JSON, authRequestDTO, AuthResponseDTO.class, tokenGenerator.getToken());
+			response = (AuthResponseDTO) restClient.postApi(ApiName.INTERNALAUTH,
+					environment.getProperty(ApiName.INTERNALAUTH.name()), MediaType.APPLICATION_JSON, authRequestDTO,
+					AuthResponseDTO.class, tokenGenerator.getToken());
 
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
-					"IdAuthServiceImpl::internelOtpAuth()::INTERNALAUTH POST service call ended with response data "
-							+ JsonUtils.javaObjectToJsonString(response));
+					() -> "IdAuthServiceImpl::internelOtpAuth()::INTERNALAUTH POST service call ended with response data "
+							+ ResidentLogger.payload(response));
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), null,
-					"IdAuthServiceImp::internelOtpAuth():: INTERNALAUTH GET service call"
+					() -> "IdAuthServiceImp::internelOtpAuth():: INTERNALAUTH GET service call"
 							+ ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Could not fetch public key from kernel keymanager", e);
 		}
@@ -177,8 +233,56 @@ public class IdAuthServiceImpl implements IdAuthService {
 			InvalidKeySpecException, java.security.NoSuchAlgorithmException, IOException, JsonProcessingException {
 
 		// encrypt AES Session Key using RSA public key
-		ResponseWrapper<?> responseWrapper = null;
-		PublicKeyResponseDto publicKeyResponsedto;
+		return encryptor.asymmetricEncrypt(getPublicKey(refId), sessionKey);
+	}
+
+	/**
+	 * Returns the cached public key of the reference id, fetching it from key
+	 * manager when it is missing or due for refresh.
+	 */
+	private PublicKey getPublicKey(String refId) throws ApisResourceAccessException, InvalidKeySpecException,
+			NoSuchAlgorithmException, IOException, JsonProcessingException {
+		CachedPublicKey cachedKey = publicKeys.get(refId);
+		if (cachedKey != null && System.currentTimeMillis() < cachedKey.refreshAt)
+			return cachedKey.publicKey;
+		publicKeysLock.lock();
+		try {
+			cachedKey = publicKeys.get(refId);
+			if (cachedKey == null || System.currentTimeMillis() >= cachedKey.refreshAt) {
+				cachedKey = fetchPublicKey(refId);
+				publicKeys.put(refId, cachedKey);
+			}
+			return cachedKey.publicKey;
+		} finally {
+			publicKeysLock.unlock();
+		}
+	}
+
+	/**
+	 * Fetches the keys that are missing or close to their refresh time in the
+	 * background, so that OTP validation does not wait for key manager.
+	 */
+	@Scheduled(initialDelayString = "${resident.ida.publickey.prefetch.initial.delay.millis:10000}", fixedDelayString = "${resident.ida.publickey.prefetch.interval.millis:600000}")
+	public void prefetchPublicKeys() {
+		long refreshBefore = System.currentTimeMillis() + prefetchIntervalMillis;
+		Set<String> refIds = new HashSet<>(publicKeys.keySet());
+		refIds.add(INTERNAL_REFERENCE_ID);
+		for (String refId : refIds) {
+			CachedPublicKey cachedKey = publicKeys.get(refId);
+			if (cachedKey != null && cachedKey.refreshAt > refreshBefore)
+				continue;
+			try {
+				publicKeys.put(refId, fetchPublicKey(refId));
+			} catch (Exception e) {
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), refId,
+						"IdAuthServiceImpl::prefetchPublicKeys():: could not fetch public key " + e.getMessage());
+			}
+		}
+	}
+
+	private CachedPublicKey fetchPublicKey(String refId) throws ApisResourceAccessException,
+			InvalidKeySpecException, NoSuchAlgorithmException, IOException, JsonProcessingException {
+		ResponseWrapper<PublicKeyResponseDto> responseWrapper;
 
 		String uri = environment.getProperty(ApiName.KERNELENCRYPTIONSERVICE.name());
 		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(uri);
@@ -190,26 +294,66 @@ public class IdAuthServiceImpl implements IdAuthService {
 		UriComponents uriComponent = builder.build(false).encode();
 
 		try {
-			responseWrapper = (ResponseWrapper<?>) restClient.getApi(uriComponent.toUri(), ResponseWrapper.class,
-					tokenGenerator.getToken());
+			responseWrapper = restClient.getApi(ApiName.KERNELENCRYPTIONSERVICE, uriComponent.toUri(),
+					PUBLIC_KEY_RESPONSE, tokenGenerator.getToken());
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), refId,
-					"IdAuthServiceImp::lencryptRSA():: ENCRYPTIONSERVICE GET service call"
+					() -> "IdAuthServiceImp::lencryptRSA():: ENCRYPTIONSERVICE GET service call"
 							+ ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Could not fetch public key from kernel keymanager", e);
 		}
-		publicKeyResponsedto = mapper.readValue(mapper.writeValueAsString(responseWrapper.getResponse()),
-				PublicKeyResponseDto.class);
+		PublicKeyResponseDto publicKeyResponsedto = responseWrapper.getResponse();
 
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), refId,
-				"IdAuthServiceImpl::encryptRSA():: ENCRYPTIONSERVICE GET service call ended with response data "
-						+ JsonUtils.javaObjectToJsonString(responseWrapper));
+				() -> "IdAuthServiceImpl::encryptRSA():: ENCRYPTIONSERVICE GET service call ended with response data "
+						+ ResidentLogger.payload(responseWrapper));
 
 		PublicKey publicKey = KeyFactory.getInstance("RSA")
 				.generatePublic(new X509EncodedKeySpec(CryptoUtil.decodeBase64(publicKeyResponsedto.getPublicKey())));
 
-		return encryptor.asymmetricEncrypt(publicKey, sessionKey);
+		return new CachedPublicKey(publicKey, getRefreshAt(publicKeyResponsedto.getExpiryAt()));
+	}
+
+	/**
+	 * The key is refreshed ahead of its expiry, and at the latest after the
+	 * configured time to live so that an early rotation is picked up.
+	 */
+	private long getRefreshAt(String expiryAt) {
+		long now = System.currentTimeMillis();
+		long refreshAt = now + TimeUnit.SECONDS.toMillis(publicKeyTtlSeconds);
+		if (expiryAt != null && !expiryAt.isEmpty()) {
+			try {
+				String localExpiry = expiryAt.endsWith("Z") ? expiryAt.substring(0, expiryAt.length() - 1) : expiryAt;
+				long expiry = LocalDateTime.parse(localExpiry).toInstant(ZoneOffset.UTC).toEpochMilli();
+				refreshAt = Math.min(refreshAt, expiry - TimeUnit.SECONDS.toMillis(publicKeyRefreshAheadSeconds));
+			} catch (DateTimeParseException e) {
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), expiryAt,
+						"IdAuthServiceImpl::getRefreshAt():: could not parse public key expiry");
+			}
+		}
+		// a key past its refresh time that key manager still returns is kept for a while
+		return Math.max(refreshAt, now + MIN_REFRESH_MILLIS);
+	}
+
+	private boolean isDecryptionError(AuthResponseDTO response) {
+		if (response == null || response.getErrors() == null)
+			return false;
+		for (ErrorDTO error : response.getErrors()) {
+			if (decryptionErrorCodes != null && error.getErrorCode() != null && !error.getErrorCode().isEmpty()
+					&& decryptionErrorCodes.contains(error.getErrorCode()))
+				return true;
+		}
+		return false;
+	}
 
+	private static final class CachedPublicKey {
+		private final PublicKey publicKey;
+		private final long refreshAt;
+
+		private CachedPublicKey(PublicKey publicKey, long refreshAt) {
+			this.publicKey = publicKey;
+			this.refreshAt = refreshAt;
+		}
 	}
 
 	@Override
@@ -246,17 +390,18 @@ public class IdAuthServiceImpl implements IdAuthService {
 		AuthTypeStatusResponseDto response;
 		;
 		try {
-			response = restClient.postApi(environment.getProperty(ApiName.AUTHTYPESTATUSUPDATE.name()),
-					MediaType.APPLICATION_JSON, authTypeStatusRequestDto, AuthTypeStatusResponseDto.class,
+			response = restClient.postApi(ApiName.AUTHTYPESTATUSUPDATE,
+					environment.getProperty(ApiName.AUTHTYPESTATUSUPDATE.name()), MediaType.APPLICATION_JSON,
+					authTypeStatusRequestDto, AuthTypeStatusResponseDto.class,
 					tokenGenerator.getToken());
 
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
-					"IdAuthServiceImp::authLock():: AUTHLOCK POST service call ended with response data "
-							+ JsonUtils.javaObjectToJsonString(response));
+					() -> "IdAuthServiceImp::authLock():: AUTHLOCK POST service call ended with response data "
+							+ ResidentLogger.payload(response));
 
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), null,
-					"IdAuthServiceImp::authLock():: AUTHLOCK POST service call" + ExceptionUtils.getStackTrace(e));
+					() -> "IdAuthServiceImp::authLock():: AUTHLOCK POST service call" + ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Could not able call auth status api", e);
 		}
 
@@ -295,7 +440,7 @@ public class IdAuthServiceImpl implements IdAuthService {
 
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), null,
-					"IdAuthServiceImp::getAuthHistoryDetails():: AUTHTransactions GET service call"
+					() -> "IdAuthServiceImp::getAuthHistoryDetails():: AUTHTransactions GET service call"
 							+ ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Could not able call auth transactions api", e);
 		}
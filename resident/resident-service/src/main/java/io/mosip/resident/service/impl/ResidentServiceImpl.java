@@ -1,25 +1,30 @@
 package io.mosip.resident.service.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
+import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
+import io.mosip.kernel.core.idvalidator.exception.InvalidIDException;
 import io.mosip.kernel.core.idvalidator.spi.RidValidator;
 import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.core.util.CryptoUtil;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.ApiName;
@@ -33,13 +38,18 @@ import io.mosip.resident.dto.AuthHistoryRequestDTO;
 import io.mosip.resident.dto.AuthHistoryResponseDTO;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
 import io.mosip.resident.dto.AuthTxnDetailsDTO;
+import io.mosip.resident.dto.ErrorDTO;
 import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.IdentityMapping;
 import io.mosip.resident.dto.NotificationRequestDto;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.RegProcCommonResponseDto;
 import io.mosip.resident.dto.RegProcRePrintRequestDto;
 import io.mosip.resident.dto.RegProcUpdateRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchResponseDTO;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
+import io.mosip.resident.dto.RegistrationStatusDTO;
+import io.mosip.resident.dto.RegistrationStatusListResponseDTO;
 import io.mosip.resident.dto.RegistrationStatusRequestDTO;
 import io.mosip.resident.dto.RegistrationStatusResponseDTO;
 import io.mosip.resident.dto.RegistrationStatusSubRequestDto;
@@ -52,6 +62,7 @@ import io.mosip.resident.dto.ResidentUpdateRequestDto;
 import io.mosip.resident.dto.ResidentUpdateResponseDTO;
 import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.dto.ResponseWrapper;
+import io.mosip.resident.dto.RidStatusDTO;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.RIDInvalidException;
@@ -60,10 +71,13 @@ import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.service.IdAuthService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.ResidentService;
+import io.mosip.resident.util.AsciiInputStream;
+import io.mosip.resident.util.IdentityMappingProvider;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.TokenGenerator;
 import io.mosip.resident.util.UINCardDownloadService;
+import io.mosip.resident.util.UINCardDownloadService.UINCardWriter;
 import io.mosip.resident.util.Utilitiy;
 
 @Service
@@ -81,7 +95,8 @@ public class ResidentServiceImpl implements ResidentService {
 	private static final String PROOF_OF_RELATIONSHIP = "por";
 	private static final String PROOF_OF_IDENTITY = "poi";
 	private static final String IDENTITY = "identity";
-	private static final String VALUE = "value";
+	private static final ParameterizedTypeReference<ResponseWrapper<RegProcCommonResponseDto>> REG_PROC_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<RegProcCommonResponseDto>>() {
+	};
 
 	private static final Logger logger = LoggerConfiguration.logConfig(ResidentServiceImpl.class);
 
@@ -109,12 +124,19 @@ public class ResidentServiceImpl implements ResidentService {
 	@Autowired
 	private Utilitiy utility;
 
+	@Autowired
+	private IdentityMappingProvider identityMappingProvider;
+
 	@Value("${resident.center.id}")
 	private String centerId;
 
 	@Value("${resident.machine.id}")
 	private String machineId;
 
+	/** RIDs sent in one registration status search of a batch status check. */
+	@Value("${resident.rid.check-status.batch.chunk-size:20}")
+	private int statusCheckChunkSize;
+
 	@Override
 	public RegStatusCheckResponseDTO getRidStatus(RequestDTO request) {
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
@@ -124,19 +146,13 @@ public class ResidentServiceImpl implements ResidentService {
 					ResidentErrorCode.INVALID_RID_EXCEPTION.getErrorMessage());
 		RegStatusCheckResponseDTO response = null;
 		RegistrationStatusResponseDTO responseWrapper = null;
-		RegistrationStatusRequestDTO dto = new RegistrationStatusRequestDTO();
-		List<RegistrationStatusSubRequestDto> rids = new ArrayList<>();
-		RegistrationStatusSubRequestDto rid = new RegistrationStatusSubRequestDto(request.getIndividualId());
-
-		rids.add(rid);
-		dto.setRequest(rids);
-		dto.setId(env.getProperty(STATUS_CHECK_ID));
-		dto.setVersion(env.getProperty(STATUS_CHECEK_VERSION));
-		dto.setRequesttime(DateUtils.getUTCCurrentDateTimeString(env.getProperty(DATETIME_PATTERN)));
+		RegistrationStatusRequestDTO dto = newStatusSearchRequest(
+				Collections.singletonList(request.getIndividualId()));
 
 		try {
 			responseWrapper = (RegistrationStatusResponseDTO) residentServiceRestClient.postApi(
-					env.getProperty(ApiName.REGISTRATIONSTATUSSEARCH.name()), MediaType.APPLICATION_JSON, dto,
+					ApiName.REGISTRATIONSTATUSSEARCH, env.getProperty(ApiName.REGISTRATIONSTATUSSEARCH.name()),
+					MediaType.APPLICATION_JSON, dto,
 					RegistrationStatusResponseDTO.class, tokenGenerator.getToken());
 			if (responseWrapper == null) {
 				logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
@@ -189,6 +205,112 @@ public class ResidentServiceImpl implements ResidentService {
 		return response;
 	}
 
+	@Override
+	public RegStatusCheckBatchResponseDTO getRidStatuses(List<String> individualIds) {
+		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(), "ResidentServiceImpl::getRidStatuses():: entry");
+		Map<String, RidStatusDTO> ridStatuses = new LinkedHashMap<>();
+		List<String> rids = new ArrayList<>();
+		for (String individualId : individualIds) {
+			if (ridStatuses.containsKey(individualId))
+				continue;
+			RidStatusDTO ridStatus = new RidStatusDTO();
+			ridStatus.setIndividualId(individualId);
+			ridStatuses.put(individualId, ridStatus);
+			if (isValidRid(individualId))
+				rids.add(individualId);
+			else
+				ridStatus.setError(new ErrorDTO(ResidentErrorCode.INVALID_RID_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.INVALID_RID_EXCEPTION.getErrorMessage()));
+		}
+
+		int chunkSize = Math.max(1, statusCheckChunkSize);
+		for (int from = 0; from < rids.size(); from += chunkSize)
+			searchRidStatuses(rids.subList(from, Math.min(rids.size(), from + chunkSize)), ridStatuses);
+
+		RegStatusCheckBatchResponseDTO response = new RegStatusCheckBatchResponseDTO();
+		response.setRidStatuses(new ArrayList<>(ridStatuses.values()));
+		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(), "ResidentServiceImpl::getRidStatuses():: exit");
+		return response;
+	}
+
+	private boolean isValidRid(String individualId) {
+		try {
+			return individualId != null && ridValidator.validateId(individualId);
+		} catch (InvalidIDException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Searches the status of one chunk of RIDs and sets the status or the error
+	 * of each. A failed search fails only the RIDs of its chunk.
+	 */
+	private void searchRidStatuses(List<String> rids, Map<String, RidStatusDTO> ridStatuses) {
+		ErrorDTO error;
+		try {
+			RegistrationStatusListResponseDTO responseWrapper = (RegistrationStatusListResponseDTO) residentServiceRestClient
+					.postApi(ApiName.REGISTRATIONSTATUSSEARCH, env.getProperty(ApiName.REGISTRATIONSTATUSSEARCH.name()),
+							MediaType.APPLICATION_JSON, newStatusSearchRequest(rids),
+							RegistrationStatusListResponseDTO.class, tokenGenerator.getToken());
+			if (responseWrapper == null) {
+				error = new ErrorDTO(ResidentErrorCode.IN_VALID_API_RESPONSE.getErrorCode(),
+						ResidentErrorCode.IN_VALID_API_RESPONSE.getErrorMessage()
+								+ ApiName.REGISTRATIONSTATUSSEARCH.name());
+			} else {
+				Map<String, String> statusCodes = new HashMap<>();
+				if (responseWrapper.getResponse() != null) {
+					for (RegistrationStatusDTO registrationStatus : responseWrapper.getResponse()) {
+						if (registrationStatus != null && registrationStatus.getStatusCode() != null)
+							statusCodes.put(registrationStatus.getRegistrationId(), registrationStatus.getStatusCode());
+					}
+				}
+				String notFoundMessage = ResidentErrorCode.NO_RID_FOUND_EXCEPTION.getErrorMessage();
+				if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty())
+					notFoundMessage += responseWrapper.getErrors().get(0).toString();
+				for (String rid : rids) {
+					String statusCode = statusCodes.get(rid);
+					if (statusCode != null)
+						ridStatuses.get(rid).setRidStatus(validateResponse(statusCode));
+					else
+						ridStatuses.get(rid).setError(
+								new ErrorDTO(ResidentErrorCode.NO_RID_FOUND_EXCEPTION.getErrorCode(), notFoundMessage));
+				}
+				return;
+			}
+		} catch (IOException e) {
+			error = new ErrorDTO(ResidentErrorCode.IO_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.IO_EXCEPTION.getErrorMessage());
+		} catch (ApisResourceAccessException e) {
+			String message;
+			if (e.getCause() instanceof HttpClientErrorException)
+				message = ((HttpClientErrorException) e.getCause()).getResponseBodyAsString();
+			else if (e.getCause() instanceof HttpServerErrorException)
+				message = ((HttpServerErrorException) e.getCause()).getResponseBodyAsString();
+			else
+				message = ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage() + e.getMessage();
+			error = new ErrorDTO(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(), message);
+		}
+		logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(),
+				"Status search of " + rids.size() + " RIDs failed: " + error.getErrorMessage());
+		for (String rid : rids)
+			ridStatuses.get(rid).setError(error);
+	}
+
+	private RegistrationStatusRequestDTO newStatusSearchRequest(List<String> individualIds) {
+		RegistrationStatusRequestDTO dto = new RegistrationStatusRequestDTO();
+		List<RegistrationStatusSubRequestDto> rids = new ArrayList<>();
+		for (String individualId : individualIds)
+			rids.add(new RegistrationStatusSubRequestDto(individualId));
+		dto.setRequest(rids);
+		dto.setId(env.getProperty(STATUS_CHECK_ID));
+		dto.setVersion(env.getProperty(STATUS_CHECEK_VERSION));
+		dto.setRequesttime(DateUtils.getUTCCurrentDateTimeString(env.getProperty(DATETIME_PATTERN)));
+		return dto;
+	}
+
 	private String validateResponse(String statusCode) {
 		if (statusCode.equalsIgnoreCase(RegistrationExternalStatusCode.PROCESSED.name()))
 			return statusCode.toUpperCase();
@@ -205,20 +327,19 @@ public class ResidentServiceImpl implements ResidentService {
 	}
 
 	@Override
-	public byte[] reqEuin(EuinRequestDTO dto) throws ResidentServiceCheckedException {
+	public void reqEuin(EuinRequestDTO dto, UINCardWriter writer) throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 				LoggerFileConstant.APPLICATIONID.toString(), "ResidentServiceImpl::reqEuin():: entry");
-		byte[] response = null;
 
 		try {
 			if (idAuthService.validateOtp(dto.getTransactionID(), dto.getIndividualId(),
 					dto.getIndividualIdType().name(), dto.getOtp())) {
 
-				response = uinCardDownloadService.getUINCard(dto.getIndividualId(), dto.getCardType(),
-						dto.getIndividualIdType());
-				if (response != null) {
-					sendNotification(dto.getIndividualId(), dto.getIndividualIdType(),
-							NotificationTemplateCode.RS_DOW_UIN_SUCCESS, null);
+				if (uinCardDownloadService.getUINCard(dto.getIndividualId(), dto.getCardType(),
+						dto.getIndividualIdType(), writer)) {
+					// the card is already sent, a failed notification can no longer fail the request
+					sendNotificationAfterCommit(dto.getIndividualId(), dto.getIndividualIdType(),
+							NotificationTemplateCode.RS_DOW_UIN_SUCCESS);
 
 				} else {
 					sendNotification(dto.getIndividualId(), dto.getIndividualIdType(),
@@ -267,7 +388,18 @@ public class ResidentServiceImpl implements ResidentService {
 
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 				LoggerFileConstant.APPLICATIONID.toString(), "ResidentServiceImpl::reqEuin():: exit");
-		return response;
+	}
+
+	private void sendNotificationAfterCommit(String id, IdType idType, NotificationTemplateCode templateTypeCode) {
+		try {
+			sendNotification(id, idType, templateTypeCode, null);
+		} catch (ResidentServiceCheckedException | ResidentServiceException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					ResidentErrorCode.NOTIFICATION_FAILURE.getErrorCode()
+							+ ResidentErrorCode.NOTIFICATION_FAILURE.getErrorMessage()
+							+ ExceptionUtils.getStackTrace(e));
+		}
 	}
 
 	@Override
@@ -296,9 +428,9 @@ public class ResidentServiceImpl implements ResidentService {
 			request.setId("mosip.uincard.reprint");
 			request.setVersion("1.0");
 			request.setRequesttime(DateUtils.getUTCCurrentDateTimeString());
-			ResponseWrapper<RegProcCommonResponseDto> response = residentServiceRestClient.postApi(
+			ResponseWrapper<RegProcCommonResponseDto> response = residentServiceRestClient.postApi(ApiName.REPRINTUIN,
 					env.getProperty(ApiName.REPRINTUIN.name()), MediaType.APPLICATION_JSON, request,
-					ResponseWrapper.class, tokenGenerator.getToken());
+					REG_PROC_RESPONSE, tokenGenerator.getToken());
 			if (response.getErrors() != null && !response.getErrors().isEmpty()) {
 				sendNotification(dto.getIndividualId(), dto.getIndividualIdType(),
 						NotificationTemplateCode.RS_UIN_RPR_FAILURE, null);
@@ -307,8 +439,7 @@ public class ResidentServiceImpl implements ResidentService {
 								+ (response.getErrors().get(0).toString()));
 			}
 
-			RegProcCommonResponseDto responseDto = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(response.getResponse()), RegProcCommonResponseDto.class);
+			RegProcCommonResponseDto responseDto = response.getResponse();
 
 			Map<String, Object> additionalAttributes = new HashMap<>();
 			additionalAttributes.put("RID", responseDto.getRegistrationId());
@@ -509,33 +640,31 @@ public class ResidentServiceImpl implements ResidentService {
 			regProcReqUpdateDto.setCenterId(centerId);
 			regProcReqUpdateDto.setMachineId(machineId);
 			regProcReqUpdateDto.setIdentityJson(dto.getIdentityJson());
-			List<ResidentDocuments> documents = dto.getDocuments();
-			byte[] decodedDemoJson = CryptoUtil.decodeBase64(dto.getIdentityJson());
-			JSONObject demographicJsonObject = JsonUtil.readValue(new String(decodedDemoJson), JSONObject.class);
-			JSONObject demographicIdentity = JsonUtil.getJSONObject(demographicJsonObject, IDENTITY);
-			String mappingJson = utility.getMappingJson();
-			JSONObject mappingJsonObject = JsonUtil.readValue(mappingJson, JSONObject.class);
-			JSONObject mappingIdentity = JsonUtil.getJSONObject(mappingJsonObject, IDENTITY);
-			String poaMapping = getDocumentName(mappingIdentity, PROOF_OF_ADDRESS);
-			String poiMapping = getDocumentName(mappingIdentity, PROOF_OF_IDENTITY);
-			String porMapping = getDocumentName(mappingIdentity, PROOF_OF_RELATIONSHIP);
-			String pobMapping = getDocumentName(mappingIdentity, PROOF_OF_DOB);
-			JSONObject proofOfAddressJson = JsonUtil.getJSONObject(demographicIdentity, poaMapping);
-			regProcReqUpdateDto.setProofOfAddress(getDocumentValue(proofOfAddressJson, documents));
-			JSONObject proofOfIdentityJson = JsonUtil.getJSONObject(demographicIdentity, poiMapping);
-			regProcReqUpdateDto.setProofOfIdentity(getDocumentValue(proofOfIdentityJson, documents));
-			JSONObject proofOfrelationJson = JsonUtil.getJSONObject(demographicIdentity, porMapping);
-			regProcReqUpdateDto.setProofOfRelationship(getDocumentValue(proofOfrelationJson, documents));
-			JSONObject proofOfBirthJson = JsonUtil.getJSONObject(demographicIdentity, pobMapping);
-			regProcReqUpdateDto.setProofOfDateOfBirth(getDocumentValue(proofOfBirthJson, documents));
+			IdentityMapping identityMapping = identityMappingProvider.getIdentityMapping();
+			String poaMapping = identityMapping.getValueName(PROOF_OF_ADDRESS);
+			String poiMapping = identityMapping.getValueName(PROOF_OF_IDENTITY);
+			String porMapping = identityMapping.getValueName(PROOF_OF_RELATIONSHIP);
+			String pobMapping = identityMapping.getValueName(PROOF_OF_DOB);
+			// decoded and parsed as it is read, only the document references are kept
+			Map<String, String> documentReferences;
+			try (InputStream demographicJson = new Base64InputStream(new AsciiInputStream(dto.getIdentityJson()))) {
+				documentReferences = JsonUtil.getDocumentReferences(demographicJson, IDENTITY,
+						new HashSet<>(Arrays.asList(poaMapping, poiMapping, porMapping, pobMapping)));
+			}
+			Map<String, String> documents = getDocumentsByName(dto.getDocuments());
+			regProcReqUpdateDto.setProofOfAddress(getDocumentValue(documentReferences, poaMapping, documents));
+			regProcReqUpdateDto.setProofOfIdentity(getDocumentValue(documentReferences, poiMapping, documents));
+			regProcReqUpdateDto.setProofOfRelationship(getDocumentValue(documentReferences, porMapping, documents));
+			regProcReqUpdateDto.setProofOfDateOfBirth(getDocumentValue(documentReferences, pobMapping, documents));
 			RequestWrapper<RegProcUpdateRequestDTO> request = new RequestWrapper<>();
 			request.setId("mosip.registration.update");
 			request.setRequest(regProcReqUpdateDto);
 			request.setRequesttime(DateUtils.getUTCCurrentDateTimeString());
 			request.setVersion("1.0");
 			ResponseWrapper<RegProcCommonResponseDto> response = residentServiceRestClient.postApi(
-					env.getProperty(ApiName.REGPROCRESUPDATE.name()), MediaType.APPLICATION_JSON, request,
-					ResponseWrapper.class, tokenGenerator.getToken());
+					ApiName.REGPROCRESUPDATE, env.getProperty(ApiName.REGPROCRESUPDATE.name()),
+					MediaType.APPLICATION_JSON, request,
+					REG_PROC_RESPONSE, tokenGenerator.getToken());
 
 			if (response.getErrors() != null && !response.getErrors().isEmpty()) {
 				sendNotification(dto.getIndividualId(), dto.getIndividualIdType(),
@@ -544,8 +673,8 @@ public class ResidentServiceImpl implements ResidentService {
 						ResidentErrorCode.UIN_UPDATE_FAILED.getErrorMessage()
 								+ (response.getErrors().get(0).toString()));
 			}
-			RegProcCommonResponseDto regProcResponseDto = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(response.getResponse()), RegProcCommonResponseDto.class);
+			RegProcCommonResponseDto regProcResponseDto = response.getResponse();
+			utility.invalidateIdentity(dto.getIndividualId(), dto.getIndividualIdType());
 
 			Map<String, Object> additionalAttributes = new HashMap<>();
 			additionalAttributes.put("RID", regProcResponseDto.getRegistrationId());
@@ -585,21 +714,26 @@ public class ResidentServiceImpl implements ResidentService {
 		return responseDto;
 	}
 
-	// get name of document
-	private String getDocumentName(JSONObject identityJson, String name) {
-		JSONObject docJson = JsonUtil.getJSONObject(identityJson, name);
-		return JsonUtil.getJSONValue(docJson, VALUE);
+	// index the uploaded documents by name, the first document of a name is used
+	private Map<String, String> getDocumentsByName(List<ResidentDocuments> documents) {
+		if (documents == null || documents.isEmpty())
+			return Collections.emptyMap();
+		Map<String, String> documentsByName = new HashMap<>();
+		for (ResidentDocuments document : documents) {
+			if (document.getName() != null)
+				documentsByName.putIfAbsent(document.getName(), document.getValue());
+		}
+		return documentsByName;
 	}
 
-	// get document content
-	private String getDocumentValue(JSONObject documentJsonObject, List<ResidentDocuments> documents) {
-		if (documentJsonObject == null || documents == null || documents.isEmpty())
+	// get document content, the value is passed on as it is without being copied
+	private String getDocumentValue(Map<String, String> documentReferences, String mapping,
+			Map<String, String> documents) {
+		if (!documentReferences.containsKey(mapping) || documents.isEmpty())
 			return null;
-		String documentName = JsonUtil.getJSONValue(documentJsonObject, VALUE);
-		Optional<ResidentDocuments> residentDocument = documents.parallelStream()
-				.filter(document -> document.getName().equals(documentName)).findAny();
-		if (residentDocument.isPresent())
-			return residentDocument.get().getValue();
+		String documentName = documentReferences.get(mapping);
+		if (documentName != null && documents.containsKey(documentName))
+			return documents.get(documentName);
 		else
 			throw new ResidentServiceException(ResidentErrorCode.DOCUMENT_NOT_FOUND.getErrorCode(),
 					ResidentErrorCode.DOCUMENT_NOT_FOUND.getErrorMessage());
@@ -1,12 +1,9 @@
 package io.mosip.resident.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mosip.kernel.core.exception.ServiceError;
-import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
-import io.mosip.kernel.core.util.JsonUtils;
 import io.mosip.kernel.core.util.exception.JsonProcessingException;
-import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.config.ResidentLogger;
 import io.mosip.resident.constant.*;
 import io.mosip.resident.dto.*;
 import io.mosip.resident.exception.*;
@@ -22,6 +19,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -35,10 +33,13 @@ import java.util.stream.Collectors;
 @Component
 public class ResidentVidServiceImpl implements ResidentVidService {
 
-    private static final Logger logger = LoggerConfiguration.logConfig(ResidentVidServiceImpl.class);
+    private static final ResidentLogger logger = ResidentLogger.getLogger(ResidentVidServiceImpl.class);
 
     private static final String VID_ALREADY_EXISTS_ERROR_CODE = "IDR-VID-003";
 
+    private static final ParameterizedTypeReference<ResponseWrapper<VidGeneratorResponseDto>> VID_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<VidGeneratorResponseDto>>() {
+    };
+
     @Value("${resident.vid.id}")
     private String id;
 
@@ -51,9 +52,6 @@ public class ResidentVidServiceImpl implements ResidentVidService {
     @Value("${vid.revoke.id}")
     private String vidRevokeId;
 
-    @Autowired
-    private ObjectMapper mapper;
-
     @Autowired
     private Environment env;
 
@@ -133,7 +131,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
             throws JsonProcessingException, IOException, ApisResourceAccessException {
         VidGeneratorRequestDto vidRequestDto = new VidGeneratorRequestDto();
         RequestWrapper<VidGeneratorRequestDto> request = new RequestWrapper<>();
-        ResponseWrapper<VidGeneratorResponseDto> response = null;
+        ResponseWrapper<VidGeneratorResponseDto> response;
 
         vidRequestDto.setUIN(requestDto.getIndividualId());
         vidRequestDto.setVidType(requestDto.getVidType());
@@ -144,23 +142,23 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
         logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
                 requestDto.getIndividualIdType(),
-                "ResidentVidServiceImpl::vidGenerator():: post CREATEVID service call started with request data : "
-                        + JsonUtils.javaObjectToJsonString(request));
+                () -> "ResidentVidServiceImpl::vidGenerator():: post CREATEVID service call started with request data : "
+                        + ResidentLogger.payload(request));
 
         try {
-            response = (ResponseWrapper) residentServiceRestClient
-                    .postApi(env.getProperty(ApiName.IDAUTHCREATEVID.name()),
-                            MediaType.APPLICATION_JSON, request, ResponseWrapper.class, tokenGenerator.getToken());
+            response = residentServiceRestClient
+                    .postApi(ApiName.IDAUTHCREATEVID, env.getProperty(ApiName.IDAUTHCREATEVID.name()),
+                            MediaType.APPLICATION_JSON, request, VID_RESPONSE, tokenGenerator.getToken());
         } catch (Exception e) {
             logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
-                    requestDto.getIndividualIdType(), ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode() + e.getMessage()
+                    requestDto.getIndividualIdType(), () -> ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode() + e.getMessage()
                             + ExceptionUtils.getStackTrace(e));
             throw new ApisResourceAccessException("Unable to create vid : " + e.getMessage());
         }
 
         logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
                 requestDto.getIndividualIdType(),
-                "ResidentVidServiceImpl::vidGenerator():: create Vid response :: " + JsonUtils.javaObjectToJsonString(response));
+                () -> "ResidentVidServiceImpl::vidGenerator():: create Vid response :: " + ResidentLogger.payload(response));
 
         if (response.getErrors() != null && !response.getErrors().isEmpty()) {
             List<ServiceError> list = response.getErrors().stream().filter(err -> err.getErrorCode().equalsIgnoreCase(VID_ALREADY_EXISTS_ERROR_CODE)).collect(Collectors.toList());
@@ -172,10 +170,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
         }
 
-        VidGeneratorResponseDto vidResponse = mapper.readValue(mapper.writeValueAsString(response.getResponse()),
-                VidGeneratorResponseDto.class);
-
-        return vidResponse;
+        return response.getResponse();
     }
     
     
@@ -215,6 +210,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
 			// revoke vid
 			VidGeneratorResponseDto vidResponse = vidDeactivator(requestDto, uin);
+			utilitiy.invalidateVid(vid);
 
 			// send notification
 			Map<String, Object> additionalAttributes = new HashMap<>();
@@ -254,7 +250,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 			throws JsonProcessingException, IOException, ApisResourceAccessException, ResidentServiceCheckedException {
 		VidGeneratorRequestDto vidRequestDto = new VidGeneratorRequestDto();
 		RequestWrapper<VidGeneratorRequestDto> request = new RequestWrapper<>();
-		ResponseWrapper<VidGeneratorResponseDto> response = null;
+		ResponseWrapper<VidGeneratorResponseDto> response;
 
 		vidRequestDto.setUIN(uin.toString());
 		vidRequestDto.setVidStatus(requestDto.getVidStatus());
@@ -266,33 +262,30 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
 				requestDto.getIndividualIdType(),
-				"ResidentVidServiceImpl::vidDeactivator():: post REVOKEVID service call started with request data : "
-						+ JsonUtils.javaObjectToJsonString(request));
+				() -> "ResidentVidServiceImpl::vidDeactivator():: post REVOKEVID service call started with request data : "
+						+ ResidentLogger.payload(request));
 
 		try {
-			response = (ResponseWrapper) residentServiceRestClient.postApi(
+			response = residentServiceRestClient.postApi(ApiName.IDAUTHREVOKEVID,
 					env.getProperty(ApiName.IDAUTHREVOKEVID.name()), MediaType.APPLICATION_JSON, request,
-					ResponseWrapper.class, tokenGenerator.getToken());
+					VID_RESPONSE, tokenGenerator.getToken());
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
-					requestDto.getIndividualIdType(), ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode()
+					requestDto.getIndividualIdType(), () -> ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode()
 							+ e.getMessage() + ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Unable to revoke VID : " + e.getMessage());
 		}
 
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
-				requestDto.getIndividualIdType(), "ResidentVidServiceImpl::vidDeactivator():: revoke Vid response :: "
-						+ JsonUtils.javaObjectToJsonString(response));
+				requestDto.getIndividualIdType(), () -> "ResidentVidServiceImpl::vidDeactivator():: revoke Vid response :: "
+						+ ResidentLogger.payload(response));
 
 		if (response.getErrors() != null && !response.getErrors().isEmpty()) {
 			throw new VidRevocationException(ResidentErrorCode.VID_REVOCATION_EXCEPTION.getErrorMessage());
 
 		}
 
-		VidGeneratorResponseDto vidResponse = mapper.readValue(mapper.writeValueAsString(response.getResponse()),
-				VidGeneratorResponseDto.class);
-
-		return vidResponse;
+		return response.getResponse();
 
 	}
     
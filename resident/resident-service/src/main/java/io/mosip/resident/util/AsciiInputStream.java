@@ -0,0 +1,47 @@
+package io.mosip.resident.util;
+
+import java.io.InputStream;
+
+/**
+ * Reads the chars of an ASCII string, such as a base64 encoded value, as bytes
+ * without copying the string.
+ */
+public class AsciiInputStream extends InputStream {
+
+	private final CharSequence chars;
+
+	private int position;
+
+	public AsciiInputStream(CharSequence chars) {
+		this.chars = chars;
+	}
+
+	@Override
+	public int read() {
+		return position < chars.length() ? chars.charAt(position++) & 0x7F : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0)
+			return 0;
+		if (position >= chars.length())
+			return -1;
+		int count = Math.min(len, chars.length() - position);
+		for (int i = 0; i < count; i++)
+			b[off + i] = (byte) (chars.charAt(position++) & 0x7F);
+		return count;
+	}
+
+	@Override
+	public long skip(long n) {
+		int skipped = (int) Math.max(0, Math.min(n, chars.length() - position));
+		position += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return chars.length() - position;
+	}
+}
@@ -0,0 +1,223 @@
+package io.mosip.resident.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.AbstractRequestAttributes;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+
+/**
+ * Runs the service call of a controller on the api executor. The controller
+ * returns the future, so the servlet request thread is released until the call
+ * completes and Spring MVC writes the result, or hands the exception to the
+ * exception handlers, on an async dispatch.
+ * <p>
+ * A request not answered within the async request timeout, see
+ * resident.api.async.timeout.millis, is answered with
+ * {@link ResidentErrorCode#REQUEST_TIMED_OUT} if its call has not started yet,
+ * the call is then never run. A call that has started is left to complete, as
+ * calls such as update-uin and VID generation can not be undone once sent
+ * downstream, and the request is answered with
+ * {@link ResidentErrorCode#REQUEST_STILL_PROCESSING} so the resident checks the
+ * outcome instead of sending the request again.
+ */
+@Component
+public class AsyncRequestExecutor {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(AsyncRequestExecutor.class);
+
+	static final String TIMEOUT_INTERCEPTOR = AsyncRequestExecutor.class.getName() + ".TIMEOUT";
+
+	@Autowired
+	@Qualifier("apiExecutor")
+	private ExecutorService apiExecutor;
+
+	/**
+	 * Runs the call with a copy of the attributes of the current request, so that
+	 * request scoped state set before the call is seen by it. The copy is not
+	 * backed by the servlet request, which is recycled and reused once a timed
+	 * out request is answered while the call may still be running. Request
+	 * scoped state set by the call, such as the entries of the identity cache,
+	 * stays with the call and is destroyed when it returns.
+	 *
+	 * @param call the service call
+	 * @return the future completed with the result or with the exception thrown
+	 *         by the call, unwrapped
+	 */
+	public <T> CompletableFuture<T> submit(RequestCall<T> call) {
+		RequestAttributes current = RequestContextHolder.getRequestAttributes();
+		HttpServletRequest request = current instanceof ServletRequestAttributes
+				? ((ServletRequestAttributes) current).getRequest()
+				: null;
+		CallRequestAttributes attributes = current != null ? new CallRequestAttributes(current) : null;
+		// the request is recycled once a timed out request is answered
+		String uri = request != null ? request.getRequestURI() : null;
+		CompletableFuture<T> future = new CompletableFuture<>();
+		AtomicBoolean started = new AtomicBoolean();
+		if (request != null) {
+			WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(TIMEOUT_INTERCEPTOR,
+					new TimeoutInterceptor(future, started));
+		}
+		apiExecutor.execute(() -> {
+			if (!started.compareAndSet(false, true)) {
+				return;
+			}
+			if (attributes != null) {
+				RequestContextHolder.setRequestAttributes(attributes);
+			}
+			try {
+				if (!future.complete(call.call())) {
+					logCompletedAfterTimeout(uri, "successfully");
+				}
+			} catch (Throwable e) {
+				if (!future.completeExceptionally(e)) {
+					logCompletedAfterTimeout(uri, "with " + e);
+				}
+			} finally {
+				if (attributes != null) {
+					attributes.requestCompleted();
+				}
+				RequestContextHolder.resetRequestAttributes();
+			}
+		});
+		return future;
+	}
+
+	private static void logCompletedAfterTimeout(String uri, String outcome) {
+		logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(),
+				"Request " + uri + " completed " + outcome + " after it timed out");
+	}
+
+	/**
+	 * Answers a timed out request according to the state of its call. The future
+	 * is cancelled after, so the call finding it done knows it completed late.
+	 */
+	private static final class TimeoutInterceptor implements DeferredResultProcessingInterceptor {
+
+		private final CompletableFuture<?> future;
+
+		private final AtomicBoolean started;
+
+		private TimeoutInterceptor(CompletableFuture<?> future, AtomicBoolean started) {
+			this.future = future;
+			this.started = started;
+		}
+
+		@Override
+		public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+			ResidentErrorCode errorCode = started.compareAndSet(false, true) ? ResidentErrorCode.REQUEST_TIMED_OUT
+					: ResidentErrorCode.REQUEST_STILL_PROCESSING;
+			deferredResult.setErrorResult(
+					new ResidentServiceException(errorCode.getErrorCode(), errorCode.getErrorMessage()));
+			future.cancel(false);
+			return true;
+		}
+	}
+
+	/**
+	 * Request attributes of a call, held in a map instead of the servlet request.
+	 * There is no session, session scoped attributes are not available.
+	 */
+	private static final class CallRequestAttributes extends AbstractRequestAttributes {
+
+		private static final String NO_SESSION = "No session in an asynchronous request call";
+
+		private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+		private CallRequestAttributes(RequestAttributes current) {
+			for (String name : current.getAttributeNames(SCOPE_REQUEST)) {
+				Object value = current.getAttribute(name, SCOPE_REQUEST);
+				if (value != null) {
+					attributes.put(name, value);
+				}
+			}
+		}
+
+		@Override
+		public Object getAttribute(String name, int scope) {
+			checkScope(scope);
+			return attributes.get(name);
+		}
+
+		@Override
+		public void setAttribute(String name, Object value, int scope) {
+			checkScope(scope);
+			if (value == null) {
+				attributes.remove(name);
+			} else {
+				attributes.put(name, value);
+			}
+		}
+
+		@Override
+		public void removeAttribute(String name, int scope) {
+			checkScope(scope);
+			attributes.remove(name);
+			removeRequestDestructionCallback(name);
+		}
+
+		@Override
+		public String[] getAttributeNames(int scope) {
+			checkScope(scope);
+			return attributes.keySet().toArray(new String[0]);
+		}
+
+		@Override
+		public void registerDestructionCallback(String name, Runnable callback, int scope) {
+			checkScope(scope);
+			registerRequestDestructionCallback(name, callback);
+		}
+
+		@Override
+		public Object resolveReference(String key) {
+			return null;
+		}
+
+		@Override
+		public String getSessionId() {
+			throw new IllegalStateException(NO_SESSION);
+		}
+
+		@Override
+		public Object getSessionMutex() {
+			throw new IllegalStateException(NO_SESSION);
+		}
+
+		@Override
+		protected void updateAccessedSessionAttributes() {
+			// no session
+		}
+
+		private static void checkScope(int scope) {
+			if (scope != SCOPE_REQUEST) {
+				throw new IllegalStateException(NO_SESSION);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface RequestCall<T> {
+		T call() throws Exception;
+	}
+}
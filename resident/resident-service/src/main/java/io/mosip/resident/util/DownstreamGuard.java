@@ -0,0 +1,353 @@
+package io.mosip.resident.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.exception.ApisResourceAccessException;
+
+/**
+ * Circuit breaker and bulkhead per downstream service ({@code ApiName}), so
+ * that a slow or failing service, e.g. the SMS gateway, fails its own calls
+ * fast instead of holding every request thread.
+ * <p>
+ * The circuit breaker opens when at least the failure rate threshold percent of
+ * the last window-size calls failed, after minimum-calls calls. I/O errors,
+ * timeouts included, and 5xx responses are failures. Once open-millis have
+ * passed, half-open-calls trial calls are let through: the breaker closes when
+ * all of them succeed and opens again on the first failure. The bulkhead limits
+ * the calls in flight to a service. Calls rejected by either fail with
+ * {@link ApisResourceAccessException}, error code API_RESOURCE_UNAVAILABLE.
+ * <p>
+ * Each setting can be set for one service by appending the ApiName to the
+ * property, e.g. resident.downstream.bulkhead.max-concurrent-calls.SMSNOTIFIER.
+ * Calls whose caller did not name the service are not guarded.
+ */
+@Component
+public class DownstreamGuard {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(DownstreamGuard.class);
+
+	static final String FAILURE_RATE_THRESHOLD = "resident.downstream.circuit-breaker.failure-rate-threshold";
+	static final String MINIMUM_CALLS = "resident.downstream.circuit-breaker.minimum-calls";
+	static final String WINDOW_SIZE = "resident.downstream.circuit-breaker.window-size";
+	static final String OPEN_MILLIS = "resident.downstream.circuit-breaker.open-millis";
+	static final String HALF_OPEN_CALLS = "resident.downstream.circuit-breaker.half-open-calls";
+	static final String MAX_CONCURRENT_CALLS = "resident.downstream.bulkhead.max-concurrent-calls";
+	static final String MAX_WAIT_MILLIS = "resident.downstream.bulkhead.max-wait-millis";
+
+	private final Environment environment;
+
+	private volatile Map<ApiName, Dependency> dependencies = new ConcurrentHashMap<>();
+
+	@Autowired
+	public DownstreamGuard(Environment environment) {
+		this.environment = environment;
+	}
+
+	/**
+	 * Drops the state of every service, so that changed settings apply.
+	 */
+	@PostConstruct
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void reset() {
+		dependencies = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Runs the call if the circuit breaker and the bulkhead of the service let
+	 * it through, and records its outcome. A call ended early through its
+	 * {@link Permit} is recorded as successful then, and what it throws after is
+	 * not recorded.
+	 *
+	 * @param apiName the service called, the call is not guarded if null
+	 * @param call    the call
+	 * @return the call result
+	 * @throws ApisResourceAccessException if the call is rejected
+	 * @throws Exception                   the exception thrown by the call
+	 */
+	public <R> R execute(ApiName apiName, GuardedCall<R> call) throws Exception {
+		if (apiName == null)
+			return call.execute(Permit.NONE);
+		Dependency dependency = dependencies.computeIfAbsent(apiName, this::newDependency);
+		if (!dependency.circuitBreaker.tryAcquirePermission(System.nanoTime()))
+			throw new ApisResourceAccessException("Circuit breaker of " + apiName + " is open");
+		if (!acquire(dependency)) {
+			dependency.circuitBreaker.releasePermission();
+			throw new ApisResourceAccessException(
+					"Bulkhead of " + apiName + " is full, " + dependency.maxConcurrentCalls + " calls in flight");
+		}
+		Permit permit = new Permit(dependency);
+		try {
+			return call.execute(permit);
+		} catch (Exception e) {
+			permit.complete(isFailure(e));
+			throw e;
+		} finally {
+			permit.complete(false);
+		}
+	}
+
+	/**
+	 * @return circuit breaker and bulkhead state of each service called so far,
+	 *         by ApiName
+	 */
+	public Map<String, Map<String, Object>> getStates() {
+		Map<String, Map<String, Object>> states = new TreeMap<>();
+		dependencies.forEach((apiName, dependency) -> {
+			Map<String, Object> state = new LinkedHashMap<>();
+			dependency.circuitBreaker.describe(state);
+			state.put("maxConcurrentCalls", dependency.maxConcurrentCalls);
+			state.put("availableConcurrentCalls", dependency.bulkhead.availablePermits());
+			states.put(apiName.name(), state);
+		});
+		return states;
+	}
+
+	private boolean acquire(Dependency dependency) {
+		if (dependency.maxWaitMillis <= 0)
+			return dependency.bulkhead.tryAcquire();
+		try {
+			return dependency.bulkhead.tryAcquire(dependency.maxWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static boolean isFailure(Exception e) {
+		return e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+	}
+
+	private Dependency newDependency(ApiName apiName) {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(apiName.name(), getSetting(FAILURE_RATE_THRESHOLD, apiName, 50),
+				getSetting(MINIMUM_CALLS, apiName, 20), getSetting(WINDOW_SIZE, apiName, 100),
+				TimeUnit.MILLISECONDS.toNanos(getSetting(OPEN_MILLIS, apiName, 30000)),
+				getSetting(HALF_OPEN_CALLS, apiName, 5));
+		return new Dependency(circuitBreaker, getSetting(MAX_CONCURRENT_CALLS, apiName, 50),
+				getSetting(MAX_WAIT_MILLIS, apiName, 0));
+	}
+
+	private int getSetting(String property, ApiName apiName, int defaultValue) {
+		Integer value = environment.getProperty(property + "." + apiName.name(), Integer.class);
+		if (value == null)
+			value = environment.getProperty(property, Integer.class);
+		return value != null ? value : defaultValue;
+	}
+
+	private static final class Dependency {
+
+		private final CircuitBreaker circuitBreaker;
+
+		private final Semaphore bulkhead;
+
+		private final int maxConcurrentCalls;
+
+		private final long maxWaitMillis;
+
+		private Dependency(CircuitBreaker circuitBreaker, int maxConcurrentCalls, long maxWaitMillis) {
+			this.circuitBreaker = circuitBreaker;
+			this.bulkhead = new Semaphore(maxConcurrentCalls);
+			this.maxConcurrentCalls = maxConcurrentCalls;
+			this.maxWaitMillis = maxWaitMillis;
+		}
+	}
+
+	/**
+	 * Count based circuit breaker. The methods only update counters, so the
+	 * monitor is never held while a call is in flight.
+	 */
+	static final class CircuitBreaker {
+
+		enum State {
+			CLOSED, OPEN, HALF_OPEN
+		}
+
+		private final String apiName;
+
+		private final int failureRateThreshold;
+
+		private final int minimumCalls;
+
+		private final long openNanos;
+
+		private final int halfOpenCalls;
+
+		/** Outcomes of the last calls, true for a failure. */
+		private final boolean[] window;
+
+		private int next;
+
+		private int recorded;
+
+		private int failures;
+
+		private State state = State.CLOSED;
+
+		private long openedAt;
+
+		private int halfOpenPermits;
+
+		private int halfOpenSuccesses;
+
+		CircuitBreaker(String apiName, int failureRateThreshold, int minimumCalls, int windowSize, long openNanos,
+				int halfOpenCalls) {
+			this.apiName = apiName;
+			this.failureRateThreshold = failureRateThreshold;
+			this.window = new boolean[Math.max(1, windowSize)];
+			this.minimumCalls = Math.min(Math.max(1, minimumCalls), window.length);
+			this.openNanos = openNanos;
+			this.halfOpenCalls = Math.max(1, halfOpenCalls);
+		}
+
+		synchronized boolean tryAcquirePermission(long now) {
+			if (state == State.OPEN) {
+				if (now - openedAt < openNanos)
+					return false;
+				state = State.HALF_OPEN;
+				halfOpenPermits = 0;
+				halfOpenSuccesses = 0;
+			}
+			if (state == State.HALF_OPEN) {
+				if (halfOpenPermits >= halfOpenCalls)
+					return false;
+				halfOpenPermits++;
+			}
+			return true;
+		}
+
+		synchronized void releasePermission() {
+			if (state == State.HALF_OPEN && halfOpenPermits > 0)
+				halfOpenPermits--;
+		}
+
+		synchronized void record(boolean failure, long now) {
+			switch (state) {
+			case HALF_OPEN:
+				if (failure)
+					open(now, "a trial call failed");
+				else if (++halfOpenSuccesses >= halfOpenCalls)
+					close();
+				break;
+			case CLOSED:
+				if (recorded == window.length) {
+					if (window[next])
+						failures--;
+				} else {
+					recorded++;
+				}
+				window[next] = failure;
+				if (failure)
+					failures++;
+				next = (next + 1) % window.length;
+				if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded)
+					open(now, failures + " of the last " + recorded + " calls failed");
+				break;
+			default:
+				// a call let through before the breaker opened
+				break;
+			}
+		}
+
+		synchronized State getState() {
+			return state;
+		}
+
+		synchronized void describe(Map<String, Object> state) {
+			state.put("state", this.state.name());
+			state.put("bufferedCalls", recorded);
+			state.put("failedCalls", failures);
+			state.put("failureRate", recorded == 0 ? 0 : failures * 100 / recorded);
+		}
+
+		private void open(long now, String reason) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Circuit breaker of " + apiName + " opened, " + reason);
+			state = State.OPEN;
+			openedAt = now;
+			resetWindow();
+		}
+
+		private void close() {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "Circuit breaker of " + apiName + " closed");
+			state = State.CLOSED;
+			resetWindow();
+		}
+
+		private void resetWindow() {
+			next = 0;
+			recorded = 0;
+			failures = 0;
+		}
+	}
+
+	/**
+	 * Held by a call while it is guarded. A call that goes on once the
+	 * downstream service has answered, e.g. streaming the UIN card to the
+	 * resident, ends the guarded part with {@link #release()}, so that the
+	 * bulkhead slot is not held for the client and a failure writing to the
+	 * client is not counted against the service.
+	 */
+	public static final class Permit {
+
+		private static final Permit NONE = new Permit(null);
+
+		private final Dependency dependency;
+
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		private Permit(Dependency dependency) {
+			this.dependency = dependency;
+		}
+
+		/**
+		 * Records the call as successful and frees its bulkhead slot.
+		 */
+		public void release() {
+			complete(false);
+		}
+
+		/**
+		 * Frees the bulkhead slot without recording an outcome, for a call given
+		 * up by its caller, e.g. the slower request of a hedged GET.
+		 */
+		public void cancel() {
+			if (dependency == null || !completed.compareAndSet(false, true))
+				return;
+			dependency.circuitBreaker.releasePermission();
+			dependency.bulkhead.release();
+		}
+
+		private void complete(boolean failure) {
+			if (dependency == null || !completed.compareAndSet(false, true))
+				return;
+			dependency.circuitBreaker.record(failure, System.nanoTime());
+			dependency.bulkhead.release();
+		}
+	}
+
+	@FunctionalInterface
+	public interface GuardedCall<R> {
+		R execute(Permit permit) throws Exception;
+	}
+}
@@ -0,0 +1,101 @@
+package io.mosip.resident.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.resident.constant.ApiName;
+
+/**
+ * Records the calls to the downstream services: a timer and an error counter
+ * per {@link ApiName}, HTTP method and outcome, and the number of calls in
+ * flight per {@link ApiName} and HTTP method.
+ * <p>
+ * The {@link ApiName} is the one the caller passed to
+ * {@link ResidentServiceRestClient}, UNKNOWN if it passed none. The url is
+ * never used as a tag, it holds individual ids.
+ */
+@Component
+public class DownstreamMetrics {
+
+	public static final String REQUESTS = "resident.downstream.requests";
+
+	public static final String ERRORS = "resident.downstream.errors";
+
+	public static final String IN_FLIGHT = "resident.downstream.inflight";
+
+	private static final String API = "api";
+
+	private static final String METHOD = "method";
+
+	private static final String OUTCOME = "outcome";
+
+	private static final String EXCEPTION = "exception";
+
+	private static final String UNKNOWN = "UNKNOWN";
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<Tags, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+	@Autowired
+	public DownstreamMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Runs the call and records its duration and outcome.
+	 *
+	 * @param apiName the service called, null if not known
+	 * @param method  the HTTP method
+	 * @param call    the call
+	 * @return the call result
+	 * @throws Exception the exception thrown by the call
+	 */
+	public <R> R record(ApiName apiName, HttpMethod method, MeteredCall<R> call) throws Exception {
+		Tags tags = Tags.of(API, apiName != null ? apiName.name() : UNKNOWN, METHOD, method.name());
+		AtomicInteger calls = inFlight.computeIfAbsent(tags,
+				key -> meterRegistry.gauge(IN_FLIGHT, key, new AtomicInteger()));
+		calls.incrementAndGet();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "SUCCESS";
+		try {
+			return call.execute();
+		} catch (Exception e) {
+			outcome = getOutcome(e);
+			meterRegistry.counter(ERRORS, tags.and(OUTCOME, outcome).and(EXCEPTION, e.getClass().getSimpleName()))
+					.increment();
+			throw e;
+		} finally {
+			calls.decrementAndGet();
+			sample.stop(meterRegistry.timer(REQUESTS, tags.and(OUTCOME, outcome)));
+		}
+	}
+
+	private static String getOutcome(Exception e) {
+		if (e instanceof HttpStatusCodeException) {
+			switch (((HttpStatusCodeException) e).getStatusCode().series()) {
+			case CLIENT_ERROR:
+				return "CLIENT_ERROR";
+			case SERVER_ERROR:
+				return "SERVER_ERROR";
+			default:
+				break;
+			}
+		}
+		return "ERROR";
+	}
+
+	@FunctionalInterface
+	public interface MeteredCall<R> {
+		R execute() throws Exception;
+	}
+}
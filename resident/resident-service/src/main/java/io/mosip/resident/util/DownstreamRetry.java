@@ -0,0 +1,442 @@
+package io.mosip.resident.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * Retries and hedges the GET calls to the downstream services, which are
+ * idempotent. Calls of other methods, and calls whose caller did not name the
+ * service, run once.
+ * <p>
+ * A GET that fails with an I/O error, a timeout included, or with 502, 503 or
+ * 504 is retried up to max-attempts attempts in all, after a backoff drawn at
+ * random between zero and backoff-millis doubled per attempt, capped at
+ * max-backoff-millis. A service with hedging enabled gets a second request
+ * when the first has not answered within the hedge delay, by default the 95th
+ * percentile of its recent latencies, and the first response wins. The slower
+ * request is then aborted, so that it frees its connection and bulkhead slot
+ * instead of holding them until the straggling service answers.
+ * <p>
+ * Retries and hedges draw from one retry budget shared by all services: every
+ * first attempt deposits ratio-percent of a retry, up to max-retries. A retry or
+ * hedge is only sent while the budget has a whole retry, so an outage of a
+ * service cannot multiply the load on it.
+ * <p>
+ * The per service settings can be set for one service by appending the ApiName
+ * to the property, e.g. resident.downstream.hedge.enabled.IDREPOGETIDBYUIN.
+ */
+@Component
+public class DownstreamRetry {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(DownstreamRetry.class);
+
+	static final String MAX_ATTEMPTS = "resident.downstream.retry.max-attempts";
+	static final String BACKOFF_MILLIS = "resident.downstream.retry.backoff-millis";
+	static final String MAX_BACKOFF_MILLIS = "resident.downstream.retry.max-backoff-millis";
+	static final String HEDGE_ENABLED = "resident.downstream.hedge.enabled";
+	static final String HEDGE_DELAY_MILLIS = "resident.downstream.hedge.delay-millis";
+	static final String HEDGE_MIN_DELAY_MILLIS = "resident.downstream.hedge.min-delay-millis";
+	static final String BUDGET_RATIO_PERCENT = "resident.downstream.retry.budget.ratio-percent";
+	static final String BUDGET_MAX_RETRIES = "resident.downstream.retry.budget.max-retries";
+
+	/** Latencies kept per service for the hedge delay. */
+	private static final int LATENCY_SAMPLES = 128;
+
+	/** Samples needed before the hedge delay is taken from them. */
+	private static final int MIN_LATENCY_SAMPLES = 20;
+
+	/** The hedged attempt running on the thread. */
+	private static final ThreadLocal<Attempt<?>> CURRENT_ATTEMPT = new ThreadLocal<>();
+
+	private final Environment environment;
+
+	private final ExecutorService hedgeExecutor;
+
+	private volatile Map<ApiName, Policy> policies = new ConcurrentHashMap<>();
+
+	private volatile RetryBudget retryBudget;
+
+	@Autowired
+	public DownstreamRetry(Environment environment, @Qualifier("hedgeExecutor") ExecutorService hedgeExecutor) {
+		this.environment = environment;
+		this.hedgeExecutor = hedgeExecutor;
+	}
+
+	/**
+	 * Drops the policies and the retry budget, so that changed settings apply.
+	 */
+	@PostConstruct
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void reset() {
+		policies = new ConcurrentHashMap<>();
+		retryBudget = new RetryBudget(getSetting(BUDGET_RATIO_PERCENT, null, 20),
+				getSetting(BUDGET_MAX_RETRIES, null, 100));
+	}
+
+	/**
+	 * Registers what aborts the hedged attempt running on the calling thread,
+	 * e.g. its HTTP request, should it lose to the other request. Does nothing
+	 * on a thread not running a hedged attempt.
+	 *
+	 * @param action the abort action
+	 */
+	public static void onAbort(Runnable action) {
+		Attempt<?> attempt = CURRENT_ATTEMPT.get();
+		if (attempt != null)
+			attempt.onAbort(action);
+	}
+
+	/**
+	 * Runs the call, retried or hedged when the method is GET.
+	 *
+	 * @param apiName the service called, the call runs once if null
+	 * @param method  the HTTP method
+	 * @param call    one attempt of the call
+	 * @return the result of the first successful attempt
+	 * @throws Exception the exception thrown by the last attempt
+	 */
+	public <R> R execute(ApiName apiName, HttpMethod method, RetryableCall<R> call) throws Exception {
+		if (method != HttpMethod.GET || apiName == null)
+			return call.execute();
+		Policy policy = policies.computeIfAbsent(apiName, this::newPolicy);
+		RetryBudget budget = retryBudget;
+		budget.deposit();
+		for (int attempt = 1;; attempt++) {
+			try {
+				return policy.hedgeEnabled ? hedge(apiName, policy, budget, call) : call.execute();
+			} catch (Exception e) {
+				if (attempt >= policy.maxAttempts || !isRetryable(e) || !budget.tryWithdraw())
+					throw e;
+				logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(),
+						"Retrying " + apiName + " after attempt " + attempt + " failed with " + e.getMessage());
+				if (!backOff(policy, attempt))
+					throw e;
+			}
+		}
+	}
+
+	/**
+	 * Sends the call, and a second one if the first has not answered within the
+	 * hedge delay and the budget allows it. The first successful response is
+	 * returned and the slower request aborted.
+	 */
+	private <R> R hedge(ApiName apiName, Policy policy, RetryBudget budget, RetryableCall<R> call)
+			throws Exception {
+		Attempt<R> primary = submit(policy, call, true);
+		long delayNanos = policy.getHedgeDelayNanos();
+		if (delayNanos < 0)
+			return await(primary.future);
+		try {
+			return primary.future.get(delayNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// the first request is a straggler
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+		if (!budget.tryWithdraw())
+			return await(primary.future);
+		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(), "Hedging " + apiName + " after "
+						+ TimeUnit.NANOSECONDS.toMillis(delayNanos) + " ms");
+		Attempt<R> hedge = submit(policy, call, false);
+		try {
+			return await(firstSuccess(primary.future, hedge.future));
+		} finally {
+			// only the one still running is aborted
+			primary.abort();
+			hedge.abort();
+		}
+	}
+
+	private <R> Attempt<R> submit(Policy policy, RetryableCall<R> call, boolean recordLatency) {
+		Attempt<R> attempt = new Attempt<>();
+		hedgeExecutor.execute(() -> {
+			long start = System.nanoTime();
+			CURRENT_ATTEMPT.set(attempt);
+			try {
+				R result = call.execute();
+				if (recordLatency)
+					policy.latencies.add(System.nanoTime() - start);
+				attempt.future.complete(result);
+			} catch (Throwable e) {
+				// an aborted straggler took at least this long, the hedge delay has to see it
+				if (recordLatency && attempt.isAborted())
+					policy.latencies.add(System.nanoTime() - start);
+				attempt.future.completeExceptionally(e);
+			} finally {
+				CURRENT_ATTEMPT.remove();
+				attempt.finish();
+			}
+		});
+		return attempt;
+	}
+
+	private static <R> CompletableFuture<R> firstSuccess(CompletableFuture<R> first, CompletableFuture<R> second) {
+		CompletableFuture<R> result = new CompletableFuture<>();
+		AtomicInteger failed = new AtomicInteger();
+		for (CompletableFuture<R> future : Arrays.asList(first, second)) {
+			future.whenComplete((value, e) -> {
+				if (e == null)
+					result.complete(value);
+				else if (failed.incrementAndGet() == 2)
+					result.completeExceptionally(e);
+			});
+		}
+		return result;
+	}
+
+	private static <R> R await(CompletableFuture<R> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+
+	private static Exception unwrap(ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof Exception)
+			return (Exception) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+		return e;
+	}
+
+	private static boolean isRetryable(Exception e) {
+		if (e instanceof ResourceAccessException)
+			return true;
+		if (e instanceof HttpServerErrorException) {
+			switch (((HttpServerErrorException) e).getStatusCode()) {
+			case BAD_GATEWAY:
+			case SERVICE_UNAVAILABLE:
+			case GATEWAY_TIMEOUT:
+				return true;
+			default:
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sleeps for the full jitter backoff of the attempt.
+	 *
+	 * @return false if interrupted
+	 */
+	private static boolean backOff(Policy policy, int attempt) {
+		long ceiling = Math.min(policy.maxBackoffMillis, policy.backoffMillis << Math.min(attempt - 1, 20));
+		if (ceiling <= 0)
+			return true;
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private Policy newPolicy(ApiName apiName) {
+		String hedgeEnabled = environment.getProperty(HEDGE_ENABLED + "." + apiName.name());
+		if (hedgeEnabled == null)
+			hedgeEnabled = environment.getProperty(HEDGE_ENABLED);
+		return new Policy(Math.max(1, getSetting(MAX_ATTEMPTS, apiName, 2)), getSetting(BACKOFF_MILLIS, apiName, 50),
+				getSetting(MAX_BACKOFF_MILLIS, apiName, 1000), Boolean.parseBoolean(hedgeEnabled),
+				getSetting(HEDGE_DELAY_MILLIS, apiName, 0), getSetting(HEDGE_MIN_DELAY_MILLIS, apiName, 10));
+	}
+
+	private int getSetting(String property, ApiName apiName, int defaultValue) {
+		Integer value = apiName != null ? environment.getProperty(property + "." + apiName.name(), Integer.class)
+				: null;
+		if (value == null)
+			value = environment.getProperty(property, Integer.class);
+		return value != null ? value : defaultValue;
+	}
+
+	private static final class Policy {
+
+		private final int maxAttempts;
+
+		private final long backoffMillis;
+
+		private final long maxBackoffMillis;
+
+		private final boolean hedgeEnabled;
+
+		/** Fixed hedge delay, 0 to use the 95th percentile latency. */
+		private final long hedgeDelayMillis;
+
+		private final long hedgeMinDelayMillis;
+
+		private final LatencyWindow latencies = new LatencyWindow(LATENCY_SAMPLES);
+
+		private Policy(int maxAttempts, long backoffMillis, long maxBackoffMillis, boolean hedgeEnabled,
+				long hedgeDelayMillis, long hedgeMinDelayMillis) {
+			this.maxAttempts = maxAttempts;
+			this.backoffMillis = backoffMillis;
+			this.maxBackoffMillis = maxBackoffMillis;
+			this.hedgeEnabled = hedgeEnabled;
+			this.hedgeDelayMillis = hedgeDelayMillis;
+			this.hedgeMinDelayMillis = hedgeMinDelayMillis;
+		}
+
+		/**
+		 * @return the hedge delay, -1 while too few latencies are known
+		 */
+		private long getHedgeDelayNanos() {
+			if (hedgeDelayMillis > 0)
+				return TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis);
+			long p95 = latencies.percentile(95, MIN_LATENCY_SAMPLES);
+			return p95 < 0 ? -1 : Math.max(p95, TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMillis));
+		}
+	}
+
+	/**
+	 * A hedged request and what aborts it. Abort actions registered after the
+	 * abort run at once, those of a completed attempt never run.
+	 */
+	private static final class Attempt<R> {
+
+		private final CompletableFuture<R> future = new CompletableFuture<>();
+
+		private List<Runnable> abortActions = new ArrayList<>();
+
+		private boolean aborted;
+
+		private void onAbort(Runnable action) {
+			synchronized (this) {
+				if (!aborted) {
+					abortActions.add(action);
+					return;
+				}
+			}
+			action.run();
+		}
+
+		private void abort() {
+			List<Runnable> actions;
+			synchronized (this) {
+				if (aborted || abortActions == null || future.isDone())
+					return;
+				aborted = true;
+				actions = abortActions;
+			}
+			actions.forEach(Runnable::run);
+		}
+
+		private synchronized boolean isAborted() {
+			return aborted;
+		}
+
+		private synchronized void finish() {
+			abortActions = null;
+		}
+	}
+
+	/**
+	 * The last latencies of a service, in nanoseconds.
+	 */
+	static final class LatencyWindow {
+
+		private final long[] samples;
+
+		private int next;
+
+		private int size;
+
+		LatencyWindow(int capacity) {
+			samples = new long[capacity];
+		}
+
+		synchronized void add(long latency) {
+			samples[next] = latency;
+			next = (next + 1) % samples.length;
+			if (size < samples.length)
+				size++;
+		}
+
+		/**
+		 * @return the percentile of the samples, -1 if there are fewer than
+		 *         minSamples
+		 */
+		long percentile(int percentile, int minSamples) {
+			long[] sorted;
+			synchronized (this) {
+				if (size < minSamples)
+					return -1;
+				sorted = Arrays.copyOf(samples, size);
+			}
+			Arrays.sort(sorted);
+			return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+		}
+	}
+
+	/**
+	 * Retries available to all services, in thousandths of a retry.
+	 */
+	static final class RetryBudget {
+
+		private static final long RETRY = 1000;
+
+		private final long deposit;
+
+		private final long max;
+
+		private final AtomicLong balance;
+
+		RetryBudget(int ratioPercent, int maxRetries) {
+			this.deposit = ratioPercent * RETRY / 100;
+			this.max = maxRetries * RETRY;
+			this.balance = new AtomicLong(max);
+		}
+
+		void deposit() {
+			if (balance.get() < max)
+				balance.updateAndGet(current -> Math.min(max, current + deposit));
+		}
+
+		boolean tryWithdraw() {
+			long current;
+			do {
+				current = balance.get();
+				if (current < RETRY)
+					return false;
+			} while (!balance.compareAndSet(current, current - RETRY));
+			return true;
+		}
+	}
+
+	@FunctionalInterface
+	public interface RetryableCall<R> {
+		R execute() throws Exception;
+	}
+}
@@ -0,0 +1,138 @@
+package io.mosip.resident.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small thread safe in-memory cache with a per entry time to live and least
+ * recently used eviction once the maximum size is reached. Hit and miss counts
+ * are kept for metrics.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+	private final int maxSize;
+
+	private final long ttlMillis;
+
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param maxSize   the maximum number of entries kept
+	 * @param ttlMillis the default time to live of an entry in milliseconds
+	 */
+	public ExpiringCache(int maxSize, long ttlMillis) {
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				boolean evict = size() > ExpiringCache.this.maxSize;
+				if (evict)
+					evictions.incrementAndGet();
+				return evict;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value, or null if absent or expired.
+	 *
+	 * @param key the key
+	 * @return the value
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		if (entry.isExpired(System.currentTimeMillis())) {
+			entries.remove(key);
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return entry.value;
+	}
+
+	public void put(K key, V value) {
+		put(key, value, ttlMillis);
+	}
+
+	/**
+	 * Caches the value with its own time to live.
+	 *
+	 * @param key       the key
+	 * @param value     the value
+	 * @param ttlMillis the time to live in milliseconds
+	 */
+	public synchronized void put(K key, V value, long ttlMillis) {
+		if (maxSize <= 0 || ttlMillis <= 0)
+			return;
+		entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+	}
+
+	public synchronized void invalidateAll() {
+		entries.clear();
+	}
+
+	/**
+	 * Removes the expired entries, so that they do not hold memory until the next
+	 * lookup or eviction.
+	 */
+	public synchronized void cleanUp() {
+		long now = System.currentTimeMillis();
+		Iterator<Entry<V>> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().isExpired(now))
+				iterator.remove();
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long hitCount() {
+		return hits.get();
+	}
+
+	public long missCount() {
+		return misses.get();
+	}
+
+	public long evictionCount() {
+		return evictions.get();
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * Short lived cache of ID repo identities and of VID to UIN resolutions, so
+ * that the repeated lookups of one resident request, and of requests close to
+ * each other, do not all go to ID repo.
+ * <p>
+ * Entries are kept for the current HTTP request and, for a short time, in a
+ * size bounded in-memory cache. The in-memory entries are encrypted with
+ * AES-GCM under a key that is generated at startup and never leaves the
+ * process, and they are keyed by an HMAC of the id, so a heap dump reveals no
+ * identity data.
+ */
+@Component
+public class IdentityCache {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(IdentityCache.class);
+
+	private static final String REQUEST_ATTRIBUTE = IdentityCache.class.getName();
+	private static final String IDENTITY_PREFIX = "identity:";
+	private static final String VID_PREFIX = "vid:";
+	private static final String CIPHER = "AES/GCM/NoPadding";
+	private static final int IV_LENGTH = 12;
+	private static final int TAG_LENGTH = 128;
+	private static final String HMAC = "HmacSHA256";
+
+	@Value("${resident.identity.cache.ttl.seconds:60}")
+	private long ttlSeconds;
+
+	@Value("${resident.identity.cache.max.size:10000}")
+	private int maxSize;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	private SecretKey key;
+
+	private SecretKey hashKey;
+
+	private ExpiringCache<String, byte[]> entries;
+
+	@PostConstruct
+	public void init() throws GeneralSecurityException {
+		KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+		keyGenerator.init(256, secureRandom);
+		key = keyGenerator.generateKey();
+		KeyGenerator hashKeyGenerator = KeyGenerator.getInstance(HMAC);
+		hashKeyGenerator.init(256, secureRandom);
+		hashKey = hashKeyGenerator.generateKey();
+		entries = new ExpiringCache<>(maxSize, TimeUnit.SECONDS.toMillis(ttlSeconds));
+	}
+
+	/**
+	 * @param id     the UIN or RID
+	 * @param idType the id type
+	 * @return a copy of the cached identity or null
+	 */
+	public JsonNode getIdentity(String id, IdType idType) {
+		String value = get(IDENTITY_PREFIX + idType + ":" + id);
+		if (value == null)
+			return null;
+		try {
+			return JsonUtil.readTree(value);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	public void putIdentity(String id, IdType idType, JsonNode identity) {
+		if (identity == null)
+			return;
+		try {
+			put(IDENTITY_PREFIX + idType + ":" + id, JsonUtil.writeValueAsString(identity));
+		} catch (IOException e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "IdentityCache::putIdentity()::" + e.getMessage());
+		}
+	}
+
+	public String getUin(String vid) {
+		return get(VID_PREFIX + vid);
+	}
+
+	public void putUin(String vid, String uin) {
+		put(VID_PREFIX + vid, uin);
+	}
+
+	/**
+	 * Drops the identity of the individual. For a VID the identity of the UIN it
+	 * resolves to is dropped, which also covers the other VIDs of that UIN.
+	 *
+	 * @param id     the individual id
+	 * @param idType the id type
+	 */
+	public void invalidateIdentity(String id, IdType idType) {
+		if (IdType.VID.equals(idType)) {
+			String uin = getUin(id);
+			if (uin != null)
+				invalidate(IDENTITY_PREFIX + IdType.UIN + ":" + uin);
+		} else {
+			invalidate(IDENTITY_PREFIX + idType + ":" + id);
+		}
+	}
+
+	/**
+	 * Drops the VID to UIN resolution, e.g. after the VID was revoked.
+	 *
+	 * @param vid the VID
+	 */
+	public void invalidateVid(String vid) {
+		invalidate(VID_PREFIX + vid);
+	}
+
+	@Scheduled(fixedDelayString = "${resident.identity.cache.cleanup.interval.millis:60000}")
+	public void cleanUp() {
+		entries.cleanUp();
+	}
+
+	private String get(String key) {
+		Map<String, String> requestEntries = getRequestEntries(false);
+		String value = requestEntries != null ? requestEntries.get(key) : null;
+		if (value != null)
+			return value;
+		byte[] encrypted = entries.get(hash(key));
+		if (encrypted == null)
+			return null;
+		value = decrypt(encrypted);
+		if (value != null && (requestEntries = getRequestEntries(true)) != null)
+			requestEntries.put(key, value);
+		return value;
+	}
+
+	private void put(String key, String value) {
+		Map<String, String> requestEntries = getRequestEntries(true);
+		if (requestEntries != null)
+			requestEntries.put(key, value);
+		byte[] encrypted = encrypt(value);
+		if (encrypted != null)
+			entries.put(hash(key), encrypted);
+	}
+
+	private void invalidate(String key) {
+		Map<String, String> requestEntries = getRequestEntries(false);
+		if (requestEntries != null)
+			requestEntries.remove(key);
+		entries.invalidate(hash(key));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, String> getRequestEntries(boolean create) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null)
+			return null;
+		Map<String, String> requestEntries = (Map<String, String>) attributes.getAttribute(REQUEST_ATTRIBUTE,
+				RequestAttributes.SCOPE_REQUEST);
+		if (requestEntries == null && create) {
+			requestEntries = new HashMap<>();
+			attributes.setAttribute(REQUEST_ATTRIBUTE, requestEntries, RequestAttributes.SCOPE_REQUEST);
+		}
+		return requestEntries;
+	}
+
+	private byte[] encrypt(String value) {
+		try {
+			byte[] iv = new byte[IV_LENGTH];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(CIPHER);
+			cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, iv));
+			byte[] encrypted = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
+			return ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array();
+		} catch (GeneralSecurityException e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "IdentityCache::encrypt()::" + e.getMessage());
+			return null;
+		}
+	}
+
+	private String decrypt(byte[] encrypted) {
+		try {
+			Cipher cipher = Cipher.getInstance(CIPHER);
+			cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, encrypted, 0, IV_LENGTH));
+			return new String(cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH),
+					StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "IdentityCache::decrypt()::" + e.getMessage());
+			return null;
+		}
+	}
+
+	private String hash(String key) {
+		try {
+			Mac mac = Mac.getInstance(HMAC);
+			mac.init(hashKey);
+			return Base64.getEncoder().encodeToString(mac.doFinal(key.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
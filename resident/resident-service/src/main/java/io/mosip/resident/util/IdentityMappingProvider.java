@@ -0,0 +1,227 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.IdentityMapping;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+
+/**
+ * Holds the parsed registration processor identity mapping json. The mapping is
+ * loaded once at startup, reloaded on /actuator/refresh and periodically
+ * re-validated against the config server with a conditional GET, so the file is
+ * only downloaded and parsed again when it has actually changed.
+ * <p>
+ * No lock is held while the config server is called. Callers that need the
+ * mapping while a load is running wait for that load instead of starting their
+ * own, and the mapping and its validators are published together once the load
+ * succeeds.
+ */
+@Component
+public class IdentityMappingProvider {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(IdentityMappingProvider.class);
+
+	private static final String IDENTITY = "identity";
+	private static final String VALUE = "value";
+
+	@Value("${config.server.file.storage.uri}")
+	private String configServerFileStorageURL;
+
+	@Value("${registration.processor.identityjson}")
+	private String getRegProcessorIdentityJson;
+
+	@Autowired
+	@Qualifier("residentRestTemplate")
+	private RestTemplate restTemplate;
+
+	/** The load running now, if any. */
+	private final AtomicReference<CompletableFuture<IdentityMapping>> runningLoad = new AtomicReference<>();
+
+	private volatile Loaded loaded;
+
+	/**
+	 * Returns the cached mapping, loading it if the startup load did not succeed.
+	 *
+	 * @return the identity mapping
+	 * @throws ResidentServiceCheckedException if the mapping cannot be loaded
+	 */
+	public IdentityMapping getIdentityMapping() throws ResidentServiceCheckedException {
+		Loaded current = loaded;
+		if (current != null) {
+			return current.mapping;
+		}
+		return await(sharedLoad(false));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadOnStartup() {
+		reloadQuietly(false);
+	}
+
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void onRefresh() {
+		reloadQuietly(false);
+	}
+
+	@Scheduled(initialDelayString = "${resident.identity.mapping.check.interval.millis:300000}", fixedDelayString = "${resident.identity.mapping.check.interval.millis:300000}")
+	public void checkForUpdate() {
+		reloadQuietly(true);
+	}
+
+	private void reloadQuietly(boolean conditional) {
+		try {
+			await(sharedLoad(conditional));
+		} catch (ResidentServiceCheckedException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Could not load identity mapping json " + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
+	/**
+	 * Joins the running load, or runs one on the calling thread if there is
+	 * none.
+	 */
+	private CompletableFuture<IdentityMapping> sharedLoad(boolean conditional) {
+		while (true) {
+			CompletableFuture<IdentityMapping> running = runningLoad.get();
+			if (running != null) {
+				return running;
+			}
+			CompletableFuture<IdentityMapping> load = new CompletableFuture<>();
+			if (runningLoad.compareAndSet(null, load)) {
+				try {
+					load.complete(load(conditional));
+				} catch (ResidentServiceCheckedException | RuntimeException e) {
+					load.completeExceptionally(e);
+				} finally {
+					runningLoad.compareAndSet(load, null);
+				}
+				return load;
+			}
+		}
+	}
+
+	private static IdentityMapping await(CompletableFuture<IdentityMapping> load)
+			throws ResidentServiceCheckedException {
+		try {
+			return load.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResidentServiceCheckedException(ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage(), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ResidentServiceCheckedException)
+				throw (ResidentServiceCheckedException) e.getCause();
+			throw new ResidentServiceCheckedException(ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage(), e.getCause());
+		}
+	}
+
+	private IdentityMapping load(boolean conditional) throws ResidentServiceCheckedException {
+		Loaded current = loaded;
+		HttpHeaders headers = new HttpHeaders();
+		if (conditional && current != null) {
+			if (current.eTag != null)
+				headers.setIfNoneMatch(current.eTag);
+			if (current.lastModified != null)
+				headers.set(HttpHeaders.IF_MODIFIED_SINCE, current.lastModified);
+		}
+		try {
+			ResponseEntity<String> response = restTemplate.exchange(
+					configServerFileStorageURL + getRegProcessorIdentityJson, HttpMethod.GET,
+					new HttpEntity<>(headers), String.class);
+			if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && current != null) {
+				return current.mapping;
+			}
+			IdentityMapping mapping = parse(response.getBody());
+			loaded = new Loaded(mapping, response.getHeaders().getETag(),
+					response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "Identity mapping json loaded");
+			return mapping;
+		} catch (RestClientException | IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage(), e);
+		}
+	}
+
+	/**
+	 * Parses the mapping json into the immutable model.
+	 *
+	 * @param mappingJson the mapping json
+	 * @return the identity mapping
+	 * @throws IOException if the json is not a valid mapping
+	 */
+	public static IdentityMapping parse(String mappingJson) throws IOException {
+		if (mappingJson == null)
+			throw new IOException("Identity mapping json is empty");
+		JsonNode identity = JsonUtil.readValue(mappingJson, JsonNode.class);
+		identity = identity == null ? null : identity.get(IDENTITY);
+		if (identity == null || !identity.isObject())
+			throw new IOException("Identity mapping json has no identity object");
+		Map<String, List<String>> valueNames = new LinkedHashMap<>();
+		Iterator<Map.Entry<String, JsonNode>> fields = identity.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			JsonNode value = field.getValue().get(VALUE);
+			List<String> names = new ArrayList<>();
+			if (value != null && value.isTextual()) {
+				for (String name : value.asText().split(",")) {
+					names.add(name.trim());
+				}
+			}
+			valueNames.put(field.getKey(), names);
+		}
+		return new IdentityMapping(mappingJson, valueNames);
+	}
+
+	/**
+	 * A loaded mapping with the validators of the response it was read from.
+	 */
+	private static final class Loaded {
+
+		private final IdentityMapping mapping;
+
+		private final String eTag;
+
+		private final String lastModified;
+
+		private Loaded(IdentityMapping mapping, String eTag, String lastModified) {
+			this.mapping = mapping;
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+		}
+	}
+}
@@ -1,16 +1,23 @@
 package io.mosip.resident.util;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.resident.dto.JsonValue;
@@ -155,21 +162,20 @@ public class JsonUtil {
 		String value;
 		T[] javaObject = (T[]) Array.newInstance(genericType, demographicJsonNode.size());
 		try {
+			Field languageField = genericType.getDeclaredField(LANGUAGE);
+			languageField.setAccessible(true);
+			Field valueField = genericType.getDeclaredField(VALUE);
+			valueField.setAccessible(true);
 			for (int i = 0; i < demographicJsonNode.size(); i++) {
 
 				T jsonNodeElement = (T) genericType.newInstance();
 
-				JSONObject objects = JsonUtil.getJSONObjectFromArray(demographicJsonNode, i);
+				Map<?, ?> objects = (Map<?, ?>) demographicJsonNode.get(i);
 				if (objects != null) {
 					language = (String) objects.get(LANGUAGE);
 					value = (String) objects.get(VALUE);
 
-					Field languageField = jsonNodeElement.getClass().getDeclaredField(LANGUAGE);
-					languageField.setAccessible(true);
 					languageField.set(jsonNodeElement, language);
-
-					Field valueField = jsonNodeElement.getClass().getDeclaredField(VALUE);
-					valueField.setAccessible(true);
 					valueField.set(jsonNodeElement, value);
 
 					javaObject[i] = jsonNodeElement;
@@ -193,4 +199,117 @@ public class JsonUtil {
 		return objectMapper.writeValueAsString(obj);
 	}
 
+	/**
+	 * Reads the json string into a tree, without binding it to maps and lists.
+	 *
+	 * @param jsonString the json string
+	 * @return the root node
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static JsonNode readTree(String jsonString) throws IOException {
+		return objectMapper.readTree(jsonString);
+	}
+
+	/**
+	 * Converts the tree or object to the given type, e.g. a {@link JsonNode} to a
+	 * {@link JSONObject}.
+	 *
+	 * @param       <T> the generic type
+	 * @param value the value
+	 * @param clazz the clazz
+	 * @return the converted value
+	 */
+	public static <T> T convertValue(Object value, Class<T> clazz) {
+		return objectMapper.convertValue(value, clazz);
+	}
+
+	/**
+	 * Returns the value of the given language from a multilingual attribute of
+	 * the demographic json. Ex:- "fullName" : [ { "language" : "eng", "value" :
+	 * "Taleev Aalam" }, { "language" : "ara", "value" : "Taleev Aalam" } ]. The
+	 * elements are read in place, nothing is copied or instantiated.
+	 *
+	 * @param attribute the attribute node
+	 * @param language  the language code
+	 * @return the value, null if the attribute has no value of the language
+	 */
+	public static String getLanguageValue(JsonNode attribute, String language) {
+		if (attribute == null)
+			return null;
+		for (JsonNode element : attribute) {
+			if (language.equals(getLanguage(element)))
+				return getValue(element);
+		}
+		return null;
+	}
+
+	/**
+	 * @param element an element of a multilingual attribute
+	 * @return the language of the element, null if it has none
+	 */
+	public static String getLanguage(JsonNode element) {
+		return element.path(LANGUAGE).textValue();
+	}
+
+	/**
+	 * @param element an element of a multilingual attribute or a document
+	 *                reference
+	 * @return the value of the element, null if it has none
+	 */
+	public static String getValue(JsonNode element) {
+		return element.path(VALUE).textValue();
+	}
+
+	/**
+	 * Reads the document references of the identity object from the stream, Ex:-
+	 * "identity" : { "proofOfAddress" : { "value" : "POA_Certificate of
+	 * residence", "type" : "COR", "format" : "jpg" } }. The json is parsed as it
+	 * is read, all other fields are skipped without being bound.
+	 *
+	 * @param json        the demographic json
+	 * @param identityKey the key of the identity object
+	 * @param fields      the names of the document reference fields
+	 * @return the value of each document reference found, by field name; null
+	 *         if the reference has no value
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static Map<String, String> getDocumentReferences(InputStream json, String identityKey,
+			Set<String> fields) throws IOException {
+		Map<String, String> references = new HashMap<>();
+		try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT)
+				return references;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				boolean identity = identityKey.equals(parser.getCurrentName());
+				if (parser.nextToken() == JsonToken.START_OBJECT && identity) {
+					readDocumentReferences(parser, fields, references);
+					return references;
+				}
+				parser.skipChildren();
+			}
+		}
+		return references;
+	}
+
+	private static void readDocumentReferences(JsonParser parser, Set<String> fields, Map<String, String> references)
+			throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME && references.size() < fields.size()) {
+			String field = parser.getCurrentName();
+			if (parser.nextToken() != JsonToken.START_OBJECT || !fields.contains(field)) {
+				parser.skipChildren();
+				continue;
+			}
+			String value = null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				boolean isValue = VALUE.equals(parser.getCurrentName());
+				JsonToken token = parser.nextToken();
+				if (isValue && token.isScalarValue())
+					value = parser.getValueAsString();
+				else
+					parser.skipChildren();
+			}
+			references.put(field, value);
+		}
+	}
+
 }
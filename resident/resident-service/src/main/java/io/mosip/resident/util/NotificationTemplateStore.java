@@ -0,0 +1,268 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.VelocityException;
+import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.config.ResidentLogger;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.NotificationTemplateCode;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.TemplateDto;
+import io.mosip.resident.dto.TemplateResponseDto;
+import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.exception.ResidentServiceException;
+
+/**
+ * Caches notification templates fetched from master data, keyed by language
+ * and template type code (notification template code plus channel suffix),
+ * together with the parsed Velocity template used for merging.
+ */
+@Component
+public class NotificationTemplateStore implements MeterBinder {
+
+	private static final ResidentLogger logger = ResidentLogger.getLogger(NotificationTemplateStore.class);
+
+	private static final String TEMPLATE_CODE = "Template Code";
+	private static final String BOTH = "both";
+	private static final String EMAIL = "_EMAIL";
+	private static final String SMS = "_SMS";
+	private static final String SUBJECT = "_SUB";
+	private static final String METRIC_NAME = "resident.notification.template.cache";
+	private static final ParameterizedTypeReference<ResponseWrapper<TemplateResponseDto>> TEMPLATE_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<TemplateResponseDto>>() {
+	};
+
+	@Autowired
+	private ResidentServiceRestClient restClient;
+
+	@Autowired
+	private TokenGenerator tokenGenerator;
+
+	@Autowired
+	private VelocityEngine velocityEngine;
+
+	@Value("${mosip.primary-language}")
+	private String primaryLang;
+
+	@Value("${mosip.secondary-language}")
+	private String secondaryLang;
+
+	@Value("${mosip.notification.language-type}")
+	private String languageType;
+
+	@Value("${resident.notification.template.cache.ttl.seconds:3600}")
+	private long ttlSeconds;
+
+	@Value("${resident.notification.template.cache.max.size:500}")
+	private int maxSize;
+
+	private ExpiringCache<String, CachedTemplate> templates;
+
+	@PostConstruct
+	public void init() {
+		templates = new ExpiringCache<>(maxSize, TimeUnit.SECONDS.toMillis(ttlSeconds));
+	}
+
+	/**
+	 * Returns the template text for the language and template type code.
+	 *
+	 * @param langCode         the language code
+	 * @param templatetypecode the template type code
+	 * @return the template text
+	 * @throws ResidentServiceCheckedException
+	 */
+	public String getTemplate(String langCode, String templatetypecode) throws ResidentServiceCheckedException {
+		return getCachedTemplate(langCode, templatetypecode).text;
+	}
+
+	/**
+	 * Merges the attributes into the parsed template of the language and template
+	 * type code.
+	 *
+	 * @param langCode          the language code
+	 * @param templatetypecode  the template type code
+	 * @param mailingAttributes the attributes
+	 * @return the merged text
+	 * @throws ResidentServiceCheckedException
+	 */
+	public String merge(String langCode, String templatetypecode, Map<String, Object> mailingAttributes)
+			throws ResidentServiceCheckedException {
+		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
+				"NotificationTemplateStore::merge()::entry");
+		Template template = getCachedTemplate(langCode, templatetypecode).template;
+		try {
+			StringWriter writer = new StringWriter();
+			template.merge(new VelocityContext(mailingAttributes), writer);
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
+					"NotificationTemplateStore::merge()::exit");
+			return writer.toString();
+		} catch (VelocityException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage(), e);
+		}
+	}
+
+	/**
+	 * Drops every cached template, e.g. after templates were changed in master
+	 * data.
+	 */
+	public void invalidateAll() {
+		templates.invalidateAll();
+	}
+
+	/**
+	 * Loads the templates of every notification template code in the background
+	 * once the application is ready.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		CompletableFuture.runAsync(() -> {
+			List<String> languages = new ArrayList<>();
+			languages.add(primaryLang);
+			if (BOTH.equalsIgnoreCase(languageType))
+				languages.add(secondaryLang);
+			int loaded = 0;
+			for (NotificationTemplateCode templateCode : NotificationTemplateCode.values()) {
+				loaded += warmUp(primaryLang, templateCode + EMAIL + SUBJECT);
+				for (String language : languages) {
+					loaded += warmUp(language, templateCode + SMS);
+					loaded += warmUp(language, templateCode + EMAIL);
+				}
+			}
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"NotificationTemplateStore::warmUp()::templates loaded::" + loaded);
+		});
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder(METRIC_NAME + ".requests", this, store -> store.templates.hitCount())
+				.tag("result", "hit").description("Notification template cache hits").register(registry);
+		FunctionCounter.builder(METRIC_NAME + ".requests", this, store -> store.templates.missCount())
+				.tag("result", "miss").description("Notification template cache misses").register(registry);
+		FunctionCounter.builder(METRIC_NAME + ".evictions", this, store -> store.templates.evictionCount())
+				.description("Notification templates evicted for size").register(registry);
+		Gauge.builder(METRIC_NAME + ".size", this, store -> store.templates.size())
+				.description("Notification templates cached").register(registry);
+	}
+
+	private int warmUp(String langCode, String templatetypecode) {
+		try {
+			getCachedTemplate(langCode, templatetypecode);
+			return 1;
+		} catch (ResidentServiceCheckedException | RuntimeException e) {
+			logger.warn(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
+					"NotificationTemplateStore::warmUp()::template not loaded::" + langCode + " " + e.getMessage());
+			return 0;
+		}
+	}
+
+	private CachedTemplate getCachedTemplate(String langCode, String templatetypecode)
+			throws ResidentServiceCheckedException {
+		String key = langCode + "/" + templatetypecode;
+		CachedTemplate cachedTemplate = templates.get(key);
+		if (cachedTemplate == null) {
+			cachedTemplate = compile(key, fetchTemplate(langCode, templatetypecode));
+			templates.put(key, cachedTemplate);
+		}
+		return cachedTemplate;
+	}
+
+	private CachedTemplate compile(String key, String text) throws ResidentServiceCheckedException {
+		try {
+			synchronized (velocityEngine) {
+				StringResourceLoader.getRepository().putStringResource(key, text);
+				Template template = velocityEngine.getTemplate(key, StandardCharsets.UTF_8.name());
+				StringResourceLoader.getRepository().removeStringResource(key);
+				return new CachedTemplate(text, template);
+			}
+		} catch (VelocityException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage(), e);
+		}
+	}
+
+	private String fetchTemplate(String langCode, String templatetypecode) throws ResidentServiceCheckedException {
+		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
+				"NotificationTemplateStore::fetchTemplate()::entry");
+		List<String> pathSegments = new ArrayList<>();
+		pathSegments.add(langCode);
+		pathSegments.add(templatetypecode);
+		try {
+			ResponseWrapper<TemplateResponseDto> resp = restClient.getApi(ApiName.TEMPLATES, pathSegments, null, null,
+					TEMPLATE_RESPONSE, tokenGenerator.getToken());
+			if (resp == null || resp.getErrors() != null && !resp.getErrors().isEmpty()) {
+				throw new ResidentServiceException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage()
+								+ (resp != null ? resp.getErrors().get(0) : ""));
+			}
+			TemplateResponseDto templateResponse = resp.getResponse();
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
+					() -> "NotificationTemplateStore::fetchTemplate()::getTemplateResponse::"
+							+ ResidentLogger.payload(resp));
+			List<TemplateDto> response = templateResponse.getTemplates();
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
+					"NotificationTemplateStore::fetchTemplate()::exit");
+			return response.get(0).getFileText().replaceAll("^\"|\"$", "");
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorCode(),
+					ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorMessage(), e);
+		} catch (ApisResourceAccessException e) {
+			if (e.getCause() instanceof HttpClientErrorException) {
+				HttpClientErrorException httpClientException = (HttpClientErrorException) e.getCause();
+				throw new ResidentServiceCheckedException(
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+						httpClientException.getResponseBodyAsString());
+
+			} else if (e.getCause() instanceof HttpServerErrorException) {
+				HttpServerErrorException httpServerException = (HttpServerErrorException) e.getCause();
+				throw new ResidentServiceCheckedException(
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+						httpServerException.getResponseBodyAsString());
+			} else {
+				throw new ResidentServiceCheckedException(
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage() + e.getMessage(), e);
+			}
+		}
+	}
+
+	private static final class CachedTemplate {
+		private final String text;
+		private final Template template;
+
+		private CachedTemplate(String text, Template template) {
+			this.text = text;
+			this.template = template;
+		}
+	}
+}
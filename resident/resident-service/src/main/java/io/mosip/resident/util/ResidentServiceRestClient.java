@@ -2,33 +2,26 @@ package io.mosip.resident.util;
 
 import java.io.IOException;
 import java.net.URI;
-import java.security.KeyManagementException;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.X509Certificate;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
-import javax.net.ssl.SSLContext;
-
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.ssl.TrustStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -57,6 +50,35 @@ public class ResidentServiceRestClient {
 	@Autowired
 	Environment environment;
 
+	@Autowired
+	@Qualifier("residentRestTemplate")
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private TokenGenerator tokenGenerator;
+
+	@Autowired
+	private DownstreamMetrics downstreamMetrics;
+
+	@Autowired
+	private DownstreamGuard downstreamGuard;
+
+	@Autowired
+	private DownstreamRetry downstreamRetry;
+
+	/** The service of the exchange in progress on the thread. */
+	private static final ThreadLocal<ApiName> CURRENT_API_NAME = new ThreadLocal<>();
+
+	/**
+	 * Lets the request factory apply the read timeout of the service called.
+	 *
+	 * @return the service of the exchange in progress on the calling thread, null
+	 *         if there is none or the caller did not name it
+	 */
+	public static ApiName getCurrentApiName() {
+		return CURRENT_API_NAME.get();
+	}
+
 	/**
 	 * Gets the api.
 	 *
@@ -70,11 +92,30 @@ public class ResidentServiceRestClient {
 	 * @throws Exception
 	 */
 	public <T> T getApi(URI uri, Class<?> responseType, String token) throws ApisResourceAccessException {
+		return getApi((ApiName) null, uri, responseType, token);
+	}
+
+	/**
+	 * Gets the api of the given service. The service name keys the metrics,
+	 * circuit breaker, bulkhead and retries of the call.
+	 *
+	 * @param apiName      the service called
+	 * @param uri          the uri
+	 * @param responseType the response type
+	 * @param token        the token
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getApi(ApiName apiName, URI uri, Class<?> responseType, String token)
+			throws ApisResourceAccessException {
 		RestTemplate restTemplate;
 		try {
 			restTemplate = getRestTemplate();
-			return (T) restTemplate.exchange(uri, HttpMethod.GET, setRequestHeader(null, null, token), responseType)
-					.getBody();
+			return (T) executeWithTokenRetry(apiName, uri.toString(), HttpMethod.GET, token,
+					(authToken, permit) -> restTemplate
+							.exchange(uri, HttpMethod.GET, setRequestHeader(null, null, authToken), responseType)
+							.getBody());
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
@@ -83,37 +124,65 @@ public class ResidentServiceRestClient {
 
 	}
 
+	/**
+	 * Gets the api, reading the response body straight into the given generic
+	 * type, e.g. {@code ResponseWrapper<PublicKeyResponseDto>}.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param uri
+	 *            the uri
+	 * @param responseType
+	 *            the response type
+	 * @param token
+	 *            the token
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T getApi(URI uri, ParameterizedTypeReference<T> responseType, String token)
+			throws ApisResourceAccessException {
+		return getApi((ApiName) null, uri, responseType, token);
+	}
+
+	/**
+	 * Gets the api of the given service, reading the response body straight into
+	 * the given generic type. The service name keys the metrics, circuit breaker,
+	 * bulkhead and retries of the call.
+	 *
+	 * @param apiName      the service called
+	 * @param uri          the uri
+	 * @param responseType the response type
+	 * @param token        the token
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T getApi(ApiName apiName, URI uri, ParameterizedTypeReference<T> responseType, String token)
+			throws ApisResourceAccessException {
+		RestTemplate restTemplate;
+		try {
+			restTemplate = getRestTemplate();
+			return executeWithTokenRetry(apiName, uri.toString(), HttpMethod.GET, token,
+					(authToken, permit) -> restTemplate
+							.exchange(uri, HttpMethod.GET, setRequestHeader(null, null, authToken), responseType)
+							.getBody());
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occured while accessing " + uri, e);
+		}
+	}
+
 	public Object getApi(ApiName apiName, List<String> pathsegments, String queryParamName, String queryParamValue,
 			Class<?> responseType, String token) throws ApisResourceAccessException {
 
 		Object obj = null;
-		String apiHostIpPort = environment.getProperty(apiName.name());
-		UriComponentsBuilder builder = null;
+		UriComponentsBuilder builder = getUriBuilder(apiName, pathsegments, queryParamName, queryParamValue);
 		UriComponents uriComponents = null;
-		if (apiHostIpPort != null) {
-			builder = UriComponentsBuilder.fromUriString(apiHostIpPort);
-			if (!((pathsegments == null) || (pathsegments.isEmpty()))) {
-				for (String segment : pathsegments) {
-					if (!((segment == null) || (("").equals(segment)))) {
-						builder.pathSegment(segment);
-					}
-				}
-
-			}
-
-			if (!((queryParamName == null) || (("").equals(queryParamName)))) {
-
-				String[] queryParamNameArr = queryParamName.split(",");
-				String[] queryParamValueArr = queryParamValue.split(",");
-				for (int i = 0; i < queryParamNameArr.length; i++) {
-					builder.queryParam(queryParamNameArr[i], queryParamValueArr[i]);
-				}
-
-			}
+		if (builder != null) {
 			try {
 
 				uriComponents = builder.build(false).encode();
-				obj = getApi(uriComponents.toUri(), responseType, token);
+				obj = getApi(apiName, uriComponents.toUri(), responseType, token);
 
 			} catch (Exception e) {
 				e.printStackTrace();
@@ -125,16 +194,77 @@ public class ResidentServiceRestClient {
 		return obj;
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Gets the api of the given service, reading the response body straight into
+	 * the given generic type.
+	 *
+	 * @return the response body, null if the service url is not configured
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T getApi(ApiName apiName, List<String> pathsegments, String queryParamName, String queryParamValue,
+			ParameterizedTypeReference<T> responseType, String token) throws ApisResourceAccessException {
+		UriComponentsBuilder builder = getUriBuilder(apiName, pathsegments, queryParamName, queryParamValue);
+		if (builder == null)
+			return null;
+		return getApi(apiName, builder.build(false).encode().toUri(), responseType, token);
+	}
+
+	private UriComponentsBuilder getUriBuilder(ApiName apiName, List<String> pathsegments, String queryParamName,
+			String queryParamValue) {
+		String apiHostIpPort = environment.getProperty(apiName.name());
+		if (apiHostIpPort == null)
+			return null;
+		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(apiHostIpPort);
+		if (!((pathsegments == null) || (pathsegments.isEmpty()))) {
+			for (String segment : pathsegments) {
+				if (!((segment == null) || (("").equals(segment)))) {
+					builder.pathSegment(segment);
+				}
+			}
+
+		}
+
+		if (!((queryParamName == null) || (("").equals(queryParamName)))) {
+
+			String[] queryParamNameArr = queryParamName.split(",");
+			String[] queryParamValueArr = queryParamValue.split(",");
+			for (int i = 0; i < queryParamNameArr.length; i++) {
+				builder.queryParam(queryParamNameArr[i], queryParamValueArr[i]);
+			}
+
+		}
+		return builder;
+	}
+
 	public <T> T postApi(String uri, MediaType mediaType, Object requestType, Class<?> responseClass, String token)
 			throws ApisResourceAccessException {
+		return postApi((ApiName) null, uri, mediaType, requestType, responseClass, token);
+	}
+
+	/**
+	 * Post api of the given service. The service name keys the metrics, circuit
+	 * breaker and bulkhead of the call.
+	 *
+	 * @param apiName       the service called
+	 * @param uri           the uri
+	 * @param mediaType     the media type
+	 * @param requestType   the request
+	 * @param responseClass the response class
+	 * @param token         the token
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T postApi(ApiName apiName, String uri, MediaType mediaType, Object requestType, Class<?> responseClass,
+			String token) throws ApisResourceAccessException {
 		RestTemplate restTemplate;
 		try {
 			restTemplate = getRestTemplate();
 			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), uri);
-			T response = (T) restTemplate.postForObject(uri, setRequestHeader(requestType, mediaType, token),
-					responseClass);
+			T response = (T) executeWithTokenRetry(apiName, uri, HttpMethod.POST, token,
+					(authToken, permit) -> restTemplate.postForObject(uri,
+							setRequestHeader(requestType, mediaType, authToken), responseClass));
 			return response;
 
 		} catch (Exception e) {
@@ -145,6 +275,125 @@ public class ResidentServiceRestClient {
 		}
 	}
 
+	/**
+	 * Post api, reading the response body straight into the given generic type,
+	 * e.g. {@code ResponseWrapper<RegProcCommonResponseDto>}.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param uri
+	 *            the uri
+	 * @param mediaType
+	 *            the media type
+	 * @param requestType
+	 *            the request
+	 * @param responseType
+	 *            the response type
+	 * @param token
+	 *            the token
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T postApi(String uri, MediaType mediaType, Object requestType,
+			ParameterizedTypeReference<T> responseType, String token) throws ApisResourceAccessException {
+		return postApi((ApiName) null, uri, mediaType, requestType, responseType, token);
+	}
+
+	/**
+	 * Post api of the given service, reading the response body straight into the
+	 * given generic type. The service name keys the metrics, circuit breaker and
+	 * bulkhead of the call.
+	 *
+	 * @param apiName      the service called
+	 * @param uri          the uri
+	 * @param mediaType    the media type
+	 * @param requestType  the request
+	 * @param responseType the response type
+	 * @param token        the token
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T postApi(ApiName apiName, String uri, MediaType mediaType, Object requestType,
+			ParameterizedTypeReference<T> responseType, String token) throws ApisResourceAccessException {
+		RestTemplate restTemplate;
+		try {
+			restTemplate = getRestTemplate();
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri);
+			return executeWithTokenRetry(apiName, uri, HttpMethod.POST, token,
+					(authToken, permit) -> restTemplate.exchange(uri, HttpMethod.POST,
+							setRequestHeader(requestType, mediaType, authToken), responseType).getBody());
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+
+			throw new ApisResourceAccessException("Exception occured while accessing " + uri, e);
+		}
+	}
+
+	/**
+	 * Post api, handing the response to the extractor while the connection is
+	 * open, so that large bodies can be streamed instead of read into memory.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param uri
+	 *            the uri
+	 * @param mediaType
+	 *            the media type
+	 * @param requestType
+	 *            the request
+	 * @param responseExtractor
+	 *            the response extractor, called for successful responses only
+	 * @param token
+	 *            the token
+	 * @return the result of the extractor
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T postApi(String uri, MediaType mediaType, Object requestType, ResponseExtractor<T> responseExtractor,
+			String token) throws ApisResourceAccessException {
+		return postApi((ApiName) null, uri, mediaType, requestType, responseExtractor, token);
+	}
+
+	/**
+	 * Post api of the given service, handing the response to the extractor while
+	 * the connection is open. The service name keys the metrics, circuit breaker
+	 * and bulkhead of the call. The exchange leaves the circuit breaker and
+	 * bulkhead once the service has answered with success, the extractor runs
+	 * outside them, as it may be streaming the response to a slow client.
+	 *
+	 * @param apiName           the service called
+	 * @param uri               the uri
+	 * @param mediaType         the media type
+	 * @param requestType       the request
+	 * @param responseExtractor the response extractor, called for successful
+	 *                          responses only
+	 * @param token             the token
+	 * @return the result of the extractor
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T postApi(ApiName apiName, String uri, MediaType mediaType, Object requestType,
+			ResponseExtractor<T> responseExtractor, String token) throws ApisResourceAccessException {
+		RestTemplate restTemplate;
+		try {
+			restTemplate = getRestTemplate();
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri);
+			return executeWithTokenRetry(apiName, uri, HttpMethod.POST, token,
+					(authToken, permit) -> restTemplate.execute(uri, HttpMethod.POST,
+							restTemplate.httpEntityCallback(setRequestHeader(requestType, mediaType, authToken)),
+							response -> {
+								permit.release();
+								return responseExtractor.extractData(response);
+							}));
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+
+			throw new ApisResourceAccessException("Exception occured while accessing " + uri, e);
+		}
+	}
+
 	/**
 	 * Patch api.
 	 *
@@ -168,8 +417,9 @@ public class ResidentServiceRestClient {
 			restTemplate = getRestTemplate();
 			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), uri);
-			result = (T) restTemplate.patchForObject(uri, setRequestHeader(requestType, mediaType, token),
-					responseClass);
+			result = (T) executeWithTokenRetry(null, uri, HttpMethod.PATCH, token,
+					(authToken, permit) -> restTemplate.patchForObject(uri,
+							setRequestHeader(requestType, mediaType, authToken), responseClass));
 
 		} catch (Exception e) {
 
@@ -213,8 +463,9 @@ public class ResidentServiceRestClient {
 			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), uri);
 
-			response = (ResponseEntity<T>) restTemplate.exchange(uri, HttpMethod.PUT,
-					setRequestHeader(requestType.toString(), mediaType, token), responseClass);
+			response = (ResponseEntity<T>) executeWithTokenRetry(null, uri, HttpMethod.PUT, token,
+					(authToken, permit) -> restTemplate.exchange(uri, HttpMethod.PUT,
+							setRequestHeader(requestType.toString(), mediaType, authToken), responseClass));
 			result = response.getBody();
 		} catch (Exception e) {
 
@@ -226,24 +477,59 @@ public class ResidentServiceRestClient {
 		return result;
 	}
 
-	public RestTemplate getRestTemplate() throws KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
-		logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
-				LoggerFileConstant.APPLICATIONID.toString(), Arrays.asList(environment.getActiveProfiles()).toString());
-
-		TrustStrategy acceptingTrustStrategy = (X509Certificate[] chain, String authType) -> true;
-
-		SSLContext sslContext = org.apache.http.ssl.SSLContexts.custom().loadTrustMaterial(null, acceptingTrustStrategy)
-				.build();
-
-		SSLConnectionSocketFactory csf = new SSLConnectionSocketFactory(sslContext);
-
-		CloseableHttpClient httpClient = HttpClients.custom().setSSLSocketFactory(csf).build();
-
-		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
+	/**
+	 * Returns the shared, connection pooled rest template.
+	 *
+	 * @return the rest template
+	 */
+	public RestTemplate getRestTemplate() {
+		return restTemplate;
+	}
 
-		requestFactory.setHttpClient(httpClient);
-		return new RestTemplate(requestFactory);
+	/**
+	 * Runs the call with the given token and, if the downstream service rejects
+	 * it with 401, invalidates the cached token and retries once with a fresh one.
+	 * Each attempt runs under the circuit breaker and bulkhead of the service
+	 * called, and with its read timeout; GETs are retried or hedged by
+	 * {@link DownstreamRetry}. The call, retries included, is recorded in the
+	 * downstream metrics under the given service name.
+	 *
+	 * @param apiName the service called, null if the caller did not name it
+	 * @param uri
+	 * @param method
+	 * @param token
+	 * @param call
+	 * @return the call result
+	 * @throws Exception
+	 */
+	private <R> R executeWithTokenRetry(ApiName apiName, String uri, HttpMethod method, String token,
+			TokenizedCall<R> call) throws Exception {
+		DownstreamRetry.RetryableCall<R> attempt = () -> downstreamGuard.execute(apiName, permit -> {
+			// attempts may run on the hedge executor, so it is set per attempt
+			CURRENT_API_NAME.set(apiName);
+			// an aborted hedge is not counted against the service
+			DownstreamRetry.onAbort(permit::cancel);
+			try {
+				return call.execute(token, permit);
+			} catch (HttpClientErrorException e) {
+				if (e.getStatusCode() != HttpStatus.UNAUTHORIZED || token == null) {
+					throw e;
+				}
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(),
+						"Token rejected with 401, retrying with new token");
+				tokenGenerator.invalidateToken(token);
+				return call.execute(tokenGenerator.getToken(), permit);
+			} finally {
+				CURRENT_API_NAME.remove();
+			}
+		});
+		return downstreamMetrics.record(apiName, method, () -> downstreamRetry.execute(apiName, method, attempt));
+	}
 
+	@FunctionalInterface
+	private interface TokenizedCall<R> {
+		R execute(String token, DownstreamGuard.Permit permit) throws Exception;
 	}
 
 	/**
@@ -10,18 +10,34 @@ import io.mosip.resident.dto.TokenRequestDto;
 import io.mosip.resident.exception.TokenGenerationFailedException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.Header;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.net.HttpCookie;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Generates the kernel auth token and keeps it cached until shortly before it
+ * expires. A token close to expiry is still served while a single background
+ * refresh replaces it; an expired or invalidated token is regenerated by only
+ * one caller while the others wait for the result.
+ */
 @Component
 public class TokenGenerator {
 
@@ -30,6 +46,29 @@ public class TokenGenerator {
     @Autowired
     Environment environment;
 
+    @Autowired
+    @Qualifier("residentHttpClient")
+    private CloseableHttpClient httpClient;
+
+    /** Token lifetime used when the auth manager cookie carries no expiry. */
+    @Value("${resident.token.default.ttl.seconds:1800}")
+    private long defaultTtlSeconds;
+
+    /** How long before expiry the background refresh is triggered. */
+    @Value("${resident.token.refresh.ahead.seconds:120}")
+    private long refreshAheadSeconds;
+
+    private final AtomicReference<CachedToken> cachedToken = new AtomicReference<>();
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final AtomicBoolean backgroundRefreshRunning = new AtomicBoolean(false);
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resident-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * This method gets the token for the user details present in config server.
@@ -38,10 +77,74 @@ public class TokenGenerator {
      * @throws IOException
      */
     public String getToken() throws IOException {
-        return generateToken(setRequestDto());
+        CachedToken current = cachedToken.get();
+        long now = System.currentTimeMillis();
+        if (current != null && now < current.expiresAt) {
+            if (now >= current.refreshAt) {
+                refreshInBackground(current);
+            }
+            return current.token;
+        }
+        return refreshToken(current);
+    }
+
+    /**
+     * Drops the cached token if it is still the given one, so that the next call
+     * to {@link #getToken()} fetches a new token. Used when a downstream service
+     * rejects the token with 401.
+     *
+     * @param token the rejected token
+     */
+    public void invalidateToken(String token) {
+        CachedToken current = cachedToken.get();
+        if (current != null && current.token.equals(token) && cachedToken.compareAndSet(current, null)) {
+            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    LoggerFileConstant.APPLICATIONID.toString(), "Cached auth token invalidated");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private String refreshToken(CachedToken stale) throws IOException {
+        refreshLock.lock();
+        try {
+            CachedToken current = cachedToken.get();
+            if (current != null && current != stale && System.currentTimeMillis() < current.expiresAt) {
+                return current.token;
+            }
+            CachedToken fresh = generateToken(setRequestDto());
+            cachedToken.set(fresh);
+            return fresh.token;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground(CachedToken stale) {
+        if (!backgroundRefreshRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshToken(stale);
+                } catch (IOException | RuntimeException e) {
+                    logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                            LoggerFileConstant.APPLICATIONID.toString(),
+                            "Background token refresh failed " + ExceptionUtils.getStackTrace(e));
+                } finally {
+                    backgroundRefreshRunning.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            backgroundRefreshRunning.set(false);
+        }
     }
 
-    private String generateToken(ClientIdSecretKeyRequestDto dto) throws IOException {
+    private CachedToken generateToken(ClientIdSecretKeyRequestDto dto) throws IOException {
         // TokenRequestDTO<PasswordRequest> tokenRequest = new
         // TokenRequestDTO<PasswordRequest>();
         TokenRequestDto tokenRequest = new TokenRequestDto();
@@ -53,7 +156,6 @@ public class TokenGenerator {
         tokenRequest.setVersion(environment.getProperty("token.request.version"));
 
         Gson gson = new Gson();
-        HttpClient httpClient = HttpClientBuilder.create().build();
         // HttpPost post = new
         // HttpPost(environment.getProperty("PASSWORDBASEDTOKENAPI"));
         HttpPost post = new HttpPost(environment.getProperty("KERNELAUTHMANAGER"));
@@ -61,19 +163,18 @@ public class TokenGenerator {
             StringEntity postingString = new StringEntity(gson.toJson(tokenRequest));
             post.setEntity(postingString);
             post.setHeader("Content-type", "application/json");
-            HttpResponse response = httpClient.execute(post);
-            org.apache.http.HttpEntity entity = response.getEntity();
-            String responseBody = EntityUtils.toString(entity, "UTF-8");
-            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
-                    LoggerFileConstant.APPLICATIONID.toString(), "Resonse body=> " + responseBody);
-            Header[] cookie = response.getHeaders("Set-Cookie");
-            if (cookie.length == 0)
-                throw new TokenGenerationFailedException();
-            String token = response.getHeaders("Set-Cookie")[0].getValue();
-            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
-                    LoggerFileConstant.APPLICATIONID.toString(), "Cookie => " + cookie[0]);
+            try (CloseableHttpResponse response = httpClient.execute(post)) {
+                // the body and the cookie hold the token, neither is logged
+                EntityUtils.consume(response.getEntity());
+                Header[] cookie = response.getHeaders("Set-Cookie");
+                if (cookie.length == 0)
+                    throw new TokenGenerationFailedException();
+                String token = cookie[0].getValue();
 
-            return token.substring(0, token.indexOf(';'));
+                long ttlMillis = TimeUnit.SECONDS.toMillis(getMaxAgeSeconds(token));
+                return new CachedToken(token.substring(0, token.indexOf(';')), ttlMillis,
+                        TimeUnit.SECONDS.toMillis(refreshAheadSeconds));
+            }
         } catch (IOException e) {
             logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
                     LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
@@ -81,6 +182,23 @@ public class TokenGenerator {
         }
     }
 
+    /**
+     * Reads Max-Age (or Expires, which {@link HttpCookie} converts to a max age)
+     * from the Set-Cookie header, falling back to the configured default.
+     */
+    private long getMaxAgeSeconds(String setCookie) {
+        try {
+            List<HttpCookie> cookies = HttpCookie.parse(setCookie);
+            if (!cookies.isEmpty() && cookies.get(0).getMaxAge() > 0) {
+                return cookies.get(0).getMaxAge();
+            }
+        } catch (IllegalArgumentException e) {
+            logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    LoggerFileConstant.APPLICATIONID.toString(), "Token cookie has no parsable expiry");
+        }
+        return defaultTtlSeconds;
+    }
+
     private ClientIdSecretKeyRequestDto setRequestDto() {
         ClientIdSecretKeyRequestDto request = new ClientIdSecretKeyRequestDto();
         request.setAppId(environment.getProperty("resident.appid"));
@@ -89,4 +207,17 @@ public class TokenGenerator {
         return request;
     }
 
+    private static final class CachedToken {
+        private final String token;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        private CachedToken(String token, long ttlMillis, long refreshAheadMillis) {
+            long now = System.currentTimeMillis();
+            this.token = token;
+            this.expiresAt = now + ttlMillis;
+            this.refreshAt = expiresAt - Math.min(refreshAheadMillis, ttlMillis / 2);
+        }
+    }
+
 }
@@ -1,9 +1,16 @@
 package io.mosip.resident.util;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -28,11 +35,33 @@ public class UINCardDownloadService {
 
     @Autowired
     private TokenGenerator tokenGenerator;
+
+    /** Largest card accepted from the print service, 10 MB by default. */
+    @Value("${resident.euin.max.size.bytes:10485760}")
+    private long maxCardSize;
     
     private static final String PRINT_ID="mosip.registration.processor.print.id";
     private static final String PRINT_VERSION="mosip.registration.processor.application.version";
-    
-    public byte[] getUINCard(String individualId,String cardType,IdType idType) throws ApisResourceAccessException {
+
+    /**
+     * Hands the card to the writer while the print service response is open, so
+     * the card is copied through instead of being read into memory.
+     * <p>
+     * A failure of the writer, e.g. the client closing the connection, is not a
+     * failure of the print service. It is thrown as an
+     * {@link UncheckedIOException}, after the print service call completed.
+     *
+     * @param individualId the individual id
+     * @param cardType     the card type
+     * @param idType       the id type
+     * @param writer       the writer of the card
+     * @return false if the print service returned no card
+     * @throws ApisResourceAccessException if the card could not be fetched, or
+     *                                     is larger than the max size
+     * @throws UncheckedIOException        if the writer failed
+     */
+    public boolean getUINCard(String individualId, String cardType, IdType idType, UINCardWriter writer)
+            throws ApisResourceAccessException {
     	PrintRequest request=new PrintRequest();
 		UINCardRequestDTO uincardDTO=new UINCardRequestDTO();
 		uincardDTO.setCardType(cardType);
@@ -42,10 +71,31 @@ public class UINCardDownloadService {
 		request.setId(env.getProperty(PRINT_ID));
 		request.setVersion(env.getProperty(PRINT_VERSION));
 		request.setRequesttime(DateUtils.getUTCCurrentDateTimeString());
-		byte[]	response;
+		Boolean written;
+		AtomicReference<IOException> writeFailure = new AtomicReference<>();
 		try {
-			response = (byte[]) residentServiceRestClient.postApi(env.getProperty(ApiName.REGPROCPRINT.name()),
-					null, request, byte[].class, tokenGenerator.getToken());
+			written = residentServiceRestClient.postApi(ApiName.REGPROCPRINT,
+					env.getProperty(ApiName.REGPROCPRINT.name()), null, request,
+					response -> {
+						long contentLength = response.getHeaders().getContentLength();
+						if (contentLength > maxCardSize)
+							throw new IOException("UIN card of " + contentLength + " bytes exceeds the max size of "
+									+ maxCardSize + " bytes");
+						PushbackInputStream card = new PushbackInputStream(response.getBody());
+						int first = card.read();
+						if (contentLength == 0 || first == -1)
+							return false;
+						card.unread(first);
+						MaxSizeInputStream cardStream = new MaxSizeInputStream(card, maxCardSize);
+						try {
+							writer.write(cardStream, contentLength);
+						} catch (IOException e) {
+							if (cardStream.readFailed)
+								throw e;
+							writeFailure.set(e);
+						}
+						return true;
+					}, tokenGenerator.getToken());
 		
 		} catch ( Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
@@ -53,6 +103,88 @@ public class UINCardDownloadService {
 					+ e.getMessage()+ ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Unable to fetch uin card");
 		} 
-		return response;
+		if (writeFailure.get() != null) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
+					idType.toString(), "Unable to write uin card::" + writeFailure.get().getMessage());
+			throw new UncheckedIOException("Unable to write uin card", writeFailure.get());
+		}
+		return Boolean.TRUE.equals(written);
+    }
+
+    /**
+     * Writes a card to its destination, e.g. the servlet response.
+     */
+    @FunctionalInterface
+    public interface UINCardWriter {
+
+        /**
+         * @param card          the card, open while the method runs
+         * @param contentLength the length of the card, -1 if not known
+         * @throws IOException
+         */
+        void write(InputStream card, long contentLength) throws IOException;
+    }
+
+    /**
+     * Fails the read once more than the max size was read, for cards sent
+     * without Content-Length. Records failed reads, to tell them from failures
+     * of the writer.
+     */
+    private static class MaxSizeInputStream extends FilterInputStream {
+
+        private final long maxSize;
+
+        private long count;
+
+        private boolean readFailed;
+
+        private MaxSizeInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = super.read();
+                if (b != -1)
+                    count(1);
+                return b;
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int read = super.read(b, off, len);
+                if (read > 0)
+                    count(read);
+                return read;
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            }
+        }
+
+        private void count(long read) throws IOException {
+            count += read;
+            if (count > maxSize)
+                throw new IOException("UIN card exceeds the max size of " + maxSize + " bytes");
+        }
     }
 }
@@ -3,29 +3,28 @@ package io.mosip.resident.util;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
-import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.config.ResidentLogger;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.constant.LoggerFileConstant;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.IdRepoResponseDto;
-import io.mosip.resident.dto.JsonValue;
+import io.mosip.resident.dto.IdentityMapping;
 import io.mosip.resident.dto.VidGeneratorResponseDto;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.IdRepoAppException;
@@ -40,7 +39,7 @@ import io.mosip.resident.exception.ResidentServiceCheckedException;
 @Component
 public class Utilitiy {
 
-	private static final Logger logger = LoggerConfiguration.logConfig(Utilitiy.class);
+	private static final ResidentLogger logger = ResidentLogger.getLogger(Utilitiy.class);
 
 	@Autowired
 	private ResidentServiceRestClient residentServiceRestClient;
@@ -48,11 +47,11 @@ public class Utilitiy {
 	@Autowired
 	private TokenGenerator tokenGenerator;
 
-	@Value("${config.server.file.storage.uri}")
-	private String configServerFileStorageURL;
+	@Autowired
+	private IdentityMappingProvider identityMappingProvider;
 
-	@Value("${registration.processor.identityjson}")
-	private String getRegProcessorIdentityJson;
+	@Autowired
+	private IdentityCache identityCache;
 
 	@Value("${mosip.primary-language}")
 	private String primaryLang;
@@ -64,49 +63,47 @@ public class Utilitiy {
 	private String languageType;
 
 	private static final String IDENTITY = "identity";
-	private static final String VALUE = "value";
+	private static final ParameterizedTypeReference<ResponseWrapper<IdRepoResponseDto>> IDREPO_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<IdRepoResponseDto>>() {
+	};
+	private static final ParameterizedTypeReference<ResponseWrapper<VidGeneratorResponseDto>> VID_RESPONSE = new ParameterizedTypeReference<ResponseWrapper<VidGeneratorResponseDto>>() {
+	};
+
+	private volatile MailingAttributeNames mailingAttributeNames;
 
-	@SuppressWarnings("unchecked")
 	public JSONObject retrieveIdrepoJson(String id, IdType idType) throws ResidentServiceCheckedException {
+		JsonNode identity = retrieveIdentity(id, idType);
+		return identity != null ? JsonUtil.convertValue(identity, JSONObject.class) : null;
+	}
+
+	/**
+	 * Returns the demographic identity of the individual as a json tree, which is
+	 * read in place instead of being bound to maps and lists.
+	 *
+	 * @param id     the UIN, VID or RID
+	 * @param idType the id type
+	 * @return the identity node
+	 * @throws ResidentServiceCheckedException
+	 */
+	public JsonNode retrieveIdentity(String id, IdType idType) throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
 				"Utilitiy::retrieveIdrepoJson()::entry");
-		List<String> pathsegments = new ArrayList<>();
-		pathsegments.add(id);
-		ResponseWrapper<IdRepoResponseDto> response = null;
+		IdType lookupType = IdType.RID.equals(idType) ? IdType.RID : IdType.UIN;
 		try {
-			if (IdType.UIN.equals(idType))
-				response = (ResponseWrapper<IdRepoResponseDto>) residentServiceRestClient.getApi(
-						ApiName.IDREPOGETIDBYUIN, pathsegments, null, null, ResponseWrapper.class,
-						tokenGenerator.getToken());
-			else if (IdType.RID.equals(idType))
-				response = (ResponseWrapper<IdRepoResponseDto>) residentServiceRestClient.getApi(
-						ApiName.IDREPOGETIDBYRID, pathsegments, null, null, ResponseWrapper.class,
-						tokenGenerator.getToken());
-			else if (IdType.VID.equals(idType)) {
-				ResponseWrapper<VidGeneratorResponseDto> vidResponse = (ResponseWrapper<VidGeneratorResponseDto>) residentServiceRestClient
-						.getApi(ApiName.GETUINBYVID, pathsegments, null, null, ResponseWrapper.class,
-								tokenGenerator.getToken());
-				logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
-						"Utilitiy::retrieveIdrepoJson()::vidResponse::" + JsonUtil.writeValueAsString(vidResponse));
-				if (vidResponse == null)
-					throw new IdRepoAppException(ResidentErrorCode.IN_VALID_VID.getErrorCode(),
-							ResidentErrorCode.IN_VALID_VID.getErrorCode(),
-							"In valid response while requesting from ID Repositary");
-				if (!vidResponse.getErrors().isEmpty()) {
-					List<ServiceError> error = vidResponse.getErrors();
-					throw new IdRepoAppException(ResidentErrorCode.IN_VALID_VID.getErrorCode(),
-							ResidentErrorCode.IN_VALID_VID.getErrorCode(), error.get(0).getMessage());
-				}
-
-				VidGeneratorResponseDto vidGeneratorResponseDto = JsonUtil.readValue(
-						JsonUtil.writeValueAsString(vidResponse.getResponse()), VidGeneratorResponseDto.class);
-				String uin = String.valueOf(vidGeneratorResponseDto.getUIN());
-				pathsegments.clear();
-				pathsegments.add(uin);
-				response = (ResponseWrapper<IdRepoResponseDto>) residentServiceRestClient.getApi(
-						ApiName.IDREPOGETIDBYUIN, pathsegments, null, null, ResponseWrapper.class,
-						tokenGenerator.getToken());
+			String lookupId = IdType.VID.equals(idType) ? getUinByVid(id) : id;
+			JsonNode identity = identityCache.getIdentity(lookupId, lookupType);
+			if (identity != null) {
+				logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
+						"Utilitiy::retrieveIdrepoJson()::exit::cached identity");
+				return identity;
 			}
+			List<String> pathsegments = new ArrayList<>();
+			pathsegments.add(lookupId);
+			ResponseWrapper<IdRepoResponseDto> response = residentServiceRestClient.getApi(
+					IdType.RID.equals(lookupType) ? ApiName.IDREPOGETIDBYRID : ApiName.IDREPOGETIDBYUIN,
+					pathsegments, null, null, IDREPO_RESPONSE, tokenGenerator.getToken());
+			identity = retrieveErrorCode(idType, response, id);
+			identityCache.putIdentity(lookupId, lookupType, identity);
+			return identity;
 		} catch (IOException e) {
 			throw new ResidentServiceCheckedException(ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorCode(),
 					ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorMessage(), e);
@@ -128,11 +125,53 @@ public class Utilitiy {
 						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage() + e.getMessage(), e);
 			}
 		}
-		
-		return retrieveErrorCode(idType, response,id);
 	}
-	
-	public JSONObject retrieveErrorCode(IdType idType,ResponseWrapper<IdRepoResponseDto> response,String id) throws ResidentServiceCheckedException {
+
+	private String getUinByVid(String vid) throws IOException, ApisResourceAccessException {
+		String uin = identityCache.getUin(vid);
+		if (uin != null)
+			return uin;
+		List<String> pathsegments = new ArrayList<>();
+		pathsegments.add(vid);
+		ResponseWrapper<VidGeneratorResponseDto> vidResponse = residentServiceRestClient.getApi(ApiName.GETUINBYVID,
+				pathsegments, null, null, VID_RESPONSE, tokenGenerator.getToken());
+		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), vid,
+				() -> "Utilitiy::retrieveIdrepoJson()::vidResponse::" + ResidentLogger.payload(vidResponse));
+		if (vidResponse == null)
+			throw new IdRepoAppException(ResidentErrorCode.IN_VALID_VID.getErrorCode(),
+					ResidentErrorCode.IN_VALID_VID.getErrorCode(),
+					"In valid response while requesting from ID Repositary");
+		if (!vidResponse.getErrors().isEmpty()) {
+			List<ServiceError> error = vidResponse.getErrors();
+			throw new IdRepoAppException(ResidentErrorCode.IN_VALID_VID.getErrorCode(),
+					ResidentErrorCode.IN_VALID_VID.getErrorCode(), error.get(0).getMessage());
+		}
+
+		uin = String.valueOf(vidResponse.getResponse().getUIN());
+		identityCache.putUin(vid, uin);
+		return uin;
+	}
+
+	/**
+	 * Drops the cached identity of the individual, e.g. after an update request.
+	 *
+	 * @param id     the individual id
+	 * @param idType the id type
+	 */
+	public void invalidateIdentity(String id, IdType idType) {
+		identityCache.invalidateIdentity(id, idType);
+	}
+
+	/**
+	 * Drops the cached UIN of a revoked VID.
+	 *
+	 * @param vid the VID
+	 */
+	public void invalidateVid(String vid) {
+		identityCache.invalidateVid(vid);
+	}
+
+	public JsonNode retrieveErrorCode(IdType idType,ResponseWrapper<IdRepoResponseDto> response,String id) throws ResidentServiceCheckedException {
 		ResidentErrorCode errorCode;
 		if (idType.equals(IdType.UIN))
 			errorCode = ResidentErrorCode.IN_VALID_UIN;
@@ -140,80 +179,97 @@ public class Utilitiy {
 			errorCode = ResidentErrorCode.IN_VALID_RID;
 		else
 			errorCode = ResidentErrorCode.IN_VALID_VID_UIN;
-		try {
-			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
-					"Utilitiy::retrieveIdrepoJson()::id repo response for given id::"
-							+ JsonUtil.writeValueAsString(response));
-			if (response == null)
-				throw new IdRepoAppException(errorCode.getErrorCode(), errorCode.getErrorMessage(),
-						"In valid response while requesting ID Repositary");
-			if (!response.getErrors().isEmpty()) {
-				List<ServiceError> error = response.getErrors();
-				throw new IdRepoAppException(errorCode.getErrorCode(), errorCode.getErrorMessage(),
-						error.get(0).getMessage());
-			}
-			String jsonResponse;
-
-			jsonResponse = JsonUtil.writeValueAsString(response.getResponse());
-			JSONObject json = JsonUtil.readValue(jsonResponse, JSONObject.class);
-			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
-					"Utilitiy::retrieveIdrepoJson()::exit");
-			return JsonUtil.getJSONObject(json, "identity");
-		} catch (IOException e) {
-			throw new ResidentServiceCheckedException(ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
-					ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage(), e);
+		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
+				() -> "Utilitiy::retrieveIdrepoJson()::id repo response for given id::"
+						+ ResidentLogger.payload(response));
+		if (response == null)
+			throw new IdRepoAppException(errorCode.getErrorCode(), errorCode.getErrorMessage(),
+					"In valid response while requesting ID Repositary");
+		if (!response.getErrors().isEmpty()) {
+			List<ServiceError> error = response.getErrors();
+			throw new IdRepoAppException(errorCode.getErrorCode(), errorCode.getErrorMessage(),
+					error.get(0).getMessage());
 		}
+		JsonNode identity = response.getResponse() != null ? response.getResponse().getIdentity() : null;
+		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
+				"Utilitiy::retrieveIdrepoJson()::exit");
+		return identity != null && identity.isObject() ? identity : null;
 	}
 
-	@SuppressWarnings("unchecked")
 	public Map<String, Object> getMailingAttributes(String id, IdType idType) throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
 				"Utilitiy::getMailingAttributes()::entry");
 		Map<String, Object> attributes = new HashMap<>();
-		String mappingJsonString = getMappingJson();
-		JSONObject mappingJsonObject;
-		try {
-			JSONObject demographicIdentity = retrieveIdrepoJson(id, idType);
-			mappingJsonObject = JsonUtil.readValue(mappingJsonString, JSONObject.class);
-			JSONObject mapperIdentity = JsonUtil.getJSONObject(mappingJsonObject, IDENTITY);
-			List<String> mapperJsonKeys = new ArrayList<>(mapperIdentity.keySet());
-			for (String key : mapperJsonKeys) {
-				LinkedHashMap<String, String> jsonObject = JsonUtil.getJSONValue(mapperIdentity, key);
-				String values = jsonObject.get(VALUE);
-				for (String value : values.split(",")) {
-					Object object = demographicIdentity.get(value);
-					if (object instanceof ArrayList) {
-						JSONArray node = JsonUtil.getJSONArray(demographicIdentity, value);
-						JsonValue[] jsonValues = JsonUtil.mapJsonNodeToJavaObject(JsonValue.class, node);
-						for (JsonValue jsonValue : jsonValues) {
-							if (jsonValue.getLanguage().equals(primaryLang))
-								attributes.put(value + "_" + primaryLang, jsonValue.getValue());
-							if (jsonValue.getLanguage().equals(secondaryLang))
-								attributes.put(value + "_" + secondaryLang, jsonValue.getValue());
-						}
-					} else if (object instanceof LinkedHashMap) {
-						JSONObject json = JsonUtil.getJSONObject(demographicIdentity, value);
-						attributes.put(value, (String) json.get(VALUE));
-					} else {
-						attributes.put(value, String.valueOf(object));
-					}
+		IdentityMapping identityMapping = identityMappingProvider.getIdentityMapping();
+		JsonNode demographicIdentity = retrieveIdentity(id, idType);
+		for (MailingAttributeName name : getMailingAttributeNames(identityMapping)) {
+			JsonNode node = demographicIdentity.get(name.valueName);
+			if (node != null && node.isArray()) {
+				for (JsonNode element : node) {
+					String language = JsonUtil.getLanguage(element);
+					if (primaryLang.equals(language))
+						attributes.put(name.primaryLangKey, JsonUtil.getValue(element));
+					if (secondaryLang.equals(language))
+						attributes.put(name.secondaryLangKey, JsonUtil.getValue(element));
 				}
+			} else if (node != null && node.isObject()) {
+				attributes.put(name.valueName, JsonUtil.getValue(node));
+			} else {
+				attributes.put(name.valueName, node != null ? node.asText() : "null");
 			}
-
-			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
-					"Utilitiy::getMailingAttributes()::mailingAttributes::" + attributes);
-		} catch (IOException | ReflectiveOperationException e) {
-			throw new ResidentServiceCheckedException(ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
-					ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage(), e);
 		}
+
+		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
+				() -> "Utilitiy::getMailingAttributes()::mailingAttributes::" + ResidentLogger.payload(attributes));
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
 				"Utilitiy::getMailingAttributes()::exit");
 		return attributes;
 	}
 
-	public String getMappingJson() {
-		RestTemplate restTemplate = new RestTemplate();
-		return restTemplate.getForObject(configServerFileStorageURL + getRegProcessorIdentityJson, String.class);
+	/**
+	 * The attribute names and language keys only change with the identity
+	 * mapping, so they are built once per mapping instead of per notification.
+	 */
+	private List<MailingAttributeName> getMailingAttributeNames(IdentityMapping identityMapping) {
+		MailingAttributeNames names = mailingAttributeNames;
+		if (names == null || names.identityMapping != identityMapping) {
+			List<MailingAttributeName> list = new ArrayList<>();
+			for (String key : identityMapping.getMapperKeys()) {
+				for (String valueName : identityMapping.getValueNames(key))
+					list.add(new MailingAttributeName(valueName, valueName + "_" + primaryLang,
+							valueName + "_" + secondaryLang));
+			}
+			names = new MailingAttributeNames(identityMapping, list);
+			mailingAttributeNames = names;
+		}
+		return names.names;
+	}
+
+	private static final class MailingAttributeNames {
+
+		private final IdentityMapping identityMapping;
+
+		private final List<MailingAttributeName> names;
+
+		private MailingAttributeNames(IdentityMapping identityMapping, List<MailingAttributeName> names) {
+			this.identityMapping = identityMapping;
+			this.names = names;
+		}
+	}
+
+	private static final class MailingAttributeName {
+
+		private final String valueName;
+
+		private final String primaryLangKey;
+
+		private final String secondaryLangKey;
+
+		private MailingAttributeName(String valueName, String primaryLangKey, String secondaryLangKey) {
+			this.valueName = valueName;
+			this.primaryLangKey = primaryLangKey;
+			this.secondaryLangKey = secondaryLangKey;
+		}
 	}
 
 }
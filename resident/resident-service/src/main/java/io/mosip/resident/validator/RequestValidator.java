@@ -2,15 +2,22 @@ package io.mosip.resident.validator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import javax.annotation.PostConstruct;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.idvalidator.exception.InvalidIDException;
@@ -25,14 +32,49 @@ import io.mosip.resident.dto.AuthHistoryRequestDTO;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
 import io.mosip.resident.dto.BaseRequestDTO;
 import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchRequestDTO;
 import io.mosip.resident.dto.RequestWrapper;
 import io.mosip.resident.dto.ResidentVidRequestDto;
 import io.mosip.resident.dto.VidRevokeRequestDTO;
 import io.mosip.resident.exception.InvalidInputException;
 
+/**
+ * Validates the resident requests. Each request is checked in full and all
+ * invalid fields are reported in one {@link InvalidInputException}.
+ * <p>
+ * The configured ids, allowed auth types and the phone and email patterns are
+ * compiled once into {@link Rules}, and again when the configuration is
+ * refreshed.
+ */
 @Component
 public class RequestValidator {
 
+	private static final String UIN_UPDATE_ID = "resident.updateuin.id";
+
+	private static final String VID_ID = "resident.vid.id";
+
+	private static final String REVOKE_VID_ID = "resident.revokevid.id";
+
+	private static final String VERSION = "resident.vid.version";
+
+	private static final String AUTH_LOCK_ID = "resident.authlock.id";
+
+	private static final String EUIN_ID = "resident.euin.id";
+
+	private static final String AUTH_HISTORY_ID = "resident.authhistory.id";
+
+	private static final String AUTH_TYPES = "auth.types.allowed";
+
+	private static final String AUTH_UNLOCK_ID = "resident.authunlock.id";
+
+	private static final String PHONE_REGEX = "mosip.id.validation.identity.phone";
+
+	private static final String EMAIL_REGEX = "mosip.id.validation.identity.email";
+
+	private static final String REPRINT_ID = "resident.printuin.id";
+
+	private static final String RID_STATUS_BATCH_MAX_SIZE = "resident.rid.check-status.batch.max-size";
+
 	@Autowired
 	private UinValidator<String> uinValidator;
 
@@ -42,6 +84,9 @@ public class RequestValidator {
 	@Autowired
 	private RidValidator<String> ridValidator;
 
+	@Autowired
+	private Environment env;
+
 	private String euinId;
 
 	private String reprintId;
@@ -54,189 +99,235 @@ public class RequestValidator {
 	
 	private String uinUpdateId;
 
-	@Value("${resident.updateuin.id}")
+	@Value("${" + UIN_UPDATE_ID + "}")
 	public void setUinUpdateId(String uinUpdateId) {
 		this.uinUpdateId = uinUpdateId;
 	}
 
-	@Value("${resident.vid.id}")
+	@Value("${" + VID_ID + "}")
 	private String id;
 
-	@Value("${resident.revokevid.id}")
+	@Value("${" + REVOKE_VID_ID + "}")
 	private String revokeVidId;
 
-	@Value("${resident.vid.version}")
+	@Value("${" + VERSION + "}")
 	private String version;
 
-	@Value("${resident.authlock.id}")
+	@Value("${" + AUTH_LOCK_ID + "}")
 	public void setAuthLockId(String authLockId) {
 		this.authLockId = authLockId;
 	}
 
-	@Value("${resident.euin.id}")
+	@Value("${" + EUIN_ID + "}")
 	public void setEuinIdString(String euinId) {
 		this.euinId = euinId;
 	}
 
-	@Value("${resident.authhistory.id}")
+	@Value("${" + AUTH_HISTORY_ID + "}")
 	public void setAuthHstoryId(String authHstoryId) {
 		this.authHstoryId = authHstoryId;
 	}
 
-	@Value("${auth.types.allowed}")
+	@Value("${" + AUTH_TYPES + "}")
 	private String authTypes;
 
-	@Value("${resident.authunlock.id}")
+	@Value("${" + AUTH_UNLOCK_ID + "}")
 	public void setAuthUnlockId(String authUnLockId) {
 		this.authUnLockId = authUnLockId;
 	}
 
-	@Value("${mosip.id.validation.identity.phone}")
+	@Value("${" + PHONE_REGEX + "}")
 	private String phoneRegex;
 
-	@Value("${mosip.id.validation.identity.email}")
+	@Value("${" + EMAIL_REGEX + "}")
 	private String emailRegex;
 
-	private Map<RequestIdType, String> map;
+	@Value("${" + RID_STATUS_BATCH_MAX_SIZE + ":100}")
+	private int ridStatusBatchMaxSize;
 
-	@Value("${resident.printuin.id}")
+	private volatile Rules rules;
+
+	@Value("${" + REPRINT_ID + "}")
 	public void setReprintId(String reprintId) {
 		this.reprintId = reprintId;
 	}
 
 	@PostConstruct
 	public void setMap() {
-		map = new EnumMap<>(RequestIdType.class);
+		Map<RequestIdType, String> map = new EnumMap<>(RequestIdType.class);
 		map.put(RequestIdType.RE_PRINT_ID, reprintId);
 		map.put(RequestIdType.AUTH_LOCK_ID, authLockId);
 		map.put(RequestIdType.AUTH_UNLOCK_ID, authUnLockId);
 		map.put(RequestIdType.E_UIN_ID, euinId);
 		map.put(RequestIdType.AUTH_HISTORY_ID, authHstoryId);
 		map.put(RequestIdType.RES_UPDATE, uinUpdateId);
+		rules = new Rules(map, id, revokeVidId, version, authTypes, phoneRegex, emailRegex, ridStatusBatchMaxSize);
+	}
 
+	/**
+	 * Reads the validation properties again and rebuilds the rules.
+	 */
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void onRefresh() {
+		uinUpdateId = env.getProperty(UIN_UPDATE_ID, uinUpdateId);
+		id = env.getProperty(VID_ID, id);
+		revokeVidId = env.getProperty(REVOKE_VID_ID, revokeVidId);
+		version = env.getProperty(VERSION, version);
+		authLockId = env.getProperty(AUTH_LOCK_ID, authLockId);
+		euinId = env.getProperty(EUIN_ID, euinId);
+		authHstoryId = env.getProperty(AUTH_HISTORY_ID, authHstoryId);
+		authTypes = env.getProperty(AUTH_TYPES, authTypes);
+		authUnLockId = env.getProperty(AUTH_UNLOCK_ID, authUnLockId);
+		phoneRegex = env.getProperty(PHONE_REGEX, phoneRegex);
+		emailRegex = env.getProperty(EMAIL_REGEX, emailRegex);
+		reprintId = env.getProperty(REPRINT_ID, reprintId);
+		ridStatusBatchMaxSize = env.getProperty(RID_STATUS_BATCH_MAX_SIZE, Integer.class, ridStatusBatchMaxSize);
+		setMap();
 	}
 
 	public void validateVidCreateRequest(ResidentVidRequestDto requestDto) {
+		Rules current = rules;
+		List<String> errors = new ArrayList<>();
 
-		if (requestDto.getId() == null || !requestDto.getId().equalsIgnoreCase(id))
-			throw new InvalidInputException("id");
+		if (requestDto.getId() == null || !requestDto.getId().equalsIgnoreCase(current.vidId))
+			errors.add("id");
 
-		if (requestDto.getVersion() == null || !requestDto.getVersion().equalsIgnoreCase(version))
-			throw new InvalidInputException("version");
+		if (requestDto.getVersion() == null || !requestDto.getVersion().equalsIgnoreCase(current.version))
+			errors.add("version");
 
-		if (requestDto.getRequest() == null)
-			throw new InvalidInputException("request");
+		if (requestDto.getRequest() == null) {
+			errors.add("request");
+			throwIfInvalid(errors);
+		}
 
 		if (requestDto.getRequest().getVidType() == null
 				|| (!requestDto.getRequest().getVidType().equalsIgnoreCase(VidType.PERPETUAL.name())
 						&& !requestDto.getRequest().getVidType().equalsIgnoreCase(VidType.TEMPORARY.name())))
-			throw new InvalidInputException("vidType");
-
-		if (requestDto.getRequest().getIndividualIdType() == null
-				|| (!requestDto.getRequest().getIndividualIdType().equalsIgnoreCase(IdType.UIN.name())
-						&& !requestDto.getRequest().getIndividualIdType().equalsIgnoreCase(IdType.VID.name())))
-			throw new InvalidInputException("individualIdType");
-		if (!validateIndividualId(requestDto.getRequest().getIndividualId(),
-				requestDto.getRequest().getIndividualIdType())) {
-			throw new InvalidInputException("individualId");
-		}
+			errors.add("vidType");
+
+		String individualIdType = requestDto.getRequest().getIndividualIdType();
+		if (individualIdType == null || (!individualIdType.equalsIgnoreCase(IdType.UIN.name())
+				&& !individualIdType.equalsIgnoreCase(IdType.VID.name())))
+			errors.add("individualIdType");
+		else
+			validateIndividualId(requestDto.getRequest().getIndividualId(), individualIdType, errors);
 
 		if (requestDto.getRequest().getOtp() == null)
-			throw new InvalidInputException("otp");
+			errors.add("otp");
 
 		if (requestDto.getRequest().getTransactionID() == null)
-			throw new InvalidInputException("transactionId");
+			errors.add("transactionId");
+
+		throwIfInvalid(errors);
 	}
 
 	public void validateAuthLockOrUnlockRequest(RequestWrapper<AuthLockOrUnLockRequestDto> requestDTO,
 			AuthTypeStatus authTypeStatus) {
-		validateAuthorUnlockId(requestDTO, authTypeStatus);
-
-		if (requestDTO.getRequest() == null)
-			throw new InvalidInputException("request");
-
-		if ((!requestDTO.getRequest().getIndividualIdType().name().equalsIgnoreCase(IdType.UIN.name())
-				&& !requestDTO.getRequest().getIndividualIdType().name().equalsIgnoreCase(IdType.VID.name())))
-			throw new InvalidInputException("individualIdType");
-
-		if (!validateIndividualId(requestDTO.getRequest().getIndividualId(),
-				requestDTO.getRequest().getIndividualIdType().name())) {
-			throw new InvalidInputException("individualId");
+		List<String> errors = new ArrayList<>();
+		validateRequest(requestDTO.getId(), requestDTO.getVersion(), authTypeStatus.equals(AuthTypeStatus.LOCK)
+				? RequestIdType.AUTH_LOCK_ID
+				: RequestIdType.AUTH_UNLOCK_ID, errors);
+
+		if (requestDTO.getRequest() == null) {
+			errors.add("request");
+			throwIfInvalid(errors);
 		}
 
-		validateAuthType(requestDTO.getRequest().getAuthType());
+		validateIndividualId(requestDTO.getRequest().getIndividualId(),
+				requestDTO.getRequest().getIndividualIdType(), errors);
 
-	}
+		validateAuthType(requestDTO.getRequest().getAuthType(), errors);
 
-	private void validateAuthorUnlockId(RequestWrapper<AuthLockOrUnLockRequestDto> requestDTO,
-			AuthTypeStatus authTypeStatus) {
-		if (authTypeStatus.equals(AuthTypeStatus.LOCK)) {
-			validateRequest(requestDTO, RequestIdType.AUTH_LOCK_ID);
-		} else {
-			validateRequest(requestDTO, RequestIdType.AUTH_UNLOCK_ID);
-		}
+		throwIfInvalid(errors);
 	}
 
 	public void validateEuinRequest(RequestWrapper<EuinRequestDTO> requestDTO) {
-		validateRequest(requestDTO, RequestIdType.E_UIN_ID);
-
-		if (requestDTO.getRequest() == null)
-			throw new InvalidInputException("request");
+		List<String> errors = new ArrayList<>();
+		validateRequest(requestDTO.getId(), requestDTO.getVersion(), RequestIdType.E_UIN_ID, errors);
 
-		if (!requestDTO.getRequest().getIndividualIdType().name().equalsIgnoreCase(IdType.UIN.name())
-				&& !requestDTO.getRequest().getIndividualIdType().name().equalsIgnoreCase(IdType.VID.name()))
-			throw new InvalidInputException("individualIdType");
-
-		if (!validateIndividualId(requestDTO.getRequest().getIndividualId(),
-				requestDTO.getRequest().getIndividualIdType().name())) {
-			throw new InvalidInputException("individualId");
+		if (requestDTO.getRequest() == null) {
+			errors.add("request");
+			throwIfInvalid(errors);
 		}
 
+		validateIndividualId(requestDTO.getRequest().getIndividualId(),
+				requestDTO.getRequest().getIndividualIdType(), errors);
+
+		throwIfInvalid(errors);
 	}
 
 	public void validateAuthHistoryRequest(@Valid RequestWrapper<AuthHistoryRequestDTO> requestDTO) {
-		validateRequest(requestDTO, RequestIdType.AUTH_HISTORY_ID);
+		List<String> errors = new ArrayList<>();
+		validateRequest(requestDTO.getId(), requestDTO.getVersion(), RequestIdType.AUTH_HISTORY_ID, errors);
 
-		if (requestDTO.getRequest() == null)
-			throw new InvalidInputException("request");
-
-		if (!requestDTO.getRequest().getIndividualIdType().name().equalsIgnoreCase(IdType.UIN.name())
-				&& !requestDTO.getRequest().getIndividualIdType().name().equalsIgnoreCase(IdType.VID.name()))
-			throw new InvalidInputException("individualIdType");
-
-		if (!validateIndividualId(requestDTO.getRequest().getIndividualId(),
-				requestDTO.getRequest().getIndividualIdType().name())) {
-			throw new InvalidInputException("individualId");
+		if (requestDTO.getRequest() == null) {
+			errors.add("request");
+			throwIfInvalid(errors);
 		}
 
+		validateIndividualId(requestDTO.getRequest().getIndividualId(),
+				requestDTO.getRequest().getIndividualIdType(), errors);
+
 		if (requestDTO.getRequest().getPageFetch() == null && requestDTO.getRequest().getPageStart() != null)
-			throw new InvalidInputException("please provide Page size to be Fetched");
+			errors.add("please provide Page size to be Fetched");
 
 		if (requestDTO.getRequest().getPageStart() == null && requestDTO.getRequest().getPageFetch() != null)
-			throw new InvalidInputException("please provide Page numer to be Fetched");
+			errors.add("please provide Page numer to be Fetched");
+
+		throwIfInvalid(errors);
 	}
 
-	public void validateAuthType(List<String> authType) {
-		if (authType == null) {
-			throw new InvalidInputException("authType");
-		}
-		String[] authTypesArray = authTypes.split(",");
-		List<String> authTypesAllowed = new ArrayList<>(Arrays.asList(authTypesArray));
-		for (String type : authType) {
-			if (!authTypesAllowed.contains(type))
-				throw new InvalidInputException("authType");
+	/**
+	 * Checks that a batch status check has RIDs, at most the configured batch
+	 * size. The RIDs themselves are checked one by one by the service, an
+	 * invalid RID fails only its own entry.
+	 */
+	public void validateRidStatusBatchRequest(RequestWrapper<RegStatusCheckBatchRequestDTO> requestDTO) {
+		List<String> errors = new ArrayList<>();
+		if (requestDTO.getRequest() == null) {
+			errors.add("request");
+			throwIfInvalid(errors);
 		}
+
+		List<String> individualIds = requestDTO.getRequest().getIndividualIds();
+		if (individualIds == null || individualIds.isEmpty())
+			errors.add("individualIds");
+		else if (individualIds.size() > rules.ridStatusBatchMaxSize)
+			errors.add("individualIds, at most " + rules.ridStatusBatchMaxSize + " RIDs");
+
+		throwIfInvalid(errors);
+	}
+
+	public void validateAuthType(List<String> authType) {
+		List<String> errors = new ArrayList<>();
+		validateAuthType(authType, errors);
+		throwIfInvalid(errors);
+	}
+
+	private void validateAuthType(List<String> authType, List<String> errors) {
+		if (authType == null || !rules.authTypesAllowed.containsAll(authType))
+			errors.add("authType");
 	}
 
 	public boolean phoneValidator(String phone) {
-		return phone.matches(phoneRegex);
+		return rules.phonePattern.matcher(phone).matches();
 	}
 
 	public boolean emailValidator(String email) {
-		return email.matches(emailRegex);
+		return rules.emailPattern.matcher(email).matches();
 	}
 
-	private boolean validateIndividualId(String individualId, String individualIdType) {
+	/**
+	 * Checks an individual id of type UIN or VID.
+	 */
+	private void validateIndividualId(String individualId, IdType individualIdType, List<String> errors) {
+		if (individualIdType != IdType.UIN && individualIdType != IdType.VID)
+			errors.add("individualIdType");
+		else
+			validateIndividualId(individualId, individualIdType.name(), errors);
+	}
+
+	private void validateIndividualId(String individualId, String individualIdType, List<String> errors) {
 		boolean validation = false;
 		try {
 			if (individualIdType.equalsIgnoreCase(IdType.UIN.toString())) {
@@ -247,70 +338,119 @@ public class RequestValidator {
 				validation = ridValidator.validateId(individualId);
 			}
 		} catch (InvalidIDException e) {
-			throw new InvalidInputException("individualId");
+			validation = false;
 		}
-		return validation;
+		if (!validation)
+			errors.add("individualId");
 	}
 
 	public void validateVidRevokeRequest(RequestWrapper<VidRevokeRequestDTO> requestDto) {
-
-		validateRequestWrapper(requestDto);
+		List<String> errors = new ArrayList<>();
+		validateRequestWrapper(requestDto, errors);
 
 		if (requestDto.getRequest().getVidStatus() == null)
-			throw new InvalidInputException("vidStatus");
-
-		if (requestDto.getRequest().getIndividualIdType() == null
-				|| (!requestDto.getRequest().getIndividualIdType().equalsIgnoreCase(IdType.VID.name())))
-			throw new InvalidInputException("individualIdType");
+			errors.add("vidStatus");
 
-		if (!validateIndividualId(requestDto.getRequest().getIndividualId(),
-				requestDto.getRequest().getIndividualIdType())) {
-			throw new InvalidInputException("individualId");
-		}
+		String individualIdType = requestDto.getRequest().getIndividualIdType();
+		if (individualIdType == null || !individualIdType.equalsIgnoreCase(IdType.VID.name()))
+			errors.add("individualIdType");
+		else
+			validateIndividualId(requestDto.getRequest().getIndividualId(), individualIdType, errors);
 
 		if (requestDto.getRequest().getOtp() == null)
-			throw new InvalidInputException("otp");
+			errors.add("otp");
 
 		if (requestDto.getRequest().getTransactionID() == null)
-			throw new InvalidInputException("transactionId");
+			errors.add("transactionId");
+
+		throwIfInvalid(errors);
 	}
 
 	public void validateRequestWrapper(RequestWrapper<?> request) {
+		List<String> errors = new ArrayList<>();
+		validateRequestWrapper(request, errors);
+		throwIfInvalid(errors);
+	}
+
+	/**
+	 * Checks id and version, and throws at once if there is no request.
+	 */
+	private void validateRequestWrapper(RequestWrapper<?> request, List<String> errors) {
+		Rules current = rules;
 
-		if (request.getId() == null || !request.getId().equalsIgnoreCase(revokeVidId))
-			throw new InvalidInputException("id");
+		if (request.getId() == null || !request.getId().equalsIgnoreCase(current.revokeVidId))
+			errors.add("id");
 
-		if (request.getVersion() == null || !request.getVersion().equalsIgnoreCase(version))
-			throw new InvalidInputException("version");
+		if (request.getVersion() == null || !request.getVersion().equalsIgnoreCase(current.version))
+			errors.add("version");
 
-		if (request.getRequest() == null)
-			throw new InvalidInputException("request");
+		if (request.getRequest() == null) {
+			errors.add("request");
+			throwIfInvalid(errors);
+		}
 	}
 
 	public boolean validateRequest(RequestWrapper<?> request, RequestIdType requestIdType) {
-		if (request.getId() == null || request.getId().isEmpty())
-			throw new InvalidInputException("id");
-		if (request.getVersion() == null || request.getVersion().isEmpty())
-			throw new InvalidInputException("version");
-		if (!request.getId().equals(map.get(requestIdType)))
-			throw new InvalidInputException("id");
-		if (!request.getVersion().equals(version))
-			throw new InvalidInputException("version");
+		List<String> errors = new ArrayList<>();
+		validateRequest(request.getId(), request.getVersion(), requestIdType, errors);
+		throwIfInvalid(errors);
 		return true;
-
 	}
 
 	public boolean validateRequest(BaseRequestDTO request, RequestIdType requestIdType) {
-		if (request.getId() == null || request.getId().isEmpty())
-			throw new InvalidInputException("id");
-		if (request.getVersion() == null || request.getVersion().isEmpty())
-			throw new InvalidInputException("version");
-		if (!request.getId().equals(map.get(requestIdType)))
-			throw new InvalidInputException("id");
-		if (!request.getVersion().equals(version))
-			throw new InvalidInputException("version");
+		List<String> errors = new ArrayList<>();
+		validateRequest(request.getId(), request.getVersion(), requestIdType, errors);
+		throwIfInvalid(errors);
 		return true;
+	}
+
+	private void validateRequest(String requestId, String requestVersion, RequestIdType requestIdType,
+			List<String> errors) {
+		Rules current = rules;
+		if (requestId == null || !requestId.equals(current.requestIds.get(requestIdType)))
+			errors.add("id");
+		if (requestVersion == null || !requestVersion.equals(current.version))
+			errors.add("version");
+	}
+
+	private static void throwIfInvalid(List<String> errors) {
+		if (!errors.isEmpty())
+			throw new InvalidInputException(String.join(", ", errors));
+	}
+
+	/**
+	 * The configured values the requests are checked against, compiled once.
+	 */
+	private static final class Rules {
+
+		private final Map<RequestIdType, String> requestIds;
 
+		private final String vidId;
+
+		private final String revokeVidId;
+
+		private final String version;
+
+		private final Set<String> authTypesAllowed;
+
+		private final Pattern phonePattern;
+
+		private final Pattern emailPattern;
+
+		private final int ridStatusBatchMaxSize;
+
+		private Rules(Map<RequestIdType, String> requestIds, String vidId, String revokeVidId, String version,
+				String authTypes, String phoneRegex, String emailRegex, int ridStatusBatchMaxSize) {
+			this.requestIds = Collections.unmodifiableMap(requestIds);
+			this.vidId = vidId;
+			this.revokeVidId = revokeVidId;
+			this.version = version;
+			this.authTypesAllowed = Collections
+					.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(authTypes.split(","))));
+			this.phonePattern = Pattern.compile(phoneRegex);
+			this.emailPattern = Pattern.compile(emailRegex);
+			this.ridStatusBatchMaxSize = ridStatusBatchMaxSize;
+		}
 	}
 
 }
@@ -0,0 +1,41 @@
+package io.mosip.resident.config;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class HttpClientConfigTest {
+
+	@Test
+	public void maxPerRouteIsKeptPerHostTest() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("IDAUTHCREATEVID", "https://int.mosip.io/idrepository/v1/vid");
+		environment.setProperty("GETUINBYVID", "https://int.mosip.io/idrepository/v1/vid");
+		environment.setProperty("SMSNOTIFIER", "http://notifier.mosip.io/notifier/sms/send");
+		environment.setProperty("resident.rest.client.max.per.route.IDAUTHCREATEVID", "20");
+		environment.setProperty("resident.rest.client.max.per.route.GETUINBYVID", "80");
+		environment.setProperty("resident.rest.client.max.per.route.SMSNOTIFIER", "5");
+		HttpClientConfig config = new HttpClientConfig();
+		ReflectionTestUtils.setField(config, "environment", environment);
+		ReflectionTestUtils.setField(config, "maxTotal", 200);
+		ReflectionTestUtils.setField(config, "defaultMaxPerRoute", 50);
+
+		PoolingHttpClientConnectionManager connectionManager = config.residentConnectionManager();
+		try {
+			// services on one host share its limit, the largest one wins
+			assertEquals(80, connectionManager
+					.getMaxPerRoute(new HttpRoute(new HttpHost("int.mosip.io", 443, "https"), null, true)));
+			assertEquals(5, connectionManager
+					.getMaxPerRoute(new HttpRoute(new HttpHost("notifier.mosip.io", 80, "http"), null, false)));
+			assertEquals(50, connectionManager
+					.getMaxPerRoute(new HttpRoute(new HttpHost("other.mosip.io", 443, "https"), null, true)));
+		} finally {
+			connectionManager.close();
+		}
+	}
+}
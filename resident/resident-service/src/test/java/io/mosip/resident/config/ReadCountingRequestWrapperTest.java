@@ -0,0 +1,46 @@
+package io.mosip.resident.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
+
+public class ReadCountingRequestWrapperTest {
+
+	private static final String BODY = "{\"id\":\"mosip.resident.euin\",\"version\":\"v1\",\"request\":{}}";
+
+	private ReadCountingRequestWrapper wrap(String body) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return new ReadCountingRequestWrapper(request);
+	}
+
+	@Test
+	public void inputStreamTest() throws IOException {
+		ReadCountingRequestWrapper wrapper = wrap(BODY);
+		assertFalse(wrapper.hasBody());
+		assertEquals(BODY, StreamUtils.copyToString(wrapper.getInputStream(), StandardCharsets.UTF_8));
+		assertTrue(wrapper.hasBody());
+	}
+
+	@Test
+	public void readerTest() throws IOException {
+		ReadCountingRequestWrapper wrapper = wrap(BODY);
+		assertEquals(BODY, FileCopyUtils.copyToString(wrapper.getReader()));
+		assertTrue(wrapper.hasBody());
+	}
+
+	@Test
+	public void noBodyTest() throws IOException {
+		ReadCountingRequestWrapper wrapper = wrap("");
+		StreamUtils.drain(wrapper.getInputStream());
+		assertFalse(wrapper.hasBody());
+	}
+}
@@ -0,0 +1,117 @@
+package io.mosip.resident.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import io.mosip.resident.util.JsonUtil;
+
+public class ResidentAsyncAppenderTest {
+
+	private LoggerContext loggerContext;
+
+	private ResidentAsyncAppender asyncAppender;
+
+	private Logger logger;
+
+	@Before
+	public void setUp() {
+		loggerContext = new LoggerContext();
+		asyncAppender = new ResidentAsyncAppender();
+		asyncAppender.setContext(loggerContext);
+		asyncAppender.setName("ASYNC");
+		logger = loggerContext.getLogger(ResidentAsyncAppenderTest.class);
+		logger.setLevel(Level.DEBUG);
+		logger.addAppender(asyncAppender);
+	}
+
+	@After
+	public void tearDown() {
+		asyncAppender.stop();
+		loggerContext.stop();
+	}
+
+	@Test
+	public void writesQueuedEventsOnStopTest() {
+		ListAppender<ILoggingEvent> listAppender = start(new ListAppender<>());
+		asyncAppender.setMaxBatchSize(3);
+		asyncAppender.start();
+		for (int i = 0; i < 10; i++)
+			logger.info("line {}", i);
+		asyncAppender.stop();
+		assertEquals(10, listAppender.list.size());
+		assertEquals("line 9", listAppender.list.get(9).getFormattedMessage());
+	}
+
+	@Test
+	public void dropsDebugWhenQueueIsNearlyFullTest() throws InterruptedException {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ListAppender<ILoggingEvent> listAppender = start(new ListAppender<>());
+		// holds the background thread in the first event, so the others stay queued
+		start(new AppenderBase<ILoggingEvent>() {
+			@Override
+			protected void append(ILoggingEvent event) {
+				blocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		asyncAppender.setQueueSize(4);
+		asyncAppender.setDiscardingThreshold(2);
+		asyncAppender.start();
+		logger.info("first");
+		assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		logger.info("info 1");
+		logger.info("info 2");
+		logger.info("info 3");
+		logger.debug("dropped");
+		logger.warn("warn");
+		release.countDown();
+		asyncAppender.stop();
+		assertEquals(6, listAppender.list.size());
+		assertEquals(Level.WARN, listAppender.list.get(1).getLevel());
+		assertTrue(listAppender.list.get(1).getFormattedMessage().startsWith("1 DEBUG log events dropped"));
+		assertEquals("warn", listAppender.list.get(5).getFormattedMessage());
+	}
+
+	@Test
+	public void jsonLayoutTest() throws Exception {
+		ResidentJsonLayout layout = new ResidentJsonLayout();
+		ListAppender<ILoggingEvent> listAppender = start(new ListAppender<>());
+		asyncAppender.start();
+		new KernelLoggerAdapter(logger).info("SESSIONID", "UIN", "3527812406", "line with \"quotes\"");
+		asyncAppender.stop();
+		JsonNode line = JsonUtil.readTree(layout.doLayout(listAppender.list.get(0)));
+		assertEquals("INFO", line.get("level").asText());
+		assertEquals(ResidentAsyncAppenderTest.class.getName(), line.get("logger").asText());
+		assertEquals("SESSIONID", line.get("sessionId").asText());
+		assertEquals("UIN", line.get("idType").asText());
+		assertEquals("3527812406", line.get("id").asText());
+		assertEquals("line with \"quotes\"", line.get("message").asText());
+	}
+
+	private <A extends AppenderBase<ILoggingEvent>> A start(A appender) {
+		appender.setContext(loggerContext);
+		appender.start();
+		asyncAppender.addAppender(appender);
+		return appender;
+	}
+}
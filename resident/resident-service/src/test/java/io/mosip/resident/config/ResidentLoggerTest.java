@@ -0,0 +1,104 @@
+package io.mosip.resident.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResidentLoggerTest {
+
+	@Mock
+	private Logger kernelLogger;
+
+	@Mock
+	private org.slf4j.Logger levels;
+
+	private ResidentLogger logger;
+
+	@Before
+	public void setUp() {
+		logger = new ResidentLogger(kernelLogger, levels);
+	}
+
+	@After
+	public void tearDown() {
+		ResidentLogger.setPayloadMaxChars(ResidentLogger.DEFAULT_PAYLOAD_MAX_CHARS);
+	}
+
+	@Test
+	public void disabledLevelSkipsMessageTest() {
+		when(levels.isDebugEnabled()).thenReturn(false);
+		Supplier<String> message = () -> {
+			throw new AssertionError("message built for a disabled level");
+		};
+		logger.debug("session", "UIN", "id", message);
+		verify(kernelLogger, never()).debug(anyString(), anyString(), anyString(), anyString());
+	}
+
+	@Test
+	public void enabledLevelWritesMessageTest() {
+		when(levels.isInfoEnabled()).thenReturn(true);
+		logger.info("session", "UIN", "id", () -> "message");
+		verify(kernelLogger).info("session", "UIN", "id", "message");
+	}
+
+	@Test
+	public void payloadMaskingTest() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("UIN", 3527812406L);
+		payload.put("email", "test@test.com");
+		String logged = ResidentLogger.payload(payload);
+		assertFalse(logged.contains("3527812406"));
+		assertTrue(logged.contains("*****2406"));
+		assertFalse(logged.contains("test@"));
+		assertTrue(logged.contains("t*****@test.com"));
+		assertEquals("RID status 2019-11-20", ResidentLogger.mask("RID status 2019-11-20"));
+	}
+
+	@Test
+	public void kernelLoggerMaskingTest() {
+		when(levels.isInfoEnabled()).thenReturn(true);
+		new KernelLoggerAdapter(levels).info("session", "UIN", "3527812406",
+				"sent to test@test.com for 3527812406");
+		verify(levels).info(KernelLoggerAdapter.MESSAGE_PATTERN, "session", "UIN", "*****2406",
+				"sent to t*****@test.com for *****2406");
+	}
+
+	@Test
+	public void payloadLengthTest() {
+		StringBuilder payload = new StringBuilder();
+		for (int i = 0; i < ResidentLogger.getPayloadMaxChars() + 10; i++)
+			payload.append('a');
+		String logged = ResidentLogger.payload(payload.toString());
+		assertTrue(logged.startsWith(payload.substring(0, ResidentLogger.getPayloadMaxChars())));
+		assertTrue(logged.endsWith("...(10 chars cut)"));
+	}
+
+	@Test
+	public void payloadLengthFromEnvironmentTest() {
+		Config config = new Config();
+		ReflectionTestUtils.setField(config, "environment",
+				new MockEnvironment().withProperty("resident.logging.payload.max.chars", "5"));
+		config.configureResidentLogger();
+		assertEquals("aaaaa...(2 chars cut)", ResidentLogger.payload("aaaaaaa"));
+	}
+}
@@ -0,0 +1,32 @@
+package io.mosip.resident.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.util.VirtualThreads;
+
+public class VirtualThreadTomcatCustomizerTest {
+
+	@Test
+	public void disabledTest() {
+		VirtualThreadTomcatCustomizer customizer = new VirtualThreadTomcatCustomizer();
+		ReflectionTestUtils.setField(customizer, "virtualThreads", false);
+		TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+		customizer.customize(factory);
+		assertTrue(factory.getTomcatConnectorCustomizers().isEmpty());
+	}
+
+	@Test
+	public void enabledTest() {
+		VirtualThreadTomcatCustomizer customizer = new VirtualThreadTomcatCustomizer();
+		ReflectionTestUtils.setField(customizer, "virtualThreads", true);
+		TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+		customizer.customize(factory);
+		// the worker pool is kept on runtimes without virtual threads
+		assertEquals(VirtualThreads.isSupported() ? 1 : 0, factory.getTomcatConnectorCustomizers().size());
+	}
+}
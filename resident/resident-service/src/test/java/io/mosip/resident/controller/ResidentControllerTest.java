@@ -6,12 +6,18 @@ package io.mosip.resident.controller;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -28,6 +34,8 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -35,10 +43,13 @@ import com.google.gson.GsonBuilder;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.resident.ResidentTestBootApplication;
 import io.mosip.resident.constant.IdType;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.AuthHistoryRequestDTO;
 import io.mosip.resident.dto.AuthHistoryResponseDTO;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
 import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchResponseDTO;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
 import io.mosip.resident.dto.RequestWrapper;
 import io.mosip.resident.dto.ResidentDocuments;
@@ -48,7 +59,10 @@ import io.mosip.resident.dto.ResidentUpdateRequestDto;
 import io.mosip.resident.dto.ResidentUpdateResponseDTO;
 import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.dto.ResponseWrapper;
+import io.mosip.resident.dto.RidStatusDTO;
+import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.service.ResidentService;
+import io.mosip.resident.util.UINCardDownloadService.UINCardWriter;
 import io.mosip.resident.validator.RequestValidator;
 
 /**
@@ -112,12 +126,43 @@ public class ResidentControllerTest {
 		RegStatusCheckResponseDTO dto = new RegStatusCheckResponseDTO();
 		dto.setRidStatus("PROCESSED");
 		Mockito.doReturn(dto).when(residentService).getRidStatus(Mockito.any());
-		this.mockMvc
-				.perform(post("/rid/check-status").contentType(MediaType.APPLICATION_JSON)
+		performAsync(post("/rid/check-status").contentType(MediaType.APPLICATION_JSON)
 						.content(authLockRequestToJson))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.response.ridStatus", is("PROCESSED")));
 	}
 
+	@Test
+	public void testGetRidStatusesSuccess() throws Exception {
+		RidStatusDTO ridStatus = new RidStatusDTO();
+		ridStatus.setIndividualId("10008200070004420191203104356");
+		ridStatus.setRidStatus("PROCESSED");
+		RegStatusCheckBatchResponseDTO dto = new RegStatusCheckBatchResponseDTO();
+		dto.setRidStatuses(Arrays.asList(ridStatus));
+		Mockito.doReturn(dto).when(residentService).getRidStatuses(Mockito.any());
+		RegStatusCheckBatchRequestDTO batchRequest = new RegStatusCheckBatchRequestDTO();
+		batchRequest.setIndividualIds(Arrays.asList("10008200070004420191203104356"));
+		RequestWrapper<RegStatusCheckBatchRequestDTO> requestWrapper = new RequestWrapper<>();
+		requestWrapper.setRequest(batchRequest);
+		performAsync(post("/rid/check-status/batch").contentType(MediaType.APPLICATION_JSON)
+						.content(gson.toJson(requestWrapper)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.response.ridStatuses[0].ridStatus", is("PROCESSED")));
+	}
+
+	@Test
+	public void testResponseHasRequestIdAndVersion() throws Exception {
+		ResponseDTO responseDto = new ResponseDTO();
+		responseDto.setStatus("success");
+		Mockito.doReturn(responseDto).when(residentService).reqAauthTypeStatusUpdate(Mockito.any(), Mockito.any());
+		authLockRequest.setId("mosip.resident.authlock");
+		authLockRequest.setVersion("v1");
+
+		performAsync(post("/req/auth-lock").contentType(MediaType.APPLICATION_JSON)
+						.content(gson.toJson(authLockRequest)))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.id", is("mosip.resident.authlock")))
+				.andExpect(jsonPath("$.version", is("v1")));
+	}
+
 	@Test
 	public void testRequestAuthLockSuccess() throws Exception {
 		ResponseDTO responseDto = new ResponseDTO();
@@ -125,8 +170,7 @@ public class ResidentControllerTest {
 		doNothing().when(validator).validateAuthLockOrUnlockRequest(Mockito.any(), Mockito.any());
 		Mockito.doReturn(responseDto).when(residentService).reqAauthTypeStatusUpdate(Mockito.any(), Mockito.any());
 
-		this.mockMvc
-				.perform(post("/req/auth-lock").contentType(MediaType.APPLICATION_JSON).content(authLockRequestToJson))
+		performAsync(post("/req/auth-lock").contentType(MediaType.APPLICATION_JSON).content(authLockRequestToJson))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.response.status", is("success")));
 	}
 
@@ -145,12 +189,37 @@ public class ResidentControllerTest {
 	@Test
 	public void testRequestEuinSuccess() throws Exception {
 		doNothing().when(validator).validateEuinRequest(Mockito.any());
-		Mockito.doReturn(new byte[10]).when(residentService).reqEuin(Mockito.any());
+		doAnswer(invocation -> {
+			UINCardWriter writer = invocation.getArgument(1);
+			writer.write(new ByteArrayInputStream(new byte[10]), 10);
+			return null;
+		}).when(residentService).reqEuin(Mockito.any(), Mockito.any());
 
 		MvcResult result = this.mockMvc
 				.perform(post("/req/euin").contentType(MediaType.APPLICATION_JSON).content(euinRequestToJson))
 				.andExpect(status().isOk()).andReturn();
 		assertEquals("application/pdf", result.getResponse().getContentType());
+		assertEquals(10, result.getResponse().getContentLength());
+		assertEquals(10, result.getResponse().getContentAsByteArray().length);
+	}
+
+	@Test
+	public void testRequestEuinFailureAfterCommit() throws Exception {
+		doNothing().when(validator).validateEuinRequest(Mockito.any());
+		doAnswer(invocation -> {
+			UINCardWriter writer = invocation.getArgument(1);
+			writer.write(new ByteArrayInputStream(new byte[10]), -1);
+			throw new ResidentServiceException(ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode(),
+					ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorMessage());
+		}).when(residentService).reqEuin(Mockito.any(), Mockito.any());
+
+		// the card is partly sent, so the failure is left to the container to abort the connection
+		try {
+			this.mockMvc.perform(post("/req/euin").contentType(MediaType.APPLICATION_JSON).content(euinRequestToJson));
+			fail();
+		} catch (Exception e) {
+			assertTrue(e.getCause() instanceof ResidentServiceException);
+		}
 	}
 
 	@Test
@@ -185,7 +254,7 @@ public class ResidentControllerTest {
 		Gson gson = new GsonBuilder().serializeNulls().create();
 		String requestAsString = gson.toJson(requestWrapper);
 
-		this.mockMvc.perform(post("/req/print-uin").contentType(MediaType.APPLICATION_JSON).content(requestAsString))
+		performAsync(post("/req/print-uin").contentType(MediaType.APPLICATION_JSON).content(requestAsString))
 				.andExpect(status().isOk());
 	}
 
@@ -196,9 +265,7 @@ public class ResidentControllerTest {
 		doNothing().when(validator).validateAuthLockOrUnlockRequest(Mockito.any(), Mockito.any());
 		Mockito.doReturn(responseDto).when(residentService).reqAauthTypeStatusUpdate(Mockito.any(), Mockito.any());
 
-		this.mockMvc
-				.perform(
-						post("/req/auth-unlock").contentType(MediaType.APPLICATION_JSON).content(authLockRequestToJson))
+		performAsync(post("/req/auth-unlock").contentType(MediaType.APPLICATION_JSON).content(authLockRequestToJson))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.response.status", is("success")));
 	}
 
@@ -232,9 +299,8 @@ public class ResidentControllerTest {
 		doNothing().when(validator).validateAuthHistoryRequest(Mockito.any());
 		Mockito.doReturn(responseDto).when(residentService).reqAuthHistory(Mockito.any());
 
-		this.mockMvc
-				.perform(
-						post("/req/auth-history").contentType(MediaType.APPLICATION_JSON).content(historyRequestToJson))
+		performAsync(
+				post("/req/auth-history").contentType(MediaType.APPLICATION_JSON).content(historyRequestToJson))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.response.message", is("success")));
 	}
 
@@ -267,8 +333,26 @@ public class ResidentControllerTest {
 		reqWrapper.setVersion("v1");
 		Mockito.when(residentService.reqUinUpdate(Mockito.any())).thenReturn(new ResidentUpdateResponseDTO());
 		String requestAsString = gson.toJson(reqWrapper);
-		this.mockMvc.perform(post("/req/update-uin").contentType(MediaType.APPLICATION_JSON).content(requestAsString))
+		performAsync(post("/req/update-uin").contentType(MediaType.APPLICATION_JSON).content(requestAsString))
 				.andExpect(status().isOk());
 
 	}
+
+	@Test
+	public void testServiceExceptionOnAsyncDispatch() throws Exception {
+		Mockito.doThrow(new ResidentServiceException(ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode(),
+				ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorMessage())).when(residentService)
+				.reqAuthHistory(Mockito.any());
+
+		MvcResult result = performAsync(
+				post("/req/auth-history").contentType(MediaType.APPLICATION_JSON).content(authLockRequestToJson))
+						.andExpect(status().isInternalServerError()).andReturn();
+		assertTrue(result.getResponse().getContentAsString()
+				.contains(ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode()));
+	}
+
+	private ResultActions performAsync(RequestBuilder builder) throws Exception {
+		MvcResult result = this.mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+		return this.mockMvc.perform(asyncDispatch(result));
+	}
 }
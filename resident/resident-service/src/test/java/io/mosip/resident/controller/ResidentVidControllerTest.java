@@ -33,14 +33,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.client.RestTemplate;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -122,7 +126,7 @@ public class ResidentVidControllerTest {
 		Gson gson = new GsonBuilder().serializeNulls().create();
 		String json = gson.toJson(getRequest());
 
-		this.mockMvc.perform(post("/vid").contentType(MediaType.APPLICATION_JSON).content(json))
+		performAsync(post("/vid").contentType(MediaType.APPLICATION_JSON).content(json))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.response.vid", is("12345")));
 	}
 
@@ -135,7 +139,7 @@ public class ResidentVidControllerTest {
 		Gson gson = new GsonBuilder().serializeNulls().create();
 		String json = gson.toJson(getRequest());
 
-		this.mockMvc.perform(post("/vid").contentType(MediaType.APPLICATION_JSON).content(json))
+		performAsync(post("/vid").contentType(MediaType.APPLICATION_JSON).content(json))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.errors[0].errorCode", is("RES-SER-004")));
 	}
 
@@ -148,7 +152,7 @@ public class ResidentVidControllerTest {
 		Gson gson = new GsonBuilder().serializeNulls().create();
 		String json = gson.toJson(getRequest());
 
-		this.mockMvc.perform(post("/vid").contentType(MediaType.APPLICATION_JSON).content(json))
+		performAsync(post("/vid").contentType(MediaType.APPLICATION_JSON).content(json))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.errors[0].errorCode", is("RES-SER-007")));
 	}
 
@@ -267,7 +271,7 @@ public class ResidentVidControllerTest {
 				.contentType(MediaType.APPLICATION_JSON_VALUE).accept(MediaType.APPLICATION_JSON_VALUE)
 				.characterEncoding("UTF-8");
 
-		this.mockMvc.perform(builder).andExpect(status().isOk())
+		performAsync(builder).andExpect(status().isOk())
 				.andExpect(jsonPath("$.response.message", is("Successful")));
 
 	}
@@ -285,7 +289,7 @@ public class ResidentVidControllerTest {
 				.content(json).contentType(MediaType.APPLICATION_JSON_VALUE).accept(MediaType.APPLICATION_JSON_VALUE)
 				.characterEncoding("UTF-8");
 
-		this.mockMvc.perform(builder).andExpect(status().isOk())
+		performAsync(builder).andExpect(status().isOk())
 				.andExpect(jsonPath("$.errors[0].errorCode", is("RES-RID-005")));
 
 	}
@@ -418,4 +422,9 @@ public class ResidentVidControllerTest {
 				.andExpect(jsonPath("$.errors[0].errorCode", is("RES-SER-009")));
 	}
 
+	private ResultActions performAsync(RequestBuilder builder) throws Exception {
+		MvcResult result = this.mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+		return this.mockMvc.perform(asyncDispatch(result));
+	}
+
 }
@@ -4,15 +4,18 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -29,8 +32,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -95,7 +100,7 @@ public class IdAuthServiceTest {
 	@Test
 	public void testAuthTypeStatusUpdateSuccess() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		AuthTypeStatusResponseDto authTypeStatusResponseDto = new AuthTypeStatusResponseDto();
-		when(restClient.postApi(any(), any(), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(authTypeStatusResponseDto);
 		List<String> authTypes = new ArrayList<>();
 		authTypes.add("bio-FIR");
 		boolean isUpdated = idAuthService.authTypeStatusUpdate("1234567891", "UIN", authTypes, AuthTypeStatus.LOCK);
@@ -105,7 +110,7 @@ public class IdAuthServiceTest {
 	@Test(expected = ApisResourceAccessException.class)
 	public void testAuthTypeStatusUpdateFailure() throws ApisResourceAccessException, ResidentServiceCheckedException {
 
-		when(restClient.postApi(any(), any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenThrow(new ApisResourceAccessException());
 		List<String> authTypes = new ArrayList<>();
 		authTypes.add("bio-FIR");
 		boolean isUpdated = idAuthService.authTypeStatusUpdate("1234567891", "UIN", authTypes, AuthTypeStatus.LOCK);
@@ -135,16 +140,15 @@ public class IdAuthServiceTest {
 		when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
 		when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn(request.getBytes());
 		when(tokenGenerator.getToken()).thenReturn("token");
-		when(restClient.getApi(any(), any(Class.class), any())).thenReturn(responseWrapper);
+		when(restClient.getApi(any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
 
 		doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
-		doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
 
 		when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
 
 		when(tokenGenerator.getToken()).thenReturn("token");
 
-		when(restClient.postApi(any(), any(), any(), any(Class.class), any())).thenReturn(response);
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(response);
 
 		boolean result = idAuthService.validateOtp(transactionID, individualId, individualIdType, otp);
 
@@ -170,16 +174,15 @@ public class IdAuthServiceTest {
 		when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
 		when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn(request.getBytes());
 		when(tokenGenerator.getToken()).thenReturn("token");
-		when(restClient.getApi(any(), any(Class.class), any())).thenReturn(responseWrapper);
+		when(restClient.getApi(any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
 
 		doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
-		doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
 
 		when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
 
 		when(tokenGenerator.getToken()).thenReturn("token");
 
-		when(restClient.postApi(any(), any(), any(), any(Class.class), any()))
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any()))
 				.thenThrow(new ApisResourceAccessException());
 
 		idAuthService.validateOtp(transactionID, individualId, individualIdType, otp);
@@ -207,19 +210,117 @@ public class IdAuthServiceTest {
 		when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
 		when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn(request.getBytes());
 		when(tokenGenerator.getToken()).thenReturn("token");
-		when(restClient.getApi(any(), any(Class.class), any())).thenReturn(responseWrapper);
+		when(restClient.getApi(any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
 
 		doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
-		doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
 
 		when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
 
 		when(tokenGenerator.getToken()).thenReturn("token");
 
-		when(restClient.postApi(any(), any(), any(), any(Class.class), any())).thenReturn(response);
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(response);
 
 		idAuthService.validateOtp(transactionID, individualId, individualIdType, otp);
 	}
+
+	@Test
+	public void validateOtpCachedPublicKeyTest()
+			throws IOException, ApisResourceAccessException, OtpValidationFailedException {
+		ReflectionTestUtils.setField(idAuthService, "publicKeyTtlSeconds", 3600L);
+		String request = "request";
+
+		IdAuthResponseDto authResponse = new IdAuthResponseDto();
+		authResponse.setAuthStatus(true);
+		AuthResponseDTO response = new AuthResponseDTO();
+		response.setResponse(authResponse);
+
+		PublicKeyResponseDto responseDto = new PublicKeyResponseDto();
+		responseDto.setPublicKey(
+				"MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEApGh1E3bppaeL8pznuRFx-diebah_ZIcIqs_uCJFvK-x2FkWi0F73tzTYYXE6R-peMmfgjMz8OVIcILEFylVpeQEPHy9ChNEhdSI861zSDbhW_aPPUMWgUOsMzD3b_b5IPLKODUWsGoeY2U8uwjLeVQjje89RK5z080C8SmhX0NRNPkfgX4K71kpqcP6ROKQMhHZ5m8ezdVb_AogndFx8Jw8A1CgIOPfFMY7z-l5UbH8afOydrtH2nShb5HAal5vX4tGOyv0KsZIrBR3YquNfw9vEzmHfrvt_0xrYubasbh3_Fnal57LY-GdQ7XKf9OPXJGDL4B85Z_gkbvefYhFflwIDAQAB");
+		responseDto.setExpiryAt(LocalDateTime.now(ZoneOffset.UTC).plusDays(30).toString());
+		ResponseWrapper<PublicKeyResponseDto> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(responseDto);
+
+		when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
+		when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn(request.getBytes());
+		when(tokenGenerator.getToken()).thenReturn("token");
+		when(restClient.getApi(any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
+		doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
+		when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(response);
+
+		assertTrue(idAuthService.validateOtp("12345", "individual", IdType.UIN.name(), "12345"));
+		assertTrue(idAuthService.validateOtp("12346", "individual", IdType.UIN.name(), "12345"));
+
+		verify(restClient, times(1)).getApi(any(), any(), any(ParameterizedTypeReference.class), any());
+	}
+
+	@Test
+	public void validateOtpDecryptionErrorTest()
+			throws IOException, ApisResourceAccessException, OtpValidationFailedException {
+		ReflectionTestUtils.setField(idAuthService, "publicKeyTtlSeconds", 3600L);
+		ReflectionTestUtils.setField(idAuthService, "decryptionErrorCodes", Arrays.asList("IDA-MPA-001"));
+		String request = "request";
+
+		AuthResponseDTO errorResponse = new AuthResponseDTO();
+		errorResponse.setErrors(Lists.newArrayList(new ErrorDTO("IDA-MPA-001", "Unable to decrypt the request")));
+		IdAuthResponseDto authResponse = new IdAuthResponseDto();
+		authResponse.setAuthStatus(true);
+		AuthResponseDTO response = new AuthResponseDTO();
+		response.setResponse(authResponse);
+
+		PublicKeyResponseDto responseDto = new PublicKeyResponseDto();
+		responseDto.setPublicKey(
+				"MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEApGh1E3bppaeL8pznuRFx-diebah_ZIcIqs_uCJFvK-x2FkWi0F73tzTYYXE6R-peMmfgjMz8OVIcILEFylVpeQEPHy9ChNEhdSI861zSDbhW_aPPUMWgUOsMzD3b_b5IPLKODUWsGoeY2U8uwjLeVQjje89RK5z080C8SmhX0NRNPkfgX4K71kpqcP6ROKQMhHZ5m8ezdVb_AogndFx8Jw8A1CgIOPfFMY7z-l5UbH8afOydrtH2nShb5HAal5vX4tGOyv0KsZIrBR3YquNfw9vEzmHfrvt_0xrYubasbh3_Fnal57LY-GdQ7XKf9OPXJGDL4B85Z_gkbvefYhFflwIDAQAB");
+		ResponseWrapper<PublicKeyResponseDto> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(responseDto);
+
+		when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
+		when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn(request.getBytes());
+		when(tokenGenerator.getToken()).thenReturn("token");
+		when(restClient.getApi(any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
+		doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
+		when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(errorResponse, response);
+
+		assertTrue(idAuthService.validateOtp("12345", "individual", IdType.UIN.name(), "12345"));
+
+		verify(restClient, times(2)).getApi(any(), any(), any(ParameterizedTypeReference.class), any());
+	}
+
+	@Test
+	public void validateOtpDecryptMessageNotRetriedTest() throws IOException, ApisResourceAccessException {
+		ReflectionTestUtils.setField(idAuthService, "publicKeyTtlSeconds", 3600L);
+		ReflectionTestUtils.setField(idAuthService, "decryptionErrorCodes", Arrays.asList("IDA-MPA-001"));
+		String request = "request";
+
+		AuthResponseDTO errorResponse = new AuthResponseDTO();
+		errorResponse.setErrors(Lists.newArrayList(new ErrorDTO("IDA-OTA-004", "Unable to decrypt the OTP")));
+
+		PublicKeyResponseDto responseDto = new PublicKeyResponseDto();
+		responseDto.setPublicKey(
+				"MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEApGh1E3bppaeL8pznuRFx-diebah_ZIcIqs_uCJFvK-x2FkWi0F73tzTYYXE6R-peMmfgjMz8OVIcILEFylVpeQEPHy9ChNEhdSI861zSDbhW_aPPUMWgUOsMzD3b_b5IPLKODUWsGoeY2U8uwjLeVQjje89RK5z080C8SmhX0NRNPkfgX4K71kpqcP6ROKQMhHZ5m8ezdVb_AogndFx8Jw8A1CgIOPfFMY7z-l5UbH8afOydrtH2nShb5HAal5vX4tGOyv0KsZIrBR3YquNfw9vEzmHfrvt_0xrYubasbh3_Fnal57LY-GdQ7XKf9OPXJGDL4B85Z_gkbvefYhFflwIDAQAB");
+		ResponseWrapper<PublicKeyResponseDto> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(responseDto);
+
+		when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
+		when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn(request.getBytes());
+		when(tokenGenerator.getToken()).thenReturn("token");
+		when(restClient.getApi(any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
+		doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
+		when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
+		when(restClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(errorResponse);
+
+		try {
+			idAuthService.validateOtp("12345", "individual", IdType.UIN.name(), "12345");
+			fail();
+		} catch (OtpValidationFailedException e) {
+			assertEquals("IDA-OTA-004", e.getErrorCode());
+		}
+
+		verify(restClient, times(1)).postApi(any(), any(), any(), any(), any(Class.class), any());
+		verify(restClient, times(1)).getApi(any(), any(), any(ParameterizedTypeReference.class), any());
+	}
 	
 	@Test
 	public void testGetAuthHistoryDetailsSuccess() throws ApisResourceAccessException {
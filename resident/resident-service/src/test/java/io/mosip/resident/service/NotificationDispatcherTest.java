@@ -0,0 +1,196 @@
+package io.mosip.resident.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.constant.IdType;
+import io.mosip.resident.constant.NotificationOutboxStatus;
+import io.mosip.resident.constant.NotificationTemplateCode;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.NotificationRequestDto;
+import io.mosip.resident.entity.NotificationOutboxEntity;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.repository.NotificationOutboxRepository;
+import io.mosip.resident.util.JsonUtil;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationDispatcherTest {
+
+	@InjectMocks
+	private NotificationDispatcher notificationDispatcher;
+
+	@Mock
+	private NotificationOutboxRepository outboxRepository;
+
+	@Mock
+	private NotificationDispatcher.Delivery delivery;
+
+	private NotificationRequestDto reqDto;
+
+	private NotificationOutboxEntity entity;
+
+	@Before
+	public void setUp() throws IOException, GeneralSecurityException {
+		ReflectionTestUtils.setField(notificationDispatcher, "key",
+				NotificationDispatcher.toKey("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="));
+		notificationDispatcher.setDelivery(delivery);
+		ReflectionTestUtils.setField(notificationDispatcher, "maxAttempts", 3);
+		ReflectionTestUtils.setField(notificationDispatcher, "initialBackoffSeconds", 30L);
+		ReflectionTestUtils.setField(notificationDispatcher, "maxBackoffSeconds", 100L);
+		Map<String, Object> additionalAttributes = new HashMap<>();
+		additionalAttributes.put("RID", "10008200070004420191203104356");
+		reqDto = new NotificationRequestDto("3527812406", IdType.UIN, NotificationTemplateCode.RS_UIN_RPR_SUCCESS,
+				additionalAttributes);
+		entity = new NotificationOutboxEntity();
+		entity.setId("1");
+		entity.setRequest(notificationDispatcher.encrypt(JsonUtil.writeValueAsString(reqDto)));
+		entity.setStatus(NotificationOutboxStatus.QUEUED);
+	}
+
+	@Test
+	public void deliverSuccessTest() throws ResidentServiceCheckedException {
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.eq(NotificationOutboxStatus.QUEUED),
+				Mockito.eq(NotificationOutboxStatus.IN_PROGRESS), Mockito.any())).thenReturn(1);
+		Mockito.when(outboxRepository.findById("1")).thenReturn(Optional.of(entity));
+		notificationDispatcher.deliver("1");
+		Mockito.verify(delivery, Mockito.times(1)).deliver(Mockito.eq(reqDto), Mockito.any());
+		Mockito.verify(outboxRepository, Mockito.times(1)).deleteById("1");
+	}
+
+	@Test
+	public void deliverAlreadyClaimedTest() throws ResidentServiceCheckedException {
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(0);
+		notificationDispatcher.deliver("1");
+		Mockito.verify(delivery, Mockito.never()).deliver(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void enqueueEncryptsRequestTest() throws ResidentServiceCheckedException, IOException,
+			GeneralSecurityException {
+		notificationDispatcher.enqueue(reqDto);
+		ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository).save(captor.capture());
+		String stored = captor.getValue().getRequest();
+		assertFalse(stored.contains("3527812406"));
+		assertFalse(stored.contains("10008200070004420191203104356"));
+		assertEquals(reqDto, JsonUtil.readValue(notificationDispatcher.decrypt(stored), NotificationRequestDto.class));
+	}
+
+	@Test
+	public void deliverPlaintextRequestTest() throws ResidentServiceCheckedException, IOException {
+		entity.setRequest(JsonUtil.writeValueAsString(reqDto));
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		Mockito.when(outboxRepository.findById("1")).thenReturn(Optional.of(entity));
+		notificationDispatcher.deliver("1");
+		Mockito.verify(delivery, Mockito.never()).deliver(Mockito.any(), Mockito.any());
+		ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository).save(captor.capture());
+		assertEquals(NotificationOutboxStatus.FAILED, captor.getValue().getStatus());
+	}
+
+	@Test
+	public void deliverRetryTest() throws ResidentServiceCheckedException {
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		Mockito.when(outboxRepository.findById("1")).thenReturn(Optional.of(entity));
+		Mockito.when(delivery.deliver(Mockito.any(), Mockito.any()))
+				.thenThrow(new ResidentServiceCheckedException(
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage()));
+		notificationDispatcher.deliver("1");
+		ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository).save(captor.capture());
+		assertEquals(NotificationOutboxStatus.QUEUED, captor.getValue().getStatus());
+		assertEquals(1, captor.getValue().getAttemptCount());
+	}
+
+	@Test
+	public void deliverRetriesExhaustedTest() throws ResidentServiceCheckedException {
+		entity.setAttemptCount(2);
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		Mockito.when(outboxRepository.findById("1")).thenReturn(Optional.of(entity));
+		Mockito.when(delivery.deliver(Mockito.any(), Mockito.any()))
+				.thenThrow(new ResidentServiceCheckedException(
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage()));
+		notificationDispatcher.deliver("1");
+		ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository).save(captor.capture());
+		assertEquals(NotificationOutboxStatus.FAILED, captor.getValue().getStatus());
+	}
+
+	@Test
+	public void deliverNotRetriableTest() throws ResidentServiceCheckedException {
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		Mockito.when(outboxRepository.findById("1")).thenReturn(Optional.of(entity));
+		Mockito.when(delivery.deliver(Mockito.any(), Mockito.any()))
+				.thenThrow(new ResidentServiceException(ResidentErrorCode.NOTIFICATION_FAILURE.getErrorCode(),
+						ResidentErrorCode.NOTIFICATION_FAILURE.getErrorMessage()));
+		notificationDispatcher.deliver("1");
+		ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository).save(captor.capture());
+		assertEquals(NotificationOutboxStatus.FAILED, captor.getValue().getStatus());
+	}
+
+	@Test
+	public void deliverRetriesOnlyFailedChannelTest() throws ResidentServiceCheckedException {
+		AtomicInteger smsPosted = new AtomicInteger();
+		AtomicInteger emailsPosted = new AtomicInteger();
+		notificationDispatcher.setDelivery((dto, sent) -> {
+			if (!sent.isEmail()) {
+				emailsPosted.incrementAndGet();
+				sent.emailSent();
+			}
+			if (!sent.isSms() && smsPosted.incrementAndGet() == 1)
+				throw new ResidentServiceCheckedException(
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage());
+			sent.smsSent();
+			return null;
+		});
+		Mockito.when(outboxRepository.updateStatus(Mockito.eq("1"), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		Mockito.when(outboxRepository.findById("1")).thenReturn(Optional.of(entity));
+		notificationDispatcher.deliver("1");
+		ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository).save(captor.capture());
+		assertEquals(NotificationOutboxStatus.QUEUED, captor.getValue().getStatus());
+		assertTrue(captor.getValue().isEmailSent());
+		assertFalse(captor.getValue().isSmsSent());
+
+		notificationDispatcher.deliver("1");
+		Mockito.verify(outboxRepository, Mockito.times(1)).deleteById("1");
+		assertEquals(2, smsPosted.get());
+		assertEquals(1, emailsPosted.get());
+	}
+
+	@Test
+	public void backoffTest() {
+		assertEquals(30L, notificationDispatcher.backoffSeconds(1));
+		assertEquals(60L, notificationDispatcher.backoffSeconds(2));
+		assertEquals(100L, notificationDispatcher.backoffSeconds(3));
+	}
+}
@@ -1,17 +1,18 @@
 package io.mosip.resident.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.io.IOUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,26 +21,27 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
-import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.constant.NotificationTemplateCode;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.NotificationRequestDto;
 import io.mosip.resident.dto.NotificationResponseDTO;
-import io.mosip.resident.dto.TemplateDto;
-import io.mosip.resident.dto.TemplateResponseDto;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.util.JsonUtil;
+import io.mosip.resident.util.NotificationTemplateStore;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.TokenGenerator;
 import io.mosip.resident.util.Utilitiy;
@@ -63,13 +65,17 @@ public class NotificationServiceTest {
 	private TokenGenerator tokenGenerator;
 
 	@Mock
-	private TemplateManager templateManager;
+	private NotificationTemplateStore templateStore;
 
 	@Mock
 	private RequestValidator requestValidator;
+
+	@Mock
+	private NotificationDispatcher notificationDispatcher;
 	private Map<String, Object> mailingAttributes;
 	private NotificationRequestDto reqDto;
 	private ResponseWrapper<NotificationResponseDTO> smsNotificationResponse;
+	private ExecutorService notificationExecutor;
 
 	private static final String SMS_EMAIL_SUCCESS = "Notification has been sent to the provided contact detail(s)";
 	private static final String SMS_SUCCESS = "Notification has been sent to the provided contact phone number";
@@ -89,6 +95,8 @@ public class NotificationServiceTest {
 		ReflectionTestUtils.setField(notificationService, "primaryLang", "eng");
 		ReflectionTestUtils.setField(notificationService, "secondaryLang", "ara");
 		ReflectionTestUtils.setField(notificationService, "notificationEmails", "test@test.com|test1@test1.com");
+		notificationExecutor = Executors.newFixedThreadPool(4);
+		ReflectionTestUtils.setField(notificationService, "notificationExecutor", notificationExecutor);
 		Mockito.when(tokenGenerator.getToken()).thenReturn("sbfdsafuadfkbdsf");
 		Mockito.when(env.getProperty(ApiName.EMAILNOTIFIER.name())).thenReturn("https://int.mosip.io/template/email");
 		Mockito.when(requestValidator.emailValidator(Mockito.anyString())).thenReturn(true);
@@ -98,32 +106,24 @@ public class NotificationServiceTest {
 		reqDto.setIdType(IdType.UIN);
 		reqDto.setTemplateTypeCode(NotificationTemplateCode.RS_UIN_RPR_SUCCESS);
 		reqDto.setAdditionalAttributes(additionalAttributes);
-		ResponseWrapper<TemplateResponseDto> primaryLangResp = new ResponseWrapper<>();
-		TemplateResponseDto primaryTemplateResp = new TemplateResponseDto();
-		TemplateDto primaryTemplateDto = new TemplateDto();
-		primaryTemplateDto.setDescription("re print uin");
-		primaryTemplateDto.setFileText(
-				"Hi $name_eng,Your request for \"Reprint Of UIN\" has been successfully placed. Your RID (Req Number) is $RID.");
-		List<TemplateDto> primaryTemplateList = new ArrayList<>();
-		primaryTemplateList.add(primaryTemplateDto);
-		primaryTemplateResp.setTemplates(primaryTemplateList);
-		primaryLangResp.setResponse(primaryTemplateResp);
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenReturn(primaryLangResp);
-
+		Mockito.when(templateStore.getTemplate(Mockito.any(), Mockito.any())).thenReturn("Reprint Of UIN");
 		String primaryTemplatetext = "Hi Test,Your request for \"Reprint Of UIN\" has been successfully placed. Your RID (Req Number) is 10008200070004420191203104356.";
-		InputStream primaryIs = new ByteArrayInputStream(primaryTemplatetext.getBytes(StandardCharsets.UTF_8));
-		Mockito.when(templateManager.merge(Mockito.any(), Mockito.any())).thenReturn(primaryIs);
+		Mockito.when(templateStore.merge(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(primaryTemplatetext);
 		smsNotificationResponse = new ResponseWrapper<>();
 		NotificationResponseDTO notificationResp = new NotificationResponseDTO();
 		notificationResp.setMessage("Notification has been sent to provided contact details");
 		notificationResp.setStatus("success");
 		smsNotificationResponse.setResponse(notificationResp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenReturn(smsNotificationResponse);
 
 	}
 
+	@After
+	public void tearDown() {
+		notificationExecutor.shutdownNow();
+	}
+
 	@Test
 	public void sendNotificationTest()
 			throws ApisResourceAccessException, ResidentServiceCheckedException, IOException {
@@ -132,6 +132,16 @@ public class NotificationServiceTest {
 
 	}
 
+	@Test
+	public void sendNotificationAllLanguagesTest() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		NotificationResponseDTO response = notificationService.sendNotification(reqDto);
+		assertEquals(SMS_EMAIL_SUCCESS, response.getMessage());
+		Mockito.verify(templateStore, Mockito.times(4)).merge(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(templateStore, Mockito.times(1)).getTemplate(Mockito.any(), Mockito.any());
+		Mockito.verify(restClient, Mockito.times(2)).postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+	}
+
 	@Test
 	public void smsFailedAndEmailSuccessTest() throws ResidentServiceCheckedException {
 		Mockito.when(requestValidator.phoneValidator(Mockito.anyString())).thenReturn(false);
@@ -155,19 +165,21 @@ public class NotificationServiceTest {
 		notificationResp.setMessage("Notification failure");
 		notificationResp.setStatus("failed");
 		smsNotificationResponse.setResponse(notificationResp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenReturn(smsNotificationResponse);
 
 		notificationService.sendNotification(reqDto);
 
 	}
 
-	@Test(expected = ResidentServiceException.class)
-	public void getTemplateNullResponseTest() throws ApisResourceAccessException, ResidentServiceCheckedException {
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenReturn(null);
-		notificationService.sendNotification(reqDto);
-
+	@Test
+	public void sendNotificationQueuedTest() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		Mockito.when(notificationDispatcher.isEnabled()).thenReturn(true);
+		NotificationResponseDTO response = notificationService.sendNotification(reqDto);
+		assertEquals("queued", response.getStatus());
+		Mockito.verify(notificationDispatcher, Mockito.times(1)).enqueue(reqDto);
+		Mockito.verify(restClient, Mockito.never()).postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
 	}
 
 	@Test(expected = ResidentServiceCheckedException.class)
@@ -177,45 +189,78 @@ public class NotificationServiceTest {
 	}
 
 	@Test(expected = ResidentServiceCheckedException.class)
-	public void testApiResourceClientErrorException()
-			throws ApisResourceAccessException, ResidentServiceCheckedException {
-		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
-		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", clientExp);
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+	public void templateMergeException() throws ResidentServiceCheckedException {
+		Mockito.when(templateStore.merge(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenThrow(new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage()));
 		notificationService.sendNotification(reqDto);
-
 	}
 
-	@Test(expected = ResidentServiceCheckedException.class)
-	public void testApiResourceServerException() throws ApisResourceAccessException, ResidentServiceCheckedException {
-		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
-		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", serverExp);
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenThrow(apiResourceAccessExp);
-		notificationService.sendNotification(reqDto);
+	@Test
+	public void smsTemplateMergeFailedSendsNothingTest() throws ApisResourceAccessException {
+		try {
+			Mockito.when(templateStore.merge(Mockito.any(),
+					Mockito.eq(NotificationTemplateCode.RS_UIN_RPR_SUCCESS + "_SMS"), Mockito.any()))
+					.thenThrow(new ResidentServiceCheckedException(
+							ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+							ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage()));
+			notificationService.sendNotification(reqDto);
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(restClient, Mockito.never()).postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
 	}
 
-	@Test(expected = ResidentServiceCheckedException.class)
-	public void testApiResourceUnknownException() throws ApisResourceAccessException, ResidentServiceCheckedException {
-		RuntimeException runTimeExp = new RuntimeException();
-		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("runtime exp", runTimeExp);
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenThrow(apiResourceAccessExp);
-		notificationService.sendNotification(reqDto);
+	@Test
+	public void smsGatewayFailedEmailSentTest() throws ApisResourceAccessException {
+		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any()))
+				.thenThrow(new ApisResourceAccessException("BadGateway", serverExp));
+		try {
+			notificationService.sendNotification(reqDto);
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(restClient, Mockito.times(1)).postApi(Mockito.any(), Mockito.any(),
+				Mockito.eq(MediaType.MULTIPART_FORM_DATA), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
 	}
 
-	@Test(expected = ResidentServiceCheckedException.class)
-	public void templateMergeIOException() throws IOException, ResidentServiceCheckedException {
-		Mockito.when(templateManager.merge(Mockito.any(), Mockito.any())).thenThrow(new IOException());
-		notificationService.sendNotification(reqDto);
+	@Test
+	public void smsGatewayFailedEmailNotResentTest() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any()))
+				.thenThrow(new ApisResourceAccessException("BadGateway", serverExp)).thenReturn(smsNotificationResponse);
+		NotificationDispatcher.SentChannels sent = new NotificationDispatcher.SentChannels();
+		try {
+			notificationService.deliverNotification(reqDto, sent);
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(), e.getErrorCode());
+		}
+		assertTrue(sent.isEmail());
+		assertFalse(sent.isSms());
+		NotificationResponseDTO response = notificationService.deliverNotification(reqDto, sent);
+		assertEquals(SMS_EMAIL_SUCCESS, response.getMessage());
+		assertTrue(sent.isSms());
+		Mockito.verify(restClient, Mockito.times(1)).postApi(Mockito.any(), Mockito.any(),
+				Mockito.eq(MediaType.MULTIPART_FORM_DATA), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+		Mockito.verify(restClient, Mockito.times(2)).postApi(Mockito.any(), Mockito.any(),
+				Mockito.eq(MediaType.APPLICATION_JSON), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
 	}
 
 	@Test(expected = ResidentServiceCheckedException.class)
 	public void sendSMSClientException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", clientExp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenThrow(apiResourceAccessExp);
 		notificationService.sendNotification(reqDto);
 
@@ -225,7 +270,7 @@ public class NotificationServiceTest {
 	public void sendSMSServerException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", serverExp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenThrow(apiResourceAccessExp);
 		notificationService.sendNotification(reqDto);
 	}
@@ -234,7 +279,7 @@ public class NotificationServiceTest {
 	public void sendSMSUnknownException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		RuntimeException runTimeExp = new RuntimeException();
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("runtime exp", runTimeExp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenThrow(apiResourceAccessExp);
 		notificationService.sendNotification(reqDto);
 //		JsonUtil.objectMapperReadValue(JsonUtil.objectMapperObjectToJson(resp.getResponse()),
@@ -246,7 +291,7 @@ public class NotificationServiceTest {
 	public void sendEmailClientException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", clientExp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenReturn(smsNotificationResponse).thenThrow(apiResourceAccessExp);
 		notificationService.sendNotification(reqDto);
 	}
@@ -255,7 +300,7 @@ public class NotificationServiceTest {
 	public void sendEmailServerException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", serverExp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenReturn(smsNotificationResponse).thenThrow(apiResourceAccessExp);
 		notificationService.sendNotification(reqDto);
 	}
@@ -264,7 +309,7 @@ public class NotificationServiceTest {
 	public void sendEmailUnknownException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		RuntimeException runTimeExp = new RuntimeException();
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("runtime exp", runTimeExp);
-		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class),
+		Mockito.when(restClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class),
 				Mockito.any())).thenReturn(smsNotificationResponse).thenThrow(apiResourceAccessExp);
 		notificationService.sendNotification(reqDto);
 	}
@@ -1,7 +1,12 @@
 package io.mosip.resident.service;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +17,7 @@ import org.mockito.Mockito;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import io.mosip.resident.constant.IdType;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.EuinRequestDTO;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.exception.ApisResourceAccessException;
@@ -21,6 +27,7 @@ import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.util.UINCardDownloadService;
+import io.mosip.resident.util.UINCardDownloadService.UINCardWriter;
 
 @RunWith(SpringRunner.class)
 public class ResidentServiceReqEUinTest {
@@ -35,12 +42,13 @@ public class ResidentServiceReqEUinTest {
 
 	@Mock
 	NotificationService notificationService;
-	byte[] card=new byte[10];
+	@Mock
+	private UINCardWriter writer;
 	
 	@Before
 	public void setup() throws ApisResourceAccessException, ResidentServiceCheckedException, OtpValidationFailedException {
 		Mockito.when(idAuthService.validateOtp(Mockito.anyString(),Mockito.anyString(),Mockito.anyString(),Mockito.anyString())).thenReturn(true);
-		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(), Mockito.anyString(), Mockito.any())).thenReturn(card);
+		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any())).thenReturn(true);
 		Mockito.when(notificationService.sendNotification(Mockito.any())).thenReturn(mock(NotificationResponseDTO.class));
 	}
 	
@@ -52,7 +60,8 @@ public class ResidentServiceReqEUinTest {
 		dto.setIndividualIdType(IdType.UIN);
 		dto.setIndividualId("123456789");
 		dto.setCardType("UIN");
-		assertEquals(card, residentServiceImpl.reqEuin(dto));
+		residentServiceImpl.reqEuin(dto, writer);
+		verify(uinCardDownloadService).getUINCard("123456789", "UIN", IdType.UIN, writer);
 	}
 	@Test
 	public void testReqEuinwithVID() throws ResidentServiceCheckedException {
@@ -62,32 +71,50 @@ public class ResidentServiceReqEUinTest {
 		dto.setIndividualIdType(IdType.VID);
 		dto.setIndividualId("123456789");
 		dto.setCardType("MASKED_UIN");
-		assertEquals(card, residentServiceImpl.reqEuin(dto));
+		residentServiceImpl.reqEuin(dto, writer);
 	}
 	@Test(expected=ResidentServiceException.class)
 	public void testReqEuinNull() throws ResidentServiceCheckedException, ApisResourceAccessException {
-		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(), Mockito.anyString(), Mockito.any())).thenReturn(null);
+		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any())).thenReturn(false);
 		EuinRequestDTO dto=new EuinRequestDTO();
 		dto.setOtp("1235");
 		dto.setTransactionID("1234567890");
 		dto.setIndividualIdType(IdType.VID);
 		dto.setIndividualId("123456789");
 		dto.setCardType("MASKED_UIN");
-		 residentServiceImpl.reqEuin(dto);
+		 residentServiceImpl.reqEuin(dto, writer);
 	}
 	@Test(expected=ResidentServiceException.class)
 	public void testReqEuinUINCardFetchFailed() throws ResidentServiceCheckedException, ApisResourceAccessException {
-		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(),Mockito.anyString(), Mockito.any())).thenThrow(new ApisResourceAccessException("Unable to fetch uin card"));
+		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(),Mockito.anyString(), Mockito.any(), Mockito.any())).thenThrow(new ApisResourceAccessException("Unable to fetch uin card"));
 		EuinRequestDTO dto=new EuinRequestDTO();
 		dto.setOtp("1235");
 		dto.setTransactionID("1234567890");
 		dto.setIndividualIdType(IdType.VID);
 		dto.setIndividualId("123456789");
 		dto.setCardType("MASKED_UIN");
-		assertEquals(card, residentServiceImpl.reqEuin(dto));
+		residentServiceImpl.reqEuin(dto, writer);
 	}
-	@Test(expected=ResidentServiceException.class)
+	@Test
+	public void testReqEuinUINCardWriteFailed() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		// the client went away, neither the print service nor the resident request failed
+		Mockito.when(uinCardDownloadService.getUINCard(Mockito.anyString(),Mockito.anyString(), Mockito.any(), Mockito.any())).thenThrow(new UncheckedIOException("Unable to write uin card", new IOException("Broken pipe")));
+		EuinRequestDTO dto=new EuinRequestDTO();
+		dto.setOtp("1235");
+		dto.setTransactionID("1234567890");
+		dto.setIndividualIdType(IdType.VID);
+		dto.setIndividualId("123456789");
+		dto.setCardType("MASKED_UIN");
+		try {
+			residentServiceImpl.reqEuin(dto, writer);
+			fail();
+		} catch (UncheckedIOException e) {
+			verify(notificationService, never()).sendNotification(Mockito.any());
+		}
+	}
+	@Test
 	public void testReqEuinSendNotificationFailed() throws ResidentServiceCheckedException, ApisResourceAccessException, ResidentServiceCheckedException {
+		// the card is already written to the committed response, so the failure is only logged
 		Mockito.when(notificationService.sendNotification(Mockito.any())).thenThrow(new ResidentServiceCheckedException());
 		EuinRequestDTO dto=new EuinRequestDTO();
 		dto.setOtp("1235");
@@ -95,7 +122,22 @@ public class ResidentServiceReqEUinTest {
 		dto.setIndividualIdType(IdType.VID);
 		dto.setIndividualId("123456789");
 		dto.setCardType("MASKED_UIN");
-		assertEquals(card, residentServiceImpl.reqEuin(dto));
+		residentServiceImpl.reqEuin(dto, writer);
+		verify(notificationService).sendNotification(Mockito.any());
+	}
+
+	@Test
+	public void testReqEuinSendNotificationInvalidContact() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		Mockito.when(notificationService.sendNotification(Mockito.any())).thenThrow(new ResidentServiceException(
+				ResidentErrorCode.NOTIFICATION_FAILURE.getErrorCode(), ResidentErrorCode.NOTIFICATION_FAILURE.getErrorMessage()));
+		EuinRequestDTO dto=new EuinRequestDTO();
+		dto.setOtp("1235");
+		dto.setTransactionID("1234567890");
+		dto.setIndividualIdType(IdType.UIN);
+		dto.setIndividualId("123456789");
+		dto.setCardType("UIN");
+		residentServiceImpl.reqEuin(dto, writer);
+		verify(uinCardDownloadService).getUINCard("123456789", "UIN", IdType.UIN, writer);
 	}
 	
 	@Test(expected=ResidentServiceException.class)
@@ -107,7 +149,7 @@ public class ResidentServiceReqEUinTest {
 		dto.setIndividualIdType(IdType.VID);
 		dto.setIndividualId("123456789");
 		dto.setCardType("MASKED_UIN");
-		residentServiceImpl.reqEuin(dto);
+		residentServiceImpl.reqEuin(dto, writer);
 	}
 	
 	@Test(expected=ResidentServiceException.class)
@@ -119,7 +161,7 @@ public class ResidentServiceReqEUinTest {
 		dto.setIndividualIdType(IdType.VID);
 		dto.setIndividualId("123456789");
 		dto.setCardType("MASKED_UIN");
-		residentServiceImpl.reqEuin(dto);
+		residentServiceImpl.reqEuin(dto, writer);
 	}
 	
 }
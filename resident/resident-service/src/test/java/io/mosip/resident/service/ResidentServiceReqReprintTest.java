@@ -12,6 +12,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -87,7 +88,7 @@ public class ResidentServiceReqReprintTest {
 		reprintResp.setStatus("success");
 		response.setResponse(reprintResp);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenReturn(response);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(response);
 		NotificationResponseDTO notificationResponse = new NotificationResponseDTO();
 		notificationResponse.setMessage("Notification sent to registered contact details");
 		notificationResponse.setStatus("success");
@@ -122,7 +123,7 @@ public class ResidentServiceReqReprintTest {
 		errorList.add(error);
 		response.setErrors(errorList);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenReturn(response);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(response);
 		residentServiceImpl.reqPrintUin(residentReqDto);
 
 	}
@@ -139,7 +140,7 @@ public class ResidentServiceReqReprintTest {
 			OtpValidationFailedException, ResidentServiceCheckedException {
 		HttpClientErrorException exp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
 		residentServiceImpl.reqPrintUin(residentReqDto);
 	}
 
@@ -148,7 +149,7 @@ public class ResidentServiceReqReprintTest {
 			OtpValidationFailedException, ResidentServiceCheckedException {
 		HttpServerErrorException exp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
 		residentServiceImpl.reqPrintUin(residentReqDto);
 	}
 
@@ -156,7 +157,7 @@ public class ResidentServiceReqReprintTest {
 	public void testApiResourceAccessExceptionUnknown() throws ApisResourceAccessException, IOException,
 			OtpValidationFailedException, ResidentServiceCheckedException {
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", new RuntimeException()));
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", new RuntimeException()));
 		residentServiceImpl.reqPrintUin(residentReqDto);
 	}
 
@@ -179,7 +180,7 @@ public class ResidentServiceReqReprintTest {
 		reprintResp.setStatus("success");
 		response.setResponse(reprintResp);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenReturn(response);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(response);
 		NotificationResponseDTO notificationResponse = new NotificationResponseDTO();
 		notificationResponse.setMessage("Notification sent to registered contact details");
 		notificationResponse.setStatus("success");
@@ -1,5 +1,8 @@
 package io.mosip.resident.service;
 
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -11,9 +14,11 @@ import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -26,6 +31,8 @@ import io.mosip.kernel.core.idvalidator.spi.UinValidator;
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.RegProcCommonResponseDto;
+import io.mosip.resident.dto.RegProcUpdateRequestDTO;
+import io.mosip.resident.dto.RequestWrapper;
 import io.mosip.resident.dto.ResidentDocuments;
 import io.mosip.resident.dto.ResidentUpdateRequestDto;
 import io.mosip.resident.dto.ResponseWrapper;
@@ -34,6 +41,7 @@ import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
+import io.mosip.resident.util.IdentityMappingProvider;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.TokenGenerator;
 import io.mosip.resident.util.Utilitiy;
@@ -63,6 +71,9 @@ public class ResidentServiceResUpdateTest {
 	@Mock
 	private Utilitiy utility;
 
+	@Mock
+	private IdentityMappingProvider identityMappingProvider;
+
 	ResidentUpdateRequestDto dto;
 
 	@Before
@@ -90,7 +101,8 @@ public class ResidentServiceResUpdateTest {
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
-		Mockito.when(utility.getMappingJson()).thenReturn(mappingJson);
+		Mockito.when(identityMappingProvider.getIdentityMapping())
+				.thenReturn(IdentityMappingProvider.parse(mappingJson));
 
 		Mockito.when(idAuthService.validateOtp(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
 				Mockito.anyString())).thenReturn(true);
@@ -102,7 +114,7 @@ public class ResidentServiceResUpdateTest {
 		response.setStatus("success");
 		responseWrapper.setResponse(response);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenReturn(responseWrapper);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(responseWrapper);
 		NotificationResponseDTO notificationResponse = new NotificationResponseDTO();
 		notificationResponse.setMessage("Notification sent");
 		notificationResponse.setStatus("success");
@@ -114,6 +126,26 @@ public class ResidentServiceResUpdateTest {
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void reqUinUpdateDocumentTest() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		residentServiceImpl.reqUinUpdate(dto);
+		ArgumentCaptor<RequestWrapper<RegProcUpdateRequestDTO>> request = ArgumentCaptor
+				.forClass(RequestWrapper.class);
+		Mockito.verify(residentServiceRestClient).postApi(Mockito.any(), Mockito.any(), Mockito.any(), request.capture(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+		RegProcUpdateRequestDTO regProcRequest = request.getValue().getRequest();
+		assertSame(dto.getDocuments().get(0).getValue(), regProcRequest.getProofOfAddress());
+		assertNull(regProcRequest.getProofOfIdentity());
+		assertSame(dto.getIdentityJson(), regProcRequest.getIdentityJson());
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void reqUinUpdateDocumentNotFoundTest() throws ResidentServiceCheckedException {
+		dto.getDocuments().get(0).setName("POA_Passport");
+		residentServiceImpl.reqUinUpdate(dto);
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void validateOtpException()
 			throws OtpValidationFailedException, IOException, ResidentServiceCheckedException {
@@ -139,7 +171,7 @@ public class ResidentServiceResUpdateTest {
 		errors.add(error);
 		responseWrapper.setErrors(errors);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenReturn(responseWrapper);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(responseWrapper);
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
@@ -148,7 +180,7 @@ public class ResidentServiceResUpdateTest {
 			OtpValidationFailedException, ResidentServiceCheckedException {
 		HttpClientErrorException exp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
@@ -157,7 +189,7 @@ public class ResidentServiceResUpdateTest {
 			OtpValidationFailedException, ResidentServiceCheckedException {
 		HttpServerErrorException exp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", exp));
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
@@ -165,7 +197,7 @@ public class ResidentServiceResUpdateTest {
 	public void testApiResourceAccessExceptionUnknown() throws ApisResourceAccessException, IOException,
 			OtpValidationFailedException, ResidentServiceCheckedException {
 		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", new RuntimeException()));
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(new ApisResourceAccessException("badgateway", new RuntimeException()));
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
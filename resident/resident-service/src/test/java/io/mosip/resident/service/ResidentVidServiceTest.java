@@ -1,6 +1,5 @@
 package io.mosip.resident.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.resident.constant.IdType;
@@ -22,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.test.context.ContextConfiguration;
 
@@ -33,7 +33,6 @@ import java.io.InputStream;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -41,8 +40,6 @@ import static org.mockito.Mockito.when;
 @ContextConfiguration
 public class ResidentVidServiceTest {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
-
     @Mock
     private Environment env;
 
@@ -58,9 +55,6 @@ public class ResidentVidServiceTest {
     @Mock
     private IdAuthService idAuthService;
 
-    @Mock
-    private ObjectMapper mapper;
-    
     @Mock
 	private Utilitiy utilitiy;
 
@@ -118,10 +112,8 @@ public class ResidentVidServiceTest {
         response.setResponsetime(DateUtils.getCurrentDateTimeString());
         response.setResponse(vidGeneratorResponseDto);
 
-        doReturn(objectMapper.writeValueAsString(vidGeneratorResponseDto)).when(mapper).writeValueAsString(any());
-        doReturn(vidGeneratorResponseDto).when(mapper).readValue(anyString(), any(Class.class));
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any(),
+        when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(ParameterizedTypeReference.class),
                 any())).thenReturn(response);
 
         ResponseWrapper<VidResponseDto> result = residentVidService.generateVid(requestDto);
@@ -151,7 +143,7 @@ public class ResidentVidServiceTest {
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
 
-        when(residentServiceRestClient.postApi(any(), any(), any(), any(),
+        when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(ParameterizedTypeReference.class),
                 any())).thenReturn(response);
 
         residentVidService.generateVid(requestDto);
@@ -172,7 +164,7 @@ public class ResidentVidServiceTest {
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
 
-        when(residentServiceRestClient.postApi(any(), any(), any(), any(),
+        when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(ParameterizedTypeReference.class),
                 any())).thenReturn(response);
 
         residentVidService.generateVid(requestDto);
@@ -193,7 +185,7 @@ public class ResidentVidServiceTest {
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
 
-        when(residentServiceRestClient.postApi(any(), any(), any(), any(),
+        when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(ParameterizedTypeReference.class),
                 any())).thenThrow(new ApisResourceAccessException());
 
         residentVidService.generateVid(requestDto);
@@ -215,10 +207,8 @@ public class ResidentVidServiceTest {
 		
 		when(utilitiy.retrieveIdrepoJson(anyString(), any())).thenReturn(JsonUtil.getJSONObject(identity, "identity"));
 	
-		doReturn(objectMapper.writeValueAsString(dto)).when(mapper).writeValueAsString(any());
-		doReturn(dto).when(mapper).readValue(anyString(), any(Class.class));
 		when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
-		when(residentServiceRestClient.postApi(any(), any(), any(), any(), any())).thenReturn(responseWrapper);
+		when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(ParameterizedTypeReference.class), any())).thenReturn(responseWrapper);
 
 		ResponseWrapper<VidRevokeResponseDTO> result2 = residentVidService.revokeVid(vidRevokeRequest,vid);
 
@@ -249,7 +239,7 @@ public class ResidentVidServiceTest {
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
         when(idAuthService.validateOtp(anyString(), anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
 
-        when(residentServiceRestClient.postApi(any(), any(), any(), any(),
+        when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(ParameterizedTypeReference.class),
                 any())).thenThrow(new ApisResourceAccessException());
 
         residentVidService.revokeVid(vidRevokeRequest,vid);
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -16,15 +17,21 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
 import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.ErrorDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchResponseDTO;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
 import io.mosip.resident.dto.RegistrationStatusDTO;
+import io.mosip.resident.dto.RegistrationStatusListResponseDTO;
+import io.mosip.resident.dto.RegistrationStatusRequestDTO;
 import io.mosip.resident.dto.RegistrationStatusResponseDTO;
 import io.mosip.resident.dto.RequestDTO;
+import io.mosip.resident.dto.RidStatusDTO;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.RIDInvalidException;
 import io.mosip.resident.exception.ResidentServiceException;
@@ -82,7 +89,7 @@ public class RidStatusServiceTest {
 		responseWrapper.setId("mosip.resident.status");
 		responseWrapper.setResponse(response);
 
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any())).thenReturn(responseWrapper);
+		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(responseWrapper);
 
 	}
 
@@ -114,6 +121,47 @@ public class RidStatusServiceTest {
 
 	}
 
+	@Test
+	public void getRidStatusesTest() throws ApisResourceAccessException, IOException {
+		ReflectionTestUtils.setField(residentService, "statusCheckChunkSize", 2);
+		Mockito.when(ridValidator.validateId("1000")).thenReturn(false);
+		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any()))
+				.thenAnswer(invocation -> {
+					RegistrationStatusRequestDTO request = invocation.getArgument(3);
+					String firstRid = request.getRequest().get(0).getRegistrationId();
+					if (firstRid.equals("1003"))
+						throw new ApisResourceAccessException("http server exp",
+								new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+					// only the first RID of the chunk is found
+					RegistrationStatusDTO status = new RegistrationStatusDTO();
+					status.setRegistrationId(firstRid);
+					status.setStatusCode("REJECTED");
+					RegistrationStatusListResponseDTO statuses = new RegistrationStatusListResponseDTO();
+					statuses.setResponse(Arrays.asList(status));
+					return statuses;
+				});
+
+		RegStatusCheckBatchResponseDTO result = residentService
+				.getRidStatuses(Arrays.asList("1001", "1000", "1002", "1001", "1003", "1004"));
+
+		// two searches for the four valid RIDs, the duplicate is checked once
+		Mockito.verify(residentServiceRestClient, Mockito.times(2)).postApi(any(), any(), any(), any(), any(Class.class),
+				any());
+		List<RidStatusDTO> ridStatuses = result.getRidStatuses();
+		assertEquals(5, ridStatuses.size());
+		assertEquals("1001", ridStatuses.get(0).getIndividualId());
+		assertEquals("REJECTED - PLEASE VISIT THE NEAREST CENTER FOR DETAILS.", ridStatuses.get(0).getRidStatus());
+		assertEquals(ResidentErrorCode.INVALID_RID_EXCEPTION.getErrorCode(),
+				ridStatuses.get(1).getError().getErrorCode());
+		assertEquals(ResidentErrorCode.NO_RID_FOUND_EXCEPTION.getErrorCode(),
+				ridStatuses.get(2).getError().getErrorCode());
+		assertEquals("1003", ridStatuses.get(3).getIndividualId());
+		assertEquals(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+				ridStatuses.get(3).getError().getErrorCode());
+		assertEquals(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+				ridStatuses.get(4).getError().getErrorCode());
+	}
+
 	@Test(expected = RIDInvalidException.class)
 	public void getRidStatusExceptionTest() throws ApisResourceAccessException {
 		try {
@@ -125,10 +173,10 @@ public class RidStatusServiceTest {
 			Mockito.when(ridValidator.validateId(Mockito.anyString())).thenReturn(true);
 		}
 		try {
-			Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any())).thenReturn(null);
+			Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any())).thenReturn(null);
 			residentService.getRidStatus(requestDTO);
 		} catch (RIDInvalidException e) {
-			Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any()))
+			Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any()))
 					.thenReturn(responseWrapper);
 		}
 		List<ErrorDTO> errors = new ArrayList<>();
@@ -150,7 +198,7 @@ public class RidStatusServiceTest {
 	@Test(expected = ResidentServiceException.class)
 	public void apiResourceClientExceptionTest() throws ApisResourceAccessException, IOException {
 		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any()))
+		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any()))
 				.thenThrow(new ApisResourceAccessException("http client exp", clientExp));
 		residentService.getRidStatus(requestDTO);
 	}
@@ -158,14 +206,14 @@ public class RidStatusServiceTest {
 	@Test(expected = ResidentServiceException.class)
 	public void apiResourceServerExceptionTest() throws ApisResourceAccessException, IOException {
 		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any()))
+		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any()))
 				.thenThrow(new ApisResourceAccessException("http client exp", serverExp));
 		residentService.getRidStatus(requestDTO);
 	}
 
 	@Test(expected = ResidentServiceException.class)
 	public void apiResourceUnknownExceptionTest() throws ApisResourceAccessException, IOException {
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any()))
+		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any(), any(Class.class), any()))
 				.thenThrow(new ApisResourceAccessException("http client exp", new RuntimeException()));
 		residentService.getRidStatus(requestDTO);
 	}
@@ -0,0 +1,145 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+
+public class AsyncRequestExecutorTest {
+
+	private MockHttpServletRequest request;
+
+	private AtomicReference<Runnable> task;
+
+	private AsyncRequestExecutor asyncRequestExecutor;
+
+	@Before
+	public void setUp() {
+		request = new MockHttpServletRequest("POST", "/resident/v1/req/update-uin");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		task = new AtomicReference<>();
+		ExecutorService apiExecutor = Mockito.mock(ExecutorService.class);
+		Mockito.doAnswer(invocation -> {
+			task.set(invocation.getArgument(0));
+			return null;
+		}).when(apiExecutor).execute(Mockito.any());
+		asyncRequestExecutor = new AsyncRequestExecutor();
+		ReflectionTestUtils.setField(asyncRequestExecutor, "apiExecutor", apiExecutor);
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void requestAttributesCompletedTest() throws Exception {
+		AtomicBoolean destroyed = new AtomicBoolean();
+		CompletableFuture<String> future = asyncRequestExecutor.submit(() -> {
+			RequestContextHolder.getRequestAttributes().registerDestructionCallback("identity",
+					() -> destroyed.set(true), RequestAttributes.SCOPE_REQUEST);
+			return "updated";
+		});
+		task.get().run();
+		assertEquals("updated", future.get());
+		assertTrue(destroyed.get());
+	}
+
+	@Test
+	public void timeoutBeforeStartTest() throws Exception {
+		AtomicBoolean called = new AtomicBoolean();
+		CompletableFuture<String> future = asyncRequestExecutor.submit(() -> {
+			called.set(true);
+			return "updated";
+		});
+		assertEquals(ResidentErrorCode.REQUEST_TIMED_OUT.getErrorCode(), timeout());
+		task.get().run();
+		assertFalse(called.get());
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void timeoutWhileProcessingTest() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicBoolean completed = new AtomicBoolean();
+		CompletableFuture<String> future = asyncRequestExecutor.submit(() -> {
+			started.countDown();
+			release.await();
+			completed.set(true);
+			return "updated";
+		});
+		Thread thread = new Thread(task.get());
+		thread.start();
+		started.await();
+		assertEquals(ResidentErrorCode.REQUEST_STILL_PROCESSING.getErrorCode(), timeout());
+		release.countDown();
+		thread.join();
+		// the call is not interrupted, it can not be undone downstream
+		assertTrue(completed.get());
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void attributesAfterTimeoutTest() throws Exception {
+		request.setAttribute("before", "submit");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Object> before = new AtomicReference<>();
+		AtomicBoolean destroyed = new AtomicBoolean();
+		asyncRequestExecutor.submit(() -> {
+			started.countDown();
+			release.await();
+			RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+			before.set(attributes.getAttribute("before", RequestAttributes.SCOPE_REQUEST));
+			attributes.setAttribute("identity", "cached", RequestAttributes.SCOPE_REQUEST);
+			attributes.registerDestructionCallback("identity", () -> destroyed.set(true),
+					RequestAttributes.SCOPE_REQUEST);
+			return "updated";
+		});
+		Thread thread = new Thread(task.get());
+		thread.start();
+		started.await();
+		assertEquals(ResidentErrorCode.REQUEST_STILL_PROCESSING.getErrorCode(), timeout());
+		// the answered request is recycled and reused by another one
+		request.clearAttributes();
+		request.setAttribute("next", "request");
+		release.countDown();
+		thread.join();
+		assertEquals("submit", before.get());
+		assertNull(request.getAttribute("identity"));
+		assertEquals("request", request.getAttribute("next"));
+		assertTrue(destroyed.get());
+	}
+
+	private String timeout() throws Exception {
+		DeferredResultProcessingInterceptor interceptor = WebAsyncUtils.getAsyncManager(request)
+				.getDeferredResultInterceptor(AsyncRequestExecutor.TIMEOUT_INTERCEPTOR);
+		DeferredResult<Object> deferredResult = new DeferredResult<>();
+		interceptor.handleTimeout(new ServletWebRequest(request), deferredResult);
+		return ((ResidentServiceException) deferredResult.getResult()).getErrorCode();
+	}
+}
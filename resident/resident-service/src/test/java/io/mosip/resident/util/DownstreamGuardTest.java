@@ -0,0 +1,163 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ApisResourceAccessException;
+
+public class DownstreamGuardTest {
+
+	private MockEnvironment environment;
+
+	private DownstreamGuard downstreamGuard;
+
+	@Before
+	public void setUp() {
+		environment = new MockEnvironment();
+		environment.setProperty(DownstreamGuard.MINIMUM_CALLS, "4");
+		environment.setProperty(DownstreamGuard.WINDOW_SIZE, "4");
+		environment.setProperty(DownstreamGuard.HALF_OPEN_CALLS, "1");
+		environment.setProperty(DownstreamGuard.MAX_CONCURRENT_CALLS + ".SMSNOTIFIER", "1");
+		downstreamGuard = new DownstreamGuard(environment);
+		downstreamGuard.reset();
+	}
+
+	@Test
+	public void circuitOpensOnFailuresTest() throws Exception {
+		downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> "sent");
+		downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> "sent");
+		failCall(ApiName.SMSNOTIFIER);
+		failCall(ApiName.SMSNOTIFIER);
+		assertEquals("OPEN", downstreamGuard.getStates().get("SMSNOTIFIER").get("state"));
+		try {
+			downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> {
+				throw new AssertionError("call let through an open circuit");
+			});
+			fail();
+		} catch (ApisResourceAccessException e) {
+			assertEquals(ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode(), e.getErrorCode());
+		}
+		// the other services are not affected
+		assertEquals("vid", downstreamGuard.execute(ApiName.IDAUTHCREATEVID, permit -> "vid"));
+		assertEquals("CLOSED", downstreamGuard.getStates().get("IDAUTHCREATEVID").get("state"));
+	}
+
+	@Test
+	public void clientErrorIsNotFailureTest() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			try {
+				downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> {
+					throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+				});
+				fail();
+			} catch (HttpClientErrorException e) {
+				// the exception of the call is rethrown
+			}
+		}
+		assertEquals("CLOSED", downstreamGuard.getStates().get("SMSNOTIFIER").get("state"));
+	}
+
+	@Test
+	public void halfOpenTrialClosesCircuitTest() throws Exception {
+		environment.setProperty(DownstreamGuard.OPEN_MILLIS, "0");
+		downstreamGuard.reset();
+		for (int i = 0; i < 4; i++)
+			failCall(ApiName.SMSNOTIFIER);
+		assertEquals("OPEN", downstreamGuard.getStates().get("SMSNOTIFIER").get("state"));
+		assertEquals("sent", downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> "sent"));
+		assertEquals("CLOSED", downstreamGuard.getStates().get("SMSNOTIFIER").get("state"));
+	}
+
+	@Test
+	public void bulkheadRejectsWhenFullTest() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> slowCall = executor.submit(() -> downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> {
+				started.countDown();
+				release.await();
+				return "sent";
+			}));
+			started.await();
+			assertEquals(0, downstreamGuard.getStates().get("SMSNOTIFIER").get("availableConcurrentCalls"));
+			try {
+				downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> "sent");
+				fail();
+			} catch (ApisResourceAccessException e) {
+				assertEquals(ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode(), e.getErrorCode());
+			}
+			release.countDown();
+			assertEquals("sent", slowCall.get());
+			assertEquals(1, downstreamGuard.getStates().get("SMSNOTIFIER").get("availableConcurrentCalls"));
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void servicesSharingUrlAreGuardedApartTest() throws Exception {
+		// both are called on /idrepository/v1/vid
+		for (int i = 0; i < 4; i++)
+			failCall(ApiName.IDAUTHCREATEVID);
+		assertEquals("OPEN", downstreamGuard.getStates().get("IDAUTHCREATEVID").get("state"));
+		assertEquals("revoked", downstreamGuard.execute(ApiName.IDAUTHREVOKEVID, permit -> "revoked"));
+		assertEquals("CLOSED", downstreamGuard.getStates().get("IDAUTHREVOKEVID").get("state"));
+	}
+
+	@Test
+	public void unnamedCallIsNotGuardedTest() throws Exception {
+		for (int i = 0; i < 4; i++)
+			failCall(null);
+		assertEquals("sent", downstreamGuard.execute(null, permit -> "sent"));
+		assertTrue(downstreamGuard.getStates().isEmpty());
+	}
+
+	@Test
+	public void releasedCallIsNotCountedTest() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			try {
+				downstreamGuard.execute(ApiName.SMSNOTIFIER, permit -> {
+					permit.release();
+					assertEquals(1, downstreamGuard.getStates().get("SMSNOTIFIER").get("availableConcurrentCalls"));
+					// e.g. the client went away while the response was streamed to it
+					throw new ResourceAccessException("Broken pipe");
+				});
+				fail();
+			} catch (ResourceAccessException e) {
+				// the exception of the call is rethrown
+			}
+		}
+		assertEquals("CLOSED", downstreamGuard.getStates().get("SMSNOTIFIER").get("state"));
+		assertEquals(1, downstreamGuard.getStates().get("SMSNOTIFIER").get("availableConcurrentCalls"));
+	}
+
+	private void failCall(ApiName apiName) throws Exception {
+		ResourceAccessException timeout = new ResourceAccessException("Read timed out");
+		try {
+			downstreamGuard.execute(apiName, permit -> {
+				throw timeout;
+			});
+			fail();
+		} catch (ResourceAccessException e) {
+			assertSame(timeout, e);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.constant.ApiName;
+
+public class DownstreamMetricsTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private DownstreamMetrics downstreamMetrics;
+
+	@Before
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		downstreamMetrics = new DownstreamMetrics(meterRegistry);
+	}
+
+	@Test
+	public void successTest() throws Exception {
+		String result = downstreamMetrics.record(ApiName.IDREPOGETIDBYUIN,
+				HttpMethod.GET, () -> {
+					assertEquals(1.0, meterRegistry.find(DownstreamMetrics.IN_FLIGHT).tags("api", "IDREPOGETIDBYUIN")
+							.gauge().value(), 0);
+					return "identity";
+				});
+		assertEquals("identity", result);
+		assertEquals(1, meterRegistry.find(DownstreamMetrics.REQUESTS)
+				.tags("api", "IDREPOGETIDBYUIN", "method", "GET", "outcome", "SUCCESS").timer().count());
+		assertEquals(0.0, meterRegistry.find(DownstreamMetrics.IN_FLIGHT).gauge().value(), 0);
+		assertNull(meterRegistry.find(DownstreamMetrics.ERRORS).counter());
+	}
+
+	@Test
+	public void errorTest() {
+		try {
+			downstreamMetrics.record(ApiName.INTERNALAUTH, HttpMethod.POST, () -> {
+				throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+			});
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof HttpServerErrorException);
+		}
+		assertEquals(1, meterRegistry.find(DownstreamMetrics.REQUESTS)
+				.tags("api", "INTERNALAUTH", "outcome", "SERVER_ERROR").timer().count());
+		assertEquals(1.0, meterRegistry.find(DownstreamMetrics.ERRORS)
+				.tags("api", "INTERNALAUTH", "exception", "HttpServerErrorException").counter().count(), 0);
+		assertEquals(0.0, meterRegistry.find(DownstreamMetrics.IN_FLIGHT).gauge().value(), 0);
+	}
+
+	@Test
+	public void callerApiNameTest() throws Exception {
+		// both services live under the same url, the caller tells them apart
+		downstreamMetrics.record(ApiName.IDAUTHCREATEVID, HttpMethod.POST, () -> "vid");
+		downstreamMetrics.record(ApiName.IDAUTHREVOKEVID, HttpMethod.POST, () -> "vid");
+		downstreamMetrics.record(null, HttpMethod.POST, () -> "other");
+		assertEquals(1, meterRegistry.find(DownstreamMetrics.REQUESTS).tags("api", "IDAUTHCREATEVID").timer().count());
+		assertEquals(1, meterRegistry.find(DownstreamMetrics.REQUESTS).tags("api", "IDAUTHREVOKEVID").timer().count());
+		assertEquals(1, meterRegistry.find(DownstreamMetrics.REQUESTS).tags("api", "UNKNOWN").timer().count());
+	}
+}
@@ -0,0 +1,155 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.resident.constant.ApiName;
+
+public class DownstreamRetryTest {
+
+	private MockEnvironment environment;
+
+	private ExecutorService hedgeExecutor;
+
+	private DownstreamRetry downstreamRetry;
+
+	@Before
+	public void setUp() {
+		environment = new MockEnvironment();
+		environment.setProperty(DownstreamRetry.MAX_ATTEMPTS, "3");
+		environment.setProperty(DownstreamRetry.BACKOFF_MILLIS, "1");
+		hedgeExecutor = Executors.newCachedThreadPool();
+		downstreamRetry = new DownstreamRetry(environment, hedgeExecutor);
+		downstreamRetry.reset();
+	}
+
+	@After
+	public void tearDown() {
+		hedgeExecutor.shutdownNow();
+	}
+
+	@Test
+	public void retriesUnavailableGetTest() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		String identity = downstreamRetry.execute(ApiName.IDREPOGETIDBYUIN, HttpMethod.GET, () -> {
+			if (calls.incrementAndGet() < 3)
+				throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+			return "identity";
+		});
+		assertEquals("identity", identity);
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void givesUpAfterMaxAttemptsTest() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ResourceAccessException timeout = new ResourceAccessException("Read timed out");
+		try {
+			downstreamRetry.execute(ApiName.IDREPOGETIDBYUIN, HttpMethod.GET, () -> {
+				calls.incrementAndGet();
+				throw timeout;
+			});
+			fail();
+		} catch (ResourceAccessException e) {
+			assertSame(timeout, e);
+		}
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void noRetryOfPostOrInternalServerErrorTest() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		try {
+			downstreamRetry.execute(ApiName.IDREPOGETIDBYUIN, HttpMethod.POST, () -> {
+				calls.incrementAndGet();
+				throw new ResourceAccessException("Read timed out");
+			});
+			fail();
+		} catch (ResourceAccessException e) {
+			assertEquals(1, calls.get());
+		}
+		try {
+			downstreamRetry.execute(ApiName.IDREPOGETIDBYUIN, HttpMethod.GET, () -> {
+				calls.incrementAndGet();
+				throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+			});
+			fail();
+		} catch (HttpServerErrorException e) {
+			assertEquals(2, calls.get());
+		}
+	}
+
+	@Test
+	public void retryBudgetTest() throws Exception {
+		environment.setProperty(DownstreamRetry.BUDGET_MAX_RETRIES, "1");
+		environment.setProperty(DownstreamRetry.BUDGET_RATIO_PERCENT, "0");
+		downstreamRetry.reset();
+		AtomicInteger calls = new AtomicInteger();
+		for (int i = 0; i < 2; i++) {
+			try {
+				downstreamRetry.execute(ApiName.IDREPOGETIDBYUIN, HttpMethod.GET, () -> {
+					calls.incrementAndGet();
+					throw new ResourceAccessException("Connection refused");
+				});
+				fail();
+			} catch (ResourceAccessException e) {
+				// expected
+			}
+		}
+		// one retry in the budget: two attempts for the first call, one for the second
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void hedgeTakesFirstResponseTest() throws Exception {
+		environment.setProperty(DownstreamRetry.HEDGE_ENABLED + ".IDREPOGETIDBYUIN", "true");
+		environment.setProperty(DownstreamRetry.HEDGE_DELAY_MILLIS, "10");
+		downstreamRetry.reset();
+		CountDownLatch straggler = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		AtomicInteger aborted = new AtomicInteger();
+		try {
+			String identity = downstreamRetry.execute(ApiName.IDREPOGETIDBYUIN, HttpMethod.GET, () -> {
+				DownstreamRetry.onAbort(aborted::incrementAndGet);
+				if (calls.incrementAndGet() == 1) {
+					DownstreamRetry.onAbort(straggler::countDown);
+					straggler.await();
+					return "straggler";
+				}
+				return "hedge";
+			});
+			assertEquals("hedge", identity);
+			assertEquals(2, calls.get());
+			// the straggler is aborted, the winner is not
+			assertEquals(1, aborted.get());
+			assertEquals(0, straggler.getCount());
+		} finally {
+			straggler.countDown();
+		}
+	}
+
+	@Test
+	public void latencyPercentileTest() {
+		DownstreamRetry.LatencyWindow latencies = new DownstreamRetry.LatencyWindow(100);
+		assertEquals(-1, latencies.percentile(95, 1));
+		for (int i = 1; i <= 150; i++)
+			latencies.add(i);
+		// the window holds the last 100 samples, 51 to 150
+		assertEquals(145, latencies.percentile(95, 20));
+	}
+}
@@ -0,0 +1,70 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.mosip.resident.constant.IdType;
+
+public class IdentityCacheTest {
+
+	private IdentityCache identityCache;
+
+	private JsonNode identity;
+
+	@Before
+	public void setUp() throws GeneralSecurityException, IOException {
+		identityCache = new IdentityCache();
+		ReflectionTestUtils.setField(identityCache, "ttlSeconds", 60L);
+		ReflectionTestUtils.setField(identityCache, "maxSize", 10);
+		identityCache.init();
+		identity = JsonUtil.readTree("{\"UIN\":3527812406,\"email\":\"test@test.com\"}");
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void identityTest() {
+		identityCache.putIdentity("3527812406", IdType.UIN, identity);
+		assertEquals(identity, identityCache.getIdentity("3527812406", IdType.UIN));
+		assertNull(identityCache.getIdentity("3527812406", IdType.RID));
+	}
+
+	@Test
+	public void invalidateByVidTest() {
+		identityCache.putUin("5628965106742572", "3527812406");
+		identityCache.putIdentity("3527812406", IdType.UIN, identity);
+		assertEquals("3527812406", identityCache.getUin("5628965106742572"));
+		identityCache.invalidateIdentity("5628965106742572", IdType.VID);
+		assertNull(identityCache.getIdentity("3527812406", IdType.UIN));
+		identityCache.invalidateVid("5628965106742572");
+		assertNull(identityCache.getUin("5628965106742572"));
+	}
+
+	@Test
+	public void requestScopeTest() throws GeneralSecurityException {
+		ReflectionTestUtils.setField(identityCache, "ttlSeconds", 0L);
+		identityCache.init();
+		identityCache.putIdentity("3527812406", IdType.UIN, identity);
+		assertNull(identityCache.getIdentity("3527812406", IdType.UIN));
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		identityCache.putIdentity("3527812406", IdType.UIN, identity);
+		assertEquals(identity, identityCache.getIdentity("3527812406", IdType.UIN));
+	}
+}
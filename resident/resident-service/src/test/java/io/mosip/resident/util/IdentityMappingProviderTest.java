@@ -0,0 +1,86 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import io.mosip.resident.dto.IdentityMapping;
+
+public class IdentityMappingProviderTest {
+
+	private static final String MAPPING_JSON = "{\"identity\":{\"name\":{\"value\":\"fullName\"}}}";
+
+	private RestTemplate restTemplate;
+
+	private IdentityMappingProvider identityMappingProvider;
+
+	@Before
+	public void setUp() {
+		restTemplate = Mockito.mock(RestTemplate.class);
+		identityMappingProvider = new IdentityMappingProvider();
+		ReflectionTestUtils.setField(identityMappingProvider, "restTemplate", restTemplate);
+		ReflectionTestUtils.setField(identityMappingProvider, "configServerFileStorageURL", "http://config/");
+		ReflectionTestUtils.setField(identityMappingProvider, "getRegProcessorIdentityJson", "identity.json");
+	}
+
+	@Test
+	public void concurrentCallersShareOneLoadTest() throws Exception {
+		CountDownLatch fetching = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger fetches = new AtomicInteger();
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+				Mockito.any(HttpEntity.class), Mockito.eq(String.class))).thenAnswer(invocation -> {
+					fetches.incrementAndGet();
+					fetching.countDown();
+					release.await();
+					return new ResponseEntity<>(MAPPING_JSON, HttpStatus.OK);
+				});
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<IdentityMapping> first = executor.submit(() -> identityMappingProvider.getIdentityMapping());
+			fetching.await();
+			Future<IdentityMapping> second = executor.submit(() -> identityMappingProvider.getIdentityMapping());
+			release.countDown();
+			assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+			assertEquals(1, fetches.get());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void notModifiedKeepsMappingTest() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"1\"");
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+				Mockito.any(HttpEntity.class), Mockito.eq(String.class)))
+				.thenReturn(new ResponseEntity<>(MAPPING_JSON, headers, HttpStatus.OK))
+				.thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+		identityMappingProvider.loadOnStartup();
+		IdentityMapping mapping = identityMappingProvider.getIdentityMapping();
+
+		identityMappingProvider.checkForUpdate();
+
+		assertSame(mapping, identityMappingProvider.getIdentityMapping());
+		Mockito.verify(restTemplate, Mockito.times(2)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+				Mockito.any(HttpEntity.class), Mockito.eq(String.class));
+	}
+}
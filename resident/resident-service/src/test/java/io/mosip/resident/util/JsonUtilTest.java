@@ -1,6 +1,7 @@
 package io.mosip.resident.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -13,6 +14,8 @@ import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.mosip.resident.dto.JsonValue;
 
 @RunWith(PowerMockRunner.class)
@@ -59,4 +62,14 @@ public class JsonUtilTest {
 
 	}
 
+	@Test
+	public void getLanguageValueTest() throws IOException {
+		JsonNode identity = JsonUtil.readTree(jsonString).get("identity");
+		assertEquals("firstName", JsonUtil.getLanguageValue(identity.get("fullName"), "eng"));
+		assertEquals("lastName", JsonUtil.getLanguageValue(identity.get("fullName"), "ara"));
+		assertNull(JsonUtil.getLanguageValue(identity.get("fullName"), "fra"));
+		assertNull(JsonUtil.getLanguageValue(identity.get("gender"), "eng"));
+		assertEquals("POI_Passport", JsonUtil.getValue(identity.get("proofOfIdentity")));
+	}
+
 }
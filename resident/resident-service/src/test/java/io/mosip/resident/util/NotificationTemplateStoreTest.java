@@ -0,0 +1,143 @@
+package io.mosip.resident.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.config.Config;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.dto.TemplateDto;
+import io.mosip.resident.dto.TemplateResponseDto;
+import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.exception.ResidentServiceException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationTemplateStoreTest {
+
+	@InjectMocks
+	private NotificationTemplateStore templateStore;
+
+	@Mock
+	private ResidentServiceRestClient restClient;
+
+	@Mock
+	private TokenGenerator tokenGenerator;
+
+	private ResponseWrapper<TemplateResponseDto> templateResponse;
+
+	@Before
+	public void setUp() throws IOException {
+		ReflectionTestUtils.setField(templateStore, "velocityEngine", new Config().velocityEngine());
+		ReflectionTestUtils.setField(templateStore, "ttlSeconds", 3600L);
+		ReflectionTestUtils.setField(templateStore, "maxSize", 10);
+		templateStore.init();
+		Mockito.when(tokenGenerator.getToken()).thenReturn("sbfdsafuadfkbdsf");
+
+		TemplateDto templateDto = new TemplateDto();
+		templateDto.setDescription("re print uin");
+		templateDto.setFileText("Hi $name_eng,Your request has been successfully placed. Your RID is $RID.");
+		List<TemplateDto> templates = new ArrayList<>();
+		templates.add(templateDto);
+		TemplateResponseDto templateResponseDto = new TemplateResponseDto();
+		templateResponseDto.setTemplates(templates);
+		templateResponse = new ResponseWrapper<>();
+		templateResponse.setResponse(templateResponseDto);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void mergeCachedTemplateTest() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(templateResponse);
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put("name_eng", "Test");
+		attributes.put("RID", "10008200070004420191203104356");
+
+		String first = templateStore.merge("eng", "RS_UIN_RPR_SUCCESS_SMS", attributes);
+		attributes.put("name_eng", "Other");
+		String second = templateStore.merge("eng", "RS_UIN_RPR_SUCCESS_SMS", attributes);
+
+		assertEquals("Hi Test,Your request has been successfully placed. Your RID is 10008200070004420191203104356.",
+				first);
+		assertEquals("Hi Other,Your request has been successfully placed. Your RID is 10008200070004420191203104356.",
+				second);
+		Mockito.verify(restClient, Mockito.times(1)).getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void invalidateAllTest() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(templateResponse);
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+		templateStore.invalidateAll();
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+		Mockito.verify(restClient, Mockito.times(2)).getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test(expected = ResidentServiceException.class)
+	public void getTemplateNullResponseTest() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(null);
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+	}
+
+	@Test(expected = ResidentServiceCheckedException.class)
+	public void tokenGenerationFailedException() throws IOException, ResidentServiceCheckedException {
+		Mockito.when(tokenGenerator.getToken()).thenThrow(new IOException());
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test(expected = ResidentServiceCheckedException.class)
+	public void testApiResourceClientErrorException()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
+		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", clientExp);
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test(expected = ResidentServiceCheckedException.class)
+	public void testApiResourceServerException() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", serverExp);
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test(expected = ResidentServiceCheckedException.class)
+	public void testApiResourceUnknownException() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("Unknown",
+				new RuntimeException());
+		Mockito.when(restClient.getApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+		templateStore.getTemplate("eng", "RS_UIN_RPR_SUCCESS_SMS");
+	}
+}
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
@@ -14,6 +15,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -24,18 +26,23 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.AutnTxnResponseDto;
+import io.mosip.resident.dto.ResponseWrapper;
 import io.mosip.resident.exception.ApisResourceAccessException;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -48,6 +55,9 @@ public class ResidentServiceRestClientTests {
 
 	@Mock
 	Environment environment;
+
+	@Mock
+	TokenGenerator tokenGenerator;
 	
 	RestTemplate restTemplate;
 	
@@ -56,6 +66,13 @@ public class ResidentServiceRestClientTests {
 	@Before 
 	public void setup() {
 		 restTemplate = mock( RestTemplate.class);
+		 DownstreamMetrics downstreamMetrics = new DownstreamMetrics(new SimpleMeterRegistry());
+		 ReflectionTestUtils.setField(residentServiceRestClient, "downstreamMetrics", downstreamMetrics);
+		 ReflectionTestUtils.setField(residentServiceRestClient, "downstreamGuard",
+				 new DownstreamGuard(environment));
+		 DownstreamRetry downstreamRetry = new DownstreamRetry(environment, Executors.newCachedThreadPool());
+		 downstreamRetry.reset();
+		 ReflectionTestUtils.setField(residentServiceRestClient, "downstreamRetry", downstreamRetry);
 		
 		 
 		
@@ -95,7 +112,7 @@ public class ResidentServiceRestClientTests {
 		
 		when(environment.getProperty(any(String.class))).thenReturn("https://int.mosip.io/");
 		ResidentServiceRestClient client=Mockito.spy(residentServiceRestClient);
-		doReturn(autnTxnResponseDto).when(client).getApi(any(),any(),any());
+		doReturn(autnTxnResponseDto).when(client).getApi(any(), any(), any(Class.class), any());
 		List<String> list=new ArrayList<>();
 		list.add("individualIdType");
 		list.add("UIN");
@@ -112,7 +129,7 @@ public class ResidentServiceRestClientTests {
 		
 		when(environment.getProperty(any(String.class))).thenReturn("https://int.mosip.io/");
 		ResidentServiceRestClient client=Mockito.spy(residentServiceRestClient);
-		doThrow(new ApisResourceAccessException()).when(client).getApi(any(),any(),any());
+		doThrow(new ApisResourceAccessException()).when(client).getApi(any(), any(), any(Class.class), any());
 		List<String> list=new ArrayList<>();
 		list.add("individualIdType");
 		list.add("UIN");
@@ -136,6 +153,39 @@ public class ResidentServiceRestClientTests {
 		
 		assertTrue(client.postApi("https://int.mosip.io/individualIdType/UIN/individualId/1234",MediaType.APPLICATION_JSON,autnTxnResponseDto, AutnTxnResponseDto.class, "abcde").toString().contains("ancd"));
 	}
+
+	@Test
+	public void testpostApiTypedResponse() throws ApisResourceAccessException {
+		AutnTxnResponseDto autnTxnResponseDto=new AutnTxnResponseDto();
+		autnTxnResponseDto.setId("ancd");
+		ResponseWrapper<AutnTxnResponseDto> responseWrapper=new ResponseWrapper<>();
+		responseWrapper.setResponse(autnTxnResponseDto);
+		ParameterizedTypeReference<ResponseWrapper<AutnTxnResponseDto>> responseType=new ParameterizedTypeReference<ResponseWrapper<AutnTxnResponseDto>>() {
+		};
+
+		ResidentServiceRestClient client=Mockito.spy(residentServiceRestClient);
+		doReturn(restTemplate).when(client).getRestTemplate();
+		when(restTemplate.exchange(any(String.class),Mockito.eq(HttpMethod.POST),any(),Mockito.eq(responseType))).
+		thenReturn(new ResponseEntity<>(responseWrapper, HttpStatus.OK));
+
+		ResponseWrapper<AutnTxnResponseDto> response=client.postApi("https://int.mosip.io/individualIdType/UIN/individualId/1234",MediaType.APPLICATION_JSON,autnTxnResponseDto, responseType, "abcde");
+		assertEquals("ancd", response.getResponse().getId());
+	}
+
+	@Test
+	public void testpostApiRetryOnUnauthorized() throws Exception {
+		AutnTxnResponseDto autnTxnResponseDto=new AutnTxnResponseDto();
+		autnTxnResponseDto.setId("ancd");
+
+		ResidentServiceRestClient client=Mockito.spy(residentServiceRestClient);
+		doReturn(restTemplate).when(client).getRestTemplate();
+		when(tokenGenerator.getToken()).thenReturn("fghij");
+		when(restTemplate.postForObject(any(String.class),any(),Matchers.<Class<AutnTxnResponseDto>>any())).
+		thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED)).thenReturn(autnTxnResponseDto);
+
+		assertTrue(client.postApi("https://int.mosip.io/individualIdType/UIN/individualId/1234",MediaType.APPLICATION_JSON,autnTxnResponseDto, AutnTxnResponseDto.class, "abcde").toString().contains("ancd"));
+		verify(tokenGenerator).invalidateToken("abcde");
+	}
 	@Test(expected=ApisResourceAccessException.class)
 	public void testpostApiException() throws KeyManagementException, NoSuchAlgorithmException, KeyStoreException, ApisResourceAccessException {
 		AutnTxnResponseDto autnTxnResponseDto=new AutnTxnResponseDto();
@@ -205,7 +255,9 @@ public class ResidentServiceRestClientTests {
 	}
 	@Test
 	public void testgetRestTemplate() throws KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
-		when(environment.getActiveProfiles()).thenReturn(new String[10]);
+		RestTemplate pooledRestTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+		ReflectionTestUtils.setField(residentServiceRestClient, "restTemplate", pooledRestTemplate);
 		assertEquals(residentServiceRestClient.getRestTemplate().getRequestFactory().getClass(),HttpComponentsClientHttpRequestFactory.class);
+		assertTrue(residentServiceRestClient.getRestTemplate() == residentServiceRestClient.getRestTemplate());
 	} 
 }
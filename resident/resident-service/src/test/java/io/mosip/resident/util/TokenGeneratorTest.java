@@ -4,7 +4,6 @@ import io.mosip.resident.exception.TokenGenerationFailedException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHeader;
 import org.junit.Assert;
 import org.junit.Before;
@@ -12,24 +11,21 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ HttpClientBuilder.class })
 public class TokenGeneratorTest {
 
-    @Mock
-    private HttpClientBuilder httpClientBuilder;
-
     @Mock
     private CloseableHttpClient httpClient;
 
@@ -52,9 +48,6 @@ public class TokenGeneratorTest {
         when(environment.getProperty("KERNELAUTHMANAGER")).thenReturn("http://localhost:8080");
         when(environment.getProperty("token.request.id")).thenReturn("RequestId");
         when(environment.getProperty("token.request.id")).thenReturn("RequestId");
-        mockStatic(HttpClientBuilder.class);
-        when(HttpClientBuilder.create()).thenReturn(httpClientBuilder);
-        when(httpClientBuilder.build()).thenReturn(httpClient);
         when(httpClient.execute(any())).thenReturn(response);
     }
 
@@ -93,4 +86,33 @@ public class TokenGeneratorTest {
 
         tokenGenerator.getToken();
     }
+
+    @Test
+    public void getTokenCachedTest() throws IOException {
+        ReflectionTestUtils.setField(tokenGenerator, "defaultTtlSeconds", 600L);
+        org.apache.http.HttpEntity entity = new StringEntity("token", null, null);
+        BasicHeader[] headers = { new BasicHeader("Set-Cookie", "token;") };
+
+        when(response.getEntity()).thenReturn(entity);
+        when(response.getHeaders("Set-Cookie")).thenReturn(headers);
+
+        Assert.assertEquals("token", tokenGenerator.getToken());
+        Assert.assertEquals("token", tokenGenerator.getToken());
+        verify(httpClient, times(1)).execute(any());
+    }
+
+    @Test
+    public void invalidateTokenTest() throws IOException {
+        ReflectionTestUtils.setField(tokenGenerator, "defaultTtlSeconds", 600L);
+        BasicHeader[] headers = { new BasicHeader("Set-Cookie", "token;") };
+
+        when(response.getEntity()).thenReturn(new StringEntity("token", null, null),
+                new StringEntity("token", null, null));
+        when(response.getHeaders("Set-Cookie")).thenReturn(headers);
+
+        tokenGenerator.getToken();
+        tokenGenerator.invalidateToken("token");
+        tokenGenerator.getToken();
+        verify(httpClient, times(2)).execute(any());
+    }
 }
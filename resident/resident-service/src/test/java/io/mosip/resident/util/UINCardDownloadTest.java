@@ -1,7 +1,14 @@
 package io.mosip.resident.util;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -9,6 +16,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseExtractor;
 
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.exception.ApisResourceAccessException;
@@ -26,15 +38,56 @@ public class UINCardDownloadTest {
 	@InjectMocks
 	UINCardDownloadService uinCardDownloadService;
 	byte[] arr= new byte[10];
+	ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(uinCardDownloadService, "maxCardSize", 10L);
+	}
+
 	@Test
 	public void testgetUINCard() throws ApisResourceAccessException {
-		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(arr);
-		assertEquals(arr,uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN));
+		mockPrintResponse(arr);
+		assertTrue(uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN,
+				(card, contentLength) -> StreamUtils.copy(card, written)));
+		assertArrayEquals(arr, written.toByteArray());
+	}
+	@Test
+	public void testgetUINCardEmpty() throws ApisResourceAccessException {
+		mockPrintResponse(new byte[0]);
+		assertFalse(uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN,
+				(card, contentLength) -> StreamUtils.copy(card, written)));
+	}
+	@Test(expected=ApisResourceAccessException.class)
+	public void testgetUINCardTooLarge() throws ApisResourceAccessException {
+		mockPrintResponse(new byte[11]);
+		uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN,
+				(card, contentLength) -> StreamUtils.copy(card, written));
+	}
+	@Test(expected=UncheckedIOException.class)
+	public void testgetUINCardWriteFailure() throws ApisResourceAccessException {
+		mockPrintResponse(arr);
+		uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN, (card, contentLength) -> {
+			throw new IOException("Broken pipe");
+		});
 	}
 	@Test(expected=ApisResourceAccessException.class)
 	public void testgetUINCardFailure() throws ApisResourceAccessException {
-		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(new ApisResourceAccessException());
-		uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN);
+		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(ResponseExtractor.class), Mockito.any())).thenThrow(new ApisResourceAccessException());
+		uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN,
+				(card, contentLength) -> StreamUtils.copy(card, written));
+	}
+
+	private void mockPrintResponse(byte[] body) throws ApisResourceAccessException {
+		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(ResponseExtractor.class), Mockito.any())).thenAnswer(invocation -> {
+					ResponseExtractor<?> extractor = invocation.getArgument(4);
+					try {
+						return extractor.extractData(new MockClientHttpResponse(body, HttpStatus.OK));
+					} catch (IOException e) {
+						throw new ApisResourceAccessException("Exception occured while accessing print", e);
+					}
+				});
 	}
 
 }
@@ -1,6 +1,7 @@
 package io.mosip.resident.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -18,25 +19,27 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.IdType;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.IdRepoResponseDto;
+import io.mosip.resident.dto.IdentityMapping;
 import io.mosip.resident.dto.VidGeneratorResponseDto;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.IdRepoAppException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ JsonUtil.class })
 public class UtilityTest {
 	@Mock
 	private ResidentServiceRestClient residentServiceRestClient;
@@ -44,6 +47,12 @@ public class UtilityTest {
 	@Mock
 	private TokenGenerator tokenGenerator;
 
+	@Mock
+	private IdentityMappingProvider identityMappingProvider;
+
+	@Mock
+	private IdentityCache identityCache;
+
 	@InjectMocks
 	private Utilitiy utility;
 	private JSONObject identity;
@@ -58,13 +67,11 @@ public class UtilityTest {
 		ResponseWrapper<IdRepoResponseDto> response = new ResponseWrapper<>();
 		IdRepoResponseDto idRepoResponseDto = new IdRepoResponseDto();
 		idRepoResponseDto.setStatus("Activated");
-		idRepoResponseDto.setIdentity(JsonUtil.getJSONObject(identity, "identity"));
+		idRepoResponseDto.setIdentity(JsonUtil.readTree(idJsonString).get("identity"));
 		response.setResponse(idRepoResponseDto);
 		Mockito.when(residentServiceRestClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenReturn(response);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(response);
 		Mockito.when(tokenGenerator.getToken()).thenReturn("abcdefghijklmn");
-		ReflectionTestUtils.setField(utility, "configServerFileStorageURL", "url");
-		ReflectionTestUtils.setField(utility, "getRegProcessorIdentityJson", "json");
 		ReflectionTestUtils.setField(utility, "languageType", "BOTH");
 		ReflectionTestUtils.setField(utility, "primaryLang", "eng");
 		ReflectionTestUtils.setField(utility, "secondaryLang", "ara");
@@ -88,19 +95,32 @@ public class UtilityTest {
 		vidResponse.setVidStatus("Active");
 		ResponseWrapper<VidGeneratorResponseDto> response = new ResponseWrapper<>();
 		response.setResponse(vidResponse);
-		Mockito.when(residentServiceRestClient.getApi(ApiName.GETUINBYVID, pathsegments, null, null,
-				ResponseWrapper.class, "abcdefghijklmn")).thenReturn(response);
+		Mockito.when(residentServiceRestClient.getApi(Mockito.eq(ApiName.GETUINBYVID), Mockito.eq(pathsegments),
+				Mockito.isNull(), Mockito.isNull(), Mockito.any(ParameterizedTypeReference.class),
+				Mockito.eq("abcdefghijklmn"))).thenReturn(response);
 		JSONObject jsonUsingVID = utility.retrieveIdrepoJson("5628965106742572", IdType.VID);
 		assertEquals(jsonUsingVID.get("UIN"), JsonUtil.getJSONObject(identity, "identity").get("UIN"));
 
 	}
 
+	@Test
+	public void retrieveIdrepoJsonCachedTest() throws ResidentServiceCheckedException, ApisResourceAccessException {
+		JSONObject cachedIdentity = JsonUtil.getJSONObject(identity, "identity");
+		Mockito.when(identityCache.getUin("5628965106742572")).thenReturn("3527812406");
+		Mockito.when(identityCache.getIdentity("3527812406", IdType.UIN))
+				.thenReturn(JsonUtil.convertValue(cachedIdentity, JsonNode.class));
+		JSONObject jsonUsingVID = utility.retrieveIdrepoJson("5628965106742572", IdType.VID);
+		assertEquals(cachedIdentity, jsonUsingVID);
+		Mockito.verify(residentServiceRestClient, Mockito.never()).getApi(Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class), Mockito.any());
+	}
+
 	@Test(expected = ResidentServiceCheckedException.class)
 	public void retrieveIdrepoJsonClientError() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", clientExp);
 		Mockito.when(residentServiceRestClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(apiResourceAccessExp);
 		utility.retrieveIdrepoJson("3527812406", IdType.UIN);
 
 	}
@@ -110,7 +130,7 @@ public class UtilityTest {
 		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway", serverExp);
 		Mockito.when(residentServiceRestClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(apiResourceAccessExp);
 		utility.retrieveIdrepoJson("3527812406", IdType.UIN);
 
 	}
@@ -121,7 +141,7 @@ public class UtilityTest {
 		ApisResourceAccessException apiResourceAccessExp = new ApisResourceAccessException("BadGateway",
 				new RuntimeException());
 		Mockito.when(residentServiceRestClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenThrow(apiResourceAccessExp);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenThrow(apiResourceAccessExp);
 		utility.retrieveIdrepoJson("3527812406", IdType.UIN);
 
 	}
@@ -137,7 +157,7 @@ public class UtilityTest {
 	@Test(expected = IdRepoAppException.class)
 	public void testIdRepoAppException() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		Mockito.when(residentServiceRestClient.getApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(Class.class), Mockito.any())).thenReturn(null);
+				Mockito.any(ParameterizedTypeReference.class), Mockito.any())).thenReturn(null);
 		utility.retrieveIdrepoJson("3527812406", IdType.UIN);
 
 	}
@@ -146,8 +166,9 @@ public class UtilityTest {
 	public void vidResponseNull() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		List<String> pathsegments = new ArrayList<>();
 		pathsegments.add("5628965106742572");
-		Mockito.when(residentServiceRestClient.getApi(ApiName.GETUINBYVID, pathsegments, null, null,
-				ResponseWrapper.class, "abcdefghijklmn")).thenReturn(null);
+		Mockito.when(residentServiceRestClient.getApi(Mockito.eq(ApiName.GETUINBYVID), Mockito.eq(pathsegments),
+				Mockito.isNull(), Mockito.isNull(), Mockito.any(ParameterizedTypeReference.class),
+				Mockito.eq("abcdefghijklmn"))).thenReturn(null);
 		utility.retrieveIdrepoJson("5628965106742572", IdType.VID);
 
 	}
@@ -158,10 +179,16 @@ public class UtilityTest {
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
+		Mockito.when(identityMappingProvider.getIdentityMapping())
+				.thenReturn(IdentityMappingProvider.parse(mappingJson));
 		Utilitiy utilitySpy = Mockito.spy(utility);
-		Mockito.doReturn(mappingJson).when(utilitySpy).getMappingJson();
 		Map<String, Object> attributes = utilitySpy.getMailingAttributes("3527812406", IdType.UIN);
 		assertEquals("girish.yarru@mindtree.com", attributes.get("email"));
+		assertEquals("Manoj", attributes.get("fullName_eng"));
+		assertEquals("Manoj", attributes.get("fullName_ara"));
+		assertEquals("Male", attributes.get("gender_eng"));
+		assertEquals("POA_Rental contract", attributes.get("proofOfAddress"));
+		assertEquals("1996/01/01", attributes.get("dateOfBirth"));
 
 		ReflectionTestUtils.setField(utilitySpy, "languageType", "NA");
 		Map<String, Object> attributes1 = utilitySpy.getMailingAttributes("3527812406", IdType.UIN);
@@ -170,18 +197,23 @@ public class UtilityTest {
 	}
 
 	@Test(expected = ResidentServiceCheckedException.class)
-	public void testGetMailingAttributesIOException() throws IOException, ResidentServiceCheckedException {
+	public void testGetMailingAttributesMappingUnavailable() throws IOException, ResidentServiceCheckedException {
+		Mockito.when(identityMappingProvider.getIdentityMapping()).thenThrow(new ResidentServiceCheckedException(
+				ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorCode(),
+				ResidentErrorCode.RESIDENT_SYS_EXCEPTION.getErrorMessage()));
+		utility.getMailingAttributes("3527812406", IdType.UIN);
+
+	}
+
+	@Test
+	public void testParseIdentityMapping() throws IOException {
 		ClassLoader classLoader = getClass().getClassLoader();
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
-		Utilitiy utilitySpy = Mockito.spy(utility);
-		Mockito.doReturn(mappingJson).when(utilitySpy).getMappingJson();
-		Mockito.doReturn(JsonUtil.getJSONObject(identity, "identity")).when(utilitySpy)
-				.retrieveIdrepoJson(Mockito.anyString(), Mockito.any());
-		PowerMockito.mockStatic(JsonUtil.class);
-		PowerMockito.when(JsonUtil.readValue(mappingJson, JSONObject.class)).thenThrow(new IOException());
-		utilitySpy.getMailingAttributes("3527812406", IdType.UIN);
-
+		IdentityMapping identityMapping = IdentityMappingProvider.parse(mappingJson);
+		assertEquals("proofOfAddress", identityMapping.getValueName("poa"));
+		assertEquals(mappingJson, identityMapping.getMappingJson());
+		assertTrue(identityMapping.getAllValueNames().contains("fullName"));
 	}
 }
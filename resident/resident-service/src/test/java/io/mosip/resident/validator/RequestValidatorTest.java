@@ -1,11 +1,13 @@
 package io.mosip.resident.validator;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -21,10 +23,12 @@ import io.mosip.kernel.core.idvalidator.spi.UinValidator;
 import io.mosip.kernel.core.idvalidator.spi.VidValidator;
 import io.mosip.resident.constant.AuthTypeStatus;
 import io.mosip.resident.constant.IdType;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.constant.RequestIdType;
 import io.mosip.resident.dto.AuthHistoryRequestDTO;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDto;
 import io.mosip.resident.dto.EuinRequestDTO;
+import io.mosip.resident.dto.RegStatusCheckBatchRequestDTO;
 import io.mosip.resident.dto.RequestWrapper;
 import io.mosip.resident.dto.ResidentReprintRequestDto;
 import io.mosip.resident.exception.InvalidInputException;
@@ -47,18 +51,18 @@ public class RequestValidatorTest {
 	@Before
 	public void setup() {
 		Mockito.when(uinValidator.validateId(Mockito.any())).thenReturn(true);
-		Map<RequestIdType, String> map = new HashMap<RequestIdType, String>();
-		map.put(RequestIdType.RE_PRINT_ID, "mosip.resident.print");
-		map.put(RequestIdType.AUTH_LOCK_ID, "mosip.resident.authlock");
-		map.put(RequestIdType.AUTH_UNLOCK_ID, "mosip.resident.authunlock");
-		map.put(RequestIdType.E_UIN_ID, "mosip.resident.euin");
-		map.put(RequestIdType.AUTH_HISTORY_ID, "mosip.resident.authhistory");
+		ReflectionTestUtils.setField(requestValidator, "reprintId", "mosip.resident.print");
 		ReflectionTestUtils.setField(requestValidator, "authLockId", "mosip.resident.authlock");
+		ReflectionTestUtils.setField(requestValidator, "authUnLockId", "mosip.resident.authunlock");
 		ReflectionTestUtils.setField(requestValidator, "euinId", "mosip.resident.euin");
 		ReflectionTestUtils.setField(requestValidator, "authHstoryId", "mosip.resident.authhistory");
 		ReflectionTestUtils.setField(requestValidator, "authTypes", "bio-FIR,bio-IIR");
 		ReflectionTestUtils.setField(requestValidator, "version", "v1");
-		ReflectionTestUtils.setField(requestValidator, "map", map);
+		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		ReflectionTestUtils.setField(requestValidator, "emailRegex",
+				"^[A-Za-z0-9_\\-]+(\\.[A-Za-z0-9_]+)*@[A-Za-z0-9_-]+(\\.[A-Za-z0-9_]+)*(\\.[a-zA-Z]{2,})$");
+		ReflectionTestUtils.setField(requestValidator, "ridStatusBatchMaxSize", 2);
+		requestValidator.setMap();
 
 		Mockito.when(uinValidator.validateId(Mockito.anyString())).thenReturn(true);
 		Mockito.when(vidValidator.validateId(Mockito.anyString())).thenReturn(true);
@@ -361,4 +365,56 @@ public class RequestValidatorTest {
 		requestValidator.validateRequest(reqWrapper, RequestIdType.RE_PRINT_ID);
 
 	}
+
+	@Test
+	public void testAllInvalidFieldsReported() {
+		AuthLockOrUnLockRequestDto authLockRequestDto = new AuthLockOrUnLockRequestDto();
+		authLockRequestDto.setIndividualIdType(IdType.RID);
+		RequestWrapper<AuthLockOrUnLockRequestDto> requestWrapper = new RequestWrapper<>();
+		requestWrapper.setId("mosip.resident.euin");
+		requestWrapper.setRequest(authLockRequestDto);
+		try {
+			requestValidator.validateAuthLockOrUnlockRequest(requestWrapper, AuthTypeStatus.LOCK);
+		} catch (InvalidInputException e) {
+			assertEquals(ResidentErrorCode.INVALID_INPUT.getErrorMessage() + "id, version, individualIdType, authType",
+					e.getErrorText());
+			return;
+		}
+		throw new AssertionError("InvalidInputException expected");
+	}
+
+	@Test
+	public void testRidStatusBatchSize() {
+		RegStatusCheckBatchRequestDTO batchRequest = new RegStatusCheckBatchRequestDTO();
+		RequestWrapper<RegStatusCheckBatchRequestDTO> requestWrapper = new RequestWrapper<>();
+		requestWrapper.setRequest(batchRequest);
+		batchRequest.setIndividualIds(Arrays.asList("10008200070004420191203104356", "10008200070004520191203104356"));
+		requestValidator.validateRidStatusBatchRequest(requestWrapper);
+
+		batchRequest.setIndividualIds(Collections.emptyList());
+		try {
+			requestValidator.validateRidStatusBatchRequest(requestWrapper);
+			throw new AssertionError("InvalidInputException expected");
+		} catch (InvalidInputException e) {
+			assertEquals(ResidentErrorCode.INVALID_INPUT.getErrorMessage() + "individualIds", e.getErrorText());
+		}
+
+		batchRequest.setIndividualIds(Arrays.asList("10008200070004420191203104356", "10008200070004520191203104356",
+				"10008200070004620191203104356"));
+		try {
+			requestValidator.validateRidStatusBatchRequest(requestWrapper);
+			throw new AssertionError("InvalidInputException expected");
+		} catch (InvalidInputException e) {
+			assertEquals(ResidentErrorCode.INVALID_INPUT.getErrorMessage() + "individualIds, at most 2 RIDs",
+					e.getErrorText());
+		}
+	}
+
+	@Test
+	public void testPhoneAndEmailValidator() {
+		assertTrue(requestValidator.phoneValidator("9876543210"));
+		assertFalse(requestValidator.phoneValidator("12345"));
+		assertTrue(requestValidator.emailValidator("resident@mosip.io"));
+		assertFalse(requestValidator.emailValidator("resident.mosip.io"));
+	}
 }